@@ -0,0 +1,30 @@
+package primitivo.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for running a single benchmark suite from an IDE or the command line.
+ * <p>
+ * The suites report throughput, and they are run with the GC profiler
+ * such that the allocation rate ({@code gc.alloc.rate.norm}) is reported as well.
+ * This is the number that shows whether values are being boxed.
+ * The same is achieved when running the shaded jar with {@code -prof gc}.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+final class Benchmarks {
+	private Benchmarks() {
+	}
+	
+	static void run(Class<?> suite) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(suite.getName())
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
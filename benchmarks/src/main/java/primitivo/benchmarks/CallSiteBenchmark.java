@@ -0,0 +1,116 @@
+package primitivo.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import primitivo.iterate.IntIterator;
+import primitivo.iterate.LongIterator;
+import primitivo.iterate.ShortIterator;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Draining a mix of {@link LongIterator}s (arrays, ranges, and widened iterators of various sources)
+ * through a single, shared call site compared to draining arrays only.
+ * <p>
+ * The drain loop is never inlined into the benchmark methods,
+ * so its calls to {@code hasNext} and {@code nextLong} are profiled across all the iterators of the mix.
+ * The mix only consists of two classes (the array cursor and the widening adapter,
+ * which also backs {@link LongIterator#range(int, int)} and collapses chains of widenings),
+ * which is verified on setup.
+ * The call sites therefore stay bimorphic and are inlined;
+ * with one class per factory, the mix would have four classes and the calls would be megamorphic.
+ * This shows as a throughput of the mix close to that of the arrays,
+ * and may be confirmed with {@code -jvmArgsAppend "-XX:+UnlockDiagnosticVMOptions -XX:+PrintInlining"}.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CallSiteBenchmark {
+	// The maximum number of receiver classes for which HotSpot inlines a virtual call.
+	private static final int MAX_INLINED_RECEIVERS = 2;
+	
+	@Param({"1000"})
+	public int length;
+	
+	private long[] longs;
+	private int[] ints;
+	private short[] shorts;
+	
+	@Setup
+	public void setup() {
+		longs = new long[length];
+		ints = new int[length];
+		shorts = new short[length];
+		for (int i = 0; i < length; i++) {
+			longs[i] = i;
+			ints[i] = i;
+			shorts[i] = (short) i;
+		}
+		
+		Map<Class<?>, Boolean> classes = new IdentityHashMap<Class<?>, Boolean>();
+		for (LongIterator it : mix()) {
+			classes.put(it.getClass(), true);
+		}
+		if (classes.size() > MAX_INLINED_RECEIVERS) {
+			throw new IllegalStateException("Megamorphic mix of " + classes.keySet());
+		}
+	}
+	
+	private LongIterator[] mix() {
+		return new LongIterator[]{
+				LongIterator.of(longs),
+				LongIterator.range(0, length),
+				LongIterator.of(IntIterator.of(ints)),
+				LongIterator.of(IntIterator.of(ShortIterator.of(shorts))),
+		};
+	}
+	
+	@CompilerControl(CompilerControl.Mode.DONT_INLINE)
+	private static long drain(LongIterator it) {
+		long sum = 0;
+		while (it.hasNext()) {
+			sum += it.nextLong();
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long arrays() {
+		long sum = 0;
+		for (int i = 0; i < 4; i++) {
+			sum += drain(LongIterator.of(longs));
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long mixed() {
+		long sum = 0;
+		for (LongIterator it : mix()) {
+			sum += drain(it);
+		}
+		return sum;
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		Benchmarks.run(CallSiteBenchmark.class);
+	}
+}
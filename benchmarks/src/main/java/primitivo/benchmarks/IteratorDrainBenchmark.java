@@ -0,0 +1,105 @@
+package primitivo.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import primitivo.function.IntConsumer;
+import primitivo.iterate.IntIterator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Draining an {@link IntIterator} with {@link IntIterator#nextInt()}
+ * or internally with {@link IntIterator#forEachRemaining(IntConsumer)}
+ * compared to draining the same values through {@link Iterator Iterator&lt;Integer&gt;}.
+ * <p>
+ * Values outside of the {@link Integer} cache are used
+ * such that boxing actually allocates.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IteratorDrainBenchmark {
+	@Param({"1000", "1000000"})
+	public int length;
+	
+	private int[] ints;
+	private List<Integer> integers;
+	
+	@Setup
+	public void setup() {
+		ints = new int[length];
+		integers = new ArrayList<Integer>(length);
+		for (int i = 0; i < length; i++) {
+			ints[i] = 1000 + i;
+			integers.add(1000 + i);
+		}
+	}
+	
+	@Benchmark
+	public long intIterator() {
+		IntIterator it = IntIterator.of(ints);
+		long sum = 0;
+		while (it.hasNext()) {
+			sum += it.nextInt();
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long intIteratorForEach() {
+		Sum sum = new Sum();
+		IntIterator.of(ints).forEachRemaining(sum);
+		return sum.sum;
+	}
+	
+	@Benchmark
+	public long intIteratorAsBoxed() {
+		Iterator<Integer> it = IntIterator.of(ints);
+		long sum = 0;
+		while (it.hasNext()) {
+			sum += it.next();
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long boxedList() {
+		Iterator<Integer> it = integers.iterator();
+		long sum = 0;
+		while (it.hasNext()) {
+			sum += it.next();
+		}
+		return sum;
+	}
+	
+	private static final class Sum implements IntConsumer {
+		private long sum;
+		
+		@Override
+		public void accept(int value) {
+			sum += value;
+		}
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		Benchmarks.run(IteratorDrainBenchmark.class);
+	}
+}
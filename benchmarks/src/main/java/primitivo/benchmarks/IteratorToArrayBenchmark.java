@@ -0,0 +1,93 @@
+package primitivo.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import primitivo.array.IntArray;
+import primitivo.function.IntPredicate;
+import primitivo.iterate.IntIterator;
+import primitivo.iterate.ObjectIterator;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of iterators into {@code int} arrays with {@link IntArray#of(java.util.Iterator, int)}
+ * for expected lengths that under- and overestimate the actual length.
+ * <p>
+ * An {@code expectedLengthFactor} of 0 means "no estimate",
+ * 1 means an exact estimate, and other values are relative to the actual length.
+ * The estimate only matters for iterators that don't know their length,
+ * so the main benchmarks use iterators that hide it (a filtered iterator and a list iterator).
+ * The {@code sized} benchmarks measure iterators that do know it (and ignore the estimate).
+ *
+ * @author Michael Bisgaard Olesen
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IteratorToArrayBenchmark {
+	@Param({"1000", "1000000"})
+	public int length;
+	
+	@Param({"0", "0.1", "0.5", "1", "1.5", "4"})
+	public double expectedLengthFactor;
+	
+	private int[] ints;
+	private Integer[] integers;
+	private int expectedLength;
+	
+	private static final IntPredicate ALL = new IntPredicate() {
+		@Override
+		public boolean test(int value) {
+			return true;
+		}
+	};
+	
+	@Setup
+	public void setup() {
+		ints = new int[length];
+		integers = new Integer[length];
+		for (int i = 0; i < length; i++) {
+			ints[i] = i;
+			integers[i] = i;
+		}
+		expectedLength = (int) (length * expectedLengthFactor);
+	}
+	
+	@Benchmark
+	public int[] intIterator() {
+		return IntArray.of(IntIterator.of(ints).filter(ALL), expectedLength);
+	}
+	
+	@Benchmark
+	public int[] boxedIterator() {
+		return IntArray.of(Arrays.asList(integers).iterator(), expectedLength);
+	}
+	
+	@Benchmark
+	public int[] sizedIntIterator() {
+		return IntArray.of(IntIterator.of(ints), expectedLength);
+	}
+	
+	@Benchmark
+	public int[] sizedBoxedIterator() {
+		return IntArray.of(ObjectIterator.of(integers), expectedLength);
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		Benchmarks.run(IteratorToArrayBenchmark.class);
+	}
+}
@@ -0,0 +1,83 @@
+package primitivo.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import primitivo.mutable.MutableInt;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accumulating a value in a lambda through {@link MutableInt}
+ * compared to the common alternatives {@code int[1]} and {@link AtomicInteger}.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MutableBenchmark {
+	@Param({"1000", "1000000"})
+	public int length;
+	
+	private int[] ints;
+	
+	@Setup
+	public void setup() {
+		ints = new int[length];
+		for (int i = 0; i < length; i++) {
+			ints[i] = i;
+		}
+	}
+	
+	private interface IntSink {
+		void accept(int value);
+	}
+	
+	// Not inlined into the benchmark methods, such that the captured state must be materialized.
+	@CompilerControl(CompilerControl.Mode.DONT_INLINE)
+	private void forEach(IntSink sink) {
+		for (int value : ints) {
+			sink.accept(value);
+		}
+	}
+	
+	@Benchmark
+	public int mutableInt() {
+		MutableInt sum = MutableInt.of(0);
+		forEach(value -> sum.add(value));
+		return sum.get();
+	}
+	
+	@Benchmark
+	public int intArray() {
+		int[] sum = new int[1];
+		forEach(value -> sum[0] += value);
+		return sum[0];
+	}
+	
+	@Benchmark
+	public int atomicInteger() {
+		AtomicInteger sum = new AtomicInteger();
+		forEach(value -> sum.addAndGet(value));
+		return sum.get();
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		Benchmarks.run(MutableBenchmark.class);
+	}
+}
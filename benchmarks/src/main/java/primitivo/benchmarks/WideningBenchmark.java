@@ -0,0 +1,94 @@
+package primitivo.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import primitivo.iterate.DoubleIterator;
+import primitivo.iterate.IntIterator;
+import primitivo.iterate.LongIterator;
+import primitivo.iterate.ShortIterator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Draining the widening adapters (e.g. {@link LongIterator#of(IntIterator)})
+ * compared to draining their source iterator directly.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WideningBenchmark {
+	@Param({"1000", "1000000"})
+	public int length;
+	
+	private int[] ints;
+	private short[] shorts;
+	
+	@Setup
+	public void setup() {
+		ints = new int[length];
+		shorts = new short[length];
+		for (int i = 0; i < length; i++) {
+			ints[i] = i;
+			shorts[i] = (short) i;
+		}
+	}
+	
+	@Benchmark
+	public long intIterator() {
+		IntIterator it = IntIterator.of(ints);
+		long sum = 0;
+		while (it.hasNext()) {
+			sum += it.nextInt();
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long longOfIntIterator() {
+		LongIterator it = LongIterator.of(IntIterator.of(ints));
+		long sum = 0;
+		while (it.hasNext()) {
+			sum += it.nextLong();
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public double doubleOfIntIterator() {
+		DoubleIterator it = DoubleIterator.of(IntIterator.of(ints));
+		double sum = 0;
+		while (it.hasNext()) {
+			sum += it.nextDouble();
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long longOfIntOfShortIterator() {
+		LongIterator it = LongIterator.of(IntIterator.of(ShortIterator.of(shorts)));
+		long sum = 0;
+		while (it.hasNext()) {
+			sum += it.nextLong();
+		}
+		return sum;
+	}
+	
+	public static void main(String[] args) throws RunnerException {
+		Benchmarks.run(WideningBenchmark.class);
+	}
+}
@@ -0,0 +1,187 @@
+package primitivo.array;
+
+import java.lang.reflect.Array;
+
+/**
+ * Pool of scratch arrays that hold intermediate values while an exact-size array is built
+ * (e.g. by {@link IntArray#of(java.util.Iterator)} or {@link IntArrayBuilder}).
+ * <p>
+ * The conversions borrow the chain of arrays that accumulates the values from the pool
+ * and release them again once the values have been merged into the result,
+ * such that repeated conversions of similar sizes only allocate their results.
+ * A scratch array is never exposed to the caller of a conversion,
+ * except when the values happen to fill it exactly;
+ * it is then returned as the result instead of being copied, and not released.
+ * <p>
+ * The pool used by the conversions is {@link #defaultPool()},
+ * which may be replaced with {@link #setDefaultPool(ArrayPool)}.
+ * Implementations must be safe to use from multiple threads,
+ * and arrays may be released on another thread than the one that borrowed them.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.array
+ */
+public abstract class ArrayPool {
+	/**
+	 * The length of the shortest arrays cached by {@link #threadLocal()}.
+	 */
+	public static final int MIN_POOLED_LENGTH = 1 << 4;
+	
+	/**
+	 * The length of the longest arrays cached by {@link #threadLocal()}.
+	 */
+	public static final int MAX_POOLED_LENGTH = 1 << 16;
+	
+	private static final ArrayPool NONE = new ArrayPool() {
+		@Override
+		public Object borrow(Class<?> componentType, int minLength) {
+			return Array.newInstance(componentType, minLength);
+		}
+		
+		@Override
+		public void release(Object array) {
+		}
+	};
+	
+	private static final ArrayPool THREAD_LOCAL = new ThreadLocalPool();
+	
+	private static volatile ArrayPool defaultPool = THREAD_LOCAL;
+	
+	/**
+	 * Borrow an array of at least a given length.
+	 * The contents of the array are unspecified;
+	 * it may contain values written while it was previously borrowed.
+	 *
+	 * @param componentType The component type of the array (e.g. {@code int.class}).
+	 * @param minLength The minimum length of the array.
+	 * @return An array of type {@code componentType} and length at least {@code minLength}.
+	 * @throws IllegalArgumentException If {@code minLength} is negative.
+	 */
+	public abstract Object borrow(Class<?> componentType, int minLength);
+	
+	/**
+	 * Return an array to the pool.
+	 * The caller must not access the array afterwards.
+	 * The pool is free to keep or discard it.
+	 *
+	 * @param array The array to return. It need not have been borrowed from this pool.
+	 */
+	public abstract void release(Object array);
+	
+	/**
+	 * @return The pool used by the conversions and builders of this package.
+	 */
+	public static ArrayPool defaultPool() {
+		return defaultPool;
+	}
+	
+	/**
+	 * Replace the pool used by the conversions and builders of this package.
+	 * Builders keep using the pool that was the default when they were constructed.
+	 *
+	 * @param pool The new default pool.
+	 */
+	public static void setDefaultPool(ArrayPool pool) {
+		if (pool == null) {
+			throw new NullPointerException("pool");
+		}
+		defaultPool = pool;
+	}
+	
+	/**
+	 * Returns a pool that doesn't pool at all:
+	 * Every array is freshly allocated with exactly the requested length,
+	 * and released arrays are left to the garbage collector.
+	 *
+	 * @return The non-pooling pool.
+	 */
+	public static ArrayPool none() {
+		return NONE;
+	}
+	
+	/**
+	 * Returns a pool that keeps a bounded, separate cache for every thread.
+	 * Arrays of primitive type are cached by size class;
+	 * each thread keeps at most one array per power of two from {@value #MIN_POOLED_LENGTH}
+	 * to {@value #MAX_POOLED_LENGTH} per primitive type,
+	 * so borrowed arrays are at most twice as long as requested.
+	 * Longer arrays and arrays of non-primitive type are allocated exactly and not cached,
+	 * as the latter would keep their elements reachable.
+	 * <p>
+	 * The caches are shared by all the pools returned by this method.
+	 * This is the initial default pool.
+	 *
+	 * @return The thread-local pool.
+	 */
+	public static ArrayPool threadLocal() {
+		return THREAD_LOCAL;
+	}
+	
+	private static class ThreadLocalPool extends ArrayPool {
+		private static final int MIN_SHIFT = 4;
+		private static final int MAX_SHIFT = 16;
+		
+		private static final Class<?>[] TYPES = {
+				boolean.class, byte.class, short.class, char.class,
+				int.class, long.class, float.class, double.class,
+		};
+		
+		// For each thread, the cached arrays indexed by type and then by size class.
+		private final ThreadLocal<Object[][]> caches = new ThreadLocal<Object[][]>() {
+			@Override
+			protected Object[][] initialValue() {
+				return new Object[TYPES.length][MAX_SHIFT - MIN_SHIFT + 1];
+			}
+		};
+		
+		private static int typeIndex(Class<?> componentType) {
+			for (int i = 0; i < TYPES.length; i++) {
+				if (TYPES[i] == componentType) {
+					return i;
+				}
+			}
+			return -1;
+		}
+		
+		@Override
+		public Object borrow(Class<?> componentType, int minLength) {
+			if (minLength < 0) {
+				throw new IllegalArgumentException("Negative length");
+			}
+			int type = typeIndex(componentType);
+			if (type < 0 || minLength > MAX_POOLED_LENGTH) {
+				return Array.newInstance(componentType, minLength);
+			}
+			// Smallest size class that fits `minLength`.
+			int shift = 32 - Integer.numberOfLeadingZeros(Math.max(minLength, MIN_POOLED_LENGTH) - 1);
+			Object[] cache = caches.get()[type];
+			Object array = cache[shift - MIN_SHIFT];
+			if (array != null) {
+				cache[shift - MIN_SHIFT] = null;
+				return array;
+			}
+			return Array.newInstance(componentType, 1 << shift);
+		}
+		
+		@Override
+		public void release(Object array) {
+			if (array == null) {
+				throw new NullPointerException("array");
+			}
+			int type = typeIndex(array.getClass().getComponentType());
+			if (type < 0) {
+				return;
+			}
+			// Largest size class that `array` fits.
+			int shift = 31 - Integer.numberOfLeadingZeros(Array.getLength(array));
+			if (shift < MIN_SHIFT || shift > MAX_SHIFT) {
+				return;
+			}
+			Object[] cache = caches.get()[type];
+			if (cache[shift - MIN_SHIFT] == null) {
+				cache[shift - MIN_SHIFT] = array;
+			}
+		}
+	}
+}
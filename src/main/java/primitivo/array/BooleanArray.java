@@ -1,5 +1,7 @@
 package primitivo.array;
 
+import primitivo.iterate.BooleanIterator;
+
 import java.util.Iterator;
 
 /**
@@ -85,6 +87,11 @@ public class BooleanArray {
 	 * Consume all the values of an iterator and return them as an array.
 	 * If no reasonable bound on the iterator's length is available,
 	 * use {@link #of(Iterator)} instead.
+	 * <p>
+	 * If {@code iterator} is a {@link BooleanIterator}, its values are consumed without boxing.
+	 * If it knows its exact length (see {@link primitivo.iterate.SizedIterator}),
+	 * {@code expectedLength} is ignored and the values are read into an array of exactly that length
+	 * (by a single {@code System.arraycopy} if the iterator is array-backed).
 	 *
 	 * @param iterator Iterator of {@code boolean} or non-null {@link Boolean} values.
 	 * @param expectedLength The expected number of elements to be consumed from the iterator.
@@ -94,6 +101,13 @@ public class BooleanArray {
 	 * @see #of(Iterator)
 	 */
 	public static boolean[] of(Iterator<Boolean> iterator, int expectedLength) {
+		if (iterator instanceof BooleanIterator) {
+			boolean[] booleans = IteratorToArray.of((BooleanIterator) iterator, expectedLength);
+			if (booleans == null) {
+				return EMPTY;
+			}
+			return booleans;
+		}
 		Object booleans = IteratorToArray.of(iterator, boolean.class, expectedLength);
 		if (booleans == null) {
 			return EMPTY;
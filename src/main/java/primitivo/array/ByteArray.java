@@ -1,5 +1,7 @@
 package primitivo.array;
 
+import primitivo.iterate.ByteIterator;
+
 import java.util.Iterator;
 
 /**
@@ -85,6 +87,11 @@ public class ByteArray {
 	 * Consume all the values of an iterator and return them as an array.
 	 * If no reasonable bound on the iterator's length is available,
 	 * use {@link #of(Iterator)} instead.
+	 * <p>
+	 * If {@code iterator} is a {@link ByteIterator}, its values are consumed without boxing.
+	 * If it knows its exact length (see {@link primitivo.iterate.SizedIterator}),
+	 * {@code expectedLength} is ignored and the values are read into an array of exactly that length
+	 * (by a single {@code System.arraycopy} if the iterator is array-backed).
 	 *
 	 * @param iterator Iterator of {@code byte} or non-null {@link Byte} values.
 	 * @param expectedLength The expected number of elements to be consumed from the iterator.
@@ -94,6 +101,13 @@ public class ByteArray {
 	 * @see #of(Iterator)
 	 */
 	public static byte[] of(Iterator<Byte> iterator, int expectedLength) {
+		if (iterator instanceof ByteIterator) {
+			byte[] bytes = IteratorToArray.of((ByteIterator) iterator, expectedLength);
+			if (bytes == null) {
+				return EMPTY;
+			}
+			return bytes;
+		}
 		Object bytes = IteratorToArray.of(iterator, byte.class, expectedLength);
 		if (bytes == null) {
 			return EMPTY;
@@ -1,5 +1,7 @@
 package primitivo.array;
 
+import primitivo.iterate.CharIterator;
+
 import java.util.Iterator;
 
 /**
@@ -85,6 +87,11 @@ public class CharArray {
 	 * Consume all the values of an iterator and return them as an array.
 	 * If no reasonable bound on the iterator's length is available,
 	 * use {@link #of(Iterator)} instead.
+	 * <p>
+	 * If {@code iterator} is a {@link CharIterator}, its values are consumed without boxing.
+	 * If it knows its exact length (see {@link primitivo.iterate.SizedIterator}),
+	 * {@code expectedLength} is ignored and the values are read into an array of exactly that length
+	 * (by a single {@code System.arraycopy} if the iterator is array-backed).
 	 *
 	 * @param iterator Iterator of {@code char} or non-null {@link Character} values.
 	 * @param expectedLength The expected number of elements to be consumed from the iterator.
@@ -94,6 +101,13 @@ public class CharArray {
 	 * @see #of(Iterator)
 	 */
 	public static char[] of(Iterator<Character> iterator, int expectedLength) {
+		if (iterator instanceof CharIterator) {
+			char[] chars = IteratorToArray.of((CharIterator) iterator, expectedLength);
+			if (chars == null) {
+				return EMPTY;
+			}
+			return chars;
+		}
 		Object chars = IteratorToArray.of(iterator, char.class, expectedLength);
 		if (chars == null) {
 			return EMPTY;
@@ -0,0 +1,75 @@
+package primitivo.array;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Package-private helper functions for allocating and freeing direct buffers.
+ * <p>
+ * The JDK provides no public way of freeing the memory of a direct buffer
+ * before the buffer is garbage collected.
+ * {@link #free(ByteBuffer)} therefore makes a best effort using the
+ * unsupported APIs of the running JDK (if they are accessible)
+ * and otherwise leaves the memory to be freed by the garbage collector.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+class DirectMemory {
+	// `sun.misc.Unsafe.invokeCleaner(ByteBuffer)` (JDK 1.9+) and the instance to invoke it on.
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+	
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+		} catch (Exception e) {
+			invokeCleaner = null;
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+	
+	private DirectMemory() {
+	}
+	
+	/**
+	 * Allocate a zeroed direct buffer in native byte order.
+	 */
+	static ByteBuffer allocate(int bytes) {
+		return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+	}
+	
+	/**
+	 * Free the memory of a direct buffer if possible.
+	 * The buffer and all views of it must not be accessed afterwards.
+	 */
+	static void free(ByteBuffer buffer) {
+		if (INVOKE_CLEANER != null) {
+			try {
+				INVOKE_CLEANER.invoke(UNSAFE, buffer);
+				return;
+			} catch (Exception e) {
+				// Fall through.
+			}
+		}
+		try {
+			// JDK 1.8 and older: `((sun.nio.ch.DirectBuffer) buffer).cleaner().clean()`.
+			Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			Object cleaner = cleanerMethod.invoke(buffer);
+			if (cleaner != null) {
+				cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+		} catch (Exception e) {
+			// The memory is freed when the buffer is garbage collected.
+		}
+	}
+}
@@ -1,5 +1,10 @@
 package primitivo.array;
 
+import primitivo.function.DoubleBinaryOp;
+import primitivo.function.DoubleGenerator;
+import primitivo.function.DoubleUnaryOp;
+import primitivo.iterate.DoubleIterator;
+
 import java.util.Iterator;
 
 /**
@@ -85,6 +90,11 @@ public class DoubleArray {
 	 * Consume all the values of an iterator and return them as an array.
 	 * If no reasonable bound on the iterator's length is available,
 	 * use {@link #of(Iterator)} instead.
+	 * <p>
+	 * If {@code iterator} is a {@link DoubleIterator}, its values are consumed without boxing.
+	 * If it knows its exact length (see {@link primitivo.iterate.SizedIterator}),
+	 * {@code expectedLength} is ignored and the values are read into an array of exactly that length
+	 * (by a single {@code System.arraycopy} if the iterator is array-backed).
 	 *
 	 * @param iterator Iterator of {@code double} or non-null {@link Double} values.
 	 * @param expectedLength The expected number of elements to be consumed from the iterator.
@@ -94,10 +104,310 @@ public class DoubleArray {
 	 * @see #of(Iterator)
 	 */
 	public static double[] of(Iterator<Double> iterator, int expectedLength) {
+		if (iterator instanceof DoubleIterator) {
+			double[] doubles = IteratorToArray.of((DoubleIterator) iterator, expectedLength);
+			if (doubles == null) {
+				return EMPTY;
+			}
+			return doubles;
+		}
 		Object doubles = IteratorToArray.of(iterator, double.class, expectedLength);
 		if (doubles == null) {
 			return EMPTY;
 		}
 		return (double[]) doubles;
 	}
+	
+	/**
+	 * Unbox all elements of a {@link Double} array in parallel.
+	 *
+	 * @param doubles An array of {@link Double} values.
+	 * @param parallelism The executor and threshold to use.
+	 * @return Array containing the unwrapped values of the input array.
+	 * @see #of(Double[])
+	 */
+	public static double[] parallelOf(final Double[] doubles, Parallelism parallelism) {
+		if (doubles == null) {
+			throw new NullPointerException("doubles");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = doubles.length;
+		if (length == 0) {
+			return EMPTY;
+		}
+		final double[] result = new double[length];
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				for (int i = from; i < to; i++) {
+					result[i] = doubles[i];
+				}
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * Set each element of an array to the value generated from its index, in parallel.
+	 *
+	 * @param values The array to fill.
+	 * @param generator The function computing the value of each index.
+	 *                  It may be invoked concurrently and in any order.
+	 * @param parallelism The executor and threshold to use.
+	 */
+	public static void parallelFill(final double[] values, final DoubleGenerator generator, Parallelism parallelism) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (generator == null) {
+			throw new NullPointerException("generator");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		parallelism.run(values.length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				for (int i = from; i < to; i++) {
+					values[i] = generator.generate(i);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Apply an operation to each element of an array in parallel.
+	 *
+	 * @param values The input array; it's not modified.
+	 * @param op The operation to apply. It may be invoked concurrently and in any order.
+	 * @param parallelism The executor and threshold to use.
+	 * @return Array of the results of applying {@code op} to each element of {@code values}.
+	 */
+	public static double[] parallelMap(final double[] values, final DoubleUnaryOp op, Parallelism parallelism) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (op == null) {
+			throw new NullPointerException("op");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = values.length;
+		if (length == 0) {
+			return EMPTY;
+		}
+		final double[] result = new double[length];
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				for (int i = from; i < to; i++) {
+					result[i] = op.apply(values[i]);
+				}
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * Combine all elements of an array with an associative operation in parallel.
+	 * Each chunk of the array is reduced separately starting from {@code identity},
+	 * and the results of the chunks are then combined in order.
+	 *
+	 * @param values The array to reduce.
+	 * @param identity The identity value of {@code op}.
+	 * @param op The associative operation. It may be invoked concurrently.
+	 * @param parallelism The executor and threshold to use.
+	 * @return The result of combining {@code identity} and all the elements in order.
+	 */
+	public static double parallelReduce(final double[] values, final double identity, final DoubleBinaryOp op, Parallelism parallelism) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (op == null) {
+			throw new NullPointerException("op");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = values.length;
+		final double[] partials = new double[parallelism.chunkCount(length)];
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				double result = identity;
+				for (int i = from; i < to; i++) {
+					result = op.apply(result, values[i]);
+				}
+				partials[chunk] = result;
+			}
+		});
+		double result = identity;
+		for (double partial : partials) {
+			result = op.apply(result, partial);
+		}
+		return result;
+	}
+	
+	/**
+	 * Widen all elements of a {@code float} array to {@code double} in parallel.
+	 *
+	 * @param floats An array of {@code float} values.
+	 * @param parallelism The executor and threshold to use.
+	 * @return Array containing the widened values of the input array.
+	 */
+	public static double[] parallelOf(final float[] floats, Parallelism parallelism) {
+		if (floats == null) {
+			throw new NullPointerException("floats");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = floats.length;
+		if (length == 0) {
+			return EMPTY;
+		}
+		final double[] result = new double[length];
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				for (int i = from; i < to; i++) {
+					result[i] = floats[i];
+				}
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * Compute the inclusive prefix sums of an array:
+	 * Element {@code i} of {@code destination} is set to the sum of
+	 * {@code values[0]}, ..., {@code values[i]}.
+	 * {@code destination} may be {@code values} itself to compute the sums in place.
+	 *
+	 * @param values The values to sum.
+	 * @param destination The array to store the sums in. It must have the same length as {@code values}.
+	 * @return {@code destination}.
+	 */
+	public static double[] prefixSum(double[] values, double[] destination) {
+		checkScan(values, destination);
+		scan(values, destination, 0, values.length, 0, false);
+		return destination;
+	}
+	
+	/**
+	 * Compute the exclusive prefix sums of an array:
+	 * Element {@code i} of {@code destination} is set to the sum of
+	 * {@code values[0]}, ..., {@code values[i - 1]} (so element 0 is set to 0).
+	 * This is e.g. the offset of each element in a concatenation of blocks of the given lengths.
+	 * {@code destination} may be {@code values} itself to compute the sums in place.
+	 *
+	 * @param values The values to sum.
+	 * @param destination The array to store the sums in. It must have the same length as {@code values}.
+	 * @return The sum of all the values.
+	 */
+	public static double exclusivePrefixSum(double[] values, double[] destination) {
+		checkScan(values, destination);
+		return scan(values, destination, 0, values.length, 0, true);
+	}
+	
+	/**
+	 * Compute the inclusive prefix sums of an array in parallel.
+	 * The array is split into chunks, the sums of which are computed in a first pass.
+	 * The prefix sums of each chunk, offset by the sum of the preceding chunks,
+	 * are then computed in a second pass.
+	 * Because the additions are grouped differently,
+	 * the results may differ from those of the sequential version by rounding errors.
+	 *
+	 * @param values The values to sum.
+	 * @param destination The array to store the sums in. It may be {@code values}.
+	 * @param parallelism The executor and threshold to use.
+	 * @return {@code destination}.
+	 * @see #prefixSum(double[], double[])
+	 */
+	public static double[] parallelPrefixSum(double[] values, double[] destination, Parallelism parallelism) {
+		checkScan(values, destination);
+		parallelScan(values, destination, false, parallelism);
+		return destination;
+	}
+	
+	/**
+	 * Compute the exclusive prefix sums of an array in parallel.
+	 *
+	 * @param values The values to sum.
+	 * @param destination The array to store the sums in. It may be {@code values}.
+	 * @param parallelism The executor and threshold to use.
+	 * @return The sum of all the values.
+	 * @see #exclusivePrefixSum(double[], double[])
+	 * @see #parallelPrefixSum(double[], double[], Parallelism)
+	 */
+	public static double parallelExclusivePrefixSum(double[] values, double[] destination, Parallelism parallelism) {
+		checkScan(values, destination);
+		return parallelScan(values, destination, true, parallelism);
+	}
+	
+	private static void checkScan(double[] values, double[] destination) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		if (destination.length != values.length) {
+			throw new IllegalArgumentException("Destination length " + destination.length + " differs from values length " + values.length);
+		}
+	}
+	
+	// Stores the prefix sums of values[from..to) offset by `sum` into destination and returns the total.
+	private static double scan(double[] values, double[] destination, int from, int to, double sum, boolean exclusive) {
+		if (exclusive) {
+			for (int i = from; i < to; i++) {
+				double value = values[i];
+				destination[i] = sum;
+				sum += value;
+			}
+		} else {
+			for (int i = from; i < to; i++) {
+				sum += values[i];
+				destination[i] = sum;
+			}
+		}
+		return sum;
+	}
+	
+	private static double parallelScan(final double[] values, final double[] destination, final boolean exclusive, Parallelism parallelism) {
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = values.length;
+		final double[] offsets = new double[parallelism.chunkCount(length)];
+		if (offsets.length == 1) {
+			return scan(values, destination, 0, length, 0, exclusive);
+		}
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				double sum = 0;
+				for (int i = from; i < to; i++) {
+					sum += values[i];
+				}
+				offsets[chunk] = sum;
+			}
+		});
+		double total = 0;
+		for (int chunk = 0; chunk < offsets.length; chunk++) {
+			double sum = offsets[chunk];
+			offsets[chunk] = total;
+			total += sum;
+		}
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				scan(values, destination, from, to, offsets[chunk], exclusive);
+			}
+		});
+		return total;
+	}
 }
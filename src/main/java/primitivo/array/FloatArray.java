@@ -1,5 +1,7 @@
 package primitivo.array;
 
+import primitivo.iterate.FloatIterator;
+
 import java.util.Iterator;
 
 /**
@@ -85,6 +87,11 @@ public class FloatArray {
 	 * Consume all the values of an iterator and return them as an array.
 	 * If no reasonable bound on the iterator's length is available,
 	 * use {@link #of(Iterator)} instead.
+	 * <p>
+	 * If {@code iterator} is a {@link FloatIterator}, its values are consumed without boxing.
+	 * If it knows its exact length (see {@link primitivo.iterate.SizedIterator}),
+	 * {@code expectedLength} is ignored and the values are read into an array of exactly that length
+	 * (by a single {@code System.arraycopy} if the iterator is array-backed).
 	 *
 	 * @param iterator Iterator of {@code float} or non-null {@link Float} values.
 	 * @param expectedLength The expected number of elements to be consumed from the iterator.
@@ -94,6 +101,13 @@ public class FloatArray {
 	 * @see #of(Iterator)
 	 */
 	public static float[] of(Iterator<Float> iterator, int expectedLength) {
+		if (iterator instanceof FloatIterator) {
+			float[] floats = IteratorToArray.of((FloatIterator) iterator, expectedLength);
+			if (floats == null) {
+				return EMPTY;
+			}
+			return floats;
+		}
 		Object floats = IteratorToArray.of(iterator, float.class, expectedLength);
 		if (floats == null) {
 			return EMPTY;
@@ -0,0 +1,173 @@
+package primitivo.array;
+
+import primitivo.iterate.FloatIterator;
+
+/**
+ * Growable buffer of {@code float} values from which an exact-size array may be built.
+ * Provides an unboxed alternative to accumulating values in a
+ * {@link java.util.List List&lt;Float&gt;}.
+ * <p>
+ * The values are stored in a chain of arrays of increasing length,
+ * in the same way as in {@link FloatArray#of(java.util.Iterator, int)}:
+ * When the current array is full, it is kept as a prefix
+ * and a new array is allocated for the subsequent values.
+ * Values are therefore never copied when the buffer grows,
+ * and only once when the chain is merged by {@link #toArray()}.
+ * If the values fill exactly one array (e.g. because the expected length was exact),
+ * that array is returned without being copied.
+ * The arrays of the chain are borrowed from the {@link ArrayPool#defaultPool() default pool}
+ * at the time of construction, and released into it when they have been merged.
+ * <p>
+ * Arrays returned by {@link #toArray()} are never written to by the builder,
+ * so values may still be added after it has been called.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.array
+ */
+public class FloatArrayBuilder {
+	private IteratorToArray.Prefix prefixArrays;
+	
+	// Total length of the prefix arrays.
+	private int prefixLength;
+	
+	private float[] array;
+	private int arraySize;
+	
+	private final ArrayPool pool;
+	
+	// The array last returned by `toArray`, which must not be released into the pool.
+	private float[] built;
+	
+	/**
+	 * Construct a builder without a reasonable guess of the number of values to be added.
+	 */
+	public FloatArrayBuilder() {
+		this(IteratorToArray.DEFAULT_EXPECTED_LENGTH);
+	}
+	
+	/**
+	 * Construct a builder with an initial capacity.
+	 *
+	 * @param expectedLength The expected number of values to be added.
+	 *                       The builder is most efficient if this value is
+	 *                       as small an overestimate as possible.
+	 * @throws IllegalArgumentException If {@code expectedLength} is negative.
+	 */
+	public FloatArrayBuilder(int expectedLength) {
+		if (expectedLength < 0) {
+			throw new IllegalArgumentException("Negative expected length");
+		}
+		if (expectedLength == 0) {
+			expectedLength = IteratorToArray.DEFAULT_EXPECTED_LENGTH;
+		}
+		pool = ArrayPool.defaultPool();
+		array = (float[]) pool.borrow(float.class, expectedLength);
+	}
+	
+	/**
+	 * @return The number of values that have been added.
+	 */
+	public int size() {
+		return prefixLength + arraySize;
+	}
+	
+	/**
+	 * Append a value.
+	 *
+	 * @param value The value to append.
+	 * @return This builder.
+	 */
+	public FloatArrayBuilder add(float value) {
+		if (arraySize == array.length) {
+			grow(0);
+		}
+		array[arraySize++] = value;
+		return this;
+	}
+	
+	/**
+	 * Append all values of an array.
+	 *
+	 * @param values The values to append.
+	 * @return This builder.
+	 */
+	public FloatArrayBuilder addAll(float... values) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		int offset = 0;
+		int remaining = values.length;
+		while (remaining > 0) {
+			if (arraySize == array.length) {
+				grow(remaining);
+			}
+			int count = Math.min(remaining, array.length - arraySize);
+			System.arraycopy(values, offset, array, arraySize, count);
+			arraySize += count;
+			offset += count;
+			remaining -= count;
+		}
+		return this;
+	}
+	
+	/**
+	 * Consume all values of an iterator and append them.
+	 * The values are read in blocks using {@link FloatIterator#nextFloats(float[], int, int)}.
+	 *
+	 * @param iterator The iterator whose values to append.
+	 * @return This builder.
+	 */
+	public FloatArrayBuilder addAll(FloatIterator iterator) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		while (iterator.hasNext()) {
+			if (arraySize == array.length) {
+				grow(0);
+			}
+			arraySize += iterator.nextFloats(array, arraySize, array.length - arraySize);
+		}
+		return this;
+	}
+	
+	/**
+	 * Build an array of all the values that have been added, in order.
+	 * If all values are contained in a single, full array,
+	 * that array is returned directly.
+	 * Otherwise, the values are merged into a new array,
+	 * which then replaces the chain as the builder's only (full) array.
+	 *
+	 * @return Array of exactly the added values.
+	 */
+	public float[] toArray() {
+		int size = size();
+		if (size == 0) {
+			return FloatArray.EMPTY;
+		}
+		if (prefixArrays == null && arraySize == array.length) {
+			built = array;
+			return array;
+		}
+		float[] result = new float[size];
+		IteratorToArray.joinInto(prefixArrays, array, arraySize, result, size);
+		IteratorToArray.release(pool, prefixArrays, array, built);
+		prefixArrays = null;
+		prefixLength = 0;
+		array = result;
+		arraySize = size;
+		built = result;
+		return result;
+	}
+	
+	/**
+	 * Store the current (full) array as the next prefix and borrow a new array
+	 * at least as long as the current number of values and {@code minLength}.
+	 */
+	private void grow(int minLength) {
+		prefixArrays = new IteratorToArray.Prefix(prefixArrays, array, arraySize);
+		prefixLength += arraySize;
+		array = (float[]) pool.borrow(float.class, Math.max(prefixLength, minLength));
+		arraySize = 0;
+	}
+}
@@ -1,5 +1,10 @@
 package primitivo.array;
 
+import primitivo.function.IntBinaryOp;
+import primitivo.function.IntGenerator;
+import primitivo.function.IntUnaryOp;
+import primitivo.iterate.IntIterator;
+
 import java.util.Iterator;
 
 /**
@@ -85,6 +90,11 @@ public class IntArray {
 	 * Consume all the values of an iterator and return them as an array.
 	 * If no reasonable bound on the iterator's length is available,
 	 * use {@link #of(Iterator)} instead.
+	 * <p>
+	 * If {@code iterator} is a {@link IntIterator}, its values are consumed without boxing.
+	 * If it knows its exact length (see {@link primitivo.iterate.SizedIterator}),
+	 * {@code expectedLength} is ignored and the values are read into an array of exactly that length
+	 * (by a single {@code System.arraycopy} if the iterator is array-backed).
 	 *
 	 * @param iterator Iterator of {@code int} or non-null {@link Integer} values.
 	 * @param expectedLength The expected number of elements to be consumed from the iterator.
@@ -94,10 +104,280 @@ public class IntArray {
 	 * @see #of(Iterator)
 	 */
 	public static int[] of(Iterator<Integer> iterator, int expectedLength) {
+		if (iterator instanceof IntIterator) {
+			int[] ints = IteratorToArray.of((IntIterator) iterator, expectedLength);
+			if (ints == null) {
+				return EMPTY;
+			}
+			return ints;
+		}
 		Object ints = IteratorToArray.of(iterator, int.class, expectedLength);
 		if (ints == null) {
 			return EMPTY;
 		}
 		return (int[]) ints;
 	}
+	
+	/**
+	 * Unbox all elements of a {@link Integer} array in parallel.
+	 *
+	 * @param integers An array of {@link Integer} values.
+	 * @param parallelism The executor and threshold to use.
+	 * @return Array containing the unwrapped values of the input array.
+	 * @see #of(Integer[])
+	 */
+	public static int[] parallelOf(final Integer[] integers, Parallelism parallelism) {
+		if (integers == null) {
+			throw new NullPointerException("integers");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = integers.length;
+		if (length == 0) {
+			return EMPTY;
+		}
+		final int[] result = new int[length];
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				for (int i = from; i < to; i++) {
+					result[i] = integers[i];
+				}
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * Set each element of an array to the value generated from its index, in parallel.
+	 *
+	 * @param values The array to fill.
+	 * @param generator The function computing the value of each index.
+	 *                  It may be invoked concurrently and in any order.
+	 * @param parallelism The executor and threshold to use.
+	 */
+	public static void parallelFill(final int[] values, final IntGenerator generator, Parallelism parallelism) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (generator == null) {
+			throw new NullPointerException("generator");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		parallelism.run(values.length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				for (int i = from; i < to; i++) {
+					values[i] = generator.generate(i);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Apply an operation to each element of an array in parallel.
+	 *
+	 * @param values The input array; it's not modified.
+	 * @param op The operation to apply. It may be invoked concurrently and in any order.
+	 * @param parallelism The executor and threshold to use.
+	 * @return Array of the results of applying {@code op} to each element of {@code values}.
+	 */
+	public static int[] parallelMap(final int[] values, final IntUnaryOp op, Parallelism parallelism) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (op == null) {
+			throw new NullPointerException("op");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = values.length;
+		if (length == 0) {
+			return EMPTY;
+		}
+		final int[] result = new int[length];
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				for (int i = from; i < to; i++) {
+					result[i] = op.apply(values[i]);
+				}
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * Combine all elements of an array with an associative operation in parallel.
+	 * Each chunk of the array is reduced separately starting from {@code identity},
+	 * and the results of the chunks are then combined in order.
+	 *
+	 * @param values The array to reduce.
+	 * @param identity The identity value of {@code op}.
+	 * @param op The associative operation. It may be invoked concurrently.
+	 * @param parallelism The executor and threshold to use.
+	 * @return The result of combining {@code identity} and all the elements in order.
+	 */
+	public static int parallelReduce(final int[] values, final int identity, final IntBinaryOp op, Parallelism parallelism) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (op == null) {
+			throw new NullPointerException("op");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = values.length;
+		final int[] partials = new int[parallelism.chunkCount(length)];
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				int result = identity;
+				for (int i = from; i < to; i++) {
+					result = op.apply(result, values[i]);
+				}
+				partials[chunk] = result;
+			}
+		});
+		int result = identity;
+		for (int partial : partials) {
+			result = op.apply(result, partial);
+		}
+		return result;
+	}
+	
+	/**
+	 * Compute the inclusive prefix sums of an array:
+	 * Element {@code i} of {@code destination} is set to the sum of
+	 * {@code values[0]}, ..., {@code values[i]}.
+	 * {@code destination} may be {@code values} itself to compute the sums in place.
+	 * The sums wrap around on overflow like {@code int} addition.
+	 *
+	 * @param values The values to sum.
+	 * @param destination The array to store the sums in. It must have the same length as {@code values}.
+	 * @return {@code destination}.
+	 */
+	public static int[] prefixSum(int[] values, int[] destination) {
+		checkScan(values, destination);
+		scan(values, destination, 0, values.length, 0, false);
+		return destination;
+	}
+	
+	/**
+	 * Compute the exclusive prefix sums of an array:
+	 * Element {@code i} of {@code destination} is set to the sum of
+	 * {@code values[0]}, ..., {@code values[i - 1]} (so element 0 is set to 0).
+	 * This is e.g. the offset of each element in a concatenation of blocks of the given lengths.
+	 * {@code destination} may be {@code values} itself to compute the sums in place.
+	 * The sums wrap around on overflow like {@code int} addition.
+	 *
+	 * @param values The values to sum.
+	 * @param destination The array to store the sums in. It must have the same length as {@code values}.
+	 * @return The sum of all the values.
+	 */
+	public static int exclusivePrefixSum(int[] values, int[] destination) {
+		checkScan(values, destination);
+		return scan(values, destination, 0, values.length, 0, true);
+	}
+	
+	/**
+	 * Compute the inclusive prefix sums of an array in parallel.
+	 * The array is split into chunks, the sums of which are computed in a first pass.
+	 * The prefix sums of each chunk, offset by the sum of the preceding chunks,
+	 * are then computed in a second pass.
+	 *
+	 * @param values The values to sum.
+	 * @param destination The array to store the sums in. It may be {@code values}.
+	 * @param parallelism The executor and threshold to use.
+	 * @return {@code destination}.
+	 * @see #prefixSum(int[], int[])
+	 */
+	public static int[] parallelPrefixSum(int[] values, int[] destination, Parallelism parallelism) {
+		checkScan(values, destination);
+		parallelScan(values, destination, false, parallelism);
+		return destination;
+	}
+	
+	/**
+	 * Compute the exclusive prefix sums of an array in parallel.
+	 *
+	 * @param values The values to sum.
+	 * @param destination The array to store the sums in. It may be {@code values}.
+	 * @param parallelism The executor and threshold to use.
+	 * @return The sum of all the values.
+	 * @see #exclusivePrefixSum(int[], int[])
+	 * @see #parallelPrefixSum(int[], int[], Parallelism)
+	 */
+	public static int parallelExclusivePrefixSum(int[] values, int[] destination, Parallelism parallelism) {
+		checkScan(values, destination);
+		return parallelScan(values, destination, true, parallelism);
+	}
+	
+	private static void checkScan(int[] values, int[] destination) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		if (destination.length != values.length) {
+			throw new IllegalArgumentException("Destination length " + destination.length + " differs from values length " + values.length);
+		}
+	}
+	
+	// Stores the prefix sums of values[from..to) offset by `sum` into destination and returns the total.
+	private static int scan(int[] values, int[] destination, int from, int to, int sum, boolean exclusive) {
+		if (exclusive) {
+			for (int i = from; i < to; i++) {
+				int value = values[i];
+				destination[i] = sum;
+				sum += value;
+			}
+		} else {
+			for (int i = from; i < to; i++) {
+				sum += values[i];
+				destination[i] = sum;
+			}
+		}
+		return sum;
+	}
+	
+	private static int parallelScan(final int[] values, final int[] destination, final boolean exclusive, Parallelism parallelism) {
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = values.length;
+		final int[] offsets = new int[parallelism.chunkCount(length)];
+		if (offsets.length == 1) {
+			return scan(values, destination, 0, length, 0, exclusive);
+		}
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				int sum = 0;
+				for (int i = from; i < to; i++) {
+					sum += values[i];
+				}
+				offsets[chunk] = sum;
+			}
+		});
+		int total = 0;
+		for (int chunk = 0; chunk < offsets.length; chunk++) {
+			int sum = offsets[chunk];
+			offsets[chunk] = total;
+			total += sum;
+		}
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				scan(values, destination, from, to, offsets[chunk], exclusive);
+			}
+		});
+		return total;
+	}
 }
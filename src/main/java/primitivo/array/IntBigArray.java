@@ -0,0 +1,281 @@
+package primitivo.array;
+
+import primitivo.function.IntConsumer;
+import primitivo.iterate.IntIterable;
+import primitivo.iterate.IntIterator;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Growable array of {@code int} values on the Java heap, indexed by {@code long}.
+ * <p>
+ * The values are stored in segments of {@value #SEGMENT_LENGTH} values each,
+ * so the array may hold more than {@link Integer#MAX_VALUE} values.
+ * Segments are allocated as the array grows and are never copied or merged.
+ * Unlike {@link IntArrayBuilder}, the array therefore never needs more memory
+ * than its segments and a small table referencing them.
+ * <p>
+ * The class is not thread-safe.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.array
+ */
+public class IntBigArray implements IntIterable {
+	private static final int SEGMENT_SHIFT = 16;
+	
+	/**
+	 * The number of values stored in each segment.
+	 */
+	public static final int SEGMENT_LENGTH = 1 << SEGMENT_SHIFT;
+	
+	private static final int SEGMENT_MASK = SEGMENT_LENGTH - 1;
+	
+	private int[][] segments;
+	private long length;
+	
+	/**
+	 * Construct an empty array.
+	 */
+	public IntBigArray() {
+		this.segments = new int[0][];
+	}
+	
+	/**
+	 * Construct an array of zeros.
+	 *
+	 * @param length The length of the array.
+	 * @throws IllegalArgumentException If {@code length} is negative.
+	 */
+	public IntBigArray(long length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("Negative length");
+		}
+		this.segments = new int[0][];
+		ensureCapacity(length);
+		this.length = length;
+	}
+	
+	/**
+	 * Consume all the values of an iterator and store them in a big array.
+	 * <p>
+	 * If {@code iterator} is a {@link IntIterator}, its values are consumed without boxing.
+	 *
+	 * @param iterator Iterator of {@code int} or non-null {@link Integer} values.
+	 * @return Array of all the iterator's values.
+	 */
+	public static IntBigArray of(Iterator<Integer> iterator) {
+		return new IntBigArray().addAll(IntIterator.of(iterator));
+	}
+	
+	private void ensureCapacity(long capacity) {
+		long segmentCount = (capacity + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+		if (segmentCount > segments.length) {
+			if (segmentCount > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Length too large");
+			}
+			// Only the table of segments is copied; not the segments.
+			int tableLength = (int) Math.min(Integer.MAX_VALUE, Math.max(segmentCount, 2L * segments.length));
+			int[][] segments = new int[tableLength][];
+			System.arraycopy(this.segments, 0, segments, 0, this.segments.length);
+			for (int i = this.segments.length; i < segmentCount; i++) {
+				segments[i] = new int[SEGMENT_LENGTH];
+			}
+			this.segments = segments;
+		} else {
+			for (int i = (int) segmentCount - 1; i >= 0 && segments[i] == null; i--) {
+				segments[i] = new int[SEGMENT_LENGTH];
+			}
+		}
+	}
+	
+	/**
+	 * @return The number of values in the array.
+	 */
+	public long length() {
+		return length;
+	}
+	
+	private void checkIndex(long index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+		}
+	}
+	
+	public int get(long index) {
+		checkIndex(index);
+		return segments[(int) (index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK];
+	}
+	
+	public void set(long index, int value) {
+		checkIndex(index);
+		segments[(int) (index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK] = value;
+	}
+	
+	/**
+	 * Append a value to the end of the array.
+	 *
+	 * @param value The value to append.
+	 * @return This array.
+	 */
+	public IntBigArray add(int value) {
+		long index = length;
+		int offset = (int) index & SEGMENT_MASK;
+		if (offset == 0) {
+			ensureCapacity(index + 1);
+		}
+		segments[(int) (index >>> SEGMENT_SHIFT)][offset] = value;
+		length = index + 1;
+		return this;
+	}
+	
+	/**
+	 * Append all the remaining values of an iterator to the end of the array.
+	 * The values are read in bulk directly into the segments.
+	 *
+	 * @param iterator The iterator of values to append.
+	 * @return This array.
+	 */
+	public IntBigArray addAll(IntIterator iterator) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		while (true) {
+			int offset = (int) length & SEGMENT_MASK;
+			if (offset == 0) {
+				if (!iterator.hasNext()) {
+					return this;
+				}
+				ensureCapacity(length + 1);
+			}
+			int[] segment = segments[(int) (length >>> SEGMENT_SHIFT)];
+			int count = iterator.nextInts(segment, offset, SEGMENT_LENGTH - offset);
+			if (count == 0) {
+				return this;
+			}
+			length += count;
+		}
+	}
+	
+	/**
+	 * @return Iterator of all values of the array.
+	 */
+	//@Override
+	public IntIterator iterator() {
+		return iterator(0, length);
+	}
+	
+	/**
+	 * Passes all values of the array to a consumer in the order of {@link #iterator()},
+	 * in a single loop over the segments.
+	 *
+	 * @param consumer The consumer that receives the values.
+	 */
+	//@Override
+	public void forEach(IntConsumer consumer) {
+		iterator().forEachRemaining(consumer);
+	}
+	
+	/**
+	 * Returns an iterator of the values of a range of the array.
+	 * The iterator supports bulk reads and may be split by index.
+	 * The array must not be modified while it's being iterated.
+	 *
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @return Iterator of the values at indices {@code from}, ..., {@code to - 1}.
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > length()}.
+	 */
+	public IntIterator iterator(long from, long to) {
+		if (from > to) {
+			throw new IllegalArgumentException("from " + from + " > to " + to);
+		}
+		if (from < 0 || to > length) {
+			throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + length);
+		}
+		return new RangeIterator(segments, from, to);
+	}
+	
+	private static class RangeIterator extends IntIterator {
+		private final int[][] segments;
+		private long index;
+		private final long to;
+		
+		private RangeIterator(int[][] segments, long from, long to) {
+			this.segments = segments;
+			this.index = from;
+			this.to = to;
+		}
+		
+		//@Override
+		public boolean hasNext() {
+			return index < to;
+		}
+		
+		@Override
+		public int nextInt() {
+			if (index >= to) {
+				throw new NoSuchElementException();
+			}
+			long index = this.index++;
+			return segments[(int) (index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK];
+		}
+		
+		@Override
+		public int nextInts(int[] destination, int offset, int length) {
+			if (destination == null) {
+				throw new NullPointerException("destination");
+			}
+			if (offset < 0 || length < 0 || offset > destination.length - length) {
+				throw new IndexOutOfBoundsException();
+			}
+			int count = (int) Math.min(length, to - index);
+			int done = 0;
+			while (done < count) {
+				int segmentOffset = (int) index & SEGMENT_MASK;
+				int segmentCount = Math.min(count - done, SEGMENT_LENGTH - segmentOffset);
+				System.arraycopy(segments[(int) (index >>> SEGMENT_SHIFT)], segmentOffset, destination, offset + done, segmentCount);
+				done += segmentCount;
+				index += segmentCount;
+			}
+			return count;
+		}
+		
+		@Override
+		public void forEachRemaining(IntConsumer consumer) {
+			if (consumer == null) {
+				throw new NullPointerException("consumer");
+			}
+			long index = this.index;
+			long to = this.to;
+			this.index = to;
+			while (index < to) {
+				int[] segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+				int segmentOffset = (int) index & SEGMENT_MASK;
+				int segmentEnd = (int) Math.min(SEGMENT_LENGTH, segmentOffset + (to - index));
+				for (int i = segmentOffset; i < segmentEnd; i++) {
+					consumer.accept(segment[i]);
+				}
+				index += segmentEnd - segmentOffset;
+			}
+		}
+		
+		@Override
+		public long remaining() {
+			return to - index;
+		}
+		
+		@Override
+		public IntIterator trySplit() {
+			long middle = (index + to) >>> 1;
+			if (middle == index) {
+				return null;
+			}
+			IntIterator prefix = new RangeIterator(segments, index, middle);
+			index = middle;
+			return prefix;
+		}
+	}
+}
@@ -1,10 +1,26 @@
 package primitivo.array;
 
+import primitivo.iterate.BooleanIterator;
+import primitivo.iterate.ByteIterator;
+import primitivo.iterate.CharIterator;
+import primitivo.iterate.DoubleIterator;
+import primitivo.iterate.FloatIterator;
+import primitivo.iterate.IntIterator;
+import primitivo.iterate.LongIterator;
+import primitivo.iterate.ShortIterator;
+import primitivo.iterate.SizedIterator;
+
 import java.lang.reflect.Array;
 import java.util.Iterator;
 
 /**
- * Container class of an efficient function for converting generic iterators into arrays.
+ * Container class of efficient functions for converting iterators into arrays.
+ * <p>
+ * Besides the generic function {@link #of(Iterator, Class, int)},
+ * the class contains a specialized function for each of the primitive iterator types
+ * in {@link primitivo.iterate}.
+ * These functions consume the unboxed values directly and write them into
+ * arrays of the corresponding primitive type without the use of reflection.
  * <p>
  * In the implementation of the methods of this class,
  * arrays are thought of as lists with a dynamic size
@@ -21,13 +37,20 @@ class IteratorToArray {
 	 */
 	static final int DEFAULT_EXPECTED_LENGTH = 16;
 	
-	private static class Prefix {
+	/**
+	 * Node of a singly-linked list of full prefix arrays.
+	 * The list is ordered from the rightmost (most recently added) array to the leftmost.
+	 * Shared with the array builders of this package (e.g. {@link IntArrayBuilder}).
+	 */
+	static class Prefix {
 		private final Prefix prefix;
 		private final Object array;
+		private final int length;
 		
-		private Prefix(Prefix prefix, Object array) {
+		Prefix(Prefix prefix, Object array, int length) {
 			this.prefix = prefix;
 			this.array = array;
+			this.length = length;
 		}
 	}
 	
@@ -44,21 +67,22 @@ class IteratorToArray {
 	 * into a chain of arrays of increasing length.
 	 * These arrays are merged once in the end; thus minimizing
 	 * the number of times that elements are copied.
+	 * The arrays of the chain are released into {@link ArrayPool#defaultPool()} after the merge.
 	 * <p>
-	 * If the {@code expectedLength} parameter matches the number of element exactly,
-	 * only a single array is allocated.
+	 * The first array of the chain is allocated with exactly {@code expectedLength} elements,
+	 * so if this matches the number of elements exactly, that array is returned without being copied.
+	 * Only the arrays that grow the chain (and the first array if there is no estimate)
+	 * are borrowed from the pool.
+	 * If {@code iterator} is a {@link SizedIterator} that knows its exact length,
+	 * {@code expectedLength} is ignored and only the result array is allocated.
 	 * <p>
 	 * If {@code iterator} is empty, null is returned.
 	 * Delegator functions are expected to replace this value
 	 * with an empty array of the correct type.
 	 * <p>
-	 * In the future, the interface might be changed such that
-	 * an object that can create and modify arrays is passed.
-	 * Other than eliminating reflection (which could actually turn out to be very efficient),
-	 * this would allow the method to be properly generified
-	 * and prevent autoboxing of primitive types
-	 * (though they currently do happen in such a way that the JIT should be able to
-	 * optimize them away if the method is inlined).
+	 * Primitive values are boxed by the iterator and unboxed by reflection.
+	 * Primitive iterators should therefore be passed to the specialized functions
+	 * (e.g. {@link #of(IntIterator, int)}) instead, which avoid both.
 	 *
 	 * @param iterator Iterator producing values that are assignable to {@code type}.
 	 * @param type The type of the produced array.
@@ -85,12 +109,27 @@ class IteratorToArray {
 		}
 		
 		// Iterator is not empty.
-		if (expectedLength == 0) {
-			expectedLength = DEFAULT_EXPECTED_LENGTH;
+		ArrayPool pool = ArrayPool.defaultPool();
+		long remaining = -1;
+		if (iterator instanceof SizedIterator) {
+			remaining = ((SizedIterator) iterator).remaining();
 		}
 		
-		Object array = Array.newInstance(type, expectedLength);
-		int arrayLength = expectedLength;
+		Object array;
+		if (remaining > 0 && remaining <= Integer.MAX_VALUE) {
+			// Exact length is known: Allocate the result array up front.
+			array = Array.newInstance(type, (int) remaining);
+		} else {
+			if (expectedLength == 0) {
+				// No estimate: Start with a scratch array from the pool.
+				array = pool.borrow(type, DEFAULT_EXPECTED_LENGTH);
+			} else {
+				// Allocate the estimate exactly such that an exact estimate
+				// yields the result without copying it out of a larger scratch array.
+				array = Array.newInstance(type, expectedLength);
+			}
+		}
+		int arrayLength = Array.getLength(array);
 		int arraySize = 0;
 		
 		Prefix prefixArrays = null;
@@ -100,13 +139,13 @@ class IteratorToArray {
 			// Allocate new array if necessary.
 			if (arraySize == arrayLength) {
 				// Store the current array as the next prefix.
-				prefixArrays = new Prefix(prefixArrays, array);
+				prefixArrays = new Prefix(prefixArrays, array, arrayLength);
 				
-				// Allocate new array of the same size as the current number of elements
+				// Borrow new array of (at least) the same size as the current number of elements
 				// and (lazy-)update length and size.
 				resultLength += arraySize;
-				array = Array.newInstance(type, resultLength);
-				arrayLength = resultLength;
+				array = pool.borrow(type, resultLength);
+				arrayLength = Array.getLength(array);
 				arraySize = 0;
 			}
 			
@@ -118,13 +157,607 @@ class IteratorToArray {
 		resultLength += arraySize;
 		
 		// Simple case where there is a single, full array.
+		// If it was borrowed, it is handed over to the caller instead of being released.
 		if (prefixArrays == null && arrayLength == resultLength) {
 			return array;
 		}
 		
 		// Allocate result array and merge values into it from back to front.
 		Object result = Array.newInstance(type, resultLength);
-		joinInto(prefixArrays, array, arraySize, result);
+		joinInto(prefixArrays, array, arraySize, result, resultLength);
+		release(pool, prefixArrays, array, null);
+		return result;
+	}
+	
+	/**
+	 * Specialization of {@link #of(Iterator, Class, int)} for {@code int} values.
+	 * The values are obtained with {@link IntIterator#nextInt()}
+	 * and written directly into {@code int} arrays.
+	 *
+	 * @param iterator Iterator producing the values.
+	 * @param expectedLength The expected number of elements to be consumed from the iterator.
+	 * @return A {@code int} array containing, in order,
+	 *         the exact values obtained by consuming {@code iterator}.
+	 *         If the iterator is empty, null is returned.
+	 * @throws IllegalArgumentException If {@code expectedLength} is negative.
+	 */
+	static int[] of(IntIterator iterator, int expectedLength) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (expectedLength < 0) {
+			throw new IllegalArgumentException("Negative expected length");
+		}
+		if (!iterator.hasNext()) {
+			return null;
+		}
+		
+		// Iterator is not empty.
+		ArrayPool pool = ArrayPool.defaultPool();
+		int[] array;
+		int arrayLength;
+		int arraySize = 0;
+		
+		long remaining = iterator.remaining();
+		if (remaining > 0 && remaining <= Integer.MAX_VALUE) {
+			// Exact length is known: Allocate the result array up front
+			// and fill it with a single block transfer.
+			arrayLength = (int) remaining;
+			array = new int[arrayLength];
+			arraySize = iterator.nextInts(array, 0, arrayLength);
+		} else {
+			if (expectedLength == 0) {
+				// No estimate: Start with a scratch array from the pool.
+				array = (int[]) pool.borrow(int.class, DEFAULT_EXPECTED_LENGTH);
+			} else {
+				// Allocate the estimate exactly such that an exact estimate
+				// yields the result without copying it out of a larger scratch array.
+				array = new int[expectedLength];
+			}
+			arrayLength = array.length;
+		}
+		
+		Prefix prefixArrays = null;
+		int resultLength = 0;
+		
+		while (iterator.hasNext()) {
+			if (arraySize == arrayLength) {
+				prefixArrays = new Prefix(prefixArrays, array, arrayLength);
+				resultLength += arraySize;
+				array = (int[]) pool.borrow(int.class, resultLength);
+				arrayLength = array.length;
+				arraySize = 0;
+			}
+			array[arraySize++] = iterator.nextInt();
+		}
+		
+		resultLength += arraySize;
+		
+		if (prefixArrays == null && arrayLength == resultLength) {
+			return array;
+		}
+		
+		int[] result = new int[resultLength];
+		joinInto(prefixArrays, array, arraySize, result, resultLength);
+		release(pool, prefixArrays, array, null);
+		return result;
+	}
+	
+	/**
+	 * Specialization of {@link #of(Iterator, Class, int)} for {@code long} values.
+	 * The values are obtained with {@link LongIterator#nextLong()}
+	 * and written directly into {@code long} arrays.
+	 *
+	 * @param iterator Iterator producing the values.
+	 * @param expectedLength The expected number of elements to be consumed from the iterator.
+	 * @return A {@code long} array containing, in order,
+	 *         the exact values obtained by consuming {@code iterator}.
+	 *         If the iterator is empty, null is returned.
+	 * @throws IllegalArgumentException If {@code expectedLength} is negative.
+	 */
+	static long[] of(LongIterator iterator, int expectedLength) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (expectedLength < 0) {
+			throw new IllegalArgumentException("Negative expected length");
+		}
+		if (!iterator.hasNext()) {
+			return null;
+		}
+		
+		// Iterator is not empty.
+		ArrayPool pool = ArrayPool.defaultPool();
+		long[] array;
+		int arrayLength;
+		int arraySize = 0;
+		
+		long remaining = iterator.remaining();
+		if (remaining > 0 && remaining <= Integer.MAX_VALUE) {
+			// Exact length is known: Allocate the result array up front
+			// and fill it with a single block transfer.
+			arrayLength = (int) remaining;
+			array = new long[arrayLength];
+			arraySize = iterator.nextLongs(array, 0, arrayLength);
+		} else {
+			if (expectedLength == 0) {
+				// No estimate: Start with a scratch array from the pool.
+				array = (long[]) pool.borrow(long.class, DEFAULT_EXPECTED_LENGTH);
+			} else {
+				// Allocate the estimate exactly such that an exact estimate
+				// yields the result without copying it out of a larger scratch array.
+				array = new long[expectedLength];
+			}
+			arrayLength = array.length;
+		}
+		
+		Prefix prefixArrays = null;
+		int resultLength = 0;
+		
+		while (iterator.hasNext()) {
+			if (arraySize == arrayLength) {
+				prefixArrays = new Prefix(prefixArrays, array, arrayLength);
+				resultLength += arraySize;
+				array = (long[]) pool.borrow(long.class, resultLength);
+				arrayLength = array.length;
+				arraySize = 0;
+			}
+			array[arraySize++] = iterator.nextLong();
+		}
+		
+		resultLength += arraySize;
+		
+		if (prefixArrays == null && arrayLength == resultLength) {
+			return array;
+		}
+		
+		long[] result = new long[resultLength];
+		joinInto(prefixArrays, array, arraySize, result, resultLength);
+		release(pool, prefixArrays, array, null);
+		return result;
+	}
+	
+	/**
+	 * Specialization of {@link #of(Iterator, Class, int)} for {@code short} values.
+	 * The values are obtained with {@link ShortIterator#nextShort()}
+	 * and written directly into {@code short} arrays.
+	 *
+	 * @param iterator Iterator producing the values.
+	 * @param expectedLength The expected number of elements to be consumed from the iterator.
+	 * @return A {@code short} array containing, in order,
+	 *         the exact values obtained by consuming {@code iterator}.
+	 *         If the iterator is empty, null is returned.
+	 * @throws IllegalArgumentException If {@code expectedLength} is negative.
+	 */
+	static short[] of(ShortIterator iterator, int expectedLength) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (expectedLength < 0) {
+			throw new IllegalArgumentException("Negative expected length");
+		}
+		if (!iterator.hasNext()) {
+			return null;
+		}
+		
+		// Iterator is not empty.
+		ArrayPool pool = ArrayPool.defaultPool();
+		short[] array;
+		int arrayLength;
+		int arraySize = 0;
+		
+		long remaining = iterator.remaining();
+		if (remaining > 0 && remaining <= Integer.MAX_VALUE) {
+			// Exact length is known: Allocate the result array up front
+			// and fill it with a single block transfer.
+			arrayLength = (int) remaining;
+			array = new short[arrayLength];
+			arraySize = iterator.nextShorts(array, 0, arrayLength);
+		} else {
+			if (expectedLength == 0) {
+				// No estimate: Start with a scratch array from the pool.
+				array = (short[]) pool.borrow(short.class, DEFAULT_EXPECTED_LENGTH);
+			} else {
+				// Allocate the estimate exactly such that an exact estimate
+				// yields the result without copying it out of a larger scratch array.
+				array = new short[expectedLength];
+			}
+			arrayLength = array.length;
+		}
+		
+		Prefix prefixArrays = null;
+		int resultLength = 0;
+		
+		while (iterator.hasNext()) {
+			if (arraySize == arrayLength) {
+				prefixArrays = new Prefix(prefixArrays, array, arrayLength);
+				resultLength += arraySize;
+				array = (short[]) pool.borrow(short.class, resultLength);
+				arrayLength = array.length;
+				arraySize = 0;
+			}
+			array[arraySize++] = iterator.nextShort();
+		}
+		
+		resultLength += arraySize;
+		
+		if (prefixArrays == null && arrayLength == resultLength) {
+			return array;
+		}
+		
+		short[] result = new short[resultLength];
+		joinInto(prefixArrays, array, arraySize, result, resultLength);
+		release(pool, prefixArrays, array, null);
+		return result;
+	}
+	
+	/**
+	 * Specialization of {@link #of(Iterator, Class, int)} for {@code byte} values.
+	 * The values are obtained with {@link ByteIterator#nextByte()}
+	 * and written directly into {@code byte} arrays.
+	 *
+	 * @param iterator Iterator producing the values.
+	 * @param expectedLength The expected number of elements to be consumed from the iterator.
+	 * @return A {@code byte} array containing, in order,
+	 *         the exact values obtained by consuming {@code iterator}.
+	 *         If the iterator is empty, null is returned.
+	 * @throws IllegalArgumentException If {@code expectedLength} is negative.
+	 */
+	static byte[] of(ByteIterator iterator, int expectedLength) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (expectedLength < 0) {
+			throw new IllegalArgumentException("Negative expected length");
+		}
+		if (!iterator.hasNext()) {
+			return null;
+		}
+		
+		// Iterator is not empty.
+		ArrayPool pool = ArrayPool.defaultPool();
+		byte[] array;
+		int arrayLength;
+		int arraySize = 0;
+		
+		long remaining = iterator.remaining();
+		if (remaining > 0 && remaining <= Integer.MAX_VALUE) {
+			// Exact length is known: Allocate the result array up front
+			// and fill it with a single block transfer.
+			arrayLength = (int) remaining;
+			array = new byte[arrayLength];
+			arraySize = iterator.nextBytes(array, 0, arrayLength);
+		} else {
+			if (expectedLength == 0) {
+				// No estimate: Start with a scratch array from the pool.
+				array = (byte[]) pool.borrow(byte.class, DEFAULT_EXPECTED_LENGTH);
+			} else {
+				// Allocate the estimate exactly such that an exact estimate
+				// yields the result without copying it out of a larger scratch array.
+				array = new byte[expectedLength];
+			}
+			arrayLength = array.length;
+		}
+		
+		Prefix prefixArrays = null;
+		int resultLength = 0;
+		
+		while (iterator.hasNext()) {
+			if (arraySize == arrayLength) {
+				prefixArrays = new Prefix(prefixArrays, array, arrayLength);
+				resultLength += arraySize;
+				array = (byte[]) pool.borrow(byte.class, resultLength);
+				arrayLength = array.length;
+				arraySize = 0;
+			}
+			array[arraySize++] = iterator.nextByte();
+		}
+		
+		resultLength += arraySize;
+		
+		if (prefixArrays == null && arrayLength == resultLength) {
+			return array;
+		}
+		
+		byte[] result = new byte[resultLength];
+		joinInto(prefixArrays, array, arraySize, result, resultLength);
+		release(pool, prefixArrays, array, null);
+		return result;
+	}
+	
+	/**
+	 * Specialization of {@link #of(Iterator, Class, int)} for {@code char} values.
+	 * The values are obtained with {@link CharIterator#nextChar()}
+	 * and written directly into {@code char} arrays.
+	 *
+	 * @param iterator Iterator producing the values.
+	 * @param expectedLength The expected number of elements to be consumed from the iterator.
+	 * @return A {@code char} array containing, in order,
+	 *         the exact values obtained by consuming {@code iterator}.
+	 *         If the iterator is empty, null is returned.
+	 * @throws IllegalArgumentException If {@code expectedLength} is negative.
+	 */
+	static char[] of(CharIterator iterator, int expectedLength) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (expectedLength < 0) {
+			throw new IllegalArgumentException("Negative expected length");
+		}
+		if (!iterator.hasNext()) {
+			return null;
+		}
+		
+		// Iterator is not empty.
+		ArrayPool pool = ArrayPool.defaultPool();
+		char[] array;
+		int arrayLength;
+		int arraySize = 0;
+		
+		long remaining = iterator.remaining();
+		if (remaining > 0 && remaining <= Integer.MAX_VALUE) {
+			// Exact length is known: Allocate the result array up front
+			// and fill it with a single block transfer.
+			arrayLength = (int) remaining;
+			array = new char[arrayLength];
+			arraySize = iterator.nextChars(array, 0, arrayLength);
+		} else {
+			if (expectedLength == 0) {
+				// No estimate: Start with a scratch array from the pool.
+				array = (char[]) pool.borrow(char.class, DEFAULT_EXPECTED_LENGTH);
+			} else {
+				// Allocate the estimate exactly such that an exact estimate
+				// yields the result without copying it out of a larger scratch array.
+				array = new char[expectedLength];
+			}
+			arrayLength = array.length;
+		}
+		
+		Prefix prefixArrays = null;
+		int resultLength = 0;
+		
+		while (iterator.hasNext()) {
+			if (arraySize == arrayLength) {
+				prefixArrays = new Prefix(prefixArrays, array, arrayLength);
+				resultLength += arraySize;
+				array = (char[]) pool.borrow(char.class, resultLength);
+				arrayLength = array.length;
+				arraySize = 0;
+			}
+			array[arraySize++] = iterator.nextChar();
+		}
+		
+		resultLength += arraySize;
+		
+		if (prefixArrays == null && arrayLength == resultLength) {
+			return array;
+		}
+		
+		char[] result = new char[resultLength];
+		joinInto(prefixArrays, array, arraySize, result, resultLength);
+		release(pool, prefixArrays, array, null);
+		return result;
+	}
+	
+	/**
+	 * Specialization of {@link #of(Iterator, Class, int)} for {@code float} values.
+	 * The values are obtained with {@link FloatIterator#nextFloat()}
+	 * and written directly into {@code float} arrays.
+	 *
+	 * @param iterator Iterator producing the values.
+	 * @param expectedLength The expected number of elements to be consumed from the iterator.
+	 * @return A {@code float} array containing, in order,
+	 *         the exact values obtained by consuming {@code iterator}.
+	 *         If the iterator is empty, null is returned.
+	 * @throws IllegalArgumentException If {@code expectedLength} is negative.
+	 */
+	static float[] of(FloatIterator iterator, int expectedLength) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (expectedLength < 0) {
+			throw new IllegalArgumentException("Negative expected length");
+		}
+		if (!iterator.hasNext()) {
+			return null;
+		}
+		
+		// Iterator is not empty.
+		ArrayPool pool = ArrayPool.defaultPool();
+		float[] array;
+		int arrayLength;
+		int arraySize = 0;
+		
+		long remaining = iterator.remaining();
+		if (remaining > 0 && remaining <= Integer.MAX_VALUE) {
+			// Exact length is known: Allocate the result array up front
+			// and fill it with a single block transfer.
+			arrayLength = (int) remaining;
+			array = new float[arrayLength];
+			arraySize = iterator.nextFloats(array, 0, arrayLength);
+		} else {
+			if (expectedLength == 0) {
+				// No estimate: Start with a scratch array from the pool.
+				array = (float[]) pool.borrow(float.class, DEFAULT_EXPECTED_LENGTH);
+			} else {
+				// Allocate the estimate exactly such that an exact estimate
+				// yields the result without copying it out of a larger scratch array.
+				array = new float[expectedLength];
+			}
+			arrayLength = array.length;
+		}
+		
+		Prefix prefixArrays = null;
+		int resultLength = 0;
+		
+		while (iterator.hasNext()) {
+			if (arraySize == arrayLength) {
+				prefixArrays = new Prefix(prefixArrays, array, arrayLength);
+				resultLength += arraySize;
+				array = (float[]) pool.borrow(float.class, resultLength);
+				arrayLength = array.length;
+				arraySize = 0;
+			}
+			array[arraySize++] = iterator.nextFloat();
+		}
+		
+		resultLength += arraySize;
+		
+		if (prefixArrays == null && arrayLength == resultLength) {
+			return array;
+		}
+		
+		float[] result = new float[resultLength];
+		joinInto(prefixArrays, array, arraySize, result, resultLength);
+		release(pool, prefixArrays, array, null);
+		return result;
+	}
+	
+	/**
+	 * Specialization of {@link #of(Iterator, Class, int)} for {@code double} values.
+	 * The values are obtained with {@link DoubleIterator#nextDouble()}
+	 * and written directly into {@code double} arrays.
+	 *
+	 * @param iterator Iterator producing the values.
+	 * @param expectedLength The expected number of elements to be consumed from the iterator.
+	 * @return A {@code double} array containing, in order,
+	 *         the exact values obtained by consuming {@code iterator}.
+	 *         If the iterator is empty, null is returned.
+	 * @throws IllegalArgumentException If {@code expectedLength} is negative.
+	 */
+	static double[] of(DoubleIterator iterator, int expectedLength) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (expectedLength < 0) {
+			throw new IllegalArgumentException("Negative expected length");
+		}
+		if (!iterator.hasNext()) {
+			return null;
+		}
+		
+		// Iterator is not empty.
+		ArrayPool pool = ArrayPool.defaultPool();
+		double[] array;
+		int arrayLength;
+		int arraySize = 0;
+		
+		long remaining = iterator.remaining();
+		if (remaining > 0 && remaining <= Integer.MAX_VALUE) {
+			// Exact length is known: Allocate the result array up front
+			// and fill it with a single block transfer.
+			arrayLength = (int) remaining;
+			array = new double[arrayLength];
+			arraySize = iterator.nextDoubles(array, 0, arrayLength);
+		} else {
+			if (expectedLength == 0) {
+				// No estimate: Start with a scratch array from the pool.
+				array = (double[]) pool.borrow(double.class, DEFAULT_EXPECTED_LENGTH);
+			} else {
+				// Allocate the estimate exactly such that an exact estimate
+				// yields the result without copying it out of a larger scratch array.
+				array = new double[expectedLength];
+			}
+			arrayLength = array.length;
+		}
+		
+		Prefix prefixArrays = null;
+		int resultLength = 0;
+		
+		while (iterator.hasNext()) {
+			if (arraySize == arrayLength) {
+				prefixArrays = new Prefix(prefixArrays, array, arrayLength);
+				resultLength += arraySize;
+				array = (double[]) pool.borrow(double.class, resultLength);
+				arrayLength = array.length;
+				arraySize = 0;
+			}
+			array[arraySize++] = iterator.nextDouble();
+		}
+		
+		resultLength += arraySize;
+		
+		if (prefixArrays == null && arrayLength == resultLength) {
+			return array;
+		}
+		
+		double[] result = new double[resultLength];
+		joinInto(prefixArrays, array, arraySize, result, resultLength);
+		release(pool, prefixArrays, array, null);
+		return result;
+	}
+	
+	/**
+	 * Specialization of {@link #of(Iterator, Class, int)} for {@code boolean} values.
+	 * The values are obtained with {@link BooleanIterator#nextBoolean()}
+	 * and written directly into {@code boolean} arrays.
+	 *
+	 * @param iterator Iterator producing the values.
+	 * @param expectedLength The expected number of elements to be consumed from the iterator.
+	 * @return A {@code boolean} array containing, in order,
+	 *         the exact values obtained by consuming {@code iterator}.
+	 *         If the iterator is empty, null is returned.
+	 * @throws IllegalArgumentException If {@code expectedLength} is negative.
+	 */
+	static boolean[] of(BooleanIterator iterator, int expectedLength) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (expectedLength < 0) {
+			throw new IllegalArgumentException("Negative expected length");
+		}
+		if (!iterator.hasNext()) {
+			return null;
+		}
+		
+		// Iterator is not empty.
+		ArrayPool pool = ArrayPool.defaultPool();
+		boolean[] array;
+		int arrayLength;
+		int arraySize = 0;
+		
+		long remaining = iterator.remaining();
+		if (remaining > 0 && remaining <= Integer.MAX_VALUE) {
+			// Exact length is known: Allocate the result array up front
+			// and fill it with a single block transfer.
+			arrayLength = (int) remaining;
+			array = new boolean[arrayLength];
+			arraySize = iterator.nextBooleans(array, 0, arrayLength);
+		} else {
+			if (expectedLength == 0) {
+				// No estimate: Start with a scratch array from the pool.
+				array = (boolean[]) pool.borrow(boolean.class, DEFAULT_EXPECTED_LENGTH);
+			} else {
+				// Allocate the estimate exactly such that an exact estimate
+				// yields the result without copying it out of a larger scratch array.
+				array = new boolean[expectedLength];
+			}
+			arrayLength = array.length;
+		}
+		
+		Prefix prefixArrays = null;
+		int resultLength = 0;
+		
+		while (iterator.hasNext()) {
+			if (arraySize == arrayLength) {
+				prefixArrays = new Prefix(prefixArrays, array, arrayLength);
+				resultLength += arraySize;
+				array = (boolean[]) pool.borrow(boolean.class, resultLength);
+				arrayLength = array.length;
+				arraySize = 0;
+			}
+			array[arraySize++] = iterator.nextBoolean();
+		}
+		
+		resultLength += arraySize;
+		
+		if (prefixArrays == null && arrayLength == resultLength) {
+			return array;
+		}
+		
+		boolean[] result = new boolean[resultLength];
+		joinInto(prefixArrays, array, arraySize, result, resultLength);
+		release(pool, prefixArrays, array, null);
 		return result;
 	}
 	
@@ -132,29 +765,50 @@ class IteratorToArray {
 	 * Helper method for iteratively joining a number of arrays into a single array.
 	 * <p>
 	 * Due to reliance on a number of unchecked preconditions being met,
-	 * this method should stay private.
+	 * this method should stay package-private.
 	 *
 	 * @param prefixArrays A singly-linked list of prefix arrays.
 	 * @param suffixArray A suffix array.
 	 * @param suffixArraySize The size of the suffix array. This may be smaller than its length.
 	 * @param result The array that all prefix- and suffix-arrays are written into.
-	 *               The length of this array must be equal to the sum of all prefix array lengths
-	 *               plus {@code suffixArraySize}.
+	 * @param resultLength The length of {@code result}. This must be equal to
+	 *                     the sum of all prefix array lengths plus {@code suffixArraySize}.
 	 */
 	@SuppressWarnings("SuspiciousSystemArraycopy")
-	private static void joinInto(Prefix prefixArrays, Object suffixArray, int suffixArraySize, Object result) {
+	static void joinInto(Prefix prefixArrays, Object suffixArray, int suffixArraySize, Object result, int resultLength) {
 		// Write suffix array to the back of the result array.
-		int offset = Array.getLength(result) - suffixArraySize;
+		int offset = resultLength - suffixArraySize;
 		System.arraycopy(suffixArray, 0, result, offset, suffixArraySize);
 		
 		// Iterate prefix arrays; popping the rightmost one to be the next suffix array.
 		// Note that prefix arrays are always full; i.e., their size equals their length.
 		while (prefixArrays != null) {
 			suffixArray = prefixArrays.array;
-			suffixArraySize = Array.getLength(suffixArray);
+			suffixArraySize = prefixArrays.length;
 			offset -= suffixArraySize;
 			System.arraycopy(suffixArray, 0, result, offset, suffixArraySize);
 			prefixArrays = prefixArrays.prefix;
 		}
 	}
+	
+	/**
+	 * Helper method for releasing the scratch arrays of a chain into a pool
+	 * after they have been joined.
+	 *
+	 * @param pool The pool to release the arrays into.
+	 * @param prefixArrays A singly-linked list of prefix arrays.
+	 * @param suffixArray A suffix array.
+	 * @param retained An array of the chain that has been exposed and must not be released, or null.
+	 */
+	static void release(ArrayPool pool, Prefix prefixArrays, Object suffixArray, Object retained) {
+		if (suffixArray != retained) {
+			pool.release(suffixArray);
+		}
+		while (prefixArrays != null) {
+			if (prefixArrays.array != retained) {
+				pool.release(prefixArrays.array);
+			}
+			prefixArrays = prefixArrays.prefix;
+		}
+	}
 }
@@ -3,7 +3,7 @@ package primitivo.array;
 import java.lang.reflect.Array;
 import java.util.Iterator;
 
-/**
+	/**
  * @author Michael Bisgaard Olesen
  */
 public class ObjectArray {
@@ -144,6 +144,96 @@ public class ObjectArray {
 		return result;
 	}
 	
+	/**
+	 * Box all elements of an {@code int} array in parallel.
+	 *
+	 * @param integers An array of {@code int} values.
+	 * @param parallelism The executor and threshold to use.
+	 * @return Array containing the boxed values of the input array.
+	 */
+	public static Integer[] parallelOf(final int[] integers, Parallelism parallelism) {
+		if (integers == null) {
+			throw new NullPointerException("integers");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = integers.length;
+		if (length == 0) {
+			return EMPTY_INTEGERS;
+		}
+		final Integer[] result = new Integer[length];
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				for (int i = from; i < to; i++) {
+					result[i] = integers[i];
+				}
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * Box all elements of a {@code long} array in parallel.
+	 *
+	 * @param longs An array of {@code long} values.
+	 * @param parallelism The executor and threshold to use.
+	 * @return Array containing the boxed values of the input array.
+	 */
+	public static Long[] parallelOf(final long[] longs, Parallelism parallelism) {
+		if (longs == null) {
+			throw new NullPointerException("longs");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = longs.length;
+		if (length == 0) {
+			return EMPTY_LONGS;
+		}
+		final Long[] result = new Long[length];
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				for (int i = from; i < to; i++) {
+					result[i] = longs[i];
+				}
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * Box all elements of a {@code double} array in parallel.
+	 *
+	 * @param doubles An array of {@code double} values.
+	 * @param parallelism The executor and threshold to use.
+	 * @return Array containing the boxed values of the input array.
+	 */
+	public static Double[] parallelOf(final double[] doubles, Parallelism parallelism) {
+		if (doubles == null) {
+			throw new NullPointerException("doubles");
+		}
+		if (parallelism == null) {
+			throw new NullPointerException("parallelism");
+		}
+		int length = doubles.length;
+		if (length == 0) {
+			return EMPTY_DOUBLES;
+		}
+		final Double[] result = new Double[length];
+		parallelism.run(length, new Parallelism.Task() {
+			@Override
+			void run(int chunk, int from, int to) {
+				for (int i = from; i < to; i++) {
+					result[i] = doubles[i];
+				}
+			}
+		});
+		return result;
+	}
+	
 	//@SafeVarargs
 	public static <T> T[] of(T... objects) {
 		if (objects == null) {
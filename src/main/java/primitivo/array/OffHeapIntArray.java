@@ -0,0 +1,366 @@
+package primitivo.array;
+
+import primitivo.function.IntConsumer;
+import primitivo.iterate.IntIterable;
+import primitivo.iterate.IntIterator;
+
+import java.io.Closeable;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Fixed-length array of {@code int} values stored outside of the Java heap.
+ * <p>
+ * The values are stored in a sequence of direct buffers ("chunks") of
+ * {@value #CHUNK_LENGTH} values each, which are addressed with {@code long} indices.
+ * The last chunk only holds the values that don't fill a whole chunk,
+ * so short arrays don't reserve a whole chunk of memory.
+ * This lifts the limit of {@link Integer#MAX_VALUE} values of Java arrays
+ * and keeps large amounts of data out of reach of the garbage collector.
+ * <p>
+ * The memory should be released explicitly by calling {@link #close()}.
+ * The array and all of its iterators must not be used after that.
+ * If the running JDK doesn't allow the memory to be freed explicitly,
+ * it is freed once the (closed) array has been garbage collected.
+ * <p>
+ * The class is not thread-safe,
+ * but disjoint ranges of the array may be written concurrently from different threads.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.array
+ */
+public class OffHeapIntArray implements Closeable, IntIterable {
+	private static final int BYTES = 4;
+	
+	private static final int CHUNK_SHIFT = 20;
+	
+	/**
+	 * The number of values stored in each chunk.
+	 */
+	public static final int CHUNK_LENGTH = 1 << CHUNK_SHIFT;
+	
+	private static final int CHUNK_MASK = CHUNK_LENGTH - 1;
+	
+	// The initial length of the chunks that are filled by `of` when the number of values isn't known.
+	private static final int MIN_CHUNK_LENGTH = 1 << 10;
+	
+	// The number of values that `of` reads from the iterator at a time.
+	private static final int BLOCK_LENGTH = 1 << 10;
+	
+	private final long length;
+	
+	// The direct buffers that own the memory and their typed views. Null once closed.
+	private ByteBuffer[] memory;
+	private IntBuffer[] chunks;
+	
+	/**
+	 * Allocate an array of zeros.
+	 *
+	 * @param length The length of the array.
+	 * @throws IllegalArgumentException If {@code length} is negative.
+	 */
+	public OffHeapIntArray(long length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("Negative length");
+		}
+		int chunkCount = chunkCount(length);
+		this.length = length;
+		this.memory = new ByteBuffer[chunkCount];
+		this.chunks = new IntBuffer[chunkCount];
+		for (int i = 0; i < chunkCount; i++) {
+			allocateChunk(i, (int) Math.min(CHUNK_LENGTH, length - ((long) i << CHUNK_SHIFT)));
+		}
+	}
+	
+	private static int chunkCount(long length) {
+		long chunkCount = (length + CHUNK_MASK) >>> CHUNK_SHIFT;
+		if (chunkCount > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Length too large");
+		}
+		return (int) chunkCount;
+	}
+	
+	private void allocateChunk(int index, int chunkLength) {
+		ByteBuffer buffer = DirectMemory.allocate(chunkLength * BYTES);
+		memory[index] = buffer;
+		chunks[index] = buffer.asIntBuffer();
+	}
+	
+	// Replace a chunk with one of another length that holds its first `count` values.
+	private void resizeChunk(int index, int chunkLength, int count) {
+		ByteBuffer previous = memory[index];
+		allocateChunk(index, chunkLength);
+		ByteBuffer source = previous.duplicate();
+		// Cast to Buffer such that the JDK 1.9+ covariant overrides aren't linked against.
+		((Buffer) source).position(0);
+		((Buffer) source).limit(count * BYTES);
+		memory[index].duplicate().put(source);
+		DirectMemory.free(previous);
+	}
+	
+	/**
+	 * Consume all the values of an iterator and store them in an off-heap array.
+	 * The values are read in blocks and copied into chunks that are allocated as values are consumed,
+	 * so no estimate of the length is needed.
+	 * If the iterator knows the number of its values (see {@link primitivo.iterate.SizedIterator}),
+	 * the chunks are allocated with their final lengths;
+	 * otherwise a chunk starts out short and is doubled as it fills up,
+	 * and the last chunk is shrunk to the values it holds.
+	 * <p>
+	 * If {@code iterator} is a {@link IntIterator}, its values are consumed without boxing.
+	 *
+	 * @param iterator Iterator of {@code int} or non-null {@link Integer} values.
+	 * @return Array of all the iterator's values.
+	 */
+	public static OffHeapIntArray of(Iterator<Integer> iterator) {
+		IntIterator values = IntIterator.of(iterator);
+		OffHeapIntArray result = new OffHeapIntArray(0);
+		long expected = values.remaining();
+		ArrayPool pool = ArrayPool.defaultPool();
+		int[] block = (int[]) pool.borrow(int.class, BLOCK_LENGTH);
+		long length = 0;
+		int chunkIndex = -1;
+		int offset = 0;
+		IntBuffer chunk = null;
+		int read;
+		while ((read = values.nextInts(block, 0, BLOCK_LENGTH)) > 0) {
+			int done = 0;
+			while (done < read) {
+				if (chunk == null || offset == chunk.capacity()) {
+					if (chunk != null && chunk.capacity() < CHUNK_LENGTH) {
+						result.resizeChunk(chunkIndex, Math.min(2 * chunk.capacity(), CHUNK_LENGTH), offset);
+					} else {
+						chunkIndex++;
+						offset = 0;
+						long wanted = expected > length ? expected - length : MIN_CHUNK_LENGTH;
+						result.ensureChunkCapacity(chunkIndex + 1);
+						result.allocateChunk(chunkIndex, (int) Math.min(wanted, CHUNK_LENGTH));
+					}
+					chunk = result.chunks[chunkIndex];
+				}
+				int count = Math.min(read - done, chunk.capacity() - offset);
+				IntBuffer target = chunk.duplicate();
+				((Buffer) target).position(offset);
+				target.put(block, done, count);
+				done += count;
+				offset += count;
+				length += count;
+			}
+		}
+		pool.release(block);
+		return result.truncate(length);
+	}
+	
+	private OffHeapIntArray(long length, ByteBuffer[] memory, IntBuffer[] chunks) {
+		this.length = length;
+		this.memory = memory;
+		this.chunks = chunks;
+	}
+	
+	private void ensureChunkCapacity(int chunkCount) {
+		if (chunks.length < chunkCount) {
+			int capacity = Math.max(chunkCount, 2 * chunks.length);
+			ByteBuffer[] memory = new ByteBuffer[capacity];
+			IntBuffer[] chunks = new IntBuffer[capacity];
+			System.arraycopy(this.memory, 0, memory, 0, this.memory.length);
+			System.arraycopy(this.chunks, 0, chunks, 0, this.chunks.length);
+			this.memory = memory;
+			this.chunks = chunks;
+		}
+	}
+	
+	// Only the (small) chunk arrays and the last chunk, if it isn't full, are copied.
+	private OffHeapIntArray truncate(long length) {
+		int chunkCount = chunkCount(length);
+		ByteBuffer[] memory = new ByteBuffer[chunkCount];
+		IntBuffer[] chunks = new IntBuffer[chunkCount];
+		System.arraycopy(this.memory, 0, memory, 0, chunkCount);
+		System.arraycopy(this.chunks, 0, chunks, 0, chunkCount);
+		OffHeapIntArray result = new OffHeapIntArray(length, memory, chunks);
+		int last = (int) (length - ((long) (chunkCount - 1) << CHUNK_SHIFT));
+		if (chunkCount > 0 && chunks[chunkCount - 1].capacity() > last) {
+			result.resizeChunk(chunkCount - 1, last, last);
+		}
+		return result;
+	}
+	
+	/**
+	 * @return The number of values in the array.
+	 */
+	public long length() {
+		return length;
+	}
+	
+	private IntBuffer[] chunks() {
+		IntBuffer[] chunks = this.chunks;
+		if (chunks == null) {
+			throw new IllegalStateException("Array is closed");
+		}
+		return chunks;
+	}
+	
+	private void checkIndex(long index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+		}
+	}
+	
+	public int get(long index) {
+		checkIndex(index);
+		return chunks()[(int) (index >>> CHUNK_SHIFT)].get((int) index & CHUNK_MASK);
+	}
+	
+	public void set(long index, int value) {
+		checkIndex(index);
+		chunks()[(int) (index >>> CHUNK_SHIFT)].put((int) index & CHUNK_MASK, value);
+	}
+	
+	/**
+	 * @return Iterator of all values of the array.
+	 */
+	//@Override
+	public IntIterator iterator() {
+		return iterator(0, length);
+	}
+	
+	/**
+	 * Passes all values of the array to a consumer in the order of {@link #iterator()},
+	 * in a single loop over the chunks.
+	 *
+	 * @param consumer The consumer that receives the values.
+	 */
+	//@Override
+	public void forEach(IntConsumer consumer) {
+		iterator().forEachRemaining(consumer);
+	}
+	
+	/**
+	 * Returns an iterator of the values of a range of the array.
+	 * The iterator supports bulk reads and may be split by index.
+	 *
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @return Iterator of the values at indices {@code from}, ..., {@code to - 1}.
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > length()}.
+	 */
+	public IntIterator iterator(long from, long to) {
+		if (from > to) {
+			throw new IllegalArgumentException("from " + from + " > to " + to);
+		}
+		if (from < 0 || to > length) {
+			throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + length);
+		}
+		chunks();
+		return new RangeIterator(from, to);
+	}
+	
+	private class RangeIterator extends IntIterator {
+		private long index;
+		private final long to;
+		
+		private RangeIterator(long from, long to) {
+			this.index = from;
+			this.to = to;
+		}
+		
+		//@Override
+		public boolean hasNext() {
+			return index < to;
+		}
+		
+		@Override
+		public int nextInt() {
+			if (index >= to) {
+				throw new NoSuchElementException();
+			}
+			long index = this.index++;
+			return chunks()[(int) (index >>> CHUNK_SHIFT)].get((int) index & CHUNK_MASK);
+		}
+		
+		@Override
+		public int nextInts(int[] destination, int offset, int length) {
+			if (destination == null) {
+				throw new NullPointerException("destination");
+			}
+			if (offset < 0 || length < 0 || offset > destination.length - length) {
+				throw new IndexOutOfBoundsException(
+						"offset " + offset + ", length " + length + ", array length " + destination.length
+				);
+			}
+			IntBuffer[] chunks = chunks();
+			int count = (int) Math.min(length, to - index);
+			int done = 0;
+			while (done < count) {
+				IntBuffer chunk = chunks[(int) (index >>> CHUNK_SHIFT)].duplicate();
+				int chunkOffset = (int) index & CHUNK_MASK;
+				int chunkCount = Math.min(count - done, CHUNK_LENGTH - chunkOffset);
+				((Buffer) chunk).position(chunkOffset);
+				chunk.get(destination, offset + done, chunkCount);
+				done += chunkCount;
+				index += chunkCount;
+			}
+			return count;
+		}
+		
+		@Override
+		public void forEachRemaining(IntConsumer consumer) {
+			if (consumer == null) {
+				throw new NullPointerException("consumer");
+			}
+			chunks();
+			long to = this.to;
+			while (index < to) {
+				int chunkIndex = (int) (index >>> CHUNK_SHIFT);
+				int chunkOffset = (int) index & CHUNK_MASK;
+				int chunkEnd = (int) Math.min(CHUNK_LENGTH, chunkOffset + (to - index));
+				for (int i = chunkOffset; i < chunkEnd; i++) {
+					// The chunk is looked up for every value such that a consumer that closes the array
+					// makes the iteration fail instead of reading freed memory.
+					int value = chunks()[chunkIndex].get(i);
+					index++;
+					consumer.accept(value);
+				}
+			}
+		}
+		
+		@Override
+		public long remaining() {
+			return to - index;
+		}
+		
+		@Override
+		public IntIterator trySplit() {
+			long middle = (index + to) >>> 1;
+			if (middle == index) {
+				return null;
+			}
+			IntIterator prefix = new RangeIterator(index, middle);
+			index = middle;
+			return prefix;
+		}
+	}
+	
+	/**
+	 * Release the memory of the array.
+	 * The array and its iterators must not be used afterwards;
+	 * they throw {@link IllegalStateException} if they are, even while they are being iterated.
+	 * Calling this method more than once has no effect.
+	 */
+	//@Override
+	public void close() {
+		ByteBuffer[] memory = this.memory;
+		if (memory == null) {
+			return;
+		}
+		this.memory = null;
+		this.chunks = null;
+		for (ByteBuffer buffer : memory) {
+			DirectMemory.free(buffer);
+		}
+	}
+}
@@ -0,0 +1,207 @@
+package primitivo.array;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Configuration of the parallel bulk operations on arrays
+ * (e.g. {@link IntArray#parallelMap(int[], primitivo.function.IntUnaryOp, Parallelism)}).
+ * <p>
+ * An operation on an array of length {@code n} is split into chunks of at least
+ * {@link #threshold()} elements (but no more than a few chunks per thread).
+ * Arrays shorter than twice the threshold are therefore processed sequentially
+ * by the calling thread without involving the executor.
+ * <p>
+ * The calling thread processes chunks along with the threads of the executor
+ * and only waits for chunks that other threads have already started.
+ * An operation therefore completes even if the executor is saturated,
+ * and operations may safely be invoked from the executor's own threads.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.array
+ */
+public class Parallelism {
+	/**
+	 * The default minimum number of elements per chunk.
+	 */
+	public static final int DEFAULT_THRESHOLD = 1 << 14;
+	
+	// The maximum number of chunks per thread; more than one evens out uneven progress.
+	private static final int CHUNKS_PER_THREAD = 4;
+	
+	private final ExecutorService executor;
+	private final int threads;
+	private final int threshold;
+	
+	/**
+	 * @param executor The executor that runs the chunks not run by the calling thread.
+	 * @param threads The number of threads of the executor that may work on a single operation.
+	 * @param threshold The minimum number of elements per chunk.
+	 * @throws IllegalArgumentException If {@code threads} or {@code threshold} is not positive.
+	 */
+	public Parallelism(ExecutorService executor, int threads, int threshold) {
+		if (executor == null) {
+			throw new NullPointerException("executor");
+		}
+		if (threads <= 0) {
+			throw new IllegalArgumentException("Non-positive threads");
+		}
+		if (threshold <= 0) {
+			throw new IllegalArgumentException("Non-positive threshold");
+		}
+		this.executor = executor;
+		this.threads = threads;
+		this.threshold = threshold;
+	}
+	
+	private static class DefaultHolder {
+		private static final Parallelism DEFAULT;
+		
+		static {
+			int threads = Runtime.getRuntime().availableProcessors();
+			ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+				private final AtomicInteger count = new AtomicInteger();
+				
+				//@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "primitivo-parallel-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			DEFAULT = new Parallelism(executor, threads, DEFAULT_THRESHOLD);
+		}
+	}
+	
+	/**
+	 * Returns the shared default configuration:
+	 * A pool of daemon threads, one per available processor,
+	 * and a threshold of {@value #DEFAULT_THRESHOLD}.
+	 * The pool is created on the first invocation.
+	 *
+	 * @return The default configuration.
+	 */
+	public static Parallelism defaultParallelism() {
+		return DefaultHolder.DEFAULT;
+	}
+	
+	/**
+	 * @param threshold The minimum number of elements per chunk.
+	 * @return Configuration with the same executor as this one and the given threshold.
+	 */
+	public Parallelism withThreshold(int threshold) {
+		return new Parallelism(executor, threads, threshold);
+	}
+	
+	/**
+	 * @return The minimum number of elements per chunk.
+	 */
+	public int threshold() {
+		return threshold;
+	}
+	
+	/**
+	 * Task that processes a chunk of an array.
+	 */
+	static abstract class Task {
+		/**
+		 * Process the elements {@code from}, ..., {@code to - 1}.
+		 *
+		 * @param chunk The index of the chunk in the order of the elements.
+		 */
+		abstract void run(int chunk, int from, int to);
+	}
+	
+	/**
+	 * @return The number of chunks that an array of the given length is split into.
+	 */
+	int chunkCount(int length) {
+		int chunks = length / threshold;
+		return Math.max(1, Math.min(chunks, threads * CHUNKS_PER_THREAD));
+	}
+	
+	/**
+	 * @return The start index of a chunk of an array that is split into {@code chunkCount} chunks.
+	 */
+	static int chunkStart(int length, int chunkCount, int chunk) {
+		return (int) ((long) length * chunk / chunkCount);
+	}
+	
+	/**
+	 * Run a task on all chunks of an array and wait for it to complete.
+	 * If the task throws an exception on any chunk, the remaining chunks may be skipped,
+	 * and the exception is rethrown (wrapped, if checked) when all started chunks have completed.
+	 * If the executor rejects a helper, no further helpers are submitted
+	 * and the calling thread runs the chunks that the submitted helpers don't claim.
+	 *
+	 * @param length The length of the array.
+	 * @param task The task to run.
+	 */
+	void run(final int length, final Task task) {
+		final int chunkCount = chunkCount(length);
+		if (chunkCount == 1) {
+			task.run(0, 0, length);
+			return;
+		}
+		final AtomicInteger nextChunk = new AtomicInteger();
+		final CountDownLatch done = new CountDownLatch(chunkCount);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Runnable worker = new Runnable() {
+			//@Override
+			public void run() {
+				int chunk;
+				while ((chunk = nextChunk.getAndIncrement()) < chunkCount) {
+					try {
+						if (failure.get() == null) {
+							task.run(chunk, chunkStart(length, chunkCount, chunk), chunkStart(length, chunkCount, chunk + 1));
+						}
+					} catch (Throwable t) {
+						failure.compareAndSet(null, t);
+					} finally {
+						done.countDown();
+					}
+				}
+			}
+		};
+		int helpers = Math.min(threads, chunkCount - 1);
+		for (int i = 0; i < helpers; i++) {
+			try {
+				executor.execute(worker);
+			} catch (RejectedExecutionException e) {
+				// The executor is bounded or shut down; the helpers that were submitted may still be running,
+				// so the remaining chunks are run by this thread and completion is awaited as usual.
+				break;
+			}
+		}
+		worker.run();
+		
+		boolean interrupted = false;
+		while (true) {
+			try {
+				done.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		Throwable t = failure.get();
+		if (t instanceof RuntimeException) {
+			throw (RuntimeException) t;
+		}
+		if (t instanceof Error) {
+			throw (Error) t;
+		}
+		if (t != null) {
+			throw new RuntimeException(t);
+		}
+	}
+}
@@ -0,0 +1,715 @@
+package primitivo.array;
+
+/**
+ * Utility class of functions for sorting arrays of primitive values.
+ * <p>
+ * The functions implement a stable least-significant-digit radix sort
+ * that runs in linear time: The keys are distributed by one byte at a time,
+ * and passes in which all keys have the same byte are skipped
+ * (e.g. the high bytes of timestamps).
+ * {@code float} and {@code double} keys are sorted by their IEEE 754 bits
+ * with the bits of negative values flipped.
+ * <p>
+ * The sorts may be combined with a payload array that is permuted along with the keys,
+ * and {@code argsort} functions compute the sorting permutation without modifying the keys.
+ * Because the sorts are stable, the payload values of equal keys keep their relative order.
+ * <p>
+ * The functions allocate a buffer of the size of the input.
+ * None of the functions accept null values.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.array
+ */
+public class RadixSort {
+	private static final int RADIX = 1 << 8;
+	
+	// Below this length, insertion sort is faster than the radix passes.
+	private static final int INSERTION_SORT_THRESHOLD = 64;
+	
+	private static void checkRange(int length, int from, int to) {
+		if (from > to) {
+			throw new IllegalArgumentException("from " + from + " > to " + to);
+		}
+		if (from < 0 || to > length) {
+			throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + length);
+		}
+	}
+	
+	private static int[] indices(int length) {
+		int[] indices = new int[length];
+		for (int i = 0; i < length; i++) {
+			indices[i] = i;
+		}
+		return indices;
+	}
+	
+	// Maps the bits of a floating point value to a signed integer of the same order and back.
+	private static int toSortable(int bits) {
+		return bits ^ ((bits >> 31) & 0x7fffffff);
+	}
+	
+	private static long toSortable(long bits) {
+		return bits ^ ((bits >> 63) & 0x7fffffffffffffffL);
+	}
+	
+	private static void checkPayload(int[] keys, int[] payload) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		if (payload == null) {
+			throw new NullPointerException("payload");
+		}
+		if (payload.length != keys.length) {
+			throw new IllegalArgumentException("Payload length " + payload.length + " differs from keys length " + keys.length);
+		}
+	}
+	
+	private static void checkPayload(int[] keys, long[] payload) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		if (payload == null) {
+			throw new NullPointerException("payload");
+		}
+		if (payload.length != keys.length) {
+			throw new IllegalArgumentException("Payload length " + payload.length + " differs from keys length " + keys.length);
+		}
+	}
+	
+	private static void checkPayload(long[] keys, int[] payload) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		if (payload == null) {
+			throw new NullPointerException("payload");
+		}
+		if (payload.length != keys.length) {
+			throw new IllegalArgumentException("Payload length " + payload.length + " differs from keys length " + keys.length);
+		}
+	}
+	
+	private static void checkPayload(long[] keys, long[] payload) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		if (payload == null) {
+			throw new NullPointerException("payload");
+		}
+		if (payload.length != keys.length) {
+			throw new IllegalArgumentException("Payload length " + payload.length + " differs from keys length " + keys.length);
+		}
+	}
+	
+	private static void checkPayload(float[] keys, int[] payload) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		if (payload == null) {
+			throw new NullPointerException("payload");
+		}
+		if (payload.length != keys.length) {
+			throw new IllegalArgumentException("Payload length " + payload.length + " differs from keys length " + keys.length);
+		}
+	}
+	
+	private static void checkPayload(float[] keys, long[] payload) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		if (payload == null) {
+			throw new NullPointerException("payload");
+		}
+		if (payload.length != keys.length) {
+			throw new IllegalArgumentException("Payload length " + payload.length + " differs from keys length " + keys.length);
+		}
+	}
+	
+	private static void checkPayload(double[] keys, int[] payload) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		if (payload == null) {
+			throw new NullPointerException("payload");
+		}
+		if (payload.length != keys.length) {
+			throw new IllegalArgumentException("Payload length " + payload.length + " differs from keys length " + keys.length);
+		}
+	}
+	
+	private static void checkPayload(double[] keys, long[] payload) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		if (payload == null) {
+			throw new NullPointerException("payload");
+		}
+		if (payload.length != keys.length) {
+			throw new IllegalArgumentException("Payload length " + payload.length + " differs from keys length " + keys.length);
+		}
+	}
+	
+	/**
+	 * Sort an array of {@code int} values in ascending order.
+	 *
+	 * @param values The array to sort.
+	 */
+	public static void sort(int[] values) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		radixSort(values, null, null, 0, values.length);
+	}
+	
+	/**
+	 * Sort a range of an array of {@code int} values in ascending order.
+	 *
+	 * @param values The array to sort.
+	 * @param from The index of the first value to sort (inclusive).
+	 * @param to The index after the last value to sort (exclusive).
+	 */
+	public static void sort(int[] values, int from, int to) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		checkRange(values.length, from, to);
+		radixSort(values, null, null, from, to);
+	}
+	
+	/**
+	 * Sort an array of {@code int} keys in ascending order
+	 * and apply the same permutation to an {@code int} payload array.
+	 *
+	 * @param keys The array to sort.
+	 * @param payload The array to permute along with {@code keys}.
+	 */
+	public static void sort(int[] keys, int[] payload) {
+		checkPayload(keys, payload);
+		radixSort(keys, payload, null, 0, keys.length);
+	}
+	
+	/**
+	 * Sort an array of {@code int} keys in ascending order
+	 * and apply the same permutation to a {@code long} payload array.
+	 *
+	 * @param keys The array to sort.
+	 * @param payload The array to permute along with {@code keys}.
+	 */
+	public static void sort(int[] keys, long[] payload) {
+		checkPayload(keys, payload);
+		radixSort(keys, null, payload, 0, keys.length);
+	}
+	
+	/**
+	 * Compute the permutation that sorts an array of {@code int} keys.
+	 * The keys are not modified.
+	 *
+	 * @param keys The array of keys.
+	 * @return Array of the indices of {@code keys} in the order of their keys.
+	 */
+	public static int[] argsort(int[] keys) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		int[] indices = indices(keys.length);
+		radixSort(keys.clone(), indices, null, 0, keys.length);
+		return indices;
+	}
+	
+	/**
+	 * Sort an array of {@code long} values in ascending order.
+	 *
+	 * @param values The array to sort.
+	 */
+	public static void sort(long[] values) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		radixSort(values, null, null, 0, values.length);
+	}
+	
+	/**
+	 * Sort a range of an array of {@code long} values in ascending order.
+	 *
+	 * @param values The array to sort.
+	 * @param from The index of the first value to sort (inclusive).
+	 * @param to The index after the last value to sort (exclusive).
+	 */
+	public static void sort(long[] values, int from, int to) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		checkRange(values.length, from, to);
+		radixSort(values, null, null, from, to);
+	}
+	
+	/**
+	 * Sort an array of {@code long} keys in ascending order
+	 * and apply the same permutation to an {@code int} payload array.
+	 *
+	 * @param keys The array to sort.
+	 * @param payload The array to permute along with {@code keys}.
+	 */
+	public static void sort(long[] keys, int[] payload) {
+		checkPayload(keys, payload);
+		radixSort(keys, payload, null, 0, keys.length);
+	}
+	
+	/**
+	 * Sort an array of {@code long} keys in ascending order
+	 * and apply the same permutation to a {@code long} payload array.
+	 *
+	 * @param keys The array to sort.
+	 * @param payload The array to permute along with {@code keys}.
+	 */
+	public static void sort(long[] keys, long[] payload) {
+		checkPayload(keys, payload);
+		radixSort(keys, null, payload, 0, keys.length);
+	}
+	
+	/**
+	 * Compute the permutation that sorts an array of {@code long} keys.
+	 * The keys are not modified.
+	 *
+	 * @param keys The array of keys.
+	 * @return Array of the indices of {@code keys} in the order of their keys.
+	 */
+	public static int[] argsort(long[] keys) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		int[] indices = indices(keys.length);
+		radixSort(keys.clone(), indices, null, 0, keys.length);
+		return indices;
+	}
+	
+	private static int[] toSortableInts(float[] values, int from, int to) {
+		int[] keys = new int[to - from];
+		for (int i = from; i < to; i++) {
+			keys[i - from] = toSortable(Float.floatToIntBits(values[i]));
+		}
+		return keys;
+	}
+	
+	private static void fromSortableInts(int[] keys, float[] values, int from) {
+		for (int i = 0; i < keys.length; i++) {
+			values[from + i] = Float.intBitsToFloat(toSortable(keys[i]));
+		}
+	}
+	
+	/**
+	 * Sort an array of {@code float} values in ascending order.
+	 * The order is the same as that of {@link java.util.Arrays#sort(float[])}
+	 * except that NaN values are normalized to {@link Float#NaN}.
+	 *
+	 * @param values The array to sort.
+	 */
+	public static void sort(float[] values) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		sort(values, 0, values.length);
+	}
+	
+	/**
+	 * Sort a range of an array of {@code float} values in ascending order.
+	 *
+	 * @param values The array to sort.
+	 * @param from The index of the first value to sort (inclusive).
+	 * @param to The index after the last value to sort (exclusive).
+	 * @see #sort(float[])
+	 */
+	public static void sort(float[] values, int from, int to) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		checkRange(values.length, from, to);
+		int[] keys = toSortableInts(values, from, to);
+		radixSort(keys, null, null, 0, keys.length);
+		fromSortableInts(keys, values, from);
+	}
+	
+	/**
+	 * Sort an array of {@code float} keys in ascending order
+	 * and apply the same permutation to an {@code int} payload array.
+	 *
+	 * @param keys The array to sort.
+	 * @param payload The array to permute along with {@code keys}.
+	 * @see #sort(float[])
+	 */
+	public static void sort(float[] keys, int[] payload) {
+		checkPayload(keys, payload);
+		int[] sortable = toSortableInts(keys, 0, keys.length);
+		radixSort(sortable, payload, null, 0, sortable.length);
+		fromSortableInts(sortable, keys, 0);
+	}
+	
+	/**
+	 * Sort an array of {@code float} keys in ascending order
+	 * and apply the same permutation to a {@code long} payload array.
+	 *
+	 * @param keys The array to sort.
+	 * @param payload The array to permute along with {@code keys}.
+	 * @see #sort(float[])
+	 */
+	public static void sort(float[] keys, long[] payload) {
+		checkPayload(keys, payload);
+		int[] sortable = toSortableInts(keys, 0, keys.length);
+		radixSort(sortable, null, payload, 0, sortable.length);
+		fromSortableInts(sortable, keys, 0);
+	}
+	
+	/**
+	 * Compute the permutation that sorts an array of {@code float} keys.
+	 * The keys are not modified.
+	 *
+	 * @param keys The array of keys.
+	 * @return Array of the indices of {@code keys} in the order of their keys.
+	 * @see #sort(float[])
+	 */
+	public static int[] argsort(float[] keys) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		int[] indices = indices(keys.length);
+		radixSort(toSortableInts(keys, 0, keys.length), indices, null, 0, keys.length);
+		return indices;
+	}
+	
+	private static long[] toSortableLongs(double[] values, int from, int to) {
+		long[] keys = new long[to - from];
+		for (int i = from; i < to; i++) {
+			keys[i - from] = toSortable(Double.doubleToLongBits(values[i]));
+		}
+		return keys;
+	}
+	
+	private static void fromSortableLongs(long[] keys, double[] values, int from) {
+		for (int i = 0; i < keys.length; i++) {
+			values[from + i] = Double.longBitsToDouble(toSortable(keys[i]));
+		}
+	}
+	
+	/**
+	 * Sort an array of {@code double} values in ascending order.
+	 * The order is the same as that of {@link java.util.Arrays#sort(double[])}
+	 * except that NaN values are normalized to {@link Double#NaN}.
+	 *
+	 * @param values The array to sort.
+	 */
+	public static void sort(double[] values) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		sort(values, 0, values.length);
+	}
+	
+	/**
+	 * Sort a range of an array of {@code double} values in ascending order.
+	 *
+	 * @param values The array to sort.
+	 * @param from The index of the first value to sort (inclusive).
+	 * @param to The index after the last value to sort (exclusive).
+	 * @see #sort(double[])
+	 */
+	public static void sort(double[] values, int from, int to) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		checkRange(values.length, from, to);
+		long[] keys = toSortableLongs(values, from, to);
+		radixSort(keys, null, null, 0, keys.length);
+		fromSortableLongs(keys, values, from);
+	}
+	
+	/**
+	 * Sort an array of {@code double} keys in ascending order
+	 * and apply the same permutation to an {@code int} payload array.
+	 *
+	 * @param keys The array to sort.
+	 * @param payload The array to permute along with {@code keys}.
+	 * @see #sort(double[])
+	 */
+	public static void sort(double[] keys, int[] payload) {
+		checkPayload(keys, payload);
+		long[] sortable = toSortableLongs(keys, 0, keys.length);
+		radixSort(sortable, payload, null, 0, sortable.length);
+		fromSortableLongs(sortable, keys, 0);
+	}
+	
+	/**
+	 * Sort an array of {@code double} keys in ascending order
+	 * and apply the same permutation to a {@code long} payload array.
+	 *
+	 * @param keys The array to sort.
+	 * @param payload The array to permute along with {@code keys}.
+	 * @see #sort(double[])
+	 */
+	public static void sort(double[] keys, long[] payload) {
+		checkPayload(keys, payload);
+		long[] sortable = toSortableLongs(keys, 0, keys.length);
+		radixSort(sortable, null, payload, 0, sortable.length);
+		fromSortableLongs(sortable, keys, 0);
+	}
+	
+	/**
+	 * Compute the permutation that sorts an array of {@code double} keys.
+	 * The keys are not modified.
+	 *
+	 * @param keys The array of keys.
+	 * @return Array of the indices of {@code keys} in the order of their keys.
+	 * @see #sort(double[])
+	 */
+	public static int[] argsort(double[] keys) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		int[] indices = indices(keys.length);
+		radixSort(toSortableLongs(keys, 0, keys.length), indices, null, 0, keys.length);
+		return indices;
+	}
+	
+	/**
+	 * Stable LSD radix sort of the signed keys in {@code keys[from..to)},
+	 * permuting at most one of the payload arrays in lockstep.
+	 */
+	private static void radixSort(int[] keys, int[] ints, long[] longs, int from, int to) {
+		int n = to - from;
+		if (n < INSERTION_SORT_THRESHOLD) {
+			insertionSort(keys, ints, longs, from, to);
+			return;
+		}
+		
+		// Count the digits of all passes in one sweep.
+		int[][] counts = new int[4][RADIX];
+		for (int i = from; i < to; i++) {
+			int key = keys[i];
+			for (int pass = 0; pass < 4; pass++) {
+				counts[pass][digit(key, pass)]++;
+			}
+		}
+		
+		int[] sourceKeys = keys;
+		int[] sourceInts = ints;
+		long[] sourceLongs = longs;
+		int sourceOffset = from;
+		int[] targetKeys = new int[n];
+		int[] targetInts = ints == null ? null : new int[n];
+		long[] targetLongs = longs == null ? null : new long[n];
+		int targetOffset = 0;
+		for (int pass = 0; pass < 4; pass++) {
+			int[] count = counts[pass];
+			if (count[digit(keys[from], pass)] == n) {
+				// All keys have the same digit: the pass wouldn't change the order.
+				continue;
+			}
+			int sum = 0;
+			for (int digit = 0; digit < RADIX; digit++) {
+				int c = count[digit];
+				count[digit] = sum;
+				sum += c;
+			}
+			int end = sourceOffset + n;
+			if (sourceInts != null) {
+				for (int i = sourceOffset; i < end; i++) {
+					int key = sourceKeys[i];
+					int index = targetOffset + count[digit(key, pass)]++;
+					targetKeys[index] = key;
+					targetInts[index] = sourceInts[i];
+				}
+			} else if (sourceLongs != null) {
+				for (int i = sourceOffset; i < end; i++) {
+					int key = sourceKeys[i];
+					int index = targetOffset + count[digit(key, pass)]++;
+					targetKeys[index] = key;
+					targetLongs[index] = sourceLongs[i];
+				}
+			} else {
+				for (int i = sourceOffset; i < end; i++) {
+					int key = sourceKeys[i];
+					targetKeys[targetOffset + count[digit(key, pass)]++] = key;
+				}
+			}
+			
+			int[] swapKeys = sourceKeys;
+			sourceKeys = targetKeys;
+			targetKeys = swapKeys;
+			int[] swapInts = sourceInts;
+			sourceInts = targetInts;
+			targetInts = swapInts;
+			long[] swapLongs = sourceLongs;
+			sourceLongs = targetLongs;
+			targetLongs = swapLongs;
+			int swapOffset = sourceOffset;
+			sourceOffset = targetOffset;
+			targetOffset = swapOffset;
+		}
+		
+		if (sourceKeys != keys) {
+			System.arraycopy(sourceKeys, sourceOffset, keys, from, n);
+			if (ints != null) {
+				System.arraycopy(sourceInts, sourceOffset, ints, from, n);
+			}
+			if (longs != null) {
+				System.arraycopy(sourceLongs, sourceOffset, longs, from, n);
+			}
+		}
+	}
+	
+	private static int digit(int key, int pass) {
+		int digit = (key >>> (pass << 3)) & (RADIX - 1);
+		// Flip the sign bit in the most significant digit to order negative keys first.
+		return pass == 3 ? digit ^ (RADIX >>> 1) : digit;
+	}
+	
+	private static void insertionSort(int[] keys, int[] ints, long[] longs, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			int key = keys[i];
+			int j = i - 1;
+			if (keys[j] <= key) {
+				continue;
+			}
+			int intValue = ints == null ? 0 : ints[i];
+			long longValue = longs == null ? 0 : longs[i];
+			do {
+				keys[j + 1] = keys[j];
+				if (ints != null) {
+					ints[j + 1] = ints[j];
+				}
+				if (longs != null) {
+					longs[j + 1] = longs[j];
+				}
+				j--;
+			} while (j >= from && keys[j] > key);
+			keys[j + 1] = key;
+			if (ints != null) {
+				ints[j + 1] = intValue;
+			}
+			if (longs != null) {
+				longs[j + 1] = longValue;
+			}
+		}
+	}
+	
+	/**
+	 * Stable LSD radix sort of the signed keys in {@code keys[from..to)},
+	 * permuting at most one of the payload arrays in lockstep.
+	 */
+	private static void radixSort(long[] keys, int[] ints, long[] longs, int from, int to) {
+		int n = to - from;
+		if (n < INSERTION_SORT_THRESHOLD) {
+			insertionSort(keys, ints, longs, from, to);
+			return;
+		}
+		
+		// Count the digits of all passes in one sweep.
+		int[][] counts = new int[8][RADIX];
+		for (int i = from; i < to; i++) {
+			long key = keys[i];
+			for (int pass = 0; pass < 8; pass++) {
+				counts[pass][digit(key, pass)]++;
+			}
+		}
+		
+		long[] sourceKeys = keys;
+		int[] sourceInts = ints;
+		long[] sourceLongs = longs;
+		int sourceOffset = from;
+		long[] targetKeys = new long[n];
+		int[] targetInts = ints == null ? null : new int[n];
+		long[] targetLongs = longs == null ? null : new long[n];
+		int targetOffset = 0;
+		for (int pass = 0; pass < 8; pass++) {
+			int[] count = counts[pass];
+			if (count[digit(keys[from], pass)] == n) {
+				// All keys have the same digit: the pass wouldn't change the order.
+				continue;
+			}
+			int sum = 0;
+			for (int digit = 0; digit < RADIX; digit++) {
+				int c = count[digit];
+				count[digit] = sum;
+				sum += c;
+			}
+			int end = sourceOffset + n;
+			if (sourceInts != null) {
+				for (int i = sourceOffset; i < end; i++) {
+					long key = sourceKeys[i];
+					int index = targetOffset + count[digit(key, pass)]++;
+					targetKeys[index] = key;
+					targetInts[index] = sourceInts[i];
+				}
+			} else if (sourceLongs != null) {
+				for (int i = sourceOffset; i < end; i++) {
+					long key = sourceKeys[i];
+					int index = targetOffset + count[digit(key, pass)]++;
+					targetKeys[index] = key;
+					targetLongs[index] = sourceLongs[i];
+				}
+			} else {
+				for (int i = sourceOffset; i < end; i++) {
+					long key = sourceKeys[i];
+					targetKeys[targetOffset + count[digit(key, pass)]++] = key;
+				}
+			}
+			
+			long[] swapKeys = sourceKeys;
+			sourceKeys = targetKeys;
+			targetKeys = swapKeys;
+			int[] swapInts = sourceInts;
+			sourceInts = targetInts;
+			targetInts = swapInts;
+			long[] swapLongs = sourceLongs;
+			sourceLongs = targetLongs;
+			targetLongs = swapLongs;
+			int swapOffset = sourceOffset;
+			sourceOffset = targetOffset;
+			targetOffset = swapOffset;
+		}
+		
+		if (sourceKeys != keys) {
+			System.arraycopy(sourceKeys, sourceOffset, keys, from, n);
+			if (ints != null) {
+				System.arraycopy(sourceInts, sourceOffset, ints, from, n);
+			}
+			if (longs != null) {
+				System.arraycopy(sourceLongs, sourceOffset, longs, from, n);
+			}
+		}
+	}
+	
+	private static int digit(long key, int pass) {
+		int digit = (int) (key >>> (pass << 3)) & (RADIX - 1);
+		// Flip the sign bit in the most significant digit to order negative keys first.
+		return pass == 7 ? digit ^ (RADIX >>> 1) : digit;
+	}
+	
+	private static void insertionSort(long[] keys, int[] ints, long[] longs, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			long key = keys[i];
+			int j = i - 1;
+			if (keys[j] <= key) {
+				continue;
+			}
+			int intValue = ints == null ? 0 : ints[i];
+			long longValue = longs == null ? 0 : longs[i];
+			do {
+				keys[j + 1] = keys[j];
+				if (ints != null) {
+					ints[j + 1] = ints[j];
+				}
+				if (longs != null) {
+					longs[j + 1] = longs[j];
+				}
+				j--;
+			} while (j >= from && keys[j] > key);
+			keys[j + 1] = key;
+			if (ints != null) {
+				ints[j + 1] = intValue;
+			}
+			if (longs != null) {
+				longs[j + 1] = longValue;
+			}
+		}
+	}
+}
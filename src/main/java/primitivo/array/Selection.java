@@ -0,0 +1,1287 @@
+package primitivo.array;
+
+import primitivo.iterate.DoubleIterator;
+import primitivo.iterate.IntIterator;
+import primitivo.iterate.LongIterator;
+
+import java.util.Arrays;
+
+/**
+ * Utility class of functions for selecting values by rank
+ * without fully sorting them.
+ * <p>
+ * {@code nthElement} and {@code nthElements} partially sort an array in place
+ * using introselect: Quickselect with median-of-3 pivots
+ * that falls back to sorting the remaining range if the partitioning degenerates.
+ * {@code percentiles} selects the values at several quantiles
+ * in a single partitioning pass over the array,
+ * and {@code topK} selects the largest values of an iterator
+ * without storing more than {@code k} of them.
+ * <p>
+ * None of the functions accept null values.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.array
+ */
+public class Selection {
+	// Below this length, ranges are selected by insertion sort.
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+	
+	private static final int TOP_K_INITIAL_CAPACITY = 1 << 10;
+	
+	private static final int BLOCK_LENGTH = 256;
+	
+	private static int depthLimit(int length) {
+		return 2 * (32 - Integer.numberOfLeadingZeros(length));
+	}
+	
+	private static int[] sortedRanks(int[] ranks, int length) {
+		if (ranks == null) {
+			throw new NullPointerException("ranks");
+		}
+		for (int rank : ranks) {
+			if (rank < 0 || rank >= length) {
+				throw new IndexOutOfBoundsException("rank " + rank + ", length " + length);
+			}
+		}
+		int[] sortedRanks = ranks.clone();
+		Arrays.sort(sortedRanks);
+		return sortedRanks;
+	}
+	
+	private static int[] ranks(double[] quantiles, int length) {
+		if (quantiles == null) {
+			throw new NullPointerException("quantiles");
+		}
+		if (length == 0) {
+			throw new IllegalArgumentException("No values");
+		}
+		int[] ranks = new int[quantiles.length];
+		for (int i = 0; i < quantiles.length; i++) {
+			double quantile = quantiles[i];
+			if (!(quantile >= 0 && quantile <= 1)) {
+				throw new IllegalArgumentException("Quantile " + quantile + " outside [0, 1]");
+			}
+			ranks[i] = Math.max(0, (int) Math.ceil(quantile * length) - 1);
+		}
+		return ranks;
+	}
+	
+	// Orders NaN after all other values.
+	private static boolean isGreater(float a, float b) {
+		return a > b || (a != a && b == b);
+	}
+	
+	private static boolean isGreater(double a, double b) {
+		return a > b || (a != a && b == b);
+	}
+
+	/**
+	 * Partially sort an array such that {@code values[rank]} is the value
+	 * that would be at that index if the array was sorted,
+	 * all values before it are less than or equal to it,
+	 * and all values after it are greater than or equal to it.
+	 * <p>
+	 * The expected running time is linear in the length of the array
+	 * and the worst case is bounded by that of sorting it.
+	 *
+	 * @param values The array to partially sort.
+	 * @param rank The index of the value to select.
+	 * @return The selected value {@code values[rank]}.
+	 * @throws IndexOutOfBoundsException If {@code rank} is not an index of {@code values}.
+	 */
+	public static byte nthElement(byte[] values, int rank) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (rank < 0 || rank >= values.length) {
+			throw new IndexOutOfBoundsException("rank " + rank + ", length " + values.length);
+		}
+		select(values, 0, values.length, new int[]{rank}, 0, 1, depthLimit(values.length));
+		return values[rank];
+	}
+	
+	/**
+	 * Partially sort an array such that each of the given ranks satisfies
+	 * the conditions of {@link #nthElement(byte[], int)}.
+	 * All the ranks are resolved during a single recursive partitioning of the array.
+	 *
+	 * @param values The array to partially sort.
+	 * @param ranks The indices of the values to select in any order.
+	 * @return The selected values in the order of {@code ranks}.
+	 * @throws IndexOutOfBoundsException If any rank is not an index of {@code values}.
+	 */
+	public static byte[] nthElements(byte[] values, int... ranks) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		int[] sortedRanks = sortedRanks(ranks, values.length);
+		select(values, 0, values.length, sortedRanks, 0, sortedRanks.length, depthLimit(values.length));
+		byte[] result = new byte[ranks.length];
+		for (int i = 0; i < ranks.length; i++) {
+			result[i] = values[ranks[i]];
+		}
+		return result;
+	}
+	
+	// Selects the (sorted) ranks[rankFrom..rankTo) which all lie in values[from..to).
+	private static void select(byte[] values, int from, int to, int[] ranks, int rankFrom, int rankTo, int depthLimit) {
+		while (rankFrom < rankTo) {
+			if (to - from <= INSERTION_SORT_THRESHOLD) {
+				insertionSort(values, from, to);
+				return;
+			}
+			if (depthLimit-- == 0) {
+				Arrays.sort(values, from, to);
+				return;
+			}
+			byte pivot = medianOf3(values[from], values[(from + to) >>> 1], values[to - 1]);
+			int i = from;
+			int j = to - 1;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					byte value = values[i];
+					values[i++] = values[j];
+					values[j--] = value;
+				}
+			}
+			// Now values[from..j] <= pivot, values(j..i) == pivot, and values[i..to) >= pivot.
+			int left = rankFrom;
+			while (left < rankTo && ranks[left] <= j) {
+				left++;
+			}
+			int right = left;
+			while (right < rankTo && ranks[right] < i) {
+				right++;
+			}
+			// Recurse into the side with fewer ranks and loop on the other.
+			if (left - rankFrom < rankTo - right) {
+				select(values, from, j + 1, ranks, rankFrom, left, depthLimit);
+				from = i;
+				rankFrom = right;
+			} else {
+				select(values, i, to, ranks, right, rankTo, depthLimit);
+				to = j + 1;
+				rankTo = left;
+			}
+		}
+	}
+	
+	private static byte medianOf3(byte a, byte b, byte c) {
+		if (a < b) {
+			return b < c ? b : a < c ? c : a;
+		}
+		return a < c ? a : b < c ? c : b;
+	}
+	
+	private static void insertionSort(byte[] values, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			byte value = values[i];
+			int j = i - 1;
+			while (j >= from && values[j] > value) {
+				values[j + 1] = values[j];
+				j--;
+			}
+			values[j + 1] = value;
+		}
+	}
+
+	/**
+	 * Partially sort an array such that {@code values[rank]} is the value
+	 * that would be at that index if the array was sorted,
+	 * all values before it are less than or equal to it,
+	 * and all values after it are greater than or equal to it.
+	 * <p>
+	 * The expected running time is linear in the length of the array
+	 * and the worst case is bounded by that of sorting it.
+	 *
+	 * @param values The array to partially sort.
+	 * @param rank The index of the value to select.
+	 * @return The selected value {@code values[rank]}.
+	 * @throws IndexOutOfBoundsException If {@code rank} is not an index of {@code values}.
+	 */
+	public static short nthElement(short[] values, int rank) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (rank < 0 || rank >= values.length) {
+			throw new IndexOutOfBoundsException("rank " + rank + ", length " + values.length);
+		}
+		select(values, 0, values.length, new int[]{rank}, 0, 1, depthLimit(values.length));
+		return values[rank];
+	}
+	
+	/**
+	 * Partially sort an array such that each of the given ranks satisfies
+	 * the conditions of {@link #nthElement(short[], int)}.
+	 * All the ranks are resolved during a single recursive partitioning of the array.
+	 *
+	 * @param values The array to partially sort.
+	 * @param ranks The indices of the values to select in any order.
+	 * @return The selected values in the order of {@code ranks}.
+	 * @throws IndexOutOfBoundsException If any rank is not an index of {@code values}.
+	 */
+	public static short[] nthElements(short[] values, int... ranks) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		int[] sortedRanks = sortedRanks(ranks, values.length);
+		select(values, 0, values.length, sortedRanks, 0, sortedRanks.length, depthLimit(values.length));
+		short[] result = new short[ranks.length];
+		for (int i = 0; i < ranks.length; i++) {
+			result[i] = values[ranks[i]];
+		}
+		return result;
+	}
+	
+	// Selects the (sorted) ranks[rankFrom..rankTo) which all lie in values[from..to).
+	private static void select(short[] values, int from, int to, int[] ranks, int rankFrom, int rankTo, int depthLimit) {
+		while (rankFrom < rankTo) {
+			if (to - from <= INSERTION_SORT_THRESHOLD) {
+				insertionSort(values, from, to);
+				return;
+			}
+			if (depthLimit-- == 0) {
+				Arrays.sort(values, from, to);
+				return;
+			}
+			short pivot = medianOf3(values[from], values[(from + to) >>> 1], values[to - 1]);
+			int i = from;
+			int j = to - 1;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					short value = values[i];
+					values[i++] = values[j];
+					values[j--] = value;
+				}
+			}
+			// Now values[from..j] <= pivot, values(j..i) == pivot, and values[i..to) >= pivot.
+			int left = rankFrom;
+			while (left < rankTo && ranks[left] <= j) {
+				left++;
+			}
+			int right = left;
+			while (right < rankTo && ranks[right] < i) {
+				right++;
+			}
+			// Recurse into the side with fewer ranks and loop on the other.
+			if (left - rankFrom < rankTo - right) {
+				select(values, from, j + 1, ranks, rankFrom, left, depthLimit);
+				from = i;
+				rankFrom = right;
+			} else {
+				select(values, i, to, ranks, right, rankTo, depthLimit);
+				to = j + 1;
+				rankTo = left;
+			}
+		}
+	}
+	
+	private static short medianOf3(short a, short b, short c) {
+		if (a < b) {
+			return b < c ? b : a < c ? c : a;
+		}
+		return a < c ? a : b < c ? c : b;
+	}
+	
+	private static void insertionSort(short[] values, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			short value = values[i];
+			int j = i - 1;
+			while (j >= from && values[j] > value) {
+				values[j + 1] = values[j];
+				j--;
+			}
+			values[j + 1] = value;
+		}
+	}
+
+	/**
+	 * Partially sort an array such that {@code values[rank]} is the value
+	 * that would be at that index if the array was sorted,
+	 * all values before it are less than or equal to it,
+	 * and all values after it are greater than or equal to it.
+	 * <p>
+	 * The expected running time is linear in the length of the array
+	 * and the worst case is bounded by that of sorting it.
+	 *
+	 * @param values The array to partially sort.
+	 * @param rank The index of the value to select.
+	 * @return The selected value {@code values[rank]}.
+	 * @throws IndexOutOfBoundsException If {@code rank} is not an index of {@code values}.
+	 */
+	public static char nthElement(char[] values, int rank) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (rank < 0 || rank >= values.length) {
+			throw new IndexOutOfBoundsException("rank " + rank + ", length " + values.length);
+		}
+		select(values, 0, values.length, new int[]{rank}, 0, 1, depthLimit(values.length));
+		return values[rank];
+	}
+	
+	/**
+	 * Partially sort an array such that each of the given ranks satisfies
+	 * the conditions of {@link #nthElement(char[], int)}.
+	 * All the ranks are resolved during a single recursive partitioning of the array.
+	 *
+	 * @param values The array to partially sort.
+	 * @param ranks The indices of the values to select in any order.
+	 * @return The selected values in the order of {@code ranks}.
+	 * @throws IndexOutOfBoundsException If any rank is not an index of {@code values}.
+	 */
+	public static char[] nthElements(char[] values, int... ranks) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		int[] sortedRanks = sortedRanks(ranks, values.length);
+		select(values, 0, values.length, sortedRanks, 0, sortedRanks.length, depthLimit(values.length));
+		char[] result = new char[ranks.length];
+		for (int i = 0; i < ranks.length; i++) {
+			result[i] = values[ranks[i]];
+		}
+		return result;
+	}
+	
+	// Selects the (sorted) ranks[rankFrom..rankTo) which all lie in values[from..to).
+	private static void select(char[] values, int from, int to, int[] ranks, int rankFrom, int rankTo, int depthLimit) {
+		while (rankFrom < rankTo) {
+			if (to - from <= INSERTION_SORT_THRESHOLD) {
+				insertionSort(values, from, to);
+				return;
+			}
+			if (depthLimit-- == 0) {
+				Arrays.sort(values, from, to);
+				return;
+			}
+			char pivot = medianOf3(values[from], values[(from + to) >>> 1], values[to - 1]);
+			int i = from;
+			int j = to - 1;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					char value = values[i];
+					values[i++] = values[j];
+					values[j--] = value;
+				}
+			}
+			// Now values[from..j] <= pivot, values(j..i) == pivot, and values[i..to) >= pivot.
+			int left = rankFrom;
+			while (left < rankTo && ranks[left] <= j) {
+				left++;
+			}
+			int right = left;
+			while (right < rankTo && ranks[right] < i) {
+				right++;
+			}
+			// Recurse into the side with fewer ranks and loop on the other.
+			if (left - rankFrom < rankTo - right) {
+				select(values, from, j + 1, ranks, rankFrom, left, depthLimit);
+				from = i;
+				rankFrom = right;
+			} else {
+				select(values, i, to, ranks, right, rankTo, depthLimit);
+				to = j + 1;
+				rankTo = left;
+			}
+		}
+	}
+	
+	private static char medianOf3(char a, char b, char c) {
+		if (a < b) {
+			return b < c ? b : a < c ? c : a;
+		}
+		return a < c ? a : b < c ? c : b;
+	}
+	
+	private static void insertionSort(char[] values, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			char value = values[i];
+			int j = i - 1;
+			while (j >= from && values[j] > value) {
+				values[j + 1] = values[j];
+				j--;
+			}
+			values[j + 1] = value;
+		}
+	}
+
+	/**
+	 * Partially sort an array such that {@code values[rank]} is the value
+	 * that would be at that index if the array was sorted,
+	 * all values before it are less than or equal to it,
+	 * and all values after it are greater than or equal to it.
+	 * <p>
+	 * The expected running time is linear in the length of the array
+	 * and the worst case is bounded by that of sorting it.
+	 *
+	 * @param values The array to partially sort.
+	 * @param rank The index of the value to select.
+	 * @return The selected value {@code values[rank]}.
+	 * @throws IndexOutOfBoundsException If {@code rank} is not an index of {@code values}.
+	 */
+	public static int nthElement(int[] values, int rank) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (rank < 0 || rank >= values.length) {
+			throw new IndexOutOfBoundsException("rank " + rank + ", length " + values.length);
+		}
+		select(values, 0, values.length, new int[]{rank}, 0, 1, depthLimit(values.length));
+		return values[rank];
+	}
+	
+	/**
+	 * Partially sort an array such that each of the given ranks satisfies
+	 * the conditions of {@link #nthElement(int[], int)}.
+	 * All the ranks are resolved during a single recursive partitioning of the array.
+	 *
+	 * @param values The array to partially sort.
+	 * @param ranks The indices of the values to select in any order.
+	 * @return The selected values in the order of {@code ranks}.
+	 * @throws IndexOutOfBoundsException If any rank is not an index of {@code values}.
+	 */
+	public static int[] nthElements(int[] values, int... ranks) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		int[] sortedRanks = sortedRanks(ranks, values.length);
+		select(values, 0, values.length, sortedRanks, 0, sortedRanks.length, depthLimit(values.length));
+		int[] result = new int[ranks.length];
+		for (int i = 0; i < ranks.length; i++) {
+			result[i] = values[ranks[i]];
+		}
+		return result;
+	}
+	
+	// Selects the (sorted) ranks[rankFrom..rankTo) which all lie in values[from..to).
+	private static void select(int[] values, int from, int to, int[] ranks, int rankFrom, int rankTo, int depthLimit) {
+		while (rankFrom < rankTo) {
+			if (to - from <= INSERTION_SORT_THRESHOLD) {
+				insertionSort(values, from, to);
+				return;
+			}
+			if (depthLimit-- == 0) {
+				Arrays.sort(values, from, to);
+				return;
+			}
+			int pivot = medianOf3(values[from], values[(from + to) >>> 1], values[to - 1]);
+			int i = from;
+			int j = to - 1;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					int value = values[i];
+					values[i++] = values[j];
+					values[j--] = value;
+				}
+			}
+			// Now values[from..j] <= pivot, values(j..i) == pivot, and values[i..to) >= pivot.
+			int left = rankFrom;
+			while (left < rankTo && ranks[left] <= j) {
+				left++;
+			}
+			int right = left;
+			while (right < rankTo && ranks[right] < i) {
+				right++;
+			}
+			// Recurse into the side with fewer ranks and loop on the other.
+			if (left - rankFrom < rankTo - right) {
+				select(values, from, j + 1, ranks, rankFrom, left, depthLimit);
+				from = i;
+				rankFrom = right;
+			} else {
+				select(values, i, to, ranks, right, rankTo, depthLimit);
+				to = j + 1;
+				rankTo = left;
+			}
+		}
+	}
+	
+	private static int medianOf3(int a, int b, int c) {
+		if (a < b) {
+			return b < c ? b : a < c ? c : a;
+		}
+		return a < c ? a : b < c ? c : b;
+	}
+	
+	private static void insertionSort(int[] values, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			int value = values[i];
+			int j = i - 1;
+			while (j >= from && values[j] > value) {
+				values[j + 1] = values[j];
+				j--;
+			}
+			values[j + 1] = value;
+		}
+	}
+
+	/**
+	 * Partially sort an array such that {@code values[rank]} is the value
+	 * that would be at that index if the array was sorted,
+	 * all values before it are less than or equal to it,
+	 * and all values after it are greater than or equal to it.
+	 * <p>
+	 * The expected running time is linear in the length of the array
+	 * and the worst case is bounded by that of sorting it.
+	 *
+	 * @param values The array to partially sort.
+	 * @param rank The index of the value to select.
+	 * @return The selected value {@code values[rank]}.
+	 * @throws IndexOutOfBoundsException If {@code rank} is not an index of {@code values}.
+	 */
+	public static long nthElement(long[] values, int rank) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (rank < 0 || rank >= values.length) {
+			throw new IndexOutOfBoundsException("rank " + rank + ", length " + values.length);
+		}
+		select(values, 0, values.length, new int[]{rank}, 0, 1, depthLimit(values.length));
+		return values[rank];
+	}
+	
+	/**
+	 * Partially sort an array such that each of the given ranks satisfies
+	 * the conditions of {@link #nthElement(long[], int)}.
+	 * All the ranks are resolved during a single recursive partitioning of the array.
+	 *
+	 * @param values The array to partially sort.
+	 * @param ranks The indices of the values to select in any order.
+	 * @return The selected values in the order of {@code ranks}.
+	 * @throws IndexOutOfBoundsException If any rank is not an index of {@code values}.
+	 */
+	public static long[] nthElements(long[] values, int... ranks) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		int[] sortedRanks = sortedRanks(ranks, values.length);
+		select(values, 0, values.length, sortedRanks, 0, sortedRanks.length, depthLimit(values.length));
+		long[] result = new long[ranks.length];
+		for (int i = 0; i < ranks.length; i++) {
+			result[i] = values[ranks[i]];
+		}
+		return result;
+	}
+	
+	// Selects the (sorted) ranks[rankFrom..rankTo) which all lie in values[from..to).
+	private static void select(long[] values, int from, int to, int[] ranks, int rankFrom, int rankTo, int depthLimit) {
+		while (rankFrom < rankTo) {
+			if (to - from <= INSERTION_SORT_THRESHOLD) {
+				insertionSort(values, from, to);
+				return;
+			}
+			if (depthLimit-- == 0) {
+				Arrays.sort(values, from, to);
+				return;
+			}
+			long pivot = medianOf3(values[from], values[(from + to) >>> 1], values[to - 1]);
+			int i = from;
+			int j = to - 1;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					long value = values[i];
+					values[i++] = values[j];
+					values[j--] = value;
+				}
+			}
+			// Now values[from..j] <= pivot, values(j..i) == pivot, and values[i..to) >= pivot.
+			int left = rankFrom;
+			while (left < rankTo && ranks[left] <= j) {
+				left++;
+			}
+			int right = left;
+			while (right < rankTo && ranks[right] < i) {
+				right++;
+			}
+			// Recurse into the side with fewer ranks and loop on the other.
+			if (left - rankFrom < rankTo - right) {
+				select(values, from, j + 1, ranks, rankFrom, left, depthLimit);
+				from = i;
+				rankFrom = right;
+			} else {
+				select(values, i, to, ranks, right, rankTo, depthLimit);
+				to = j + 1;
+				rankTo = left;
+			}
+		}
+	}
+	
+	private static long medianOf3(long a, long b, long c) {
+		if (a < b) {
+			return b < c ? b : a < c ? c : a;
+		}
+		return a < c ? a : b < c ? c : b;
+	}
+	
+	private static void insertionSort(long[] values, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			long value = values[i];
+			int j = i - 1;
+			while (j >= from && values[j] > value) {
+				values[j + 1] = values[j];
+				j--;
+			}
+			values[j + 1] = value;
+		}
+	}
+
+	/**
+	 * Partially sort an array such that {@code values[rank]} is the value
+	 * that would be at that index if the array was sorted,
+	 * all values before it are less than or equal to it,
+	 * and all values after it are greater than or equal to it.
+	 * NaN values are ordered after all other values (as by {@link java.util.Arrays#sort(float[])}),
+	 * but {@code -0.0} and {@code 0.0} are considered equal.
+	 * <p>
+	 * The expected running time is linear in the length of the array
+	 * and the worst case is bounded by that of sorting it.
+	 *
+	 * @param values The array to partially sort.
+	 * @param rank The index of the value to select.
+	 * @return The selected value {@code values[rank]}.
+	 * @throws IndexOutOfBoundsException If {@code rank} is not an index of {@code values}.
+	 */
+	public static float nthElement(float[] values, int rank) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (rank < 0 || rank >= values.length) {
+			throw new IndexOutOfBoundsException("rank " + rank + ", length " + values.length);
+		}
+		int end = moveNaNsToEnd(values, 0, values.length);
+		if (rank < end) {
+			select(values, 0, end, new int[]{rank}, 0, 1, depthLimit(end));
+		}
+		return values[rank];
+	}
+	
+	/**
+	 * Partially sort an array such that each of the given ranks satisfies
+	 * the conditions of {@link #nthElement(float[], int)}.
+	 * All the ranks are resolved during a single recursive partitioning of the array.
+	 *
+	 * @param values The array to partially sort.
+	 * @param ranks The indices of the values to select in any order.
+	 * @return The selected values in the order of {@code ranks}.
+	 * @throws IndexOutOfBoundsException If any rank is not an index of {@code values}.
+	 */
+	public static float[] nthElements(float[] values, int... ranks) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		int[] sortedRanks = sortedRanks(ranks, values.length);
+		int end = moveNaNsToEnd(values, 0, values.length);
+		int rankTo = sortedRanks.length;
+		while (rankTo > 0 && sortedRanks[rankTo - 1] >= end) {
+			rankTo--;
+		}
+		select(values, 0, end, sortedRanks, 0, rankTo, depthLimit(end));
+		float[] result = new float[ranks.length];
+		for (int i = 0; i < ranks.length; i++) {
+			result[i] = values[ranks[i]];
+		}
+		return result;
+	}
+	
+	// Selects the (sorted) ranks[rankFrom..rankTo) which all lie in values[from..to).
+	private static void select(float[] values, int from, int to, int[] ranks, int rankFrom, int rankTo, int depthLimit) {
+		while (rankFrom < rankTo) {
+			if (to - from <= INSERTION_SORT_THRESHOLD) {
+				insertionSort(values, from, to);
+				return;
+			}
+			if (depthLimit-- == 0) {
+				Arrays.sort(values, from, to);
+				return;
+			}
+			float pivot = medianOf3(values[from], values[(from + to) >>> 1], values[to - 1]);
+			int i = from;
+			int j = to - 1;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					float value = values[i];
+					values[i++] = values[j];
+					values[j--] = value;
+				}
+			}
+			// Now values[from..j] <= pivot, values(j..i) == pivot, and values[i..to) >= pivot.
+			int left = rankFrom;
+			while (left < rankTo && ranks[left] <= j) {
+				left++;
+			}
+			int right = left;
+			while (right < rankTo && ranks[right] < i) {
+				right++;
+			}
+			// Recurse into the side with fewer ranks and loop on the other.
+			if (left - rankFrom < rankTo - right) {
+				select(values, from, j + 1, ranks, rankFrom, left, depthLimit);
+				from = i;
+				rankFrom = right;
+			} else {
+				select(values, i, to, ranks, right, rankTo, depthLimit);
+				to = j + 1;
+				rankTo = left;
+			}
+		}
+	}
+	
+	private static float medianOf3(float a, float b, float c) {
+		if (a < b) {
+			return b < c ? b : a < c ? c : a;
+		}
+		return a < c ? a : b < c ? c : b;
+	}
+	
+	private static void insertionSort(float[] values, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			float value = values[i];
+			int j = i - 1;
+			while (j >= from && values[j] > value) {
+				values[j + 1] = values[j];
+				j--;
+			}
+			values[j + 1] = value;
+		}
+	}
+	
+	// Moves all NaN values to the end of values[from..to) and returns the index of the first of them.
+	private static int moveNaNsToEnd(float[] values, int from, int to) {
+		int i = from;
+		while (i < to) {
+			float value = values[i];
+			if (value != value) {
+				values[i] = values[--to];
+				values[to] = value;
+			} else {
+				i++;
+			}
+		}
+		return to;
+	}
+
+	/**
+	 * Partially sort an array such that {@code values[rank]} is the value
+	 * that would be at that index if the array was sorted,
+	 * all values before it are less than or equal to it,
+	 * and all values after it are greater than or equal to it.
+	 * NaN values are ordered after all other values (as by {@link java.util.Arrays#sort(double[])}),
+	 * but {@code -0.0} and {@code 0.0} are considered equal.
+	 * <p>
+	 * The expected running time is linear in the length of the array
+	 * and the worst case is bounded by that of sorting it.
+	 *
+	 * @param values The array to partially sort.
+	 * @param rank The index of the value to select.
+	 * @return The selected value {@code values[rank]}.
+	 * @throws IndexOutOfBoundsException If {@code rank} is not an index of {@code values}.
+	 */
+	public static double nthElement(double[] values, int rank) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		if (rank < 0 || rank >= values.length) {
+			throw new IndexOutOfBoundsException("rank " + rank + ", length " + values.length);
+		}
+		int end = moveNaNsToEnd(values, 0, values.length);
+		if (rank < end) {
+			select(values, 0, end, new int[]{rank}, 0, 1, depthLimit(end));
+		}
+		return values[rank];
+	}
+	
+	/**
+	 * Partially sort an array such that each of the given ranks satisfies
+	 * the conditions of {@link #nthElement(double[], int)}.
+	 * All the ranks are resolved during a single recursive partitioning of the array.
+	 *
+	 * @param values The array to partially sort.
+	 * @param ranks The indices of the values to select in any order.
+	 * @return The selected values in the order of {@code ranks}.
+	 * @throws IndexOutOfBoundsException If any rank is not an index of {@code values}.
+	 */
+	public static double[] nthElements(double[] values, int... ranks) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		int[] sortedRanks = sortedRanks(ranks, values.length);
+		int end = moveNaNsToEnd(values, 0, values.length);
+		int rankTo = sortedRanks.length;
+		while (rankTo > 0 && sortedRanks[rankTo - 1] >= end) {
+			rankTo--;
+		}
+		select(values, 0, end, sortedRanks, 0, rankTo, depthLimit(end));
+		double[] result = new double[ranks.length];
+		for (int i = 0; i < ranks.length; i++) {
+			result[i] = values[ranks[i]];
+		}
+		return result;
+	}
+	
+	// Selects the (sorted) ranks[rankFrom..rankTo) which all lie in values[from..to).
+	private static void select(double[] values, int from, int to, int[] ranks, int rankFrom, int rankTo, int depthLimit) {
+		while (rankFrom < rankTo) {
+			if (to - from <= INSERTION_SORT_THRESHOLD) {
+				insertionSort(values, from, to);
+				return;
+			}
+			if (depthLimit-- == 0) {
+				Arrays.sort(values, from, to);
+				return;
+			}
+			double pivot = medianOf3(values[from], values[(from + to) >>> 1], values[to - 1]);
+			int i = from;
+			int j = to - 1;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					double value = values[i];
+					values[i++] = values[j];
+					values[j--] = value;
+				}
+			}
+			// Now values[from..j] <= pivot, values(j..i) == pivot, and values[i..to) >= pivot.
+			int left = rankFrom;
+			while (left < rankTo && ranks[left] <= j) {
+				left++;
+			}
+			int right = left;
+			while (right < rankTo && ranks[right] < i) {
+				right++;
+			}
+			// Recurse into the side with fewer ranks and loop on the other.
+			if (left - rankFrom < rankTo - right) {
+				select(values, from, j + 1, ranks, rankFrom, left, depthLimit);
+				from = i;
+				rankFrom = right;
+			} else {
+				select(values, i, to, ranks, right, rankTo, depthLimit);
+				to = j + 1;
+				rankTo = left;
+			}
+		}
+	}
+	
+	private static double medianOf3(double a, double b, double c) {
+		if (a < b) {
+			return b < c ? b : a < c ? c : a;
+		}
+		return a < c ? a : b < c ? c : b;
+	}
+	
+	private static void insertionSort(double[] values, int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			double value = values[i];
+			int j = i - 1;
+			while (j >= from && values[j] > value) {
+				values[j + 1] = values[j];
+				j--;
+			}
+			values[j + 1] = value;
+		}
+	}
+	
+	// Moves all NaN values to the end of values[from..to) and returns the index of the first of them.
+	private static int moveNaNsToEnd(double[] values, int from, int to) {
+		int i = from;
+		while (i < to) {
+			double value = values[i];
+			if (value != value) {
+				values[i] = values[--to];
+				values[to] = value;
+			} else {
+				i++;
+			}
+		}
+		return to;
+	}
+	
+	/**
+	 * Select the values at several quantiles of an array,
+	 * partially sorting it as by {@link #nthElements(int[], int...)}.
+	 * The value at quantile {@code q} is the value with rank {@code ceil(q * n) - 1}
+	 * (or 0 for {@code q = 0}) in the sorted array of length {@code n},
+	 * i.e. the nearest-rank definition of percentiles.
+	 *
+	 * @param values The non-empty array to partially sort.
+	 * @param quantiles The quantiles to select, each between 0 and 1 (e.g. 0.5 and 0.99 for p50 and p99).
+	 * @return The selected values in the order of {@code quantiles}.
+	 * @throws IllegalArgumentException If the array is empty or any quantile is outside [0, 1].
+	 */
+	public static int[] percentiles(int[] values, double... quantiles) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		return nthElements(values, ranks(quantiles, values.length));
+	}
+	
+	/**
+	 * Select the values at several quantiles of an array,
+	 * partially sorting it as by {@link #nthElements(long[], int...)}.
+	 * The value at quantile {@code q} is the value with rank {@code ceil(q * n) - 1}
+	 * (or 0 for {@code q = 0}) in the sorted array of length {@code n},
+	 * i.e. the nearest-rank definition of percentiles.
+	 *
+	 * @param values The non-empty array to partially sort.
+	 * @param quantiles The quantiles to select, each between 0 and 1 (e.g. 0.5 and 0.99 for p50 and p99).
+	 * @return The selected values in the order of {@code quantiles}.
+	 * @throws IllegalArgumentException If the array is empty or any quantile is outside [0, 1].
+	 */
+	public static long[] percentiles(long[] values, double... quantiles) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		return nthElements(values, ranks(quantiles, values.length));
+	}
+	
+	/**
+	 * Select the values at several quantiles of an array,
+	 * partially sorting it as by {@link #nthElements(float[], int...)}.
+	 * The value at quantile {@code q} is the value with rank {@code ceil(q * n) - 1}
+	 * (or 0 for {@code q = 0}) in the sorted array of length {@code n},
+	 * i.e. the nearest-rank definition of percentiles.
+	 *
+	 * @param values The non-empty array to partially sort.
+	 * @param quantiles The quantiles to select, each between 0 and 1 (e.g. 0.5 and 0.99 for p50 and p99).
+	 * @return The selected values in the order of {@code quantiles}.
+	 * @throws IllegalArgumentException If the array is empty or any quantile is outside [0, 1].
+	 */
+	public static float[] percentiles(float[] values, double... quantiles) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		return nthElements(values, ranks(quantiles, values.length));
+	}
+	
+	/**
+	 * Select the values at several quantiles of an array,
+	 * partially sorting it as by {@link #nthElements(double[], int...)}.
+	 * The value at quantile {@code q} is the value with rank {@code ceil(q * n) - 1}
+	 * (or 0 for {@code q = 0}) in the sorted array of length {@code n},
+	 * i.e. the nearest-rank definition of percentiles.
+	 *
+	 * @param values The non-empty array to partially sort.
+	 * @param quantiles The quantiles to select, each between 0 and 1 (e.g. 0.5 and 0.99 for p50 and p99).
+	 * @return The selected values in the order of {@code quantiles}.
+	 * @throws IllegalArgumentException If the array is empty or any quantile is outside [0, 1].
+	 */
+	public static double[] percentiles(double[] values, double... quantiles) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		return nthElements(values, ranks(quantiles, values.length));
+	}
+	
+	/**
+	 * Consume all values of an iterator and select the values at several quantiles of them.
+	 *
+	 * @param iterator The non-empty iterator of values.
+	 * @param quantiles The quantiles to select, each between 0 and 1.
+	 * @return The selected values in the order of {@code quantiles}.
+	 * @see #percentiles(double[], double...)
+	 */
+	public static double[] percentiles(DoubleIterator iterator, double... quantiles) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		return percentiles(DoubleArray.of(iterator), quantiles);
+	}
+	
+	/**
+	 * Consume all values of an iterator and return the {@code k} largest of them
+	 * in descending order, using a bounded heap of {@code k} values.
+	 *
+	 * @param iterator The values to select from.
+	 * @param k The maximum number of values to return.
+	 * @return Array of the {@code min(k, n)} largest of the {@code n} values of {@code iterator} in descending order.
+	 * @throws IllegalArgumentException If {@code k} is negative.
+	 */
+	public static int[] topK(IntIterator iterator, int k) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (k < 0) {
+			throw new IllegalArgumentException("Negative k");
+		}
+		int[] block = new int[BLOCK_LENGTH];
+		if (k == 0) {
+			// Nothing is selected, but the iterator is still consumed as documented.
+			while (iterator.nextInts(block, 0, BLOCK_LENGTH) > 0) {
+				continue;
+			}
+			return IntArray.EMPTY;
+		}
+		// Min-heap of the largest values seen so far.
+		int[] heap = new int[Math.min(k, TOP_K_INITIAL_CAPACITY)];
+		int size = 0;
+		int count;
+		while ((count = iterator.nextInts(block, 0, BLOCK_LENGTH)) > 0) {
+			for (int b = 0; b < count; b++) {
+				int value = block[b];
+				if (size < k) {
+					if (size == heap.length) {
+						int[] grown = new int[(int) Math.min(k, 2L * size)];
+						System.arraycopy(heap, 0, grown, 0, size);
+						heap = grown;
+					}
+					siftUp(heap, size++, value);
+				} else if (value > heap[0]) {
+					siftDown(heap, size, 0, value);
+				}
+			}
+		}
+		// Pop the minimum into the last free slot until the heap is empty.
+		for (int i = size - 1; i > 0; i--) {
+			int min = heap[0];
+			siftDown(heap, i, 0, heap[i]);
+			heap[i] = min;
+		}
+		if (size == heap.length) {
+			return heap;
+		}
+		int[] result = new int[size];
+		System.arraycopy(heap, 0, result, 0, size);
+		return result;
+	}
+	
+	private static void siftUp(int[] heap, int index, int value) {
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (!(value < heap[parent])) {
+				break;
+			}
+			heap[index] = heap[parent];
+			index = parent;
+		}
+		heap[index] = value;
+	}
+	
+	private static void siftDown(int[] heap, int size, int index, int value) {
+		int half = size >>> 1;
+		while (index < half) {
+			int child = 2 * index + 1;
+			if (child + 1 < size && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (!(heap[child] < value)) {
+				break;
+			}
+			heap[index] = heap[child];
+			index = child;
+		}
+		heap[index] = value;
+	}
+	
+	/**
+	 * Consume all values of an iterator and return the {@code k} largest of them
+	 * in descending order, using a bounded heap of {@code k} values.
+	 *
+	 * @param iterator The values to select from.
+	 * @param k The maximum number of values to return.
+	 * @return Array of the {@code min(k, n)} largest of the {@code n} values of {@code iterator} in descending order.
+	 * @throws IllegalArgumentException If {@code k} is negative.
+	 */
+	public static long[] topK(LongIterator iterator, int k) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (k < 0) {
+			throw new IllegalArgumentException("Negative k");
+		}
+		long[] block = new long[BLOCK_LENGTH];
+		if (k == 0) {
+			// Nothing is selected, but the iterator is still consumed as documented.
+			while (iterator.nextLongs(block, 0, BLOCK_LENGTH) > 0) {
+				continue;
+			}
+			return LongArray.EMPTY;
+		}
+		// Min-heap of the largest values seen so far.
+		long[] heap = new long[Math.min(k, TOP_K_INITIAL_CAPACITY)];
+		int size = 0;
+		int count;
+		while ((count = iterator.nextLongs(block, 0, BLOCK_LENGTH)) > 0) {
+			for (int b = 0; b < count; b++) {
+				long value = block[b];
+				if (size < k) {
+					if (size == heap.length) {
+						long[] grown = new long[(int) Math.min(k, 2L * size)];
+						System.arraycopy(heap, 0, grown, 0, size);
+						heap = grown;
+					}
+					siftUp(heap, size++, value);
+				} else if (value > heap[0]) {
+					siftDown(heap, size, 0, value);
+				}
+			}
+		}
+		// Pop the minimum into the last free slot until the heap is empty.
+		for (int i = size - 1; i > 0; i--) {
+			long min = heap[0];
+			siftDown(heap, i, 0, heap[i]);
+			heap[i] = min;
+		}
+		if (size == heap.length) {
+			return heap;
+		}
+		long[] result = new long[size];
+		System.arraycopy(heap, 0, result, 0, size);
+		return result;
+	}
+	
+	private static void siftUp(long[] heap, int index, long value) {
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (!(value < heap[parent])) {
+				break;
+			}
+			heap[index] = heap[parent];
+			index = parent;
+		}
+		heap[index] = value;
+	}
+	
+	private static void siftDown(long[] heap, int size, int index, long value) {
+		int half = size >>> 1;
+		while (index < half) {
+			int child = 2 * index + 1;
+			if (child + 1 < size && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (!(heap[child] < value)) {
+				break;
+			}
+			heap[index] = heap[child];
+			index = child;
+		}
+		heap[index] = value;
+	}
+	
+	/**
+	 * Consume all values of an iterator and return the {@code k} largest of them
+	 * in descending order, using a bounded heap of {@code k} values. NaN values are considered larger than all other values.
+	 *
+	 * @param iterator The values to select from.
+	 * @param k The maximum number of values to return.
+	 * @return Array of the {@code min(k, n)} largest of the {@code n} values of {@code iterator} in descending order.
+	 * @throws IllegalArgumentException If {@code k} is negative.
+	 */
+	public static double[] topK(DoubleIterator iterator, int k) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (k < 0) {
+			throw new IllegalArgumentException("Negative k");
+		}
+		double[] block = new double[BLOCK_LENGTH];
+		if (k == 0) {
+			// Nothing is selected, but the iterator is still consumed as documented.
+			while (iterator.nextDoubles(block, 0, BLOCK_LENGTH) > 0) {
+				continue;
+			}
+			return DoubleArray.EMPTY;
+		}
+		// Min-heap of the largest values seen so far.
+		double[] heap = new double[Math.min(k, TOP_K_INITIAL_CAPACITY)];
+		int size = 0;
+		int count;
+		while ((count = iterator.nextDoubles(block, 0, BLOCK_LENGTH)) > 0) {
+			for (int b = 0; b < count; b++) {
+				double value = block[b];
+				if (size < k) {
+					if (size == heap.length) {
+						double[] grown = new double[(int) Math.min(k, 2L * size)];
+						System.arraycopy(heap, 0, grown, 0, size);
+						heap = grown;
+					}
+					siftUp(heap, size++, value);
+				} else if (isGreater(value, heap[0])) {
+					siftDown(heap, size, 0, value);
+				}
+			}
+		}
+		// Pop the minimum into the last free slot until the heap is empty.
+		for (int i = size - 1; i > 0; i--) {
+			double min = heap[0];
+			siftDown(heap, i, 0, heap[i]);
+			heap[i] = min;
+		}
+		if (size == heap.length) {
+			return heap;
+		}
+		double[] result = new double[size];
+		System.arraycopy(heap, 0, result, 0, size);
+		return result;
+	}
+	
+	private static void siftUp(double[] heap, int index, double value) {
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (!(isGreater(heap[parent], value))) {
+				break;
+			}
+			heap[index] = heap[parent];
+			index = parent;
+		}
+		heap[index] = value;
+	}
+	
+	private static void siftDown(double[] heap, int size, int index, double value) {
+		int half = size >>> 1;
+		while (index < half) {
+			int child = 2 * index + 1;
+			if (child + 1 < size && isGreater(heap[child], heap[child + 1])) {
+				child++;
+			}
+			if (!(isGreater(value, heap[child]))) {
+				break;
+			}
+			heap[index] = heap[child];
+			index = child;
+		}
+		heap[index] = value;
+	}
+}
@@ -1,5 +1,7 @@
 package primitivo.array;
 
+import primitivo.iterate.ShortIterator;
+
 import java.util.Iterator;
 
 /**
@@ -85,6 +87,11 @@ public class ShortArray {
 	 * Consume all the values of an iterator and return them as an array.
 	 * If no reasonable bound on the iterator's length is available,
 	 * use {@link #of(Iterator)} instead.
+	 * <p>
+	 * If {@code iterator} is a {@link ShortIterator}, its values are consumed without boxing.
+	 * If it knows its exact length (see {@link primitivo.iterate.SizedIterator}),
+	 * {@code expectedLength} is ignored and the values are read into an array of exactly that length
+	 * (by a single {@code System.arraycopy} if the iterator is array-backed).
 	 *
 	 * @param iterator Iterator of {@code short} or non-null {@link Short} values.
 	 * @param expectedLength The expected number of elements to be consumed from the iterator.
@@ -94,6 +101,13 @@ public class ShortArray {
 	 * @see #of(Iterator)
 	 */
 	public static short[] of(Iterator<Short> iterator, int expectedLength) {
+		if (iterator instanceof ShortIterator) {
+			short[] shorts = IteratorToArray.of((ShortIterator) iterator, expectedLength);
+			if (shorts == null) {
+				return EMPTY;
+			}
+			return shorts;
+		}
 		Object shorts = IteratorToArray.of(iterator, short.class, expectedLength);
 		if (shorts == null) {
 			return EMPTY;
@@ -2,6 +2,25 @@
  * Utility classes for constructing arrays of primitive and non-primitive types.
  * <p>
  * The arrays may be constructed from ranges, iterators, and other arrays.
+ * <p>
+ * Builders such as {@link primitivo.array.IntArrayBuilder} accumulate
+ * individually added values of a primitive type and build an exact-size array of them.
+ * They, and the conversions from iterators, borrow their intermediate arrays
+ * from an {@link primitivo.array.ArrayPool}.
+ * <p>
+ * Off-heap arrays such as {@link primitivo.array.OffHeapLongArray} store values
+ * outside of the Java heap and are indexed by {@code long},
+ * so they may hold more than {@link java.lang.Integer#MAX_VALUE} values.
+ * Big arrays such as {@link primitivo.array.LongBigArray} do the same on the heap
+ * using a growable sequence of fixed-size segments.
+ * <p>
+ * {@link primitivo.array.RadixSort} sorts arrays of primitive values in linear time,
+ * optionally along with a payload array,
+ * and {@link primitivo.array.Selection} selects values by rank without sorting.
+ * <p>
+ * Functions prefixed with {@code parallel} (e.g. {@link primitivo.array.IntArray#parallelOf(Integer[], Parallelism)})
+ * split large arrays into chunks that are processed concurrently
+ * as configured by a {@link primitivo.array.Parallelism}.
  *
  * @author Michael Bisgaard Olesen
  *
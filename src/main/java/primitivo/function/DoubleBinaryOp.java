@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Operation on two {@code double} values that produces a {@code double} result.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface DoubleBinaryOp {
+	double apply(double left, double right);
+}
@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Operation that accepts a single {@code double} value and returns no result.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface DoubleConsumer {
+	void accept(double value);
+}
@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Function from an index to a {@code double} value.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface DoubleGenerator {
+	double generate(int index);
+}
@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Predicate on a single {@code double} value.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface DoublePredicate {
+	boolean test(double value);
+}
@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Operation on a single {@code double} value that produces a {@code double} result.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface DoubleUnaryOp {
+	double apply(double value);
+}
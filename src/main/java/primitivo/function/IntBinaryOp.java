@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Operation on two {@code int} values that produces a {@code int} result.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface IntBinaryOp {
+	int apply(int left, int right);
+}
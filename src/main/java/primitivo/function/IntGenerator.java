@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Function from an index to a {@code int} value.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface IntGenerator {
+	int generate(int index);
+}
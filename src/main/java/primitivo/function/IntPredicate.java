@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Predicate on a single {@code int} value.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface IntPredicate {
+	boolean test(int value);
+}
@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Operation on a single {@code int} value that produces a {@code int} result.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface IntUnaryOp {
+	int apply(int value);
+}
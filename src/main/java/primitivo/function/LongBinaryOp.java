@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Operation on two {@code long} values that produces a {@code long} result.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface LongBinaryOp {
+	long apply(long left, long right);
+}
@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Function from an index to a {@code long} value.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface LongGenerator {
+	long generate(int index);
+}
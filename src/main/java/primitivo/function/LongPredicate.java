@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Predicate on a single {@code long} value.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface LongPredicate {
+	boolean test(long value);
+}
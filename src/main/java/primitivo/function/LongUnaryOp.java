@@ -0,0 +1,12 @@
+package primitivo.function;
+
+/**
+ * Operation on a single {@code long} value that produces a {@code long} result.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.function
+ */
+public interface LongUnaryOp {
+	long apply(long value);
+}
@@ -0,0 +1,23 @@
+/**
+ * Function interfaces with primitive parameter and return types.
+ * <p>
+ * The interfaces are used by the operations of
+ * the iterators in {@link primitivo.iterate} and the arrays in {@link primitivo.array}
+ * such that functions may be passed to them without boxing their arguments or results.
+ * <p>
+ * The following interfaces exist for each of the types
+ * {@code int}, {@code long}, and {@code double}
+ * (shown here for {@code int}):
+ * <ul>
+ *     <li>{@link primitivo.function.IntUnaryOp}</li>
+ *     <li>{@link primitivo.function.IntBinaryOp}</li>
+ *     <li>{@link primitivo.function.IntPredicate}</li>
+ *     <li>{@link primitivo.function.IntGenerator}</li>
+ *     <li>{@link primitivo.function.IntConsumer}</li>
+ * </ul>
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo
+ */
+package primitivo.function;
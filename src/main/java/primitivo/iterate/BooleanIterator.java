@@ -10,7 +10,7 @@ import java.util.NoSuchElementException;
  *
  * @see primitivo.iterate
  */
-public abstract class BooleanIterator implements Iterator<Boolean> {
+public abstract class BooleanIterator implements Iterator<Boolean>, SizedIterator {
 	
 	/**
 	 * Returns the unboxed {@code boolean} of the value that
@@ -35,6 +35,44 @@ public abstract class BooleanIterator implements Iterator<Boolean> {
 		throw new UnsupportedOperationException();
 	}
 	
+	/**
+	 * Reads up to {@code length} values from the iteration into
+	 * {@code destination}, starting at index {@code offset}.
+	 * Fewer values are read only if the iterator is exhausted before
+	 * {@code length} values have been read.
+	 * <p>
+	 * The default implementation calls {@link #hasNext()} and {@link #nextBoolean()}
+	 * once per value. Implementations that have direct access to their values
+	 * override it with a more efficient block transfer.
+	 *
+	 * @param destination The array that the values are written into.
+	 * @param offset The index in {@code destination} of the first value to write.
+	 * @param length The maximum number of values to read.
+	 * @return The number of values that were read.
+	 *         This is less than {@code length} only if the iterator has been exhausted.
+	 * @throws IndexOutOfBoundsException If {@code offset} or {@code length} is negative
+	 *                                   or if {@code offset + length} exceeds the length of {@code destination}.
+	 */
+	public int nextBooleans(boolean[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = 0;
+		while (count < length && hasNext()) {
+			destination[offset + count++] = nextBoolean();
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the exact number of values remaining in the iteration, if known.
+	 *
+	 * @return The number of values that remain to be consumed,
+	 *         or -1 if this number is not known without consuming the iterator.
+	 */
+	//@Override
+	public long remaining() {
+		return -1;
+	}
+	
 	public static final BooleanIterator EMPTY = new BooleanIterator() {
 		//@Override
 		public boolean hasNext() {
@@ -46,6 +84,11 @@ public abstract class BooleanIterator implements Iterator<Boolean> {
 			throw new NoSuchElementException();
 		}
 		
+		@Override
+		public long remaining() {
+			return 0;
+		}
+		
 		@Override
 		public void remove() {
 			throw new IllegalStateException();
@@ -95,6 +138,14 @@ public abstract class BooleanIterator implements Iterator<Boolean> {
 			public void remove() {
 				iterator.remove();
 			}
+			
+			@Override
+			public long remaining() {
+				if (iterator instanceof SizedIterator) {
+					return ((SizedIterator) iterator).remaining();
+				}
+				return -1;
+			}
 		};
 	}
 	
@@ -115,6 +166,11 @@ public abstract class BooleanIterator implements Iterator<Boolean> {
 				hasNext = false;
 				return value;
 			}
+			
+			@Override
+			public long remaining() {
+				return hasNext ? 1 : 0;
+			}
 		};
 	}
 	
@@ -140,6 +196,20 @@ public abstract class BooleanIterator implements Iterator<Boolean> {
 				}
 				return values[index++];
 			}
+			
+			@Override
+			public int nextBooleans(boolean[] destination, int offset, int length) {
+				Checks.checkBounds(destination, offset, length);
+				int count = Math.min(length, values.length - index);
+				System.arraycopy(values, index, destination, offset, count);
+				index += count;
+				return count;
+			}
+			
+			@Override
+			public long remaining() {
+				return values.length - index;
+			}
 		};
 	}
 }
@@ -1,5 +1,7 @@
 package primitivo.iterate;
 
+import primitivo.function.IntConsumer;
+
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -10,7 +12,7 @@ import java.util.NoSuchElementException;
  *
  * @see primitivo.iterate
  */
-public abstract class ByteIterator implements Iterator<Byte> {
+public abstract class ByteIterator implements Iterator<Byte>, SizedIterator {
 	
 	/**
 	 * Returns the unboxed {@code byte} of the value that
@@ -35,6 +37,62 @@ public abstract class ByteIterator implements Iterator<Byte> {
 		throw new UnsupportedOperationException();
 	}
 	
+	/**
+	 * Reads up to {@code length} values from the iteration into
+	 * {@code destination}, starting at index {@code offset}.
+	 * Fewer values are read only if the iterator is exhausted before
+	 * {@code length} values have been read.
+	 * <p>
+	 * The default implementation calls {@link #hasNext()} and {@link #nextByte()}
+	 * once per value. Implementations that have direct access to their values
+	 * override it with a more efficient block transfer.
+	 *
+	 * @param destination The array that the values are written into.
+	 * @param offset The index in {@code destination} of the first value to write.
+	 * @param length The maximum number of values to read.
+	 * @return The number of values that were read.
+	 *         This is less than {@code length} only if the iterator has been exhausted.
+	 * @throws IndexOutOfBoundsException If {@code offset} or {@code length} is negative
+	 *                                   or if {@code offset + length} exceeds the length of {@code destination}.
+	 */
+	public int nextBytes(byte[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = 0;
+		while (count < length && hasNext()) {
+			destination[offset + count++] = nextByte();
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the exact number of values remaining in the iteration, if known.
+	 *
+	 * @return The number of values that remain to be consumed,
+	 *         or -1 if this number is not known without consuming the iterator.
+	 */
+	//@Override
+	public long remaining() {
+		return -1;
+	}
+	
+	/**
+	 * Consumes the remaining values and passes each of them, widened to {@code int}, to a consumer.
+	 * <p>
+	 * The default implementation calls {@link #hasNext()} and {@link #nextByte()}
+	 * once per value. Implementations that have direct access to their values
+	 * (e.g. the array-backed and range iterators) override it with a single counted loop.
+	 *
+	 * @param consumer The consumer that receives the values.
+	 */
+	public void forEachRemaining(IntConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		while (hasNext()) {
+			consumer.accept(nextByte());
+		}
+	}
+	
 	public static final ByteIterator EMPTY = new ByteIterator() {
 		//@Override
 		public boolean hasNext() {
@@ -46,6 +104,11 @@ public abstract class ByteIterator implements Iterator<Byte> {
 			throw new NoSuchElementException();
 		}
 		
+		@Override
+		public long remaining() {
+			return 0;
+		}
+		
 		@Override
 		public void remove() {
 			throw new IllegalStateException();
@@ -95,6 +158,14 @@ public abstract class ByteIterator implements Iterator<Byte> {
 			public void remove() {
 				iterator.remove();
 			}
+			
+			@Override
+			public long remaining() {
+				if (iterator instanceof SizedIterator) {
+					return ((SizedIterator) iterator).remaining();
+				}
+				return -1;
+			}
 		};
 	}
 	
@@ -115,6 +186,11 @@ public abstract class ByteIterator implements Iterator<Byte> {
 				hasNext = false;
 				return value;
 			}
+			
+			@Override
+			public long remaining() {
+				return hasNext ? 1 : 0;
+			}
 		};
 	}
 	
@@ -140,6 +216,32 @@ public abstract class ByteIterator implements Iterator<Byte> {
 				}
 				return values[index++];
 			}
+			
+			@Override
+			public int nextBytes(byte[] destination, int offset, int length) {
+				Checks.checkBounds(destination, offset, length);
+				int count = Math.min(length, values.length - index);
+				System.arraycopy(values, index, destination, offset, count);
+				index += count;
+				return count;
+			}
+			
+			@Override
+			public void forEachRemaining(IntConsumer consumer) {
+				if (consumer == null) {
+					throw new NullPointerException("consumer");
+				}
+				int from = index;
+				index = values.length;
+				for (int i = from; i < values.length; i++) {
+					consumer.accept(values[i]);
+				}
+			}
+			
+			@Override
+			public long remaining() {
+				return values.length - index;
+			}
 		};
 	}
 	
@@ -162,6 +264,35 @@ public abstract class ByteIterator implements Iterator<Byte> {
 				}
 				return current++;
 			}
+			
+			@Override
+			public int nextBytes(byte[] destination, int offset, int length) {
+				Checks.checkBounds(destination, offset, length);
+				int count = Math.min(length, toByte - current);
+				byte value = current;
+				for (int i = 0; i < count; i++) {
+					destination[offset + i] = value++;
+				}
+				current = value;
+				return count;
+			}
+			
+			@Override
+			public void forEachRemaining(IntConsumer consumer) {
+				if (consumer == null) {
+					throw new NullPointerException("consumer");
+				}
+				int from = current;
+				current = toByte;
+				for (int value = from; value < toByte; value++) {
+					consumer.accept(value);
+				}
+			}
+			
+			@Override
+			public long remaining() {
+				return toByte - current;
+			}
 		};
 	}
 }
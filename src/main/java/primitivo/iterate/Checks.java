@@ -0,0 +1,87 @@
+package primitivo.iterate;
+
+/**
+ * Package-private helper functions for validating array bounds
+ * passed to the iterators in this package.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+class Checks {
+	private Checks() {
+	}
+	
+	static void checkBounds(boolean[] destination, int offset, int length) {
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		checkBounds(destination.length, offset, length);
+	}
+	
+	static void checkBounds(byte[] destination, int offset, int length) {
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		checkBounds(destination.length, offset, length);
+	}
+	
+	static void checkBounds(short[] destination, int offset, int length) {
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		checkBounds(destination.length, offset, length);
+	}
+	
+	static void checkBounds(char[] destination, int offset, int length) {
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		checkBounds(destination.length, offset, length);
+	}
+	
+	static void checkBounds(int[] destination, int offset, int length) {
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		checkBounds(destination.length, offset, length);
+	}
+	
+	static void checkBounds(long[] destination, int offset, int length) {
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		checkBounds(destination.length, offset, length);
+	}
+	
+	static void checkBounds(float[] destination, int offset, int length) {
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		checkBounds(destination.length, offset, length);
+	}
+	
+	static void checkBounds(double[] destination, int offset, int length) {
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		checkBounds(destination.length, offset, length);
+	}
+	
+	static void checkRange(int arrayLength, int from, int to) {
+		if (from > to) {
+			throw new IllegalArgumentException("from " + from + " > to " + to);
+		}
+		if (from < 0 || to > arrayLength) {
+			throw new IndexOutOfBoundsException(
+					"from " + from + ", to " + to + ", array length " + arrayLength
+			);
+		}
+	}
+	
+	private static void checkBounds(int arrayLength, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > arrayLength - length) {
+			throw new IndexOutOfBoundsException(
+					"offset " + offset + ", length " + length + ", array length " + arrayLength
+			);
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package primitivo.iterate;
+
+import primitivo.function.DoubleConsumer;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator of the values of a sub-range of a {@code double} array.
+ * The array is not copied.
+ * <p>
+ * Unlike the other iterators, a cursor may be pointed at another array or range with {@link #reset(double[], int, int)}
+ * once it has been consumed (or at any other time).
+ * A single cursor can therefore iterate any number of arrays (e.g. the rows of a table)
+ * without allocating an iterator per array:
+ * <pre>
+ * DoubleArrayCursor cursor = new DoubleArrayCursor();
+ * for (double[] row : rows) {
+ *     cursor.reset(row);
+ *     ...
+ * }
+ * </pre>
+ * Cursors are returned by {@link DoubleIterator#of(double...)} and {@link DoubleIterator#of(double[], int, int)}.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.iterate
+ */
+public final class DoubleArrayCursor extends DoubleIterator {
+	private static final double[] NO_VALUES = new double[0];
+	
+	private double[] values;
+	private int index;
+	private int to;
+	
+	/**
+	 * Construct an empty cursor; i.e. one that must be {@link #reset(double[], int, int) reset} before it produces any values.
+	 */
+	public DoubleArrayCursor() {
+		values = NO_VALUES;
+	}
+	
+	/**
+	 * Construct a cursor of the values of a sub-range of an array.
+	 *
+	 * @param values The array to iterate.
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > values.length}.
+	 */
+	public DoubleArrayCursor(double[] values, int from, int to) {
+		reset(values, from, to);
+	}
+	
+	/**
+	 * Point the cursor at all the values of an array.
+	 *
+	 * @param values The array to iterate.
+	 * @return This cursor.
+	 */
+	public DoubleArrayCursor reset(double[] values) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		this.values = values;
+		this.index = 0;
+		this.to = values.length;
+		return this;
+	}
+	
+	/**
+	 * Point the cursor at the values of a sub-range of an array,
+	 * discarding the values that remained of its previous range.
+	 *
+	 * @param values The array to iterate.
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @return This cursor.
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > values.length}.
+	 */
+	public DoubleArrayCursor reset(double[] values, int from, int to) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		Checks.checkRange(values.length, from, to);
+		this.values = values;
+		this.index = from;
+		this.to = to;
+		return this;
+	}
+	
+	/**
+	 * @return The index in the current array of the next value to be produced.
+	 */
+	public int index() {
+		return index;
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		return index < to;
+	}
+	
+	@Override
+	public double nextDouble() {
+		if (index >= to) {
+			throw new NoSuchElementException();
+		}
+		return values[index++];
+	}
+	
+	@Override
+	public int nextDoubles(double[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = Math.min(length, to - index);
+		System.arraycopy(values, index, destination, offset, count);
+		index += count;
+		return count;
+	}
+	
+	@Override
+	public void forEachRemaining(DoubleConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		double[] values = this.values;
+		int from = index;
+		int to = this.to;
+		index = to;
+		for (int i = from; i < to; i++) {
+			consumer.accept(values[i]);
+		}
+	}
+	
+	@Override
+	public long remaining() {
+		return to - index;
+	}
+	
+	/**
+	 * Splits off the first half of the remaining values into a new cursor
+	 * over the same array.
+	 *
+	 * @return A cursor of the first half of the remaining values,
+	 *         or null if fewer than two values remain.
+	 */
+	@Override
+	public DoubleArrayCursor trySplit() {
+		int middle = (index + to) >>> 1;
+		if (middle == index) {
+			return null;
+		}
+		DoubleArrayCursor prefix = new DoubleArrayCursor(values, index, middle);
+		index = middle;
+		return prefix;
+	}
+}
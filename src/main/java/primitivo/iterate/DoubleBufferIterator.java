@@ -0,0 +1,156 @@
+package primitivo.iterate;
+
+import primitivo.function.DoubleConsumer;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator of the remaining values of a sequence of {@link DoubleBuffer}s.
+ * <p>
+ * Backs {@link DoubleIterator#of(DoubleBuffer)} and
+ * {@link DoubleIterator#mapped(FileChannel, long, long, ByteOrder)}.
+ * The values are read directly from the buffers, so if they are direct or memory-mapped,
+ * the values are never copied onto the heap except by bulk reads.
+ * <p>
+ * The iterator owns its buffers and advances their positions.
+ * Splitting divides the sequence of buffers, or the current buffer if it is the last one,
+ * without reading any values.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+final class DoubleBufferIterator extends DoubleIterator {
+	/**
+	 * The maximum number of bytes that are mapped into a single buffer.
+	 * This is a multiple of the size of all primitive types.
+	 */
+	private static final long MAXIMUM_MAPPED_BYTES = 1 << 30;
+	
+	private static final int BYTES = 8;
+	
+	private final DoubleBuffer[] buffers;
+	private final int end;
+	private int index;
+	private DoubleBuffer buffer;
+	
+	DoubleBufferIterator(DoubleBuffer[] buffers, int from, int to) {
+		this.buffers = buffers;
+		this.index = from;
+		this.end = to;
+		this.buffer = buffers[from];
+	}
+	
+	static DoubleIterator map(FileChannel channel, long position, long count, ByteOrder order) throws IOException {
+		if (channel == null) {
+			throw new NullPointerException("channel");
+		}
+		if (order == null) {
+			throw new NullPointerException("order");
+		}
+		if (position < 0) {
+			throw new IllegalArgumentException("Negative position");
+		}
+		if (count < 0 || count > Long.MAX_VALUE / BYTES) {
+			throw new IllegalArgumentException("Invalid count " + count);
+		}
+		if (count == 0) {
+			return DoubleIterator.EMPTY;
+		}
+		long bytes = count * BYTES;
+		long bufferCount = (bytes - 1) / MAXIMUM_MAPPED_BYTES + 1;
+		if (bufferCount > Integer.MAX_VALUE || position > Long.MAX_VALUE - bytes) {
+			throw new IllegalArgumentException("Region of " + count + " values is too large to be mapped");
+		}
+		DoubleBuffer[] buffers = new DoubleBuffer[(int) bufferCount];
+		for (int i = 0; i < buffers.length; i++) {
+			long offset = i * MAXIMUM_MAPPED_BYTES;
+			long size = Math.min(MAXIMUM_MAPPED_BYTES, bytes - offset);
+			buffers[i] = channel
+					.map(FileChannel.MapMode.READ_ONLY, position + offset, size)
+					.order(order)
+					.asDoubleBuffer();
+		}
+		return new DoubleBufferIterator(buffers, 0, buffers.length);
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		while (!buffer.hasRemaining()) {
+			if (index + 1 >= end) {
+				return false;
+			}
+			buffer = buffers[++index];
+		}
+		return true;
+	}
+	
+	@Override
+	public double nextDouble() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return buffer.get();
+	}
+	
+	@Override
+	public int nextDoubles(double[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = 0;
+		while (count < length && hasNext()) {
+			int chunk = Math.min(length - count, buffer.remaining());
+			buffer.get(destination, offset + count, chunk);
+			count += chunk;
+		}
+		return count;
+	}
+	
+	@Override
+	public void forEachRemaining(DoubleConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		while (hasNext()) {
+			DoubleBuffer buffer = this.buffer;
+			int position = buffer.position();
+			int limit = buffer.limit();
+			((Buffer) buffer).position(limit);
+			for (int i = position; i < limit; i++) {
+				consumer.accept(buffer.get(i));
+			}
+		}
+	}
+	
+	@Override
+	public long remaining() {
+		long remaining = 0;
+		for (int i = index; i < end; i++) {
+			remaining += buffers[i].remaining();
+		}
+		return remaining;
+	}
+	
+	@Override
+	public DoubleIterator trySplit() {
+		if (end - index > 1) {
+			int middle = (index + end) >>> 1;
+			DoubleIterator prefix = new DoubleBufferIterator(buffers, index, middle);
+			index = middle;
+			buffer = buffers[middle];
+			return prefix;
+		}
+		int position = buffer.position();
+		int middle = (position + buffer.limit()) >>> 1;
+		if (middle == position) {
+			return null;
+		}
+		DoubleBuffer prefix = buffer.duplicate();
+		// Cast to Buffer such that the JDK 1.9+ covariant overrides aren't linked against.
+		((Buffer) prefix).limit(middle);
+		((Buffer) buffer).position(middle);
+		return new DoubleBufferIterator(new DoubleBuffer[]{prefix}, 0, 1);
+	}
+}
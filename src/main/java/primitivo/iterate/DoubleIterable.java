@@ -0,0 +1,33 @@
+package primitivo.iterate;
+
+import primitivo.function.DoubleConsumer;
+
+/**
+ * Container of {@code double} values that can be iterated both externally and internally.
+ * <p>
+ * Internal iteration with {@link #forEach(DoubleConsumer)} lets the container
+ * run its own loop over its storage, so the values are passed to the consumer
+ * without the per-value {@code hasNext}/{@code nextDouble} calls of an external iteration.
+ * The containers of this library that implement the interface
+ * (e.g. {@code primitivo.array.OffHeapDoubleArray}) implement it with such loops.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.iterate
+ */
+public interface DoubleIterable {
+	
+	/**
+	 * @return Iterator of all values of the container.
+	 */
+	DoubleIterator iterator();
+	
+	/**
+	 * Passes all values of the container to a consumer in iteration order.
+	 * This is equivalent to {@code iterator().forEachRemaining(consumer)}.
+	 * The container must not be modified while the consumer runs.
+	 *
+	 * @param consumer The consumer that receives the values.
+	 */
+	void forEach(DoubleConsumer consumer);
+}
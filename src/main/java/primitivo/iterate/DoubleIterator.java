@@ -1,5 +1,14 @@
 package primitivo.iterate;
 
+import primitivo.function.DoubleBinaryOp;
+import primitivo.function.DoubleConsumer;
+import primitivo.function.DoublePredicate;
+import primitivo.function.DoubleUnaryOp;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -10,7 +19,7 @@ import java.util.NoSuchElementException;
  *
  * @see primitivo.iterate
  */
-public abstract class DoubleIterator implements Iterator<Double> {
+public abstract class DoubleIterator implements Iterator<Double>, SizedIterator {
 	
 	/**
 	 * Returns the unboxed {@code double} of the value that
@@ -35,6 +44,197 @@ public abstract class DoubleIterator implements Iterator<Double> {
 		throw new UnsupportedOperationException();
 	}
 	
+	/**
+	 * Reads up to {@code length} values from the iteration into
+	 * {@code destination}, starting at index {@code offset}.
+	 * Fewer values are read only if the iterator is exhausted before
+	 * {@code length} values have been read.
+	 * <p>
+	 * The default implementation calls {@link #hasNext()} and {@link #nextDouble()}
+	 * once per value. Implementations that have direct access to their values
+	 * override it with a more efficient block transfer.
+	 *
+	 * @param destination The array that the values are written into.
+	 * @param offset The index in {@code destination} of the first value to write.
+	 * @param length The maximum number of values to read.
+	 * @return The number of values that were read.
+	 *         This is less than {@code length} only if the iterator has been exhausted.
+	 * @throws IndexOutOfBoundsException If {@code offset} or {@code length} is negative
+	 *                                   or if {@code offset + length} exceeds the length of {@code destination}.
+	 */
+	public int nextDoubles(double[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = 0;
+		while (count < length && hasNext()) {
+			destination[offset + count++] = nextDouble();
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the exact number of values remaining in the iteration, if known.
+	 *
+	 * @return The number of values that remain to be consumed,
+	 *         or -1 if this number is not known without consuming the iterator.
+	 */
+	//@Override
+	public long remaining() {
+		return -1;
+	}
+	
+	/**
+	 * Splits off a prefix of the remaining values into a new iterator,
+	 * in the manner of {@code java.util.Spliterator.trySplit}:
+	 * If this method returns non-null, the returned iterator produces
+	 * the first part of the values that this iterator would otherwise have produced,
+	 * and this iterator continues with the rest of them.
+	 * Only iterators that can split without consuming values
+	 * (i.e. the array-backed iterators) support this;
+	 * by default, null is returned.
+	 * The {@code range} iterator doesn't split because its values are accumulated
+	 * and can therefore not be reproduced from an index.
+	 * <p>
+	 * Together with {@link #remaining()}, this allows the iterator to be
+	 * adapted into a {@code SIZED} and {@code SUBSIZED} {@code Spliterator.OfDouble}
+	 * that may be split repeatedly for parallel stream processing,
+	 * without copying the values or boxing them.
+	 *
+	 * @return An iterator of a prefix of the remaining values,
+	 *         or null if this iterator cannot be split.
+	 */
+	public DoubleIterator trySplit() {
+		return null;
+	}
+	
+	/**
+	 * Returns a lazy iterator of the results of applying an operation
+	 * to each of the remaining values.
+	 * The values are consumed from this iterator as the returned iterator is consumed.
+	 * <p>
+	 * Adjacent {@code map} and {@code filter} stages are fused into
+	 * a single iterator where possible, such that long pipelines
+	 * don't result in a chain of wrapping iterators.
+	 *
+	 * @param op The operation to apply.
+	 * @return Iterator of the mapped values.
+	 */
+	public DoubleIterator map(DoubleUnaryOp op) {
+		return FusedDoubleIterator.map(this, op);
+	}
+	
+	/**
+	 * Returns a lazy iterator of the remaining values that satisfy a predicate.
+	 * The values are consumed from this iterator as the returned iterator is consumed.
+	 *
+	 * @param predicate The predicate that values must satisfy to be retained.
+	 * @return Iterator of the retained values.
+	 * @see #map(DoubleUnaryOp)
+	 */
+	public DoubleIterator filter(DoublePredicate predicate) {
+		return FusedDoubleIterator.filter(this, predicate);
+	}
+	
+	/**
+	 * Consumes the remaining values and passes each of them to a consumer.
+	 * <p>
+	 * The default implementation calls {@link #hasNext()} and {@link #nextDouble()}
+	 * once per value. Implementations that have direct access to their values
+	 * (e.g. the array-backed and range iterators) override it with a single counted loop.
+	 *
+	 * @param consumer The consumer that receives the values.
+	 */
+	public void forEachRemaining(DoubleConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		while (hasNext()) {
+			consumer.accept(nextDouble());
+		}
+	}
+	
+	/**
+	 * Consumes the remaining values and combines them from left to right
+	 * using an operation.
+	 *
+	 * @param identity The initial value of the reduction;
+	 *                 this is the result if the iterator is empty.
+	 * @param op The operation used to combine the accumulated result with the next value.
+	 * @return The result of the reduction.
+	 */
+	public double reduce(double identity, DoubleBinaryOp op) {
+		if (op == null) {
+			throw new NullPointerException("op");
+		}
+		double result = identity;
+		while (hasNext()) {
+			result = op.apply(result, nextDouble());
+		}
+		return result;
+	}
+	
+	/**
+	 * Consumes the remaining values and returns their sum.
+	 *
+	 * @return The sum of the remaining values, or 0 if the iterator is empty.
+	 */
+	public double sum() {
+		double sum = 0;
+		while (hasNext()) {
+			sum += nextDouble();
+		}
+		return sum;
+	}
+	
+	/**
+	 * Consumes the remaining values and returns the smallest of them.
+	 * If any value is NaN, the result is NaN.
+	 *
+	 * @return The minimum of the remaining values.
+	 * @throws NoSuchElementException If the iterator is empty.
+	 */
+	public double min() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		double result = nextDouble();
+		while (hasNext()) {
+			result = Math.min(result, nextDouble());
+		}
+		return result;
+	}
+	
+	/**
+	 * Consumes the remaining values and returns the largest of them.
+	 * If any value is NaN, the result is NaN.
+	 *
+	 * @return The maximum of the remaining values.
+	 * @throws NoSuchElementException If the iterator is empty.
+	 */
+	public double max() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		double result = nextDouble();
+		while (hasNext()) {
+			result = Math.max(result, nextDouble());
+		}
+		return result;
+	}
+	
+	/**
+	 * Consumes the remaining values and returns the number of them.
+	 *
+	 * @return The number of remaining values.
+	 */
+	public long count() {
+		long count = 0;
+		while (hasNext()) {
+			nextDouble();
+			count++;
+		}
+		return count;
+	}
+	
 	public static final DoubleIterator EMPTY = new DoubleIterator() {
 		//@Override
 		public boolean hasNext() {
@@ -46,142 +246,39 @@ public abstract class DoubleIterator implements Iterator<Double> {
 			throw new NoSuchElementException();
 		}
 		
+		@Override
+		public long remaining() {
+			return 0;
+		}
+		
 		@Override
 		public void remove() {
 			throw new IllegalStateException();
 		}
 	};
 	
-	public static DoubleIterator of(final ByteIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new DoubleIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public double nextDouble() {
-				return iterator.nextByte();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static DoubleIterator of(ByteIterator iterator) {
+		return WidenedDoubleIterator.of(iterator, Widened.BYTE);
 	}
 	
-	public static DoubleIterator of(final ShortIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new DoubleIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public double nextDouble() {
-				return iterator.nextShort();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static DoubleIterator of(ShortIterator iterator) {
+		return WidenedDoubleIterator.of(iterator, Widened.SHORT);
 	}
 	
-	public static DoubleIterator of(final CharIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new DoubleIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public double nextDouble() {
-				return iterator.nextChar();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static DoubleIterator of(CharIterator iterator) {
+		return WidenedDoubleIterator.of(iterator, Widened.CHAR);
 	}
 	
-	public static DoubleIterator of(final IntIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new DoubleIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public double nextDouble() {
-				return iterator.nextInt();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static DoubleIterator of(IntIterator iterator) {
+		return WidenedDoubleIterator.of(iterator, Widened.INT);
 	}
 	
-	public static DoubleIterator of(final LongIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new DoubleIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public double nextDouble() {
-				return iterator.nextLong();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static DoubleIterator of(LongIterator iterator) {
+		return WidenedDoubleIterator.of(iterator, Widened.LONG);
 	}
 	
-	public static DoubleIterator of(final FloatIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new DoubleIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public double nextDouble() {
-				return iterator.nextFloat();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static DoubleIterator of(FloatIterator iterator) {
+		return WidenedDoubleIterator.of(iterator, Widened.FLOAT);
 	}
 	
 	public static DoubleIterator of(Iterator<Double> iterator) {
@@ -189,7 +286,7 @@ public abstract class DoubleIterator implements Iterator<Double> {
 		return of(iterator, null);
 	}
 	
-	public static DoubleIterator of(final Iterator<Double> iterator, final Double nullValue) {
+	public static DoubleIterator of(Iterator<Double> iterator, Double nullValue) {
 		if (iterator == null) {
 			throw new NullPointerException("iterator");
 		}
@@ -199,106 +296,117 @@ public abstract class DoubleIterator implements Iterator<Double> {
 		if (iterator instanceof DoubleIterator) {
 			return (DoubleIterator) iterator;
 		}
-		return new DoubleIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public double nextDouble() {
-				return next();
-			}
-			
-			@Override
-			public Double next() {
-				Double current = iterator.next();
-				if (current != null) {
-					return current;
-				}
-				if (nullValue == null) {
-					// Ensure that `next` and `nextDouble` behave identically.
-					throw new NullPointerException("current");
-				}
-				return nullValue;
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+		return new UnboxedDoubleIterator(iterator, nullValue);
 	}
 	
-	public static DoubleIterator of(final double value) {
-		return new DoubleIterator() {
-			private boolean hasNext = true;
-			
-			//@Override
-			public boolean hasNext() {
-				return hasNext;
-			}
-			
-			@Override
-			public double nextDouble() {
-				if (!hasNext()) {
-					throw new NoSuchElementException();
-				}
-				hasNext = false;
-				return value;
-			}
-		};
+	public static DoubleIterator of(double value) {
+		return new DoubleArrayCursor(new double[]{value}, 0, 1);
 	}
 	
-	public static DoubleIterator of(final double... values) {
+	public static DoubleIterator of(double... values) {
 		if (values == null) {
 			throw new NullPointerException("values");
 		}
-		if (values.length == 0) {
+		return of(values, 0, values.length);
+	}
+	
+	/**
+	 * Returns an iterator of the values of a sub-range of an array.
+	 * The array is not copied.
+	 * <p>
+	 * The iterator is a {@link DoubleArrayCursor}, which may be reset to iterate other arrays
+	 * without allocating a new iterator (see {@link DoubleArrayCursor#reset(double[], int, int)}).
+	 *
+	 * @param values The array to iterate.
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @return Iterator of {@code values[from]}, ..., {@code values[to - 1]}.
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > values.length}.
+	 */
+	public static DoubleIterator of(double[] values, int from, int to) {
+		return new DoubleArrayCursor(values, from, to);
+	}
+	
+	/**
+	 * Returns an iterator of the remaining values of a buffer;
+	 * i.e. the values between its position and its limit.
+	 * The values are read directly from the buffer and are not copied,
+	 * which makes this suitable for direct and memory-mapped buffers.
+	 * The position of {@code buffer} itself is not modified.
+	 *
+	 * @param buffer The buffer to iterate.
+	 * @return Iterator of the remaining values of {@code buffer}.
+	 */
+	public static DoubleIterator of(DoubleBuffer buffer) {
+		if (buffer == null) {
+			throw new NullPointerException("buffer");
+		}
+		if (!buffer.hasRemaining()) {
 			return EMPTY;
 		}
-		return new DoubleIterator() {
-			private int index = 0;
-			
-			//@Override
-			public boolean hasNext() {
-				return index < values.length;
-			}
-			
-			@Override
-			public double nextDouble() {
-				if (!hasNext()) {
-					throw new NoSuchElementException();
-				}
-				return values[index++];
-			}
-		};
+		return new DoubleBufferIterator(new DoubleBuffer[]{buffer.duplicate()}, 0, 1);
+	}
+	
+	/**
+	 * Returns an iterator of fixed-width {@code double} values stored in a region of a file.
+	 * The region is memory-mapped (read-only) and the values are read directly
+	 * from the mapped memory, so the file is not loaded onto the heap.
+	 * Regions larger than a single mapping allows are mapped in multiple chunks.
+	 * <p>
+	 * The returned iterator may be split by index (see {@link #trySplit()}),
+	 * which allows a large file to be scanned in parallel.
+	 *
+	 * @param channel The channel of the file. It must be open for reading.
+	 * @param position The position in the file (in bytes) of the first value.
+	 * @param count The number of values to iterate.
+	 * @param order The byte order of the values in the file.
+	 * @return Iterator of the values of the region.
+	 * @throws IOException If mapping the region fails.
+	 * @throws IllegalArgumentException If {@code position} or {@code count} is negative,
+	 *                                  or if the region is too large to be addressed.
+	 */
+	public static DoubleIterator mapped(FileChannel channel, long position, long count, ByteOrder order) throws IOException {
+		return DoubleBufferIterator.map(channel, position, count, order);
+	}
+	
+	/**
+	 * Merge iterators of values in ascending order into a single iterator of all the values in ascending order.
+	 * The iterators are read ahead in blocks of up to 64 values using their bulk reads,
+	 * starting with a block of each iterator when the merge is created.
+	 * Values that have been read ahead but not yet returned are lost to the iterators,
+	 * so they must not be used elsewhere while (or after) the merge is consumed.
+	 * Equal values are returned in the order of the iterators that they came from.
+	 * <p>
+	 * The merge is implemented as a loser tree, which takes
+	 * {@code ceil(log2(k))} comparisons per value when merging {@code k} iterators.
+	 *
+	 * @param iterators The sorted iterators to merge.
+	 * @return Iterator of the values of all the iterators in ascending order.
+	 */
+	public static DoubleIterator mergeSorted(DoubleIterator... iterators) {
+		return MergedDoubleIterator.of(iterators, false);
+	}
+	
+	/**
+	 * Merge iterators of values in ascending order into a single iterator
+	 * of the distinct values in ascending order; equal values are only returned once.
+	 *
+	 * @param iterators The sorted iterators to merge.
+	 * @return Iterator of the distinct values of all the iterators in ascending order.
+	 * @see #mergeSorted(DoubleIterator...)
+	 */
+	public static DoubleIterator mergeSortedDistinct(DoubleIterator... iterators) {
+		return MergedDoubleIterator.of(iterators, true);
 	}
 	
-	public static DoubleIterator range(final double from, final double to, final double step) {
+	public static DoubleIterator range(double from, double to, double step) {
 		if (from >= to) {
 			return EMPTY;
 		}
 		if (step == 0) {
 			throw new IllegalArgumentException("Step cannot be zero");
 		}
-		return new DoubleIterator() {
-			private double current = from;
-			
-			//@Override
-			public boolean hasNext() {
-				return current < to;
-			}
-			
-			@Override
-			public double nextDouble() {
-				if (!hasNext()) {
-					throw new NoSuchElementException();
-				}
-				double next = current;
-				current += step;
-				return next;
-			}
-		};
+		return new DoubleRangeIterator(from, to, step);
 	}
 }
@@ -0,0 +1,63 @@
+package primitivo.iterate;
+
+import primitivo.function.DoubleConsumer;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator of the {@code double} values from a start value (inclusive) to an end value (exclusive)
+ * in fixed steps. The values are accumulated, so they are subject to rounding.
+ * Backs {@link DoubleIterator#range(double, double, double)}.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+final class DoubleRangeIterator extends DoubleIterator {
+	private double current;
+	private final double to;
+	private final double step;
+	
+	DoubleRangeIterator(double from, double to, double step) {
+		this.current = from;
+		this.to = to;
+		this.step = step;
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		return current < to;
+	}
+	
+	@Override
+	public double nextDouble() {
+		if (!(current < to)) {
+			throw new NoSuchElementException();
+		}
+		double next = current;
+		current += step;
+		return next;
+	}
+	
+	@Override
+	public int nextDoubles(double[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = 0;
+		while (count < length && current < to) {
+			destination[offset + count++] = current;
+			current += step;
+		}
+		return count;
+	}
+	
+	@Override
+	public void forEachRemaining(DoubleConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		double value = current;
+		while (value < to) {
+			consumer.accept(value);
+			value += step;
+		}
+		current = value;
+	}
+}
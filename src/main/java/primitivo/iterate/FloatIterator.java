@@ -1,5 +1,7 @@
 package primitivo.iterate;
 
+import primitivo.function.DoubleConsumer;
+
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -10,7 +12,7 @@ import java.util.NoSuchElementException;
  *
  * @see primitivo.iterate
  */
-public abstract class FloatIterator implements Iterator<Float> {
+public abstract class FloatIterator implements Iterator<Float>, SizedIterator {
 	
 	/**
 	 * Returns the unboxed {@code float} of the value that
@@ -35,6 +37,62 @@ public abstract class FloatIterator implements Iterator<Float> {
 		throw new UnsupportedOperationException();
 	}
 	
+	/**
+	 * Reads up to {@code length} values from the iteration into
+	 * {@code destination}, starting at index {@code offset}.
+	 * Fewer values are read only if the iterator is exhausted before
+	 * {@code length} values have been read.
+	 * <p>
+	 * The default implementation calls {@link #hasNext()} and {@link #nextFloat()}
+	 * once per value. Implementations that have direct access to their values
+	 * override it with a more efficient block transfer.
+	 *
+	 * @param destination The array that the values are written into.
+	 * @param offset The index in {@code destination} of the first value to write.
+	 * @param length The maximum number of values to read.
+	 * @return The number of values that were read.
+	 *         This is less than {@code length} only if the iterator has been exhausted.
+	 * @throws IndexOutOfBoundsException If {@code offset} or {@code length} is negative
+	 *                                   or if {@code offset + length} exceeds the length of {@code destination}.
+	 */
+	public int nextFloats(float[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = 0;
+		while (count < length && hasNext()) {
+			destination[offset + count++] = nextFloat();
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the exact number of values remaining in the iteration, if known.
+	 *
+	 * @return The number of values that remain to be consumed,
+	 *         or -1 if this number is not known without consuming the iterator.
+	 */
+	//@Override
+	public long remaining() {
+		return -1;
+	}
+	
+	/**
+	 * Consumes the remaining values and passes each of them, widened to {@code double}, to a consumer.
+	 * <p>
+	 * The default implementation calls {@link #hasNext()} and {@link #nextFloat()}
+	 * once per value. Implementations that have direct access to their values
+	 * (e.g. the array-backed and range iterators) override it with a single counted loop.
+	 *
+	 * @param consumer The consumer that receives the values.
+	 */
+	public void forEachRemaining(DoubleConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		while (hasNext()) {
+			consumer.accept(nextFloat());
+		}
+	}
+	
 	public static final FloatIterator EMPTY = new FloatIterator() {
 		//@Override
 		public boolean hasNext() {
@@ -46,98 +104,31 @@ public abstract class FloatIterator implements Iterator<Float> {
 			throw new NoSuchElementException();
 		}
 		
+		@Override
+		public long remaining() {
+			return 0;
+		}
+		
 		@Override
 		public void remove() {
 			throw new IllegalStateException();
 		}
 	};
 	
-	public static FloatIterator of(final ByteIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new FloatIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public float nextFloat() {
-				return iterator.nextByte();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static FloatIterator of(ByteIterator iterator) {
+		return WidenedFloatIterator.of(iterator, Widened.BYTE);
 	}
 	
-	public static FloatIterator of(final ShortIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new FloatIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public float nextFloat() {
-				return iterator.nextShort();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static FloatIterator of(ShortIterator iterator) {
+		return WidenedFloatIterator.of(iterator, Widened.SHORT);
 	}
 	
-	public static FloatIterator of(final CharIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new FloatIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public float nextFloat() {
-				return iterator.nextChar();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static FloatIterator of(CharIterator iterator) {
+		return WidenedFloatIterator.of(iterator, Widened.CHAR);
 	}
 	
-	public static FloatIterator of(final IntIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new FloatIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public float nextFloat() {
-				return iterator.nextInt();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static FloatIterator of(IntIterator iterator) {
+		return WidenedFloatIterator.of(iterator, Widened.INT);
 	}
 	
 	public static FloatIterator of(Iterator<Float> iterator) {
@@ -183,6 +174,14 @@ public abstract class FloatIterator implements Iterator<Float> {
 			public void remove() {
 				iterator.remove();
 			}
+			
+			@Override
+			public long remaining() {
+				if (iterator instanceof SizedIterator) {
+					return ((SizedIterator) iterator).remaining();
+				}
+				return -1;
+			}
 		};
 	}
 	
@@ -203,6 +202,11 @@ public abstract class FloatIterator implements Iterator<Float> {
 				hasNext = false;
 				return value;
 			}
+			
+			@Override
+			public long remaining() {
+				return hasNext ? 1 : 0;
+			}
 		};
 	}
 	
@@ -228,6 +232,32 @@ public abstract class FloatIterator implements Iterator<Float> {
 				}
 				return values[index++];
 			}
+			
+			@Override
+			public int nextFloats(float[] destination, int offset, int length) {
+				Checks.checkBounds(destination, offset, length);
+				int count = Math.min(length, values.length - index);
+				System.arraycopy(values, index, destination, offset, count);
+				index += count;
+				return count;
+			}
+			
+			@Override
+			public void forEachRemaining(DoubleConsumer consumer) {
+				if (consumer == null) {
+					throw new NullPointerException("consumer");
+				}
+				int from = index;
+				index = values.length;
+				for (int i = from; i < values.length; i++) {
+					consumer.accept(values[i]);
+				}
+			}
+			
+			@Override
+			public long remaining() {
+				return values.length - index;
+			}
 		};
 	}
 	
@@ -255,6 +285,30 @@ public abstract class FloatIterator implements Iterator<Float> {
 				current += step;
 				return next;
 			}
+			
+			@Override
+			public int nextFloats(float[] destination, int offset, int length) {
+				Checks.checkBounds(destination, offset, length);
+				int count = 0;
+				while (count < length && current < to) {
+					destination[offset + count++] = current;
+					current += step;
+				}
+				return count;
+			}
+			
+			@Override
+			public void forEachRemaining(DoubleConsumer consumer) {
+				if (consumer == null) {
+					throw new NullPointerException("consumer");
+				}
+				float value = current;
+				while (value < to) {
+					consumer.accept(value);
+					value += step;
+				}
+				current = value;
+			}
 		};
 	}
 }
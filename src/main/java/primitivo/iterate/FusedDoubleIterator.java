@@ -0,0 +1,146 @@
+package primitivo.iterate;
+
+import primitivo.function.DoublePredicate;
+import primitivo.function.DoubleUnaryOp;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy {@code double} iterator stage that filters and then maps the values of a source iterator.
+ * <p>
+ * Adjacent calls to {@link DoubleIterator#map(DoubleUnaryOp)} and {@link DoubleIterator#filter(DoublePredicate)}
+ * are fused into a single stage where possible, such that consuming a pipeline
+ * doesn't involve a chain of wrapping iterators:
+ * Consecutive maps are composed, consecutive filters are conjoined,
+ * and a map following a filter is merged into the same stage.
+ * A filter following a map starts a new stage.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see DoubleIterator
+ */
+final class FusedDoubleIterator extends DoubleIterator {
+	private final DoubleIterator source;
+	
+	// Applied to the values of the source. Null if all values are accepted.
+	private final DoublePredicate predicate;
+	
+	// Applied to the accepted values. Null if the values are passed through unchanged.
+	private final DoubleUnaryOp op;
+	
+	// Lookahead value found by `hasNext` when filtering.
+	private boolean buffered;
+	private double next;
+	
+	private FusedDoubleIterator(DoubleIterator source, DoublePredicate predicate, DoubleUnaryOp op) {
+		this.source = source;
+		this.predicate = predicate;
+		this.op = op;
+	}
+	
+	static DoubleIterator map(DoubleIterator iterator, DoubleUnaryOp op) {
+		if (op == null) {
+			throw new NullPointerException("op");
+		}
+		if (iterator instanceof FusedDoubleIterator) {
+			FusedDoubleIterator fused = (FusedDoubleIterator) iterator;
+			if (!fused.buffered) {
+				return new FusedDoubleIterator(fused.source, fused.predicate, compose(fused.op, op));
+			}
+		}
+		return new FusedDoubleIterator(iterator, null, op);
+	}
+	
+	static DoubleIterator filter(DoubleIterator iterator, DoublePredicate predicate) {
+		if (predicate == null) {
+			throw new NullPointerException("predicate");
+		}
+		if (iterator instanceof FusedDoubleIterator) {
+			FusedDoubleIterator fused = (FusedDoubleIterator) iterator;
+			if (!fused.buffered && fused.op == null) {
+				return new FusedDoubleIterator(fused.source, and(fused.predicate, predicate), null);
+			}
+		}
+		return new FusedDoubleIterator(iterator, predicate, null);
+	}
+	
+	private static DoubleUnaryOp compose(final DoubleUnaryOp first, final DoubleUnaryOp second) {
+		if (first == null) {
+			return second;
+		}
+		return new DoubleUnaryOp() {
+			//@Override
+			public double apply(double value) {
+				return second.apply(first.apply(value));
+			}
+		};
+	}
+	
+	private static DoublePredicate and(final DoublePredicate first, final DoublePredicate second) {
+		if (first == null) {
+			return second;
+		}
+		return new DoublePredicate() {
+			//@Override
+			public boolean test(double value) {
+				return first.test(value) && second.test(value);
+			}
+		};
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		if (predicate == null) {
+			return source.hasNext();
+		}
+		if (buffered) {
+			return true;
+		}
+		while (source.hasNext()) {
+			double value = source.nextDouble();
+			if (predicate.test(value)) {
+				next = value;
+				buffered = true;
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	@Override
+	public double nextDouble() {
+		double value;
+		if (predicate == null) {
+			value = source.nextDouble();
+		} else {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			buffered = false;
+			value = next;
+		}
+		return op == null ? value : op.apply(value);
+	}
+	
+	@Override
+	public int nextDoubles(double[] destination, int offset, int length) {
+		if (predicate != null) {
+			return super.nextDoubles(destination, offset, length);
+		}
+		int count = source.nextDoubles(destination, offset, length);
+		if (op != null) {
+			for (int i = offset, end = offset + count; i < end; i++) {
+				destination[i] = op.apply(destination[i]);
+			}
+		}
+		return count;
+	}
+	
+	@Override
+	public long remaining() {
+		if (predicate == null) {
+			return source.remaining();
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,146 @@
+package primitivo.iterate;
+
+import primitivo.function.IntPredicate;
+import primitivo.function.IntUnaryOp;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy {@code int} iterator stage that filters and then maps the values of a source iterator.
+ * <p>
+ * Adjacent calls to {@link IntIterator#map(IntUnaryOp)} and {@link IntIterator#filter(IntPredicate)}
+ * are fused into a single stage where possible, such that consuming a pipeline
+ * doesn't involve a chain of wrapping iterators:
+ * Consecutive maps are composed, consecutive filters are conjoined,
+ * and a map following a filter is merged into the same stage.
+ * A filter following a map starts a new stage.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see IntIterator
+ */
+final class FusedIntIterator extends IntIterator {
+	private final IntIterator source;
+	
+	// Applied to the values of the source. Null if all values are accepted.
+	private final IntPredicate predicate;
+	
+	// Applied to the accepted values. Null if the values are passed through unchanged.
+	private final IntUnaryOp op;
+	
+	// Lookahead value found by `hasNext` when filtering.
+	private boolean buffered;
+	private int next;
+	
+	private FusedIntIterator(IntIterator source, IntPredicate predicate, IntUnaryOp op) {
+		this.source = source;
+		this.predicate = predicate;
+		this.op = op;
+	}
+	
+	static IntIterator map(IntIterator iterator, IntUnaryOp op) {
+		if (op == null) {
+			throw new NullPointerException("op");
+		}
+		if (iterator instanceof FusedIntIterator) {
+			FusedIntIterator fused = (FusedIntIterator) iterator;
+			if (!fused.buffered) {
+				return new FusedIntIterator(fused.source, fused.predicate, compose(fused.op, op));
+			}
+		}
+		return new FusedIntIterator(iterator, null, op);
+	}
+	
+	static IntIterator filter(IntIterator iterator, IntPredicate predicate) {
+		if (predicate == null) {
+			throw new NullPointerException("predicate");
+		}
+		if (iterator instanceof FusedIntIterator) {
+			FusedIntIterator fused = (FusedIntIterator) iterator;
+			if (!fused.buffered && fused.op == null) {
+				return new FusedIntIterator(fused.source, and(fused.predicate, predicate), null);
+			}
+		}
+		return new FusedIntIterator(iterator, predicate, null);
+	}
+	
+	private static IntUnaryOp compose(final IntUnaryOp first, final IntUnaryOp second) {
+		if (first == null) {
+			return second;
+		}
+		return new IntUnaryOp() {
+			//@Override
+			public int apply(int value) {
+				return second.apply(first.apply(value));
+			}
+		};
+	}
+	
+	private static IntPredicate and(final IntPredicate first, final IntPredicate second) {
+		if (first == null) {
+			return second;
+		}
+		return new IntPredicate() {
+			//@Override
+			public boolean test(int value) {
+				return first.test(value) && second.test(value);
+			}
+		};
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		if (predicate == null) {
+			return source.hasNext();
+		}
+		if (buffered) {
+			return true;
+		}
+		while (source.hasNext()) {
+			int value = source.nextInt();
+			if (predicate.test(value)) {
+				next = value;
+				buffered = true;
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	@Override
+	public int nextInt() {
+		int value;
+		if (predicate == null) {
+			value = source.nextInt();
+		} else {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			buffered = false;
+			value = next;
+		}
+		return op == null ? value : op.apply(value);
+	}
+	
+	@Override
+	public int nextInts(int[] destination, int offset, int length) {
+		if (predicate != null) {
+			return super.nextInts(destination, offset, length);
+		}
+		int count = source.nextInts(destination, offset, length);
+		if (op != null) {
+			for (int i = offset, end = offset + count; i < end; i++) {
+				destination[i] = op.apply(destination[i]);
+			}
+		}
+		return count;
+	}
+	
+	@Override
+	public long remaining() {
+		if (predicate == null) {
+			return source.remaining();
+		}
+		return -1;
+	}
+}
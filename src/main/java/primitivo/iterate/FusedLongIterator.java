@@ -0,0 +1,146 @@
+package primitivo.iterate;
+
+import primitivo.function.LongPredicate;
+import primitivo.function.LongUnaryOp;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy {@code long} iterator stage that filters and then maps the values of a source iterator.
+ * <p>
+ * Adjacent calls to {@link LongIterator#map(LongUnaryOp)} and {@link LongIterator#filter(LongPredicate)}
+ * are fused into a single stage where possible, such that consuming a pipeline
+ * doesn't involve a chain of wrapping iterators:
+ * Consecutive maps are composed, consecutive filters are conjoined,
+ * and a map following a filter is merged into the same stage.
+ * A filter following a map starts a new stage.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see LongIterator
+ */
+final class FusedLongIterator extends LongIterator {
+	private final LongIterator source;
+	
+	// Applied to the values of the source. Null if all values are accepted.
+	private final LongPredicate predicate;
+	
+	// Applied to the accepted values. Null if the values are passed through unchanged.
+	private final LongUnaryOp op;
+	
+	// Lookahead value found by `hasNext` when filtering.
+	private boolean buffered;
+	private long next;
+	
+	private FusedLongIterator(LongIterator source, LongPredicate predicate, LongUnaryOp op) {
+		this.source = source;
+		this.predicate = predicate;
+		this.op = op;
+	}
+	
+	static LongIterator map(LongIterator iterator, LongUnaryOp op) {
+		if (op == null) {
+			throw new NullPointerException("op");
+		}
+		if (iterator instanceof FusedLongIterator) {
+			FusedLongIterator fused = (FusedLongIterator) iterator;
+			if (!fused.buffered) {
+				return new FusedLongIterator(fused.source, fused.predicate, compose(fused.op, op));
+			}
+		}
+		return new FusedLongIterator(iterator, null, op);
+	}
+	
+	static LongIterator filter(LongIterator iterator, LongPredicate predicate) {
+		if (predicate == null) {
+			throw new NullPointerException("predicate");
+		}
+		if (iterator instanceof FusedLongIterator) {
+			FusedLongIterator fused = (FusedLongIterator) iterator;
+			if (!fused.buffered && fused.op == null) {
+				return new FusedLongIterator(fused.source, and(fused.predicate, predicate), null);
+			}
+		}
+		return new FusedLongIterator(iterator, predicate, null);
+	}
+	
+	private static LongUnaryOp compose(final LongUnaryOp first, final LongUnaryOp second) {
+		if (first == null) {
+			return second;
+		}
+		return new LongUnaryOp() {
+			//@Override
+			public long apply(long value) {
+				return second.apply(first.apply(value));
+			}
+		};
+	}
+	
+	private static LongPredicate and(final LongPredicate first, final LongPredicate second) {
+		if (first == null) {
+			return second;
+		}
+		return new LongPredicate() {
+			//@Override
+			public boolean test(long value) {
+				return first.test(value) && second.test(value);
+			}
+		};
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		if (predicate == null) {
+			return source.hasNext();
+		}
+		if (buffered) {
+			return true;
+		}
+		while (source.hasNext()) {
+			long value = source.nextLong();
+			if (predicate.test(value)) {
+				next = value;
+				buffered = true;
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	@Override
+	public long nextLong() {
+		long value;
+		if (predicate == null) {
+			value = source.nextLong();
+		} else {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			buffered = false;
+			value = next;
+		}
+		return op == null ? value : op.apply(value);
+	}
+	
+	@Override
+	public int nextLongs(long[] destination, int offset, int length) {
+		if (predicate != null) {
+			return super.nextLongs(destination, offset, length);
+		}
+		int count = source.nextLongs(destination, offset, length);
+		if (op != null) {
+			for (int i = offset, end = offset + count; i < end; i++) {
+				destination[i] = op.apply(destination[i]);
+			}
+		}
+		return count;
+	}
+	
+	@Override
+	public long remaining() {
+		if (predicate == null) {
+			return source.remaining();
+		}
+		return -1;
+	}
+}
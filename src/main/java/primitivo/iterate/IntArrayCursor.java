@@ -0,0 +1,187 @@
+package primitivo.iterate;
+
+import primitivo.function.IntConsumer;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator of the values of a sub-range of a {@code int} array.
+ * The array is not copied.
+ * <p>
+ * Unlike the other iterators, a cursor may be pointed at another array or range with {@link #reset(int[], int, int)}
+ * once it has been consumed (or at any other time).
+ * A single cursor can therefore iterate any number of arrays (e.g. the rows of a table)
+ * without allocating an iterator per array:
+ * <pre>
+ * IntArrayCursor cursor = new IntArrayCursor();
+ * for (int[] row : rows) {
+ *     cursor.reset(row);
+ *     ...
+ * }
+ * </pre>
+ * Cursors are returned by {@link IntIterator#of(int...)} and {@link IntIterator#of(int[], int, int)}.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.iterate
+ */
+public final class IntArrayCursor extends IntIterator {
+	private static final int[] NO_VALUES = new int[0];
+	
+	private int[] values;
+	private int index;
+	private int to;
+	
+	/**
+	 * Construct an empty cursor; i.e. one that must be {@link #reset(int[], int, int) reset} before it produces any values.
+	 */
+	public IntArrayCursor() {
+		values = NO_VALUES;
+	}
+	
+	/**
+	 * Construct a cursor of the values of a sub-range of an array.
+	 *
+	 * @param values The array to iterate.
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > values.length}.
+	 */
+	public IntArrayCursor(int[] values, int from, int to) {
+		reset(values, from, to);
+	}
+	
+	/**
+	 * Point the cursor at all the values of an array.
+	 *
+	 * @param values The array to iterate.
+	 * @return This cursor.
+	 */
+	public IntArrayCursor reset(int[] values) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		this.values = values;
+		this.index = 0;
+		this.to = values.length;
+		return this;
+	}
+	
+	/**
+	 * Point the cursor at the values of a sub-range of an array,
+	 * discarding the values that remained of its previous range.
+	 *
+	 * @param values The array to iterate.
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @return This cursor.
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > values.length}.
+	 */
+	public IntArrayCursor reset(int[] values, int from, int to) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		Checks.checkRange(values.length, from, to);
+		this.values = values;
+		this.index = from;
+		this.to = to;
+		return this;
+	}
+	
+	/**
+	 * @return The index in the current array of the next value to be produced.
+	 */
+	public int index() {
+		return index;
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		return index < to;
+	}
+	
+	@Override
+	public int nextInt() {
+		if (index >= to) {
+			throw new NoSuchElementException();
+		}
+		return values[index++];
+	}
+	
+	@Override
+	public int nextInts(int[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = Math.min(length, to - index);
+		System.arraycopy(values, index, destination, offset, count);
+		index += count;
+		return count;
+	}
+	
+	@Override
+	public void forEachRemaining(IntConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		int[] values = this.values;
+		int from = index;
+		int to = this.to;
+		index = to;
+		for (int i = from; i < to; i++) {
+			consumer.accept(values[i]);
+		}
+	}
+	
+	@Override
+	public long remaining() {
+		return to - index;
+	}
+	
+	/**
+	 * Skip the remaining values that are less than {@code target},
+	 * assuming that the remaining values are in ascending order.
+	 * Backs the array-backed {@link SortedIntIterator}s.
+	 */
+	void advance(int target) {
+		if (index >= to || values[index] >= target) {
+			return;
+		}
+		// Gallop until values[index + bound] >= target (or the end), then search the last step.
+		int low = index;
+		int bound = 1;
+		while (bound < to - index && values[index + bound] < target) {
+			low = index + bound;
+			bound = bound <= (to - index) >>> 1 ? bound << 1 : to - index;
+		}
+		int high = Math.min(index + bound, to);
+		// Now values[low] < target and values[high] >= target (or high == to).
+		while (high - low > 1) {
+			int middle = (low + high) >>> 1;
+			if (values[middle] < target) {
+				low = middle;
+			} else {
+				high = middle;
+			}
+		}
+		index = high;
+	}
+	
+	/**
+	 * Splits off the first half of the remaining values into a new cursor
+	 * over the same array.
+	 *
+	 * @return A cursor of the first half of the remaining values,
+	 *         or null if fewer than two values remain.
+	 */
+	@Override
+	public IntArrayCursor trySplit() {
+		int middle = (index + to) >>> 1;
+		if (middle == index) {
+			return null;
+		}
+		IntArrayCursor prefix = new IntArrayCursor(values, index, middle);
+		index = middle;
+		return prefix;
+	}
+}
@@ -0,0 +1,33 @@
+package primitivo.iterate;
+
+import primitivo.function.IntConsumer;
+
+/**
+ * Container of {@code int} values that can be iterated both externally and internally.
+ * <p>
+ * Internal iteration with {@link #forEach(IntConsumer)} lets the container
+ * run its own loop over its storage, so the values are passed to the consumer
+ * without the per-value {@code hasNext}/{@code nextInt} calls of an external iteration.
+ * The containers of this library that implement the interface
+ * (e.g. {@code primitivo.array.IntBigArray} and {@code primitivo.set.IntHashSet}) implement it with such loops.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.iterate
+ */
+public interface IntIterable {
+	
+	/**
+	 * @return Iterator of all values of the container.
+	 */
+	IntIterator iterator();
+	
+	/**
+	 * Passes all values of the container to a consumer in iteration order.
+	 * This is equivalent to {@code iterator().forEachRemaining(consumer)}.
+	 * The container must not be modified while the consumer runs.
+	 *
+	 * @param consumer The consumer that receives the values.
+	 */
+	void forEach(IntConsumer consumer);
+}
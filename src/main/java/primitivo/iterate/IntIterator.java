@@ -1,5 +1,14 @@
 package primitivo.iterate;
 
+import primitivo.function.IntBinaryOp;
+import primitivo.function.IntConsumer;
+import primitivo.function.IntPredicate;
+import primitivo.function.IntUnaryOp;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -10,7 +19,7 @@ import java.util.NoSuchElementException;
  *
  * @see primitivo.iterate
  */
-public abstract class IntIterator implements Iterator<Integer> {
+public abstract class IntIterator implements Iterator<Integer>, SizedIterator {
 	
 	/**
 	 * Returns the unboxed {@code int} of the value that
@@ -35,88 +44,276 @@ public abstract class IntIterator implements Iterator<Integer> {
 		throw new UnsupportedOperationException();
 	}
 	
-	public static final IntIterator EMPTY = new IntIterator() {
-		//@Override
-		public boolean hasNext() {
-			return false;
-		}
-		
-		@Override
-		public int nextInt() {
-			throw new NoSuchElementException();
-		}
-		
-		@Override
-		public void remove() {
-			throw new IllegalStateException();
+	/**
+	 * Reads up to {@code length} values from the iteration into
+	 * {@code destination}, starting at index {@code offset}.
+	 * Fewer values are read only if the iterator is exhausted before
+	 * {@code length} values have been read.
+	 * <p>
+	 * The default implementation calls {@link #hasNext()} and {@link #nextInt()}
+	 * once per value. Implementations that have direct access to their values
+	 * override it with a more efficient block transfer.
+	 *
+	 * @param destination The array that the values are written into.
+	 * @param offset The index in {@code destination} of the first value to write.
+	 * @param length The maximum number of values to read.
+	 * @return The number of values that were read.
+	 *         This is less than {@code length} only if the iterator has been exhausted.
+	 * @throws IndexOutOfBoundsException If {@code offset} or {@code length} is negative
+	 *                                   or if {@code offset + length} exceeds the length of {@code destination}.
+	 */
+	public int nextInts(int[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = 0;
+		while (count < length && hasNext()) {
+			destination[offset + count++] = nextInt();
 		}
-	};
+		return count;
+	}
 	
-	public static IntIterator of(final ByteIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new IntIterator() {
+	/**
+	 * Returns the exact number of values remaining in the iteration, if known.
+	 *
+	 * @return The number of values that remain to be consumed,
+	 *         or -1 if this number is not known without consuming the iterator.
+	 */
+	//@Override
+	public long remaining() {
+		return -1;
+	}
+	
+	/**
+	 * Splits off a prefix of the remaining values into a new iterator,
+	 * in the manner of {@code java.util.Spliterator.trySplit}:
+	 * If this method returns non-null, the returned iterator produces
+	 * the first part of the values that this iterator would otherwise have produced,
+	 * and this iterator continues with the rest of them.
+	 * Only iterators that can split without consuming values
+	 * (i.e. the array-backed and {@code range} iterators) support this;
+	 * by default, null is returned.
+	 * <p>
+	 * Together with {@link #remaining()}, this allows the iterator to be
+	 * adapted into a {@code SIZED} and {@code SUBSIZED} {@code Spliterator.OfInt}
+	 * that may be split repeatedly for parallel stream processing,
+	 * without copying the values or boxing them.
+	 *
+	 * @return An iterator of a prefix of the remaining values,
+	 *         or null if this iterator cannot be split.
+	 */
+	public IntIterator trySplit() {
+		return null;
+	}
+	
+	/**
+	 * Returns a lazy iterator of the results of applying an operation
+	 * to each of the remaining values.
+	 * The values are consumed from this iterator as the returned iterator is consumed.
+	 * <p>
+	 * Adjacent {@code map} and {@code filter} stages are fused into
+	 * a single iterator where possible, such that long pipelines
+	 * don't result in a chain of wrapping iterators.
+	 *
+	 * @param op The operation to apply.
+	 * @return Iterator of the mapped values.
+	 */
+	public IntIterator map(IntUnaryOp op) {
+		return FusedIntIterator.map(this, op);
+	}
+	
+	/**
+	 * Returns a lazy iterator of the remaining values that satisfy a predicate.
+	 * The values are consumed from this iterator as the returned iterator is consumed.
+	 *
+	 * @param predicate The predicate that values must satisfy to be retained.
+	 * @return Iterator of the retained values.
+	 * @see #map(IntUnaryOp)
+	 */
+	public IntIterator filter(IntPredicate predicate) {
+		return FusedIntIterator.filter(this, predicate);
+	}
+	
+	/**
+	 * Returns a lazy iterator of the running sums of the remaining values
+	 * (i.e. their inclusive prefix sums).
+	 * The sums are accumulated as {@code long} values to avoid overflow.
+	 * The values are consumed from this iterator as the returned iterator is consumed.
+	 *
+	 * @return Iterator of the running sums.
+	 */
+	public LongIterator runningSum() {
+		final IntIterator iterator = this;
+		return new LongIterator() {
+			private long sum;
+			
 			//@Override
 			public boolean hasNext() {
 				return iterator.hasNext();
 			}
 			
 			@Override
-			public int nextInt() {
-				return iterator.nextByte();
+			public long nextLong() {
+				return sum += iterator.nextInt();
+			}
+			
+			@Override
+			public int nextLongs(long[] destination, int offset, int length) {
+				Checks.checkBounds(destination, offset, length);
+				long sum = this.sum;
+				int count = 0;
+				while (count < length && iterator.hasNext()) {
+					sum += iterator.nextInt();
+					destination[offset + count++] = sum;
+				}
+				this.sum = sum;
+				return count;
 			}
 			
 			@Override
-			public void remove() {
-				iterator.remove();
+			public long remaining() {
+				return iterator.remaining();
 			}
 		};
 	}
 	
+	/**
+	 * Consumes the remaining values and passes each of them to a consumer.
+	 * <p>
+	 * The default implementation calls {@link #hasNext()} and {@link #nextInt()}
+	 * once per value. Implementations that have direct access to their values
+	 * (e.g. the array-backed and range iterators) override it with a single counted loop.
+	 *
+	 * @param consumer The consumer that receives the values.
+	 */
+	public void forEachRemaining(IntConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		while (hasNext()) {
+			consumer.accept(nextInt());
+		}
+	}
 	
-	public static IntIterator of(final ShortIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
+	/**
+	 * Consumes the remaining values and combines them from left to right
+	 * using an operation.
+	 *
+	 * @param identity The initial value of the reduction;
+	 *                 this is the result if the iterator is empty.
+	 * @param op The operation used to combine the accumulated result with the next value.
+	 * @return The result of the reduction.
+	 */
+	public int reduce(int identity, IntBinaryOp op) {
+		if (op == null) {
+			throw new NullPointerException("op");
 		}
-		return new IntIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public int nextInt() {
-				return iterator.nextShort();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+		int result = identity;
+		while (hasNext()) {
+			result = op.apply(result, nextInt());
+		}
+		return result;
 	}
 	
-	public static IntIterator of(final CharIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
+	/**
+	 * Consumes the remaining values and returns their sum.
+	 * The sum is accumulated as a {@code long} to avoid overflow.
+	 *
+	 * @return The sum of the remaining values, or 0 if the iterator is empty.
+	 */
+	public long sum() {
+		long sum = 0;
+		while (hasNext()) {
+			sum += nextInt();
 		}
-		return new IntIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public int nextInt() {
-				return iterator.nextChar();
+		return sum;
+	}
+	
+	/**
+	 * Consumes the remaining values and returns the smallest of them.
+	 *
+	 * @return The minimum of the remaining values.
+	 * @throws NoSuchElementException If the iterator is empty.
+	 */
+	public int min() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		int result = nextInt();
+		while (hasNext()) {
+			int value = nextInt();
+			if (value < result) {
+				result = value;
 			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
+		}
+		return result;
+	}
+	
+	/**
+	 * Consumes the remaining values and returns the largest of them.
+	 *
+	 * @return The maximum of the remaining values.
+	 * @throws NoSuchElementException If the iterator is empty.
+	 */
+	public int max() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		int result = nextInt();
+		while (hasNext()) {
+			int value = nextInt();
+			if (value > result) {
+				result = value;
 			}
-		};
+		}
+		return result;
+	}
+	
+	/**
+	 * Consumes the remaining values and returns the number of them.
+	 *
+	 * @return The number of remaining values.
+	 */
+	public long count() {
+		long count = 0;
+		while (hasNext()) {
+			nextInt();
+			count++;
+		}
+		return count;
+	}
+	
+	public static final IntIterator EMPTY = new IntIterator() {
+		//@Override
+		public boolean hasNext() {
+			return false;
+		}
+		
+		@Override
+		public int nextInt() {
+			throw new NoSuchElementException();
+		}
+		
+		@Override
+		public long remaining() {
+			return 0;
+		}
+		
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+	};
+	
+	public static IntIterator of(ByteIterator iterator) {
+		return WidenedIntIterator.of(iterator, Widened.BYTE);
+	}
+	
+	
+	public static IntIterator of(ShortIterator iterator) {
+		return WidenedIntIterator.of(iterator, Widened.SHORT);
+	}
+	
+	public static IntIterator of(CharIterator iterator) {
+		return WidenedIntIterator.of(iterator, Widened.CHAR);
 	}
 	
 	public static IntIterator of(Iterator<Integer> iterator) {
@@ -124,7 +321,7 @@ public abstract class IntIterator implements Iterator<Integer> {
 		return of(iterator, null);
 	}
 	
-	public static IntIterator of(final Iterator<Integer> iterator, final Integer nullValue) {
+	public static IntIterator of(Iterator<Integer> iterator, Integer nullValue) {
 		if (iterator == null) {
 			throw new NullPointerException("iterator");
 		}
@@ -134,101 +331,114 @@ public abstract class IntIterator implements Iterator<Integer> {
 		if (iterator instanceof IntIterator) {
 			return (IntIterator) iterator;
 		}
-		return new IntIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public int nextInt() {
-				return next();
-			}
-			
-			@Override
-			public Integer next() {
-				Integer current = iterator.next();
-				if (current != null) {
-					return current;
-				}
-				if (nullValue == null) {
-					// Ensure that `next` and `nextInt` behave identically.
-					throw new NullPointerException("current");
-				}
-				return nullValue;
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+		return new UnboxedIntIterator(iterator, nullValue);
 	}
 	
-	public static IntIterator of(final int value) {
-		return new IntIterator() {
-			private boolean hasNext = true;
-			
-			//@Override
-			public boolean hasNext() {
-				return hasNext;
-			}
-			
-			@Override
-			public int nextInt() {
-				if (!hasNext()) {
-					throw new NoSuchElementException();
-				}
-				hasNext = false;
-				return value;
-			}
-		};
+	public static IntIterator of(int value) {
+		return new IntArrayCursor(new int[]{value}, 0, 1);
 	}
 	
-	public static IntIterator of(final int... values) {
+	public static IntIterator of(int... values) {
 		if (values == null) {
 			throw new NullPointerException("values");
 		}
-		if (values.length == 0) {
+		return of(values, 0, values.length);
+	}
+	
+	/**
+	 * Returns an iterator of the values of a sub-range of an array.
+	 * The array is not copied.
+	 * <p>
+	 * The iterator is a {@link IntArrayCursor}, which may be reset to iterate other arrays
+	 * without allocating a new iterator (see {@link IntArrayCursor#reset(int[], int, int)}).
+	 *
+	 * @param values The array to iterate.
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @return Iterator of {@code values[from]}, ..., {@code values[to - 1]}.
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > values.length}.
+	 */
+	public static IntIterator of(int[] values, int from, int to) {
+		return new IntArrayCursor(values, from, to);
+	}
+	
+	/**
+	 * Returns an iterator of the remaining values of a buffer;
+	 * i.e. the values between its position and its limit.
+	 * The values are read directly from the buffer and are not copied,
+	 * which makes this suitable for direct and memory-mapped buffers.
+	 * The position of {@code buffer} itself is not modified.
+	 *
+	 * @param buffer The buffer to iterate.
+	 * @return Iterator of the remaining values of {@code buffer}.
+	 */
+	public static IntIterator of(IntBuffer buffer) {
+		if (buffer == null) {
+			throw new NullPointerException("buffer");
+		}
+		if (!buffer.hasRemaining()) {
 			return EMPTY;
 		}
-		return new IntIterator() {
-			private int index = 0;
-			
-			//@Override
-			public boolean hasNext() {
-				return index < values.length;
-			}
-			
-			@Override
-			public int nextInt() {
-				if (!hasNext()) {
-					throw new NoSuchElementException();
-				}
-				return values[index++];
-			}
-		};
+		return new IntBufferIterator(new IntBuffer[]{buffer.duplicate()}, 0, 1);
 	}
 	
-	public static IntIterator range(final int from, final int to) {
+	/**
+	 * Returns an iterator of fixed-width {@code int} values stored in a region of a file.
+	 * The region is memory-mapped (read-only) and the values are read directly
+	 * from the mapped memory, so the file is not loaded onto the heap.
+	 * Regions larger than a single mapping allows are mapped in multiple chunks.
+	 * <p>
+	 * The returned iterator may be split by index (see {@link #trySplit()}),
+	 * which allows a large file to be scanned in parallel.
+	 *
+	 * @param channel The channel of the file. It must be open for reading.
+	 * @param position The position in the file (in bytes) of the first value.
+	 * @param count The number of values to iterate.
+	 * @param order The byte order of the values in the file.
+	 * @return Iterator of the values of the region.
+	 * @throws IOException If mapping the region fails.
+	 * @throws IllegalArgumentException If {@code position} or {@code count} is negative,
+	 *                                  or if the region is too large to be addressed.
+	 */
+	public static IntIterator mapped(FileChannel channel, long position, long count, ByteOrder order) throws IOException {
+		return IntBufferIterator.map(channel, position, count, order);
+	}
+	
+	/**
+	 * Merge iterators of values in ascending order into a single iterator of all the values in ascending order.
+	 * The iterators are read ahead in blocks of up to 64 values using their bulk reads,
+	 * starting with a block of each iterator when the merge is created.
+	 * Values that have been read ahead but not yet returned are lost to the iterators,
+	 * so they must not be used elsewhere while (or after) the merge is consumed.
+	 * Equal values are returned in the order of the iterators that they came from.
+	 * <p>
+	 * The merge is implemented as a loser tree, which takes
+	 * {@code ceil(log2(k))} comparisons per value when merging {@code k} iterators.
+	 *
+	 * @param iterators The sorted iterators to merge.
+	 * @return Iterator of the values of all the iterators in ascending order.
+	 */
+	public static IntIterator mergeSorted(IntIterator... iterators) {
+		return MergedIntIterator.of(iterators, false);
+	}
+	
+	/**
+	 * Merge iterators of values in ascending order into a single iterator
+	 * of the distinct values in ascending order; equal values are only returned once.
+	 *
+	 * @param iterators The sorted iterators to merge.
+	 * @return Iterator of the distinct values of all the iterators in ascending order.
+	 * @see #mergeSorted(IntIterator...)
+	 */
+	public static IntIterator mergeSortedDistinct(IntIterator... iterators) {
+		return MergedIntIterator.of(iterators, true);
+	}
+	
+	public static IntIterator range(int from, int to) {
 		if (from >= to) {
 			return EMPTY;
 		}
-		return new IntIterator() {
-			private int current = from;
-			
-			//@Override
-			public boolean hasNext() {
-				return current < to;
-			}
-			
-			@Override
-			public int nextInt() {
-				if (!hasNext()) {
-					throw new NoSuchElementException();
-				}
-				return current++;
-			}
-		};
+		return new IntRangeIterator(from, to);
 	}
 }
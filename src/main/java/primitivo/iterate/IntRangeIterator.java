@@ -0,0 +1,75 @@
+package primitivo.iterate;
+
+import primitivo.function.IntConsumer;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator of the {@code int} values of a half-open interval.
+ * Backs {@link IntIterator#range(int, int)} and, widened, {@link LongIterator#range(int, int)}.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+final class IntRangeIterator extends IntIterator {
+	private int current;
+	private final int to;
+	
+	IntRangeIterator(int from, int to) {
+		this.current = from;
+		this.to = to;
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		return current < to;
+	}
+	
+	@Override
+	public int nextInt() {
+		if (current >= to) {
+			throw new NoSuchElementException();
+		}
+		return current++;
+	}
+	
+	@Override
+	public int nextInts(int[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = (int) Math.min(length, (long) to - current);
+		int value = current;
+		for (int i = 0; i < count; i++) {
+			destination[offset + i] = value++;
+		}
+		current = value;
+		return count;
+	}
+	
+	@Override
+	public void forEachRemaining(IntConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		int from = current;
+		int to = this.to;
+		current = to;
+		for (int value = from; value < to; value++) {
+			consumer.accept(value);
+		}
+	}
+	
+	@Override
+	public long remaining() {
+		return (long) to - current;
+	}
+	
+	@Override
+	public IntIterator trySplit() {
+		int middle = (int) (((long) current + to) >>> 1);
+		if (middle == current) {
+			return null;
+		}
+		IntIterator prefix = new IntRangeIterator(current, middle);
+		current = middle;
+		return prefix;
+	}
+}
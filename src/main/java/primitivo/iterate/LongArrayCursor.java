@@ -0,0 +1,187 @@
+package primitivo.iterate;
+
+import primitivo.function.LongConsumer;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator of the values of a sub-range of a {@code long} array.
+ * The array is not copied.
+ * <p>
+ * Unlike the other iterators, a cursor may be pointed at another array or range with {@link #reset(long[], int, int)}
+ * once it has been consumed (or at any other time).
+ * A single cursor can therefore iterate any number of arrays (e.g. the rows of a table)
+ * without allocating an iterator per array:
+ * <pre>
+ * LongArrayCursor cursor = new LongArrayCursor();
+ * for (long[] row : rows) {
+ *     cursor.reset(row);
+ *     ...
+ * }
+ * </pre>
+ * Cursors are returned by {@link LongIterator#of(long...)} and {@link LongIterator#of(long[], int, int)}.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.iterate
+ */
+public final class LongArrayCursor extends LongIterator {
+	private static final long[] NO_VALUES = new long[0];
+	
+	private long[] values;
+	private int index;
+	private int to;
+	
+	/**
+	 * Construct an empty cursor; i.e. one that must be {@link #reset(long[], int, int) reset} before it produces any values.
+	 */
+	public LongArrayCursor() {
+		values = NO_VALUES;
+	}
+	
+	/**
+	 * Construct a cursor of the values of a sub-range of an array.
+	 *
+	 * @param values The array to iterate.
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > values.length}.
+	 */
+	public LongArrayCursor(long[] values, int from, int to) {
+		reset(values, from, to);
+	}
+	
+	/**
+	 * Point the cursor at all the values of an array.
+	 *
+	 * @param values The array to iterate.
+	 * @return This cursor.
+	 */
+	public LongArrayCursor reset(long[] values) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		this.values = values;
+		this.index = 0;
+		this.to = values.length;
+		return this;
+	}
+	
+	/**
+	 * Point the cursor at the values of a sub-range of an array,
+	 * discarding the values that remained of its previous range.
+	 *
+	 * @param values The array to iterate.
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @return This cursor.
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > values.length}.
+	 */
+	public LongArrayCursor reset(long[] values, int from, int to) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		Checks.checkRange(values.length, from, to);
+		this.values = values;
+		this.index = from;
+		this.to = to;
+		return this;
+	}
+	
+	/**
+	 * @return The index in the current array of the next value to be produced.
+	 */
+	public int index() {
+		return index;
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		return index < to;
+	}
+	
+	@Override
+	public long nextLong() {
+		if (index >= to) {
+			throw new NoSuchElementException();
+		}
+		return values[index++];
+	}
+	
+	@Override
+	public int nextLongs(long[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = Math.min(length, to - index);
+		System.arraycopy(values, index, destination, offset, count);
+		index += count;
+		return count;
+	}
+	
+	@Override
+	public void forEachRemaining(LongConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		long[] values = this.values;
+		int from = index;
+		int to = this.to;
+		index = to;
+		for (int i = from; i < to; i++) {
+			consumer.accept(values[i]);
+		}
+	}
+	
+	@Override
+	public long remaining() {
+		return to - index;
+	}
+	
+	/**
+	 * Skip the remaining values that are less than {@code target},
+	 * assuming that the remaining values are in ascending order.
+	 * Backs the array-backed {@link SortedLongIterator}s.
+	 */
+	void advance(long target) {
+		if (index >= to || values[index] >= target) {
+			return;
+		}
+		// Gallop until values[index + bound] >= target (or the end), then search the last step.
+		int low = index;
+		int bound = 1;
+		while (bound < to - index && values[index + bound] < target) {
+			low = index + bound;
+			bound = bound <= (to - index) >>> 1 ? bound << 1 : to - index;
+		}
+		int high = Math.min(index + bound, to);
+		// Now values[low] < target and values[high] >= target (or high == to).
+		while (high - low > 1) {
+			int middle = (low + high) >>> 1;
+			if (values[middle] < target) {
+				low = middle;
+			} else {
+				high = middle;
+			}
+		}
+		index = high;
+	}
+	
+	/**
+	 * Splits off the first half of the remaining values into a new cursor
+	 * over the same array.
+	 *
+	 * @return A cursor of the first half of the remaining values,
+	 *         or null if fewer than two values remain.
+	 */
+	@Override
+	public LongArrayCursor trySplit() {
+		int middle = (index + to) >>> 1;
+		if (middle == index) {
+			return null;
+		}
+		LongArrayCursor prefix = new LongArrayCursor(values, index, middle);
+		index = middle;
+		return prefix;
+	}
+}
@@ -1,5 +1,14 @@
 package primitivo.iterate;
 
+import primitivo.function.LongBinaryOp;
+import primitivo.function.LongConsumer;
+import primitivo.function.LongPredicate;
+import primitivo.function.LongUnaryOp;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -10,7 +19,7 @@ import java.util.NoSuchElementException;
  *
  * @see primitivo.iterate
  */
-public abstract class LongIterator implements Iterator<Long> {
+public abstract class LongIterator implements Iterator<Long>, SizedIterator {
 	
 	/**
 	 * Returns the unboxed {@code long} of the value that
@@ -35,6 +44,199 @@ public abstract class LongIterator implements Iterator<Long> {
 		throw new UnsupportedOperationException();
 	}
 	
+	/**
+	 * Reads up to {@code length} values from the iteration into
+	 * {@code destination}, starting at index {@code offset}.
+	 * Fewer values are read only if the iterator is exhausted before
+	 * {@code length} values have been read.
+	 * <p>
+	 * The default implementation calls {@link #hasNext()} and {@link #nextLong()}
+	 * once per value. Implementations that have direct access to their values
+	 * override it with a more efficient block transfer.
+	 *
+	 * @param destination The array that the values are written into.
+	 * @param offset The index in {@code destination} of the first value to write.
+	 * @param length The maximum number of values to read.
+	 * @return The number of values that were read.
+	 *         This is less than {@code length} only if the iterator has been exhausted.
+	 * @throws IndexOutOfBoundsException If {@code offset} or {@code length} is negative
+	 *                                   or if {@code offset + length} exceeds the length of {@code destination}.
+	 */
+	public int nextLongs(long[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = 0;
+		while (count < length && hasNext()) {
+			destination[offset + count++] = nextLong();
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the exact number of values remaining in the iteration, if known.
+	 *
+	 * @return The number of values that remain to be consumed,
+	 *         or -1 if this number is not known without consuming the iterator.
+	 */
+	//@Override
+	public long remaining() {
+		return -1;
+	}
+	
+	/**
+	 * Splits off a prefix of the remaining values into a new iterator,
+	 * in the manner of {@code java.util.Spliterator.trySplit}:
+	 * If this method returns non-null, the returned iterator produces
+	 * the first part of the values that this iterator would otherwise have produced,
+	 * and this iterator continues with the rest of them.
+	 * Only iterators that can split without consuming values
+	 * (i.e. the array-backed and {@code range} iterators) support this;
+	 * by default, null is returned.
+	 * <p>
+	 * Together with {@link #remaining()}, this allows the iterator to be
+	 * adapted into a {@code SIZED} and {@code SUBSIZED} {@code Spliterator.OfLong}
+	 * that may be split repeatedly for parallel stream processing,
+	 * without copying the values or boxing them.
+	 *
+	 * @return An iterator of a prefix of the remaining values,
+	 *         or null if this iterator cannot be split.
+	 */
+	public LongIterator trySplit() {
+		return null;
+	}
+	
+	/**
+	 * Returns a lazy iterator of the results of applying an operation
+	 * to each of the remaining values.
+	 * The values are consumed from this iterator as the returned iterator is consumed.
+	 * <p>
+	 * Adjacent {@code map} and {@code filter} stages are fused into
+	 * a single iterator where possible, such that long pipelines
+	 * don't result in a chain of wrapping iterators.
+	 *
+	 * @param op The operation to apply.
+	 * @return Iterator of the mapped values.
+	 */
+	public LongIterator map(LongUnaryOp op) {
+		return FusedLongIterator.map(this, op);
+	}
+	
+	/**
+	 * Returns a lazy iterator of the remaining values that satisfy a predicate.
+	 * The values are consumed from this iterator as the returned iterator is consumed.
+	 *
+	 * @param predicate The predicate that values must satisfy to be retained.
+	 * @return Iterator of the retained values.
+	 * @see #map(LongUnaryOp)
+	 */
+	public LongIterator filter(LongPredicate predicate) {
+		return FusedLongIterator.filter(this, predicate);
+	}
+	
+	/**
+	 * Consumes the remaining values and passes each of them to a consumer.
+	 * <p>
+	 * The default implementation calls {@link #hasNext()} and {@link #nextLong()}
+	 * once per value. Implementations that have direct access to their values
+	 * (e.g. the array-backed and range iterators) override it with a single counted loop.
+	 *
+	 * @param consumer The consumer that receives the values.
+	 */
+	public void forEachRemaining(LongConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		while (hasNext()) {
+			consumer.accept(nextLong());
+		}
+	}
+	
+	/**
+	 * Consumes the remaining values and combines them from left to right
+	 * using an operation.
+	 *
+	 * @param identity The initial value of the reduction;
+	 *                 this is the result if the iterator is empty.
+	 * @param op The operation used to combine the accumulated result with the next value.
+	 * @return The result of the reduction.
+	 */
+	public long reduce(long identity, LongBinaryOp op) {
+		if (op == null) {
+			throw new NullPointerException("op");
+		}
+		long result = identity;
+		while (hasNext()) {
+			result = op.apply(result, nextLong());
+		}
+		return result;
+	}
+	
+	/**
+	 * Consumes the remaining values and returns their sum.
+	 *
+	 * @return The sum of the remaining values, or 0 if the iterator is empty.
+	 */
+	public long sum() {
+		long sum = 0;
+		while (hasNext()) {
+			sum += nextLong();
+		}
+		return sum;
+	}
+	
+	/**
+	 * Consumes the remaining values and returns the smallest of them.
+	 *
+	 * @return The minimum of the remaining values.
+	 * @throws NoSuchElementException If the iterator is empty.
+	 */
+	public long min() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		long result = nextLong();
+		while (hasNext()) {
+			long value = nextLong();
+			if (value < result) {
+				result = value;
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Consumes the remaining values and returns the largest of them.
+	 *
+	 * @return The maximum of the remaining values.
+	 * @throws NoSuchElementException If the iterator is empty.
+	 */
+	public long max() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		long result = nextLong();
+		while (hasNext()) {
+			long value = nextLong();
+			if (value > result) {
+				result = value;
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Consumes the remaining values and returns the number of them.
+	 *
+	 * @return The number of remaining values.
+	 */
+	public long count() {
+		long count = 0;
+		while (hasNext()) {
+			nextLong();
+			count++;
+		}
+		return count;
+	}
+	
 	public static final LongIterator EMPTY = new LongIterator() {
 		//@Override
 		public boolean hasNext() {
@@ -46,98 +248,31 @@ public abstract class LongIterator implements Iterator<Long> {
 			throw new NoSuchElementException();
 		}
 		
+		@Override
+		public long remaining() {
+			return 0;
+		}
+		
 		@Override
 		public void remove() {
 			throw new IllegalStateException();
 		}
 	};
 	
-	public static LongIterator of(final ByteIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new LongIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public long nextLong() {
-				return iterator.nextByte();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static LongIterator of(ByteIterator iterator) {
+		return WidenedLongIterator.of(iterator, Widened.BYTE);
 	}
 	
-	public static LongIterator of(final ShortIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new LongIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public long nextLong() {
-				return iterator.nextShort();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static LongIterator of(ShortIterator iterator) {
+		return WidenedLongIterator.of(iterator, Widened.SHORT);
 	}
 	
-	public static LongIterator of(final CharIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new LongIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public long nextLong() {
-				return iterator.nextChar();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static LongIterator of(CharIterator iterator) {
+		return WidenedLongIterator.of(iterator, Widened.CHAR);
 	}
 	
-	public static LongIterator of(final IntIterator iterator) {
-		if (iterator == null) {
-			throw new NullPointerException("iterator");
-		}
-		return new LongIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public long nextLong() {
-				return iterator.nextInt();
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+	public static LongIterator of(IntIterator iterator) {
+		return WidenedLongIterator.of(iterator, Widened.INT);
 	}
 	
 	public static LongIterator of(Iterator<Long> iterator) {
@@ -145,7 +280,7 @@ public abstract class LongIterator implements Iterator<Long> {
 		return of(iterator, null);
 	}
 	
-	public static LongIterator of(final Iterator<Long> iterator, final Long nullValue) {
+	public static LongIterator of(Iterator<Long> iterator, Long nullValue) {
 		if (iterator == null) {
 			throw new NullPointerException("iterator");
 		}
@@ -155,101 +290,114 @@ public abstract class LongIterator implements Iterator<Long> {
 		if (iterator instanceof LongIterator) {
 			return (LongIterator) iterator;
 		}
-		return new LongIterator() {
-			//@Override
-			public boolean hasNext() {
-				return iterator.hasNext();
-			}
-			
-			@Override
-			public long nextLong() {
-				return next();
-			}
-			
-			@Override
-			public Long next() {
-				Long current = iterator.next();
-				if (current != null) {
-					return current;
-				}
-				if (nullValue == null) {
-					// Ensure that `next` and `nextLong` behave identically.
-					throw new NullPointerException("current");
-				}
-				return nullValue;
-			}
-			
-			@Override
-			public void remove() {
-				iterator.remove();
-			}
-		};
+		return new UnboxedLongIterator(iterator, nullValue);
 	}
 	
-	public static LongIterator of(final long value) {
-		return new LongIterator() {
-			private boolean hasNext = true;
-			
-			//@Override
-			public boolean hasNext() {
-				return hasNext;
-			}
-			
-			@Override
-			public long nextLong() {
-				if (!hasNext()) {
-					throw new NoSuchElementException();
-				}
-				hasNext = false;
-				return value;
-			}
-		};
+	public static LongIterator of(long value) {
+		return new LongArrayCursor(new long[]{value}, 0, 1);
 	}
 	
-	public static LongIterator of(final long... values) {
+	public static LongIterator of(long... values) {
 		if (values == null) {
 			throw new NullPointerException("values");
 		}
-		if (values.length == 0) {
+		return of(values, 0, values.length);
+	}
+	
+	/**
+	 * Returns an iterator of the values of a sub-range of an array.
+	 * The array is not copied.
+	 * <p>
+	 * The iterator is a {@link LongArrayCursor}, which may be reset to iterate other arrays
+	 * without allocating a new iterator (see {@link LongArrayCursor#reset(long[], int, int)}).
+	 *
+	 * @param values The array to iterate.
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @return Iterator of {@code values[from]}, ..., {@code values[to - 1]}.
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > values.length}.
+	 */
+	public static LongIterator of(long[] values, int from, int to) {
+		return new LongArrayCursor(values, from, to);
+	}
+	
+	/**
+	 * Returns an iterator of the remaining values of a buffer;
+	 * i.e. the values between its position and its limit.
+	 * The values are read directly from the buffer and are not copied,
+	 * which makes this suitable for direct and memory-mapped buffers.
+	 * The position of {@code buffer} itself is not modified.
+	 *
+	 * @param buffer The buffer to iterate.
+	 * @return Iterator of the remaining values of {@code buffer}.
+	 */
+	public static LongIterator of(LongBuffer buffer) {
+		if (buffer == null) {
+			throw new NullPointerException("buffer");
+		}
+		if (!buffer.hasRemaining()) {
 			return EMPTY;
 		}
-		return new LongIterator() {
-			private int index = 0;
-			
-			//@Override
-			public boolean hasNext() {
-				return index < values.length;
-			}
-			
-			@Override
-			public long nextLong() {
-				if (!hasNext()) {
-					throw new NoSuchElementException();
-				}
-				return values[index++];
-			}
-		};
+		return new LongBufferIterator(new LongBuffer[]{buffer.duplicate()}, 0, 1);
 	}
 	
-	public static LongIterator range(final int from, final int to) {
+	/**
+	 * Returns an iterator of fixed-width {@code long} values stored in a region of a file.
+	 * The region is memory-mapped (read-only) and the values are read directly
+	 * from the mapped memory, so the file is not loaded onto the heap.
+	 * Regions larger than a single mapping allows are mapped in multiple chunks.
+	 * <p>
+	 * The returned iterator may be split by index (see {@link #trySplit()}),
+	 * which allows a large file to be scanned in parallel.
+	 *
+	 * @param channel The channel of the file. It must be open for reading.
+	 * @param position The position in the file (in bytes) of the first value.
+	 * @param count The number of values to iterate.
+	 * @param order The byte order of the values in the file.
+	 * @return Iterator of the values of the region.
+	 * @throws IOException If mapping the region fails.
+	 * @throws IllegalArgumentException If {@code position} or {@code count} is negative,
+	 *                                  or if the region is too large to be addressed.
+	 */
+	public static LongIterator mapped(FileChannel channel, long position, long count, ByteOrder order) throws IOException {
+		return LongBufferIterator.map(channel, position, count, order);
+	}
+	
+	/**
+	 * Merge iterators of values in ascending order into a single iterator of all the values in ascending order.
+	 * The iterators are read ahead in blocks of up to 64 values using their bulk reads,
+	 * starting with a block of each iterator when the merge is created.
+	 * Values that have been read ahead but not yet returned are lost to the iterators,
+	 * so they must not be used elsewhere while (or after) the merge is consumed.
+	 * Equal values are returned in the order of the iterators that they came from.
+	 * <p>
+	 * The merge is implemented as a loser tree, which takes
+	 * {@code ceil(log2(k))} comparisons per value when merging {@code k} iterators.
+	 *
+	 * @param iterators The sorted iterators to merge.
+	 * @return Iterator of the values of all the iterators in ascending order.
+	 */
+	public static LongIterator mergeSorted(LongIterator... iterators) {
+		return MergedLongIterator.of(iterators, false);
+	}
+	
+	/**
+	 * Merge iterators of values in ascending order into a single iterator
+	 * of the distinct values in ascending order; equal values are only returned once.
+	 *
+	 * @param iterators The sorted iterators to merge.
+	 * @return Iterator of the distinct values of all the iterators in ascending order.
+	 * @see #mergeSorted(LongIterator...)
+	 */
+	public static LongIterator mergeSortedDistinct(LongIterator... iterators) {
+		return MergedLongIterator.of(iterators, true);
+	}
+	
+	public static LongIterator range(int from, int to) {
 		if (from >= to) {
 			return EMPTY;
 		}
-		return new LongIterator() {
-			private int current = from;
-			
-			//@Override
-			public boolean hasNext() {
-				return current < to;
-			}
-			
-			@Override
-			public long nextLong() {
-				if (!hasNext()) {
-					throw new NoSuchElementException();
-				}
-				return current++;
-			}
-		};
+		return WidenedLongIterator.of(new IntRangeIterator(from, to), Widened.INT);
 	}
 }
@@ -0,0 +1,201 @@
+package primitivo.iterate;
+
+import primitivo.function.DoubleConsumer;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator that merges sorted {@code double} iterators into a single sorted iterator.
+ * Values are ordered as by {@link Double#compare(double, double)}.
+ * <p>
+ * The current head value of each source is kept in a primitive array,
+ * and the sources compete in a tournament tree that stores the loser of each match
+ * (a "loser tree"): After a value is taken from the winning source,
+ * only the matches on the path from that source to the root are replayed,
+ * which takes {@code ceil(log2(k))} comparisons for {@code k} sources.
+ * Ties are won by the source with the lower index, so the merge is stable.
+ * <p>
+ * The sources are read in blocks using their bulk reads.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see DoubleIterator#mergeSorted(DoubleIterator...)
+ */
+final class MergedDoubleIterator extends DoubleIterator {
+	private static final int BLOCK_LENGTH = 64;
+	
+	private final DoubleIterator[] sources;
+	private final boolean distinct;
+	
+	// The number of sources; i.e. the number of leaves of the tree.
+	private final int k;
+	
+	// Element 0 is the index of the winning source; element i > 0 is the loser of the match at node i.
+	// The leaf of source s is node k + s, and the parent of node i is node i / 2.
+	private final int[] tree;
+	
+	// The current value of each source and whether it's exhausted (i.e. has no current value).
+	private final double[] heads;
+	private final boolean[] exhausted;
+	
+	// The values read from each source and the index of the current value among them.
+	private final double[][] blocks;
+	private final int[] positions;
+	private final int[] lengths;
+	
+	private MergedDoubleIterator(DoubleIterator[] sources, boolean distinct) {
+		this.sources = sources;
+		this.distinct = distinct;
+		this.k = sources.length;
+		this.tree = new int[k];
+		this.heads = new double[k];
+		this.exhausted = new boolean[k];
+		this.blocks = new double[k][];
+		this.positions = new int[k];
+		this.lengths = new int[k];
+		for (int s = 0; s < k; s++) {
+			blocks[s] = new double[BLOCK_LENGTH];
+			refill(s);
+		}
+		
+		// Play all matches bottom-up.
+		int[] winners = new int[2 * k];
+		for (int s = 0; s < k; s++) {
+			winners[k + s] = s;
+		}
+		for (int node = k - 1; node > 0; node--) {
+			int a = winners[2 * node];
+			int b = winners[2 * node + 1];
+			if (less(a, b)) {
+				winners[node] = a;
+				tree[node] = b;
+			} else {
+				winners[node] = b;
+				tree[node] = a;
+			}
+		}
+		tree[0] = winners[1];
+	}
+	
+	static DoubleIterator of(DoubleIterator[] iterators, boolean distinct) {
+		if (iterators == null) {
+			throw new NullPointerException("iterators");
+		}
+		for (int i = 0; i < iterators.length; i++) {
+			if (iterators[i] == null) {
+				throw new NullPointerException("iterators[" + i + "]");
+			}
+		}
+		if (iterators.length == 0) {
+			return EMPTY;
+		}
+		return new MergedDoubleIterator(iterators.clone(), distinct);
+	}
+	
+	private void refill(int s) {
+		int length = sources[s].nextDoubles(blocks[s], 0, BLOCK_LENGTH);
+		lengths[s] = length;
+		positions[s] = 0;
+		if (length == 0) {
+			exhausted[s] = true;
+		} else {
+			heads[s] = blocks[s][0];
+		}
+	}
+	
+	private void advance(int s) {
+		int position = positions[s] + 1;
+		if (position < lengths[s]) {
+			positions[s] = position;
+			heads[s] = blocks[s][position];
+		} else {
+			refill(s);
+		}
+	}
+	
+	// Whether source a beats source b. Exhausted sources lose to all others.
+	private boolean less(int a, int b) {
+		if (exhausted[a]) {
+			return false;
+		}
+		if (exhausted[b]) {
+			return true;
+		}
+		int c = Double.compare(heads[a], heads[b]);
+		return c < 0 || (c == 0 && a < b);
+	}
+	
+	// Takes the current value of the winner and replays its matches.
+	private void pop() {
+		int winner = tree[0];
+		advance(winner);
+		for (int node = (winner + k) >>> 1; node > 0; node >>>= 1) {
+			int opponent = tree[node];
+			if (less(opponent, winner)) {
+				tree[node] = winner;
+				winner = opponent;
+			}
+		}
+		tree[0] = winner;
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		return !exhausted[tree[0]];
+	}
+	
+	@Override
+	public double nextDouble() {
+		int winner = tree[0];
+		if (exhausted[winner]) {
+			throw new NoSuchElementException();
+		}
+		double value = heads[winner];
+		pop();
+		if (distinct) {
+			while (!exhausted[winner = tree[0]] && Double.compare(heads[winner], value) == 0) {
+				pop();
+			}
+		}
+		return value;
+	}
+	
+	/**
+	 * Pops the winners in a single loop, without the per-value checks of {@link #hasNext()} and {@link #nextDouble()}.
+	 * Each value still costs a replay of the matches of its source.
+	 */
+	@Override
+	public void forEachRemaining(DoubleConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		int winner;
+		while (!exhausted[winner = tree[0]]) {
+			double value = heads[winner];
+			pop();
+			if (distinct) {
+				while (!exhausted[winner = tree[0]] && heads[winner] == value) {
+					pop();
+				}
+			}
+			consumer.accept(value);
+		}
+	}
+	
+	@Override
+	public long remaining() {
+		if (distinct) {
+			return -1;
+		}
+		long remaining = 0;
+		for (int s = 0; s < k; s++) {
+			long sourceRemaining = sources[s].remaining();
+			if (sourceRemaining < 0) {
+				return -1;
+			}
+			// Exhausted sources have no buffered values.
+			remaining += sourceRemaining + lengths[s] - positions[s];
+		}
+		return remaining;
+	}
+}
@@ -12,7 +12,18 @@ import java.util.NoSuchElementException;
  */
 public class ObjectIterator {
 	
-	public static final Iterator<?> EMPTY = new Iterator<Object>() {
+	/**
+	 * Base class of the iterators returned by this class,
+	 * which all know the number of values that remain.
+	 */
+	private static abstract class Sized<T> implements Iterator<T>, SizedIterator {
+		//@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+	
+	public static final Iterator<?> EMPTY = new Sized<Object>() {
 		//@Override
 		public boolean hasNext() {
 			return false;
@@ -24,6 +35,11 @@ public class ObjectIterator {
 		}
 		
 		//@Override
+		public long remaining() {
+			return 0;
+		}
+		
+		@Override
 		public void remove() {
 			throw new IllegalStateException();
 		}
@@ -35,7 +51,7 @@ public class ObjectIterator {
 	}
 	
 	public static <T> Iterator<T> of(final T value) {
-		return new Iterator<T>() {
+		return new Sized<T>() {
 			private boolean hasNext = true;
 			
 			//@Override
@@ -53,8 +69,8 @@ public class ObjectIterator {
 			}
 			
 			//@Override
-			public void remove() {
-				throw new UnsupportedOperationException();
+			public long remaining() {
+				return hasNext ? 1 : 0;
 			}
 		};
 	}
@@ -67,7 +83,7 @@ public class ObjectIterator {
 		if (values.length == 0) {
 			return of();
 		}
-		return new Iterator<T>() {
+		return new Sized<T>() {
 			private int index = 0;
 			
 			//@Override
@@ -83,8 +99,9 @@ public class ObjectIterator {
 				return values[index++];
 			}
 			
-			public void remove() {
-				throw new UnsupportedOperationException();
+			//@Override
+			public long remaining() {
+				return values.length - index;
 			}
 		};
 	}
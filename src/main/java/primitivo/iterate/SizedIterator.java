@@ -0,0 +1,30 @@
+package primitivo.iterate;
+
+/**
+ * Capability of an iterator to report the number of values that remain in the iteration
+ * without consuming them.
+ * <p>
+ * All the primitive iterators of this package implement this interface.
+ * The array-backed and range iterators, the widening adapters between them,
+ * and the adapters of boxing iterators that are themselves sized report an exact count;
+ * iterators whose length cannot be known in advance (e.g. filtered iterators) report -1.
+ * Consumers such as {@code primitivo.array.IntArray.of(Iterator)} use the count
+ * to allocate their result exactly once.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.iterate
+ */
+public interface SizedIterator {
+	
+	/**
+	 * Returns the exact number of values remaining in the iteration, if known.
+	 * The count must never be an underestimate or an overestimate:
+	 * If a non-negative value is returned, then the iterator produces
+	 * exactly that many values unless it is modified in the meantime.
+	 *
+	 * @return The number of values that remain to be consumed,
+	 *         or -1 if this number is not known without consuming the iterator.
+	 */
+	long remaining();
+}
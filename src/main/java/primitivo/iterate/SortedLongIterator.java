@@ -0,0 +1,489 @@
+package primitivo.iterate;
+
+import primitivo.function.LongConsumer;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator of {@code long} values in ascending order that can skip ahead to a target value.
+ * <p>
+ * {@link #advance(long)} lets consumers jump over runs of values without visiting them,
+ * e.g. when intersecting the sorted posting lists of an inverted index.
+ * The array-backed iterators returned by {@link #of(long[], int, int)},
+ * as well as the views of array cursors returned by {@link #of(LongIterator)},
+ * advance using exponential ("galloping") search followed by binary search,
+ * so skipping {@code d} values takes {@code O(log d)} comparisons.
+ * <p>
+ * The lazy set operations {@link #intersect(SortedLongIterator...)}, {@link #union(SortedLongIterator...)},
+ * and {@link #difference(SortedLongIterator, SortedLongIterator)} combine sorted iterators
+ * into sorted iterators that advance their sources in turn.
+ * Intersecting a small set with a large one therefore takes time proportional to
+ * {@code small * log(large / small)} rather than {@code large}.
+ * <p>
+ * The values of a sorted iterator must be strictly ascending (i.e. sets) for the set operations to be well-defined.
+ * This is not checked.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.iterate
+ */
+public abstract class SortedLongIterator extends LongIterator {
+	/**
+	 * Skip all remaining values that are less than {@code target}.
+	 * Afterwards, the next value (if any) is the smallest remaining value
+	 * that is greater than or equal to {@code target}.
+	 * If the next value is already greater than or equal to {@code target}, nothing is skipped.
+	 *
+	 * @param target The smallest value that is not skipped.
+	 */
+	public abstract void advance(long target);
+	
+	/**
+	 * Returns a sorted iterator of the values of an array.
+	 * The array is not copied.
+	 *
+	 * @param values Array of values in ascending order.
+	 * @return Sorted iterator of the values.
+	 */
+	public static SortedLongIterator of(long... values) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		return of(values, 0, values.length);
+	}
+	
+	/**
+	 * Returns a sorted iterator of the values of a sub-range of an array.
+	 * The array is not copied.
+	 *
+	 * @param values Array whose sub-range is in ascending order.
+	 * @param from The index of the first value to iterate (inclusive).
+	 * @param to The index after the last value to iterate (exclusive).
+	 * @return Sorted iterator of {@code values[from]}, ..., {@code values[to - 1]}.
+	 * @throws IllegalArgumentException If {@code from > to}.
+	 * @throws IndexOutOfBoundsException If {@code from < 0} or {@code to > values.length}.
+	 */
+	public static SortedLongIterator of(long[] values, int from, int to) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		Checks.checkRange(values.length, from, to);
+		return new ArrayIterator(new LongArrayCursor(values, from, to));
+	}
+	
+	/**
+	 * Returns a sorted view of an iterator whose values are known to be in ascending order.
+	 * If the iterator is an array cursor (e.g. one returned by {@link LongIterator#of(long...)}),
+	 * the view advances by galloping search over the remaining values of its array;
+	 * otherwise it advances by consuming the skipped values one by one.
+	 * Either way, consuming the view consumes the iterator.
+	 *
+	 * @param iterator Iterator of values in ascending order.
+	 * @return Sorted iterator of the values; {@code iterator} itself if it's already sorted.
+	 */
+	public static SortedLongIterator of(LongIterator iterator) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (iterator instanceof SortedLongIterator) {
+			return (SortedLongIterator) iterator;
+		}
+		if (iterator instanceof LongArrayCursor) {
+			return new ArrayIterator((LongArrayCursor) iterator);
+		}
+		return new Wrapped(iterator);
+	}
+	
+	/**
+	 * @param from The first value (inclusive).
+	 * @param to The end of the range (exclusive).
+	 * @return Sorted iterator of the values {@code from}, ..., {@code to - 1}.
+	 */
+	public static SortedLongIterator range(long from, long to) {
+		return new Range(from, to);
+	}
+	
+	/**
+	 * Returns a lazy iterator of the values that are in all of the given sorted iterators.
+	 * The iterators are combined pairwise in a balanced tree.
+	 *
+	 * @param iterators The sorted iterators to intersect. There must be at least one.
+	 * @return Sorted iterator of the intersection.
+	 * @throws IllegalArgumentException If no iterators are given.
+	 */
+	public static SortedLongIterator intersect(SortedLongIterator... iterators) {
+		checkIterators(iterators);
+		if (iterators.length == 0) {
+			throw new IllegalArgumentException("No iterators");
+		}
+		return combine(iterators, 0, iterators.length, true);
+	}
+	
+	/**
+	 * Returns a lazy iterator of the values that are in any of the given sorted iterators.
+	 * Values that are in multiple iterators are only returned once.
+	 * The iterators are combined pairwise in a balanced tree.
+	 *
+	 * @param iterators The sorted iterators to unite.
+	 * @return Sorted iterator of the union.
+	 */
+	public static SortedLongIterator union(SortedLongIterator... iterators) {
+		checkIterators(iterators);
+		if (iterators.length == 0) {
+			return of(new long[0]);
+		}
+		return combine(iterators, 0, iterators.length, false);
+	}
+	
+	/**
+	 * Returns a lazy iterator of the values of a sorted iterator that are not in another.
+	 *
+	 * @param iterator The sorted iterator whose values to return.
+	 * @param excluded The sorted iterator of values to exclude.
+	 * @return Sorted iterator of the difference.
+	 */
+	public static SortedLongIterator difference(SortedLongIterator iterator, SortedLongIterator excluded) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (excluded == null) {
+			throw new NullPointerException("excluded");
+		}
+		return new Difference(iterator, excluded);
+	}
+	
+	private static void checkIterators(SortedLongIterator[] iterators) {
+		if (iterators == null) {
+			throw new NullPointerException("iterators");
+		}
+		for (int i = 0; i < iterators.length; i++) {
+			if (iterators[i] == null) {
+				throw new NullPointerException("iterators[" + i + "]");
+			}
+		}
+	}
+	
+	private static SortedLongIterator combine(SortedLongIterator[] iterators, int from, int to, boolean intersect) {
+		if (to - from == 1) {
+			return iterators[from];
+		}
+		int middle = (from + to) >>> 1;
+		SortedLongIterator left = combine(iterators, from, middle, intersect);
+		SortedLongIterator right = combine(iterators, middle, to, intersect);
+		return intersect ? new Intersection(left, right) : new Union(left, right);
+	}
+	
+	private static final class ArrayIterator extends SortedLongIterator {
+		private final LongArrayCursor cursor;
+		
+		private ArrayIterator(LongArrayCursor cursor) {
+			this.cursor = cursor;
+		}
+		
+		//@Override
+		public boolean hasNext() {
+			return cursor.hasNext();
+		}
+		
+		@Override
+		public long nextLong() {
+			return cursor.nextLong();
+		}
+		
+		@Override
+		public int nextLongs(long[] destination, int offset, int length) {
+			return cursor.nextLongs(destination, offset, length);
+		}
+		
+		@Override
+		public void forEachRemaining(LongConsumer consumer) {
+			cursor.forEachRemaining(consumer);
+		}
+		
+		@Override
+		public long remaining() {
+			return cursor.remaining();
+		}
+		
+		@Override
+		public void advance(long target) {
+			cursor.advance(target);
+		}
+	}
+	
+	private static final class Range extends SortedLongIterator {
+		private long next;
+		private final long to;
+		
+		private Range(long from, long to) {
+			this.next = from;
+			this.to = to;
+		}
+		
+		//@Override
+		public boolean hasNext() {
+			return next < to;
+		}
+		
+		@Override
+		public long nextLong() {
+			if (next >= to) {
+				throw new NoSuchElementException();
+			}
+			return next++;
+		}
+		
+		@Override
+		public long remaining() {
+			return next < to ? (long) to - next : 0;
+		}
+		
+		@Override
+		public void forEachRemaining(LongConsumer consumer) {
+			if (consumer == null) {
+				throw new NullPointerException("consumer");
+			}
+			long from = next;
+			long to = this.to;
+			if (from >= to) {
+				return;
+			}
+			next = to;
+			for (long value = from; value < to; value++) {
+				consumer.accept(value);
+			}
+		}
+		
+		@Override
+		public void advance(long target) {
+			if (target > next) {
+				next = target < to ? target : to;
+			}
+		}
+	}
+	
+	/**
+	 * Base class of the sorted iterators whose next value is computed on demand.
+	 */
+	private static abstract class Lookahead extends SortedLongIterator {
+		boolean buffered;
+		boolean done;
+		long next;
+		
+		/**
+		 * Compute the next value and store it using {@link #found(long)}.
+		 *
+		 * @return Whether there is a next value.
+		 */
+		abstract boolean computeNext();
+		
+		/**
+		 * Advance the sources such that no value less than {@code target} is computed next.
+		 *
+		 * @return Whether the next value was found (and stored using {@link #found(long)}) while advancing.
+		 */
+		abstract boolean skipTo(long target);
+		
+		final boolean found(long value) {
+			next = value;
+			return true;
+		}
+		
+		//@Override
+		public final boolean hasNext() {
+			if (!buffered && !done) {
+				if (computeNext()) {
+					buffered = true;
+				} else {
+					done = true;
+				}
+			}
+			return buffered;
+		}
+		
+		@Override
+		public final long nextLong() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			buffered = false;
+			return next;
+		}
+		
+		@Override
+		public final void advance(long target) {
+			if (done || buffered && next >= target) {
+				return;
+			}
+			buffered = skipTo(target);
+		}
+	}
+	
+	private static final class Wrapped extends Lookahead {
+		private final LongIterator source;
+		
+		private Wrapped(LongIterator source) {
+			this.source = source;
+		}
+		
+		@Override
+		boolean computeNext() {
+			return source.hasNext() && found(source.nextLong());
+		}
+		
+		@Override
+		boolean skipTo(long target) {
+			while (source.hasNext()) {
+				long value = source.nextLong();
+				if (value >= target) {
+					return found(value);
+				}
+			}
+			return false;
+		}
+		
+		@Override
+		public long remaining() {
+			long remaining = source.remaining();
+			return remaining < 0 ? -1 : remaining + (buffered ? 1 : 0);
+		}
+	}
+	
+	private static final class Intersection extends Lookahead {
+		private final SortedLongIterator left;
+		private final SortedLongIterator right;
+		
+		private Intersection(SortedLongIterator left, SortedLongIterator right) {
+			this.left = left;
+			this.right = right;
+		}
+		
+		@Override
+		boolean computeNext() {
+			if (!left.hasNext()) {
+				return false;
+			}
+			long candidate = left.nextLong();
+			while (true) {
+				// Leapfrog: Each side skips to the other side's candidate.
+				right.advance(candidate);
+				if (!right.hasNext()) {
+					return false;
+				}
+				long value = right.nextLong();
+				if (value == candidate) {
+					return found(candidate);
+				}
+				left.advance(value);
+				if (!left.hasNext()) {
+					return false;
+				}
+				candidate = left.nextLong();
+				if (candidate == value) {
+					return found(candidate);
+				}
+			}
+		}
+		
+		@Override
+		boolean skipTo(long target) {
+			left.advance(target);
+			return false;
+		}
+	}
+	
+	private static final class Union extends Lookahead {
+		private final SortedLongIterator left;
+		private final SortedLongIterator right;
+		
+		// The values consumed from the sources but not yet returned.
+		private boolean hasLeft;
+		private long leftValue;
+		private boolean hasRight;
+		private long rightValue;
+		
+		private Union(SortedLongIterator left, SortedLongIterator right) {
+			this.left = left;
+			this.right = right;
+		}
+		
+		@Override
+		boolean computeNext() {
+			if (!hasLeft && left.hasNext()) {
+				leftValue = left.nextLong();
+				hasLeft = true;
+			}
+			if (!hasRight && right.hasNext()) {
+				rightValue = right.nextLong();
+				hasRight = true;
+			}
+			if (hasLeft && (!hasRight || leftValue <= rightValue)) {
+				hasLeft = false;
+				if (hasRight && rightValue == leftValue) {
+					hasRight = false;
+				}
+				return found(leftValue);
+			}
+			if (hasRight) {
+				hasRight = false;
+				return found(rightValue);
+			}
+			return false;
+		}
+		
+		@Override
+		boolean skipTo(long target) {
+			if (hasLeft && leftValue < target) {
+				hasLeft = false;
+			}
+			if (!hasLeft) {
+				left.advance(target);
+			}
+			if (hasRight && rightValue < target) {
+				hasRight = false;
+			}
+			if (!hasRight) {
+				right.advance(target);
+			}
+			return false;
+		}
+	}
+	
+	private static final class Difference extends Lookahead {
+		private final SortedLongIterator source;
+		private final SortedLongIterator excluded;
+		
+		// The value consumed from `excluded` that hasn't been passed yet.
+		private boolean hasExcluded;
+		private long excludedValue;
+		
+		private Difference(SortedLongIterator source, SortedLongIterator excluded) {
+			this.source = source;
+			this.excluded = excluded;
+		}
+		
+		@Override
+		boolean computeNext() {
+			while (source.hasNext()) {
+				long value = source.nextLong();
+				if (!hasExcluded || excludedValue < value) {
+					excluded.advance(value);
+					hasExcluded = excluded.hasNext();
+					if (hasExcluded) {
+						excludedValue = excluded.nextLong();
+					}
+				}
+				if (!hasExcluded || excludedValue != value) {
+					return found(value);
+				}
+			}
+			return false;
+		}
+		
+		@Override
+		boolean skipTo(long target) {
+			source.advance(target);
+			return false;
+		}
+	}
+}
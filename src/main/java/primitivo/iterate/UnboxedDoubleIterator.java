@@ -0,0 +1,57 @@
+package primitivo.iterate;
+
+import java.util.Iterator;
+
+/**
+ * Iterator of the unboxed values of an iterator of {@link Double}s.
+ * Backs {@link DoubleIterator#of(Iterator, Double)}.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+final class UnboxedDoubleIterator extends DoubleIterator {
+	private final Iterator<Double> source;
+	
+	// Replaces null values of the source. If null, null values are rejected.
+	private final Double nullValue;
+	
+	UnboxedDoubleIterator(Iterator<Double> source, Double nullValue) {
+		this.source = source;
+		this.nullValue = nullValue;
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		return source.hasNext();
+	}
+	
+	@Override
+	public double nextDouble() {
+		return next();
+	}
+	
+	@Override
+	public Double next() {
+		Double current = source.next();
+		if (current != null) {
+			return current;
+		}
+		if (nullValue == null) {
+			// Ensure that `next` and `nextDouble` behave identically.
+			throw new NullPointerException("current");
+		}
+		return nullValue;
+	}
+	
+	@Override
+	public void remove() {
+		source.remove();
+	}
+	
+	@Override
+	public long remaining() {
+		if (source instanceof SizedIterator) {
+			return ((SizedIterator) source).remaining();
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,57 @@
+package primitivo.iterate;
+
+import java.util.Iterator;
+
+/**
+ * Iterator of the unboxed values of an iterator of {@link Integer}s.
+ * Backs {@link IntIterator#of(Iterator, Integer)}.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+final class UnboxedIntIterator extends IntIterator {
+	private final Iterator<Integer> source;
+	
+	// Replaces null values of the source. If null, null values are rejected.
+	private final Integer nullValue;
+	
+	UnboxedIntIterator(Iterator<Integer> source, Integer nullValue) {
+		this.source = source;
+		this.nullValue = nullValue;
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		return source.hasNext();
+	}
+	
+	@Override
+	public int nextInt() {
+		return next();
+	}
+	
+	@Override
+	public Integer next() {
+		Integer current = source.next();
+		if (current != null) {
+			return current;
+		}
+		if (nullValue == null) {
+			// Ensure that `next` and `nextInt` behave identically.
+			throw new NullPointerException("current");
+		}
+		return nullValue;
+	}
+	
+	@Override
+	public void remove() {
+		source.remove();
+	}
+	
+	@Override
+	public long remaining() {
+		if (source instanceof SizedIterator) {
+			return ((SizedIterator) source).remaining();
+		}
+		return -1;
+	}
+}
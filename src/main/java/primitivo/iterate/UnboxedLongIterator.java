@@ -0,0 +1,57 @@
+package primitivo.iterate;
+
+import java.util.Iterator;
+
+/**
+ * Iterator of the unboxed values of an iterator of {@link Long}s.
+ * Backs {@link LongIterator#of(Iterator, Long)}.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+final class UnboxedLongIterator extends LongIterator {
+	private final Iterator<Long> source;
+	
+	// Replaces null values of the source. If null, null values are rejected.
+	private final Long nullValue;
+	
+	UnboxedLongIterator(Iterator<Long> source, Long nullValue) {
+		this.source = source;
+		this.nullValue = nullValue;
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		return source.hasNext();
+	}
+	
+	@Override
+	public long nextLong() {
+		return next();
+	}
+	
+	@Override
+	public Long next() {
+		Long current = source.next();
+		if (current != null) {
+			return current;
+		}
+		if (nullValue == null) {
+			// Ensure that `next` and `nextLong` behave identically.
+			throw new NullPointerException("current");
+		}
+		return nullValue;
+	}
+	
+	@Override
+	public void remove() {
+		source.remove();
+	}
+	
+	@Override
+	public long remaining() {
+		if (source instanceof SizedIterator) {
+			return ((SizedIterator) source).remaining();
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,38 @@
+package primitivo.iterate;
+
+import java.util.Iterator;
+
+/**
+ * Iterator that widens the values of a narrower primitive iterator
+ * (e.g. {@link LongIterator#of(IntIterator)}).
+ * <p>
+ * Widening an iterator that is itself widened adapts the original source directly if
+ * the inner widening is exact, such that a chain of widening factories yields a single adapter.
+ * Only {@code int} to {@code float} may lose precision,
+ * so e.g. {@code DoubleIterator.of(FloatIterator.of(IntIterator))} keeps both adapters.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+interface Widened {
+	int BYTE = 0;
+	int SHORT = 1;
+	int CHAR = 2;
+	int INT = 3;
+	int LONG = 4;
+	int FLOAT = 5;
+	
+	/**
+	 * @return The iterator whose values are widened.
+	 */
+	Iterator<?> source();
+	
+	/**
+	 * @return The type of the values of {@link #source()}; one of the constants of this interface.
+	 */
+	int sourceType();
+	
+	/**
+	 * @return Whether every value of the source is represented exactly after widening.
+	 */
+	boolean isExact();
+}
@@ -0,0 +1,258 @@
+package primitivo.iterate;
+
+import primitivo.function.LongConsumer;
+
+import java.util.Iterator;
+
+/**
+ * Iterator of the values of a narrower primitive iterator widened to {@code long}.
+ * <p>
+ * Backs all the widening factories of {@link LongIterator} (e.g. {@code LongIterator.of(IntIterator)}),
+ * as well as {@link LongIterator#range(int, int)},
+ * such that call sites that consume widened iterators see a single class regardless of the source type.
+ * Chains of widening adapters are collapsed (see {@link Widened}).
+ * Block reads and {@link #forEachRemaining(LongConsumer)} read blocks of values from the source,
+ * which are then widened in a counted loop.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+final class WidenedLongIterator extends LongIterator implements Widened {
+	private static final int BLOCK_LENGTH = 64;
+	
+	private final Iterator<?> source;
+	private final int sourceType;
+	
+	// Array of the source type that blocks of source values are read into; allocated on first use.
+	private Object block;
+	
+	private WidenedLongIterator(Iterator<?> source, int sourceType) {
+		this.source = source;
+		this.sourceType = sourceType;
+	}
+	
+	/**
+	 * @param source The iterator to widen.
+	 * @param sourceType The type of the values of {@code source}; one of the constants of {@link Widened}.
+	 * @return Iterator of the widened values of {@code source},
+	 *         or of the original source of {@code source} if it's an exact widening itself.
+	 */
+	static WidenedLongIterator of(Iterator<?> source, int sourceType) {
+		if (source == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (source instanceof Widened) {
+			Widened widened = (Widened) source;
+			if (widened.isExact()) {
+				return new WidenedLongIterator(widened.source(), widened.sourceType());
+			}
+		}
+		return new WidenedLongIterator(source, sourceType);
+	}
+	
+	//@Override
+	public Iterator<?> source() {
+		return source;
+	}
+	
+	//@Override
+	public int sourceType() {
+		return sourceType;
+	}
+	
+	//@Override
+	public boolean isExact() {
+		return true;
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		// Dispatched by type such that each call site only sees the classes of one source type.
+		switch (sourceType) {
+			case BYTE:
+				return ((ByteIterator) source).hasNext();
+			case SHORT:
+				return ((ShortIterator) source).hasNext();
+			case CHAR:
+				return ((CharIterator) source).hasNext();
+			default:
+				return ((IntIterator) source).hasNext();
+		}
+	}
+	
+	@Override
+	public long nextLong() {
+		switch (sourceType) {
+			case BYTE:
+				return ((ByteIterator) source).nextByte();
+			case SHORT:
+				return ((ShortIterator) source).nextShort();
+			case CHAR:
+				return ((CharIterator) source).nextChar();
+			default:
+				return ((IntIterator) source).nextInt();
+		}
+	}
+	
+	@Override
+	public int nextLongs(long[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = 0;
+		if (length == 0) {
+			return count;
+		}
+		switch (sourceType) {
+			case BYTE: {
+				ByteIterator iterator = (ByteIterator) source;
+				if (block == null) {
+					block = new byte[BLOCK_LENGTH];
+				}
+				byte[] values = (byte[]) block;
+				int read;
+				do {
+					read = iterator.nextBytes(values, 0, Math.min(BLOCK_LENGTH, length - count));
+					for (int i = 0; i < read; i++) {
+						destination[offset + count + i] = values[i];
+					}
+					count += read;
+				} while (read == BLOCK_LENGTH && count < length);
+				return count;
+			}
+			case SHORT: {
+				ShortIterator iterator = (ShortIterator) source;
+				if (block == null) {
+					block = new short[BLOCK_LENGTH];
+				}
+				short[] values = (short[]) block;
+				int read;
+				do {
+					read = iterator.nextShorts(values, 0, Math.min(BLOCK_LENGTH, length - count));
+					for (int i = 0; i < read; i++) {
+						destination[offset + count + i] = values[i];
+					}
+					count += read;
+				} while (read == BLOCK_LENGTH && count < length);
+				return count;
+			}
+			case CHAR: {
+				CharIterator iterator = (CharIterator) source;
+				if (block == null) {
+					block = new char[BLOCK_LENGTH];
+				}
+				char[] values = (char[]) block;
+				int read;
+				do {
+					read = iterator.nextChars(values, 0, Math.min(BLOCK_LENGTH, length - count));
+					for (int i = 0; i < read; i++) {
+						destination[offset + count + i] = values[i];
+					}
+					count += read;
+				} while (read == BLOCK_LENGTH && count < length);
+				return count;
+			}
+			default: {
+				IntIterator iterator = (IntIterator) source;
+				if (block == null) {
+					block = new int[BLOCK_LENGTH];
+				}
+				int[] values = (int[]) block;
+				int read;
+				do {
+					read = iterator.nextInts(values, 0, Math.min(BLOCK_LENGTH, length - count));
+					for (int i = 0; i < read; i++) {
+						destination[offset + count + i] = values[i];
+					}
+					count += read;
+				} while (read == BLOCK_LENGTH && count < length);
+				return count;
+			}
+		}
+	}
+	
+	@Override
+	public void forEachRemaining(LongConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		switch (sourceType) {
+			case BYTE: {
+				ByteIterator iterator = (ByteIterator) source;
+				if (block == null) {
+					block = new byte[BLOCK_LENGTH];
+				}
+				byte[] values = (byte[]) block;
+				int read;
+				while ((read = iterator.nextBytes(values, 0, BLOCK_LENGTH)) > 0) {
+					for (int i = 0; i < read; i++) {
+						consumer.accept(values[i]);
+					}
+				}
+				return;
+			}
+			case SHORT: {
+				ShortIterator iterator = (ShortIterator) source;
+				if (block == null) {
+					block = new short[BLOCK_LENGTH];
+				}
+				short[] values = (short[]) block;
+				int read;
+				while ((read = iterator.nextShorts(values, 0, BLOCK_LENGTH)) > 0) {
+					for (int i = 0; i < read; i++) {
+						consumer.accept(values[i]);
+					}
+				}
+				return;
+			}
+			case CHAR: {
+				CharIterator iterator = (CharIterator) source;
+				if (block == null) {
+					block = new char[BLOCK_LENGTH];
+				}
+				char[] values = (char[]) block;
+				int read;
+				while ((read = iterator.nextChars(values, 0, BLOCK_LENGTH)) > 0) {
+					for (int i = 0; i < read; i++) {
+						consumer.accept(values[i]);
+					}
+				}
+				return;
+			}
+			default: {
+				IntIterator iterator = (IntIterator) source;
+				if (block == null) {
+					block = new int[BLOCK_LENGTH];
+				}
+				int[] values = (int[]) block;
+				int read;
+				while ((read = iterator.nextInts(values, 0, BLOCK_LENGTH)) > 0) {
+					for (int i = 0; i < read; i++) {
+						consumer.accept(values[i]);
+					}
+				}
+				return;
+			}
+		}
+	}
+	
+	@Override
+	public long remaining() {
+		return ((SizedIterator) source).remaining();
+	}
+	
+	@Override
+	public void remove() {
+		source.remove();
+	}
+	
+	/**
+	 * Splits the source if it is splittable (i.e. an {@code int} iterator)
+	 * and widens the prefix with a new adapter.
+	 */
+	@Override
+	public LongIterator trySplit() {
+		if (sourceType == INT) {
+			IntIterator prefix = ((IntIterator) source).trySplit();
+			return prefix == null ? null : new WidenedLongIterator(prefix, INT);
+		}
+		return null;
+	}
+}
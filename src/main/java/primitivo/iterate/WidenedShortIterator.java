@@ -0,0 +1,126 @@
+package primitivo.iterate;
+
+import primitivo.function.IntConsumer;
+
+import java.util.Iterator;
+
+/**
+ * Iterator of the values of a narrower primitive iterator widened to {@code short}.
+ * <p>
+ * Backs all the widening factories of {@link ShortIterator} (e.g. {@code ShortIterator.of(ByteIterator)}),
+ * such that call sites that consume widened iterators see a single class regardless of the source type.
+ * Chains of widening adapters are collapsed (see {@link Widened}).
+ * Block reads and {@link #forEachRemaining(IntConsumer)} read blocks of values from the source,
+ * which are then widened in a counted loop.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+final class WidenedShortIterator extends ShortIterator implements Widened {
+	private static final int BLOCK_LENGTH = 64;
+	
+	private final Iterator<?> source;
+	private final int sourceType;
+	
+	// Array of the source type that blocks of source values are read into; allocated on first use.
+	private Object block;
+	
+	private WidenedShortIterator(Iterator<?> source, int sourceType) {
+		this.source = source;
+		this.sourceType = sourceType;
+	}
+	
+	/**
+	 * @param source The iterator to widen.
+	 * @param sourceType The type of the values of {@code source}; one of the constants of {@link Widened}.
+	 * @return Iterator of the widened values of {@code source},
+	 *         or of the original source of {@code source} if it's an exact widening itself.
+	 */
+	static WidenedShortIterator of(Iterator<?> source, int sourceType) {
+		if (source == null) {
+			throw new NullPointerException("iterator");
+		}
+		if (source instanceof Widened) {
+			Widened widened = (Widened) source;
+			if (widened.isExact()) {
+				return new WidenedShortIterator(widened.source(), widened.sourceType());
+			}
+		}
+		return new WidenedShortIterator(source, sourceType);
+	}
+	
+	//@Override
+	public Iterator<?> source() {
+		return source;
+	}
+	
+	//@Override
+	public int sourceType() {
+		return sourceType;
+	}
+	
+	//@Override
+	public boolean isExact() {
+		return true;
+	}
+	
+	//@Override
+	public boolean hasNext() {
+		return ((ByteIterator) source).hasNext();
+	}
+	
+	@Override
+	public short nextShort() {
+		return ((ByteIterator) source).nextByte();
+	}
+	
+	@Override
+	public int nextShorts(short[] destination, int offset, int length) {
+		Checks.checkBounds(destination, offset, length);
+		int count = 0;
+		if (length == 0) {
+			return count;
+		}
+		ByteIterator iterator = (ByteIterator) source;
+		if (block == null) {
+			block = new byte[BLOCK_LENGTH];
+		}
+		byte[] values = (byte[]) block;
+		int read;
+		do {
+			read = iterator.nextBytes(values, 0, Math.min(BLOCK_LENGTH, length - count));
+			for (int i = 0; i < read; i++) {
+				destination[offset + count + i] = values[i];
+			}
+			count += read;
+		} while (read == BLOCK_LENGTH && count < length);
+		return count;
+	}
+	
+	@Override
+	public void forEachRemaining(IntConsumer consumer) {
+		if (consumer == null) {
+			throw new NullPointerException("consumer");
+		}
+		ByteIterator iterator = (ByteIterator) source;
+		if (block == null) {
+			block = new byte[BLOCK_LENGTH];
+		}
+		byte[] values = (byte[]) block;
+		int read;
+		while ((read = iterator.nextBytes(values, 0, BLOCK_LENGTH)) > 0) {
+			for (int i = 0; i < read; i++) {
+				consumer.accept(values[i]);
+			}
+		}
+	}
+	
+	@Override
+	public long remaining() {
+		return ((SizedIterator) source).remaining();
+	}
+	
+	@Override
+	public void remove() {
+		source.remove();
+	}
+}
@@ -23,6 +23,56 @@
  * All these classes naturally implement
  * {@link java.util.Iterator Iterator&lt;T&gt;},
  * where {@code T} is the appropriate boxed type.
+ * They also implement {@link primitivo.iterate.SizedIterator},
+ * through which iterators that know how many values remain
+ * (e.g. array-backed iterators, ranges, and widened iterators of such)
+ * report the count without consuming them.
+ * <p>
+ * Array cursors such as {@link primitivo.iterate.IntArrayCursor} iterate sub-ranges of arrays
+ * and may be reset to iterate other arrays, such that a single instance can scan many arrays.
+ * <p>
+ * The array-backed and range iterators of {@link primitivo.iterate.IntIterator},
+ * {@link primitivo.iterate.LongIterator}, and {@link primitivo.iterate.DoubleIterator}
+ * know their exact size and may be split by index
+ * (see e.g. {@link primitivo.iterate.IntIterator#trySplit()}).
+ * This makes it straightforward to adapt them into
+ * the primitive spliterators of {@code java.util} on JDK 1.8+,
+ * which this library cannot reference itself:
+ * <pre>
+ * class IntIteratorSpliterator implements Spliterator.OfInt {
+ *     private final IntIterator iterator;
+ *     ...
+ *     public OfInt trySplit() {
+ *         IntIterator prefix = iterator.trySplit();
+ *         return prefix == null ? null : new IntIteratorSpliterator(prefix);
+ *     }
+ *     public long estimateSize() {
+ *         return iterator.remaining();
+ *     }
+ *     public int characteristics() {
+ *         return ORDERED | SIZED | SUBSIZED | NONNULL;
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * The same three classes also have factories for iterating
+ * NIO buffers (e.g. {@link primitivo.iterate.IntIterator#of(java.nio.IntBuffer)})
+ * and memory-mapped regions of files
+ * (e.g. {@link primitivo.iterate.IntIterator#mapped(java.nio.channels.FileChannel, long, long, java.nio.ByteOrder)})
+ * without copying the values onto the heap.
+ * These iterators may be split as well.
+ * <p>
+ * All the iterators except {@link primitivo.iterate.BooleanIterator} may also be consumed internally with {@code forEachRemaining}
+ * (e.g. {@link primitivo.iterate.IntIterator#forEachRemaining(primitivo.function.IntConsumer)}),
+ * which the array-backed, range, buffer, and widened iterators implement with a single counted loop
+ * instead of a call to {@code hasNext} and {@code next} per value.
+ * Containers of {@code int}, {@code long}, and {@code double} values expose the same internal iteration
+ * through {@link primitivo.iterate.IntIterable}, {@link primitivo.iterate.LongIterable},
+ * and {@link primitivo.iterate.DoubleIterable}.
+ * <p>
+ * {@link primitivo.iterate.SortedIntIterator} and {@link primitivo.iterate.SortedLongIterator}
+ * are iterators of ascending values that can skip ahead to a target value,
+ * and they support lazy intersection, union, and difference.
  *
  * @author Michael Bisgaard Olesen
  *
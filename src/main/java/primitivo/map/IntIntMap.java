@@ -0,0 +1,449 @@
+package primitivo.map;
+
+import primitivo.function.IntConsumer;
+import primitivo.iterate.IntIterable;
+import primitivo.iterate.IntIterator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Hash map from {@code int} keys to {@code int} values.
+ * Provides an unboxed alternative to {@link java.util.Map Map&lt;Integer, Integer&gt;}.
+ * <p>
+ * The map uses open addressing with linear probing:
+ * Keys and values are stored in parallel arrays whose length is a power of two,
+ * and no objects are allocated per entry.
+ * The key 0 marks an empty slot in the key array and is therefore stored separately.
+ * The arrays are doubled whenever the load factor exceeds {@value #LOAD_FACTOR}.
+ * Removal shifts subsequent entries of the probe sequence back,
+ * such that no tombstones are left behind.
+ * <p>
+ * Absent keys map to 0, which is therefore returned by
+ * {@link #get(int)}, {@link #put(int, int)}, and {@link #remove(int)}
+ * when no mapping exists; {@link #containsKey(int)} distinguishes the cases.
+ * <p>
+ * The iterators returned by {@link #keys()} and {@link #values()} are views
+ * of the map; the result of iterating them after the map has been modified is undefined.
+ * The class is not thread-safe.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.map
+ */
+public class IntIntMap implements IntIterable {
+	/**
+	 * The maximum ratio of entries to slots.
+	 */
+	public static final float LOAD_FACTOR = 0.75f;
+	
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+	
+	private int[] keys;
+	private int[] values;
+	
+	// Number of entries in the arrays; i.e. excluding the zero key.
+	private int size;
+	private int resizeThreshold;
+	
+	private boolean hasZeroKey;
+	private int zeroValue;
+	
+	/**
+	 * Construct an empty map without a reasonable guess of its eventual size.
+	 */
+	public IntIntMap() {
+		this(16);
+	}
+	
+	/**
+	 * Construct an empty map that can hold a number of entries without resizing.
+	 *
+	 * @param expectedSize The expected number of entries.
+	 * @throws IllegalArgumentException If {@code expectedSize} is negative.
+	 */
+	public IntIntMap(int expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Negative expected size");
+		}
+		allocate(capacity(expectedSize));
+	}
+	
+	private static int capacity(int expectedSize) {
+		long minimum = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1;
+		int capacity = 4;
+		while (capacity < minimum && capacity < MAXIMUM_CAPACITY) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+	
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new int[capacity];
+		resizeThreshold = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+	}
+	
+	private static int hash(int key) {
+		int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+	
+	/**
+	 * @return The index of the slot containing {@code key},
+	 *         or the bitwise complement of the index of the empty slot where it would be inserted.
+	 */
+	private int slot(int key) {
+		int[] keys = this.keys;
+		int mask = keys.length - 1;
+		int index = hash(key) & mask;
+		for (;;) {
+			int current = keys[index];
+			if (current == 0) {
+				return ~index;
+			}
+			if (current == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+	}
+	
+	/**
+	 * @return The number of entries in the map.
+	 */
+	public int size() {
+		return hasZeroKey ? size + 1 : size;
+	}
+	
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+	
+	public boolean containsKey(int key) {
+		if (key == 0) {
+			return hasZeroKey;
+		}
+		return slot(key) >= 0;
+	}
+	
+	/**
+	 * @param key The key to look up.
+	 * @return The value that {@code key} maps to, or 0 if it isn't in the map.
+	 */
+	public int get(int key) {
+		if (key == 0) {
+			return zeroValue;
+		}
+		int index = slot(key);
+		return index < 0 ? 0 : values[index];
+	}
+	
+	/**
+	 * @param key The key to look up.
+	 * @param defaultValue The value to return if {@code key} isn't in the map.
+	 * @return The value that {@code key} maps to, or {@code defaultValue} if it isn't in the map.
+	 */
+	public int get(int key, int defaultValue) {
+		if (key == 0) {
+			return hasZeroKey ? zeroValue : defaultValue;
+		}
+		int index = slot(key);
+		return index < 0 ? defaultValue : values[index];
+	}
+	
+	/**
+	 * Map a key to a value, replacing any existing mapping of the key.
+	 *
+	 * @param key The key.
+	 * @param value The value.
+	 * @return The previous value of {@code key}, or 0 if it wasn't in the map.
+	 */
+	public int put(int key, int value) {
+		if (key == 0) {
+			int previous = zeroValue;
+			zeroValue = value;
+			hasZeroKey = true;
+			return previous;
+		}
+		int index = slot(key);
+		if (index >= 0) {
+			int previous = values[index];
+			values[index] = value;
+			return previous;
+		}
+		insert(~index, key, value);
+		return 0;
+	}
+	
+	/**
+	 * Add a value to the value of a key in place.
+	 * If the key isn't in the map, it is inserted with the value {@code delta}.
+	 * This makes the map usable as a counter without wrapper objects.
+	 *
+	 * @param key The key.
+	 * @param delta The value to add.
+	 * @return The new value of {@code key}.
+	 */
+	public int addTo(int key, int delta) {
+		if (key == 0) {
+			zeroValue += delta;
+			hasZeroKey = true;
+			return zeroValue;
+		}
+		int index = slot(key);
+		if (index >= 0) {
+			return values[index] += delta;
+		}
+		insert(~index, key, delta);
+		return delta;
+	}
+	
+	private void insert(int index, int key, int value) {
+		keys[index] = key;
+		values[index] = value;
+		if (++size > resizeThreshold) {
+			resize(keys.length << 1);
+		}
+	}
+	
+	/**
+	 * Remove the mapping of a key.
+	 *
+	 * @param key The key.
+	 * @return The value of the removed mapping, or 0 if {@code key} wasn't in the map.
+	 */
+	public int remove(int key) {
+		if (key == 0) {
+			int previous = zeroValue;
+			hasZeroKey = false;
+			zeroValue = 0;
+			return previous;
+		}
+		int index = slot(key);
+		if (index < 0) {
+			return 0;
+		}
+		int previous = values[index];
+		size--;
+		shiftBack(index);
+		return previous;
+	}
+	
+	/**
+	 * Fill the slot at {@code index} by moving back entries of the probe sequence
+	 * that follows it, until an empty slot is reached.
+	 */
+	private void shiftBack(int index) {
+		int[] keys = this.keys;
+		int[] values = this.values;
+		int mask = keys.length - 1;
+		for (;;) {
+			int last = index;
+			index = (index + 1) & mask;
+			int key;
+			for (;;) {
+				key = keys[index];
+				if (key == 0) {
+					keys[last] = 0;
+					values[last] = 0;
+					return;
+				}
+				int ideal = hash(key) & mask;
+				// The entry may be moved to `last` unless its ideal slot lies cyclically in (last, index].
+				if (last <= index ? last >= ideal || ideal > index : last >= ideal && ideal > index) {
+					break;
+				}
+				index = (index + 1) & mask;
+			}
+			keys[last] = key;
+			values[last] = values[index];
+		}
+	}
+	
+	/**
+	 * Remove all entries. The capacity of the map is retained.
+	 */
+	public void clear() {
+		Arrays.fill(keys, 0);
+		Arrays.fill(values, 0);
+		size = 0;
+		hasZeroKey = false;
+		zeroValue = 0;
+	}
+	
+	private void resize(int capacity) {
+		if (keys.length == MAXIMUM_CAPACITY) {
+			throw new IllegalStateException("Map is full");
+		}
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(capacity);
+		int[] keys = this.keys;
+		int[] values = this.values;
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			int key = oldKeys[i];
+			if (key != 0) {
+				int index = hash(key) & mask;
+				while (keys[index] != 0) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = key;
+				values[index] = oldValues[i];
+			}
+		}
+	}
+	
+	/**
+	 * @return The index of the first non-empty slot at or after {@code index},
+	 *         or the length of the arrays if there is none.
+	 */
+	private int nextSlot(int index) {
+		int[] keys = this.keys;
+		while (index < keys.length && keys[index] == 0) {
+			index++;
+		}
+		return index;
+	}
+	
+	/**
+	 * @return Iterator of the keys of the map, in no particular order.
+	 */
+	public IntIterator keys() {
+		return new IntIterator() {
+			private boolean zeroKey = hasZeroKey;
+			private int index = nextSlot(0);
+			private int left = size();
+			
+			//@Override
+			public boolean hasNext() {
+				return left > 0;
+			}
+			
+			@Override
+			public int nextInt() {
+				if (left == 0) {
+					throw new NoSuchElementException();
+				}
+				left--;
+				if (zeroKey) {
+					zeroKey = false;
+					return 0;
+				}
+				int key = keys[index];
+				index = nextSlot(index + 1);
+				return key;
+			}
+			
+			@Override
+			public void forEachRemaining(IntConsumer consumer) {
+				if (consumer == null) {
+					throw new NullPointerException("consumer");
+				}
+				if (left == 0) {
+					return;
+				}
+				left = 0;
+				if (zeroKey) {
+					zeroKey = false;
+					consumer.accept(0);
+				}
+				int[] keys = IntIntMap.this.keys;
+				int from = index;
+				index = keys.length;
+				for (int i = from; i < keys.length; i++) {
+					if (keys[i] != 0) {
+						consumer.accept(keys[i]);
+					}
+				}
+			}
+			
+			@Override
+			public long remaining() {
+				return left;
+			}
+		};
+	}
+	
+	/**
+	 * Iterating the map as an {@link IntIterable} iterates its keys.
+	 *
+	 * @return Iterator of the keys of the map; the same as {@link #keys()}.
+	 */
+	//@Override
+	public IntIterator iterator() {
+		return keys();
+	}
+	
+	/**
+	 * Passes all keys of the map to a consumer in the order of {@link #keys()},
+	 * in a single loop over the hash table.
+	 *
+	 * @param consumer The consumer that receives the keys.
+	 */
+	//@Override
+	public void forEach(IntConsumer consumer) {
+		keys().forEachRemaining(consumer);
+	}
+	
+	/**
+	 * @return Iterator of the values of the map, in the same order as {@link #keys()}.
+	 */
+	public IntIterator values() {
+		return new IntIterator() {
+			private boolean zeroKey = hasZeroKey;
+			private int index = nextSlot(0);
+			private int left = size();
+			
+			//@Override
+			public boolean hasNext() {
+				return left > 0;
+			}
+			
+			@Override
+			public int nextInt() {
+				if (left == 0) {
+					throw new NoSuchElementException();
+				}
+				left--;
+				if (zeroKey) {
+					zeroKey = false;
+					return zeroValue;
+				}
+				int value = values[index];
+				index = nextSlot(index + 1);
+				return value;
+			}
+			
+			@Override
+			public void forEachRemaining(IntConsumer consumer) {
+				if (consumer == null) {
+					throw new NullPointerException("consumer");
+				}
+				if (left == 0) {
+					return;
+				}
+				left = 0;
+				if (zeroKey) {
+					zeroKey = false;
+					consumer.accept(zeroValue);
+				}
+				int[] keys = IntIntMap.this.keys;
+				int[] values = IntIntMap.this.values;
+				int from = index;
+				index = keys.length;
+				for (int i = from; i < keys.length; i++) {
+					if (keys[i] != 0) {
+						consumer.accept(values[i]);
+					}
+				}
+			}
+			
+			@Override
+			public long remaining() {
+				return left;
+			}
+		};
+	}
+}
@@ -0,0 +1,408 @@
+package primitivo.map;
+
+import primitivo.function.LongConsumer;
+import primitivo.iterate.LongIterable;
+import primitivo.iterate.LongIterator;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Hash map from {@code long} keys to object references.
+ * Provides an unboxed alternative to {@link java.util.Map Map&lt;Long, V&gt;}.
+ * <p>
+ * The map uses open addressing with linear probing:
+ * Keys and values are stored in parallel arrays whose length is a power of two,
+ * and no objects are allocated per entry.
+ * The key 0 marks an empty slot in the key array and is therefore stored separately.
+ * The arrays are doubled whenever the load factor exceeds {@value #LOAD_FACTOR}.
+ * Removal shifts subsequent entries of the probe sequence back,
+ * such that no tombstones are left behind.
+ * <p>
+ * Absent keys map to null, which is therefore returned by
+ * {@link #get(long)}, {@link #put(long, Object)}, and {@link #remove(long)}
+ * when no mapping exists; {@link #containsKey(long)} distinguishes the cases.
+ * <p>
+ * The iterators returned by {@link #keys()} and {@link #values()} are views
+ * of the map; the result of iterating them after the map has been modified is undefined.
+ * The class is not thread-safe.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.map
+ */
+public class LongObjectMap<V> implements LongIterable {
+	/**
+	 * The maximum ratio of entries to slots.
+	 */
+	public static final float LOAD_FACTOR = 0.75f;
+	
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+	
+	private long[] keys;
+	private Object[] values;
+	
+	// Number of entries in the arrays; i.e. excluding the zero key.
+	private int size;
+	private int resizeThreshold;
+	
+	private boolean hasZeroKey;
+	private Object zeroValue;
+	
+	/**
+	 * Construct an empty map without a reasonable guess of its eventual size.
+	 */
+	public LongObjectMap() {
+		this(16);
+	}
+	
+	/**
+	 * Construct an empty map that can hold a number of entries without resizing.
+	 *
+	 * @param expectedSize The expected number of entries.
+	 * @throws IllegalArgumentException If {@code expectedSize} is negative.
+	 */
+	public LongObjectMap(int expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Negative expected size");
+		}
+		allocate(capacity(expectedSize));
+	}
+	
+	private static int capacity(int expectedSize) {
+		long minimum = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1;
+		int capacity = 4;
+		while (capacity < minimum && capacity < MAXIMUM_CAPACITY) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+	
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		resizeThreshold = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+	}
+	
+	private static int hash(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+	
+	/**
+	 * @return The index of the slot containing {@code key},
+	 *         or the bitwise complement of the index of the empty slot where it would be inserted.
+	 */
+	private int slot(long key) {
+		long[] keys = this.keys;
+		int mask = keys.length - 1;
+		int index = hash(key) & mask;
+		for (;;) {
+			long current = keys[index];
+			if (current == 0) {
+				return ~index;
+			}
+			if (current == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+	}
+	
+	/**
+	 * @return The number of entries in the map.
+	 */
+	public int size() {
+		return hasZeroKey ? size + 1 : size;
+	}
+	
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+	
+	public boolean containsKey(long key) {
+		if (key == 0) {
+			return hasZeroKey;
+		}
+		return slot(key) >= 0;
+	}
+	
+	/**
+	 * @param key The key to look up.
+	 * @return The value that {@code key} maps to, or null if it isn't in the map.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		if (key == 0) {
+			return (V) zeroValue;
+		}
+		int index = slot(key);
+		return index < 0 ? null : (V) values[index];
+	}
+	
+	/**
+	 * @param key The key to look up.
+	 * @param defaultValue The value to return if {@code key} isn't in the map.
+	 * @return The value that {@code key} maps to, or {@code defaultValue} if it isn't in the map.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key, V defaultValue) {
+		if (key == 0) {
+			return hasZeroKey ? (V) zeroValue : defaultValue;
+		}
+		int index = slot(key);
+		return index < 0 ? defaultValue : (V) values[index];
+	}
+	
+	/**
+	 * Map a key to a value, replacing any existing mapping of the key.
+	 *
+	 * @param key The key.
+	 * @param value The value.
+	 * @return The previous value of {@code key}, or null if it wasn't in the map.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if (key == 0) {
+			V previous = (V) zeroValue;
+			zeroValue = value;
+			hasZeroKey = true;
+			return previous;
+		}
+		int index = slot(key);
+		if (index >= 0) {
+			V previous = (V) values[index];
+			values[index] = value;
+			return previous;
+		}
+		insert(~index, key, value);
+		return null;
+	}
+	
+	private void insert(int index, long key, V value) {
+		keys[index] = key;
+		values[index] = value;
+		if (++size > resizeThreshold) {
+			resize(keys.length << 1);
+		}
+	}
+	
+	/**
+	 * Remove the mapping of a key.
+	 *
+	 * @param key The key.
+	 * @return The value of the removed mapping, or null if {@code key} wasn't in the map.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		if (key == 0) {
+			V previous = (V) zeroValue;
+			hasZeroKey = false;
+			zeroValue = null;
+			return previous;
+		}
+		int index = slot(key);
+		if (index < 0) {
+			return null;
+		}
+		V previous = (V) values[index];
+		size--;
+		shiftBack(index);
+		return previous;
+	}
+	
+	/**
+	 * Fill the slot at {@code index} by moving back entries of the probe sequence
+	 * that follows it, until an empty slot is reached.
+	 */
+	private void shiftBack(int index) {
+		long[] keys = this.keys;
+		Object[] values = this.values;
+		int mask = keys.length - 1;
+		for (;;) {
+			int last = index;
+			index = (index + 1) & mask;
+			long key;
+			for (;;) {
+				key = keys[index];
+				if (key == 0) {
+					keys[last] = 0;
+					values[last] = null;
+					return;
+				}
+				int ideal = hash(key) & mask;
+				// The entry may be moved to `last` unless its ideal slot lies cyclically in (last, index].
+				if (last <= index ? last >= ideal || ideal > index : last >= ideal && ideal > index) {
+					break;
+				}
+				index = (index + 1) & mask;
+			}
+			keys[last] = key;
+			values[last] = values[index];
+		}
+	}
+	
+	/**
+	 * Remove all entries. The capacity of the map is retained.
+	 */
+	public void clear() {
+		Arrays.fill(keys, 0);
+		Arrays.fill(values, null);
+		size = 0;
+		hasZeroKey = false;
+		zeroValue = null;
+	}
+	
+	private void resize(int capacity) {
+		if (keys.length == MAXIMUM_CAPACITY) {
+			throw new IllegalStateException("Map is full");
+		}
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(capacity);
+		long[] keys = this.keys;
+		Object[] values = this.values;
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			long key = oldKeys[i];
+			if (key != 0) {
+				int index = hash(key) & mask;
+				while (keys[index] != 0) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = key;
+				values[index] = oldValues[i];
+			}
+		}
+	}
+	
+	/**
+	 * @return The index of the first non-empty slot at or after {@code index},
+	 *         or the length of the arrays if there is none.
+	 */
+	private int nextSlot(int index) {
+		long[] keys = this.keys;
+		while (index < keys.length && keys[index] == 0) {
+			index++;
+		}
+		return index;
+	}
+	
+	/**
+	 * @return Iterator of the keys of the map, in no particular order.
+	 */
+	public LongIterator keys() {
+		return new LongIterator() {
+			private boolean zeroKey = hasZeroKey;
+			private int index = nextSlot(0);
+			private int left = size();
+			
+			//@Override
+			public boolean hasNext() {
+				return left > 0;
+			}
+			
+			@Override
+			public long nextLong() {
+				if (left == 0) {
+					throw new NoSuchElementException();
+				}
+				left--;
+				if (zeroKey) {
+					zeroKey = false;
+					return 0;
+				}
+				long key = keys[index];
+				index = nextSlot(index + 1);
+				return key;
+			}
+			
+			@Override
+			public void forEachRemaining(LongConsumer consumer) {
+				if (consumer == null) {
+					throw new NullPointerException("consumer");
+				}
+				if (left == 0) {
+					return;
+				}
+				left = 0;
+				if (zeroKey) {
+					zeroKey = false;
+					consumer.accept(0);
+				}
+				long[] keys = LongObjectMap.this.keys;
+				int from = index;
+				index = keys.length;
+				for (int i = from; i < keys.length; i++) {
+					if (keys[i] != 0) {
+						consumer.accept(keys[i]);
+					}
+				}
+			}
+			
+			@Override
+			public long remaining() {
+				return left;
+			}
+		};
+	}
+	
+	/**
+	 * Iterating the map as an {@link LongIterable} iterates its keys.
+	 *
+	 * @return Iterator of the keys of the map; the same as {@link #keys()}.
+	 */
+	//@Override
+	public LongIterator iterator() {
+		return keys();
+	}
+	
+	/**
+	 * Passes all keys of the map to a consumer in the order of {@link #keys()},
+	 * in a single loop over the hash table.
+	 *
+	 * @param consumer The consumer that receives the keys.
+	 */
+	//@Override
+	public void forEach(LongConsumer consumer) {
+		keys().forEachRemaining(consumer);
+	}
+	
+	/**
+	 * @return Iterator of the values of the map, in the same order as {@link #keys()}.
+	 */
+	public Iterator<V> values() {
+		return new Iterator<V>() {
+			private boolean zeroKey = hasZeroKey;
+			private int index = nextSlot(0);
+			private int left = size();
+			
+			//@Override
+			public boolean hasNext() {
+				return left > 0;
+			}
+			
+			//@Override
+			@SuppressWarnings("unchecked")
+			public V next() {
+				if (left == 0) {
+					throw new NoSuchElementException();
+				}
+				left--;
+				if (zeroKey) {
+					zeroKey = false;
+					return (V) zeroValue;
+				}
+				Object value = values[index];
+				index = nextSlot(index + 1);
+				return (V) value;
+			}
+			
+			//@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+}
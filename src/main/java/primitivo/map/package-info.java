@@ -0,0 +1,24 @@
+/**
+ * Hash maps with primitive keys.
+ * <p>
+ * The maps store their keys and values in parallel primitive arrays
+ * using open addressing, so no objects are allocated per entry:
+ * <ul>
+ *     <li>{@link primitivo.map.IntIntMap}</li>
+ *     <li>{@link primitivo.map.LongLongMap}</li>
+ *     <li>{@link primitivo.map.IntObjectMap}</li>
+ *     <li>{@link primitivo.map.LongObjectMap}</li>
+ * </ul>
+ * The keys and primitive values are exposed as the iterators of {@link primitivo.iterate}.
+ * The maps are also iterable over their keys
+ * (e.g. {@link primitivo.map.IntIntMap} is a {@link primitivo.iterate.IntIterable}),
+ * so the keys may be passed to a consumer in a single loop over the hash table.
+ * The maps with primitive values support adding to a value in place,
+ * which makes them usable as counters without
+ * {@link primitivo.mutable.MutableInt MutableInt} values.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo
+ */
+package primitivo.map;
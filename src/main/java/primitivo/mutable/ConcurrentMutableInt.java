@@ -0,0 +1,131 @@
+package primitivo.mutable;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Thread-safe mutable wrapper of a {@code int} value.
+ * Provides the same operations as {@link MutableInt},
+ * but each operation is performed atomically
+ * (using compare-and-set where no dedicated atomic instruction exists),
+ * such that instances may be shared between threads.
+ * <p>
+ * Under heavy contention from many threads that only add to the value,
+ * {@link StripedMutableLong} scales better.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.mutable
+ */
+public class ConcurrentMutableInt implements Comparable<ConcurrentMutableInt> {
+	private static final AtomicIntegerFieldUpdater<ConcurrentMutableInt> UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(ConcurrentMutableInt.class, "value");
+	
+	private volatile int value;
+	
+	public ConcurrentMutableInt(int value) {
+		set(value);
+	}
+	
+	public static ConcurrentMutableInt of(int value) {
+		return new ConcurrentMutableInt(value);
+	}
+	
+	public int get() {
+		return value;
+	}
+	
+	public void set(int value) {
+		this.value = value;
+	}
+	
+	public void add(int value) {
+		UPDATER.addAndGet(this, value);
+	}
+	
+	public void subtract(int value) {
+		UPDATER.addAndGet(this, -value);
+	}
+	
+	public void multiply(int value) {
+		int current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, current * value));
+	}
+	
+	public void divide(int value) {
+		int current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, current / value));
+	}
+	
+	public void increment() {
+		UPDATER.incrementAndGet(this);
+	}
+	
+	public void decrement() {
+		UPDATER.decrementAndGet(this);
+	}
+	
+	public void negate() {
+		int current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, ~current));
+	}
+	
+	public void and(int value) {
+		int current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, current & value));
+	}
+	
+	public void or(int value) {
+		int current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, current | value));
+	}
+	
+	public void xor(int value) {
+		int current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, current ^ value));
+	}
+	
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+		if (object == null || getClass() != object.getClass()) {
+			return false;
+		}
+		
+		ConcurrentMutableInt other = (ConcurrentMutableInt) object;
+		return value == other.value;
+	}
+	
+	@Override
+	public int hashCode() {
+		return value;
+	}
+	
+	//@Override
+	public int compareTo(ConcurrentMutableInt other) {
+		int value = this.value;
+		int otherValue = other.value;
+		if (value < otherValue) {
+			return -1;
+		}
+		return value == otherValue ? 0 : 1;
+	}
+	
+	@Override
+	public String toString() {
+		return String.valueOf(value);
+	}
+}
@@ -0,0 +1,132 @@
+package primitivo.mutable;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Thread-safe mutable wrapper of a {@code long} value.
+ * Provides the same operations as {@link MutableLong},
+ * but each operation is performed atomically
+ * (using compare-and-set where no dedicated atomic instruction exists),
+ * such that instances may be shared between threads.
+ * <p>
+ * Under heavy contention from many threads that only add to the value,
+ * {@link StripedMutableLong} scales better.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.mutable
+ */
+public class ConcurrentMutableLong implements Comparable<ConcurrentMutableLong> {
+	private static final AtomicLongFieldUpdater<ConcurrentMutableLong> UPDATER =
+			AtomicLongFieldUpdater.newUpdater(ConcurrentMutableLong.class, "value");
+	
+	private volatile long value;
+	
+	public ConcurrentMutableLong(long value) {
+		set(value);
+	}
+	
+	public static ConcurrentMutableLong of(long value) {
+		return new ConcurrentMutableLong(value);
+	}
+	
+	public long get() {
+		return value;
+	}
+	
+	public void set(long value) {
+		this.value = value;
+	}
+	
+	public void add(long value) {
+		UPDATER.addAndGet(this, value);
+	}
+	
+	public void subtract(long value) {
+		UPDATER.addAndGet(this, -value);
+	}
+	
+	public void multiply(long value) {
+		long current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, current * value));
+	}
+	
+	public void divide(long value) {
+		long current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, current / value));
+	}
+	
+	public void increment() {
+		UPDATER.incrementAndGet(this);
+	}
+	
+	public void decrement() {
+		UPDATER.decrementAndGet(this);
+	}
+	
+	public void negate() {
+		long current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, ~current));
+	}
+	
+	public void and(long value) {
+		long current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, current & value));
+	}
+	
+	public void or(long value) {
+		long current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, current | value));
+	}
+	
+	public void xor(long value) {
+		long current;
+		do {
+			current = this.value;
+		} while (!UPDATER.compareAndSet(this, current, current ^ value));
+	}
+	
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+		if (object == null || getClass() != object.getClass()) {
+			return false;
+		}
+		
+		ConcurrentMutableLong other = (ConcurrentMutableLong) object;
+		return value == other.value;
+	}
+	
+	@Override
+	public int hashCode() {
+		long value = this.value;
+		return (int) (value ^ (value >>> 32));
+	}
+	
+	//@Override
+	public int compareTo(ConcurrentMutableLong other) {
+		long value = this.value;
+		long otherValue = other.value;
+		if (value < otherValue) {
+			return -1;
+		}
+		return value == otherValue ? 0 : 1;
+	}
+	
+	@Override
+	public String toString() {
+		return String.valueOf(value);
+	}
+}
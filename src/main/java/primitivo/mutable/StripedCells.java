@@ -0,0 +1,129 @@
+package primitivo.mutable;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Base class of the striped wrappers
+ * {@link StripedMutableLong} and {@link StripedMutableDouble}.
+ * <p>
+ * The value is the sum of a base value and of a number of cells,
+ * each of which holds the bits of a {@code long} or {@code double}.
+ * Updates are first attempted on the base value using compare-and-set.
+ * Once that fails due to contention, the cells are allocated
+ * and each thread updates the cell that its probe maps to,
+ * moving to a different cell whenever it collides with another thread.
+ * <p>
+ * The cells are spaced out in a single array such that no two cells
+ * share a cache line (or an adjacent-line prefetch pair),
+ * which would cause false sharing between threads updating different cells.
+ * The number of cells is the number of available processors,
+ * rounded up to a power of two.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+abstract class StripedCells {
+	// Number of longs between consecutive cells (128 bytes).
+	private static final int PADDING = 16;
+	
+	private static final int CELL_COUNT = cellCount(Runtime.getRuntime().availableProcessors());
+	
+	private static final AtomicLongFieldUpdater<StripedCells> BASE_UPDATER =
+			AtomicLongFieldUpdater.newUpdater(StripedCells.class, "base");
+	
+	private static final AtomicReferenceFieldUpdater<StripedCells, AtomicLongArray> CELLS_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(StripedCells.class, AtomicLongArray.class, "cells");
+	
+	// Per-thread hash used to select a cell. Is rehashed when the selected cell is contended.
+	private static final ThreadLocal<int[]> PROBE = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			int probe = (int) Thread.currentThread().getId() * 0x9E3779B9;
+			return new int[]{probe == 0 ? 1 : probe};
+		}
+	};
+	
+	private volatile long base;
+	private volatile AtomicLongArray cells;
+	
+	StripedCells(long base) {
+		this.base = base;
+	}
+	
+	private static int cellCount(int processors) {
+		int count = 1;
+		while (count < processors) {
+			count <<= 1;
+		}
+		return count;
+	}
+	
+	/**
+	 * Combine the current bits of the base value or a cell with an operand.
+	 */
+	abstract long combine(long bits, long operand);
+	
+	final void update(long operand) {
+		AtomicLongArray cells = this.cells;
+		if (cells == null) {
+			long bits = base;
+			if (BASE_UPDATER.compareAndSet(this, bits, combine(bits, operand))) {
+				return;
+			}
+			cells = allocateCells();
+		}
+		int[] probe = PROBE.get();
+		int hash = probe[0];
+		for (;;) {
+			int offset = (hash & (CELL_COUNT - 1)) * PADDING;
+			long bits = cells.get(offset);
+			if (cells.compareAndSet(offset, bits, combine(bits, operand))) {
+				return;
+			}
+			// Contended: Move to another cell (xorshift).
+			hash ^= hash << 13;
+			hash ^= hash >>> 17;
+			hash ^= hash << 5;
+			probe[0] = hash;
+		}
+	}
+	
+	private AtomicLongArray allocateCells() {
+		AtomicLongArray cells = new AtomicLongArray(CELL_COUNT * PADDING);
+		if (CELLS_UPDATER.compareAndSet(this, null, cells)) {
+			return cells;
+		}
+		return this.cells;
+	}
+	
+	final long baseBits() {
+		return base;
+	}
+	
+	/**
+	 * @return The number of cells that {@link #cellBits(int)} may be called with,
+	 *         which is 0 until the first contended update.
+	 */
+	final int cellCount() {
+		return cells == null ? 0 : CELL_COUNT;
+	}
+	
+	final long cellBits(int index) {
+		return cells.get(index * PADDING);
+	}
+	
+	/**
+	 * Set the base value and clear all cells.
+	 * Concurrent updates may be lost.
+	 */
+	final void reset(long baseBits) {
+		AtomicLongArray cells = this.cells;
+		if (cells != null) {
+			for (int i = 0; i < CELL_COUNT; i++) {
+				cells.set(i * PADDING, 0);
+			}
+		}
+		base = baseBits;
+	}
+}
@@ -0,0 +1,62 @@
+package primitivo.mutable;
+
+/**
+ * Thread-safe mutable {@code double} accumulator for heavily contended sums.
+ * <p>
+ * The double counterpart of {@link StripedMutableLong}:
+ * Additions from different threads are spread over a number of cache-line-padded cells
+ * and {@link #get()} returns the sum of all cells.
+ * As floating-point addition is not associative, the result may differ
+ * (in the least significant bits) depending on how the additions were distributed.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.mutable
+ */
+public class StripedMutableDouble extends StripedCells {
+	
+	public StripedMutableDouble(double value) {
+		super(Double.doubleToRawLongBits(value));
+	}
+	
+	public static StripedMutableDouble of(double value) {
+		return new StripedMutableDouble(value);
+	}
+	
+	@Override
+	long combine(long bits, long operand) {
+		return Double.doubleToRawLongBits(Double.longBitsToDouble(bits) + Double.longBitsToDouble(operand));
+	}
+	
+	public double get() {
+		double sum = Double.longBitsToDouble(baseBits());
+		for (int i = 0, count = cellCount(); i < count; i++) {
+			sum += Double.longBitsToDouble(cellBits(i));
+		}
+		return sum;
+	}
+	
+	/**
+	 * Set the value.
+	 * Additions that happen concurrently with this call may be lost,
+	 * so it should only be called when the accumulator isn't being updated.
+	 *
+	 * @param value The new value.
+	 */
+	public void set(double value) {
+		reset(Double.doubleToRawLongBits(value));
+	}
+	
+	public void add(double value) {
+		update(Double.doubleToRawLongBits(value));
+	}
+	
+	public void subtract(double value) {
+		update(Double.doubleToRawLongBits(-value));
+	}
+	
+	@Override
+	public String toString() {
+		return String.valueOf(get());
+	}
+}
@@ -0,0 +1,77 @@
+package primitivo.mutable;
+
+/**
+ * Thread-safe mutable {@code long} accumulator for heavily contended counters.
+ * <p>
+ * Unlike {@link ConcurrentMutableLong}, additions from different threads
+ * are spread over a number of cache-line-padded cells,
+ * such that the threads rarely compete for the same memory location.
+ * The value returned by {@link #get()} is the sum of all cells.
+ * This makes {@link #add(long)} scale with the number of cores
+ * at the cost of {@link #get()} being slower
+ * and not being an atomic snapshot if additions happen concurrently.
+ * <p>
+ * Only additive operations are supported.
+ * As the value is not stable under concurrent updates,
+ * the class doesn't implement {@link Comparable} or value-based
+ * {@link Object#equals(Object) equals}.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.mutable
+ */
+public class StripedMutableLong extends StripedCells {
+	
+	public StripedMutableLong(long value) {
+		super(value);
+	}
+	
+	public static StripedMutableLong of(long value) {
+		return new StripedMutableLong(value);
+	}
+	
+	@Override
+	long combine(long bits, long operand) {
+		return bits + operand;
+	}
+	
+	public long get() {
+		long sum = baseBits();
+		for (int i = 0, count = cellCount(); i < count; i++) {
+			sum += cellBits(i);
+		}
+		return sum;
+	}
+	
+	/**
+	 * Set the value.
+	 * Additions that happen concurrently with this call may be lost,
+	 * so it should only be called when the accumulator isn't being updated.
+	 *
+	 * @param value The new value.
+	 */
+	public void set(long value) {
+		reset(value);
+	}
+	
+	public void add(long value) {
+		update(value);
+	}
+	
+	public void subtract(long value) {
+		update(-value);
+	}
+	
+	public void increment() {
+		update(1);
+	}
+	
+	public void decrement() {
+		update(-1);
+	}
+	
+	@Override
+	public String toString() {
+		return String.valueOf(get());
+	}
+}
@@ -28,6 +28,21 @@
  * {@code valueOf} function on {@link java.lang.String}.
  *
  * <p>
+ * The classes are not thread-safe.
+ * For values that are shared between threads, the following classes exist:
+ * <ul>
+ *     <li>{@link primitivo.mutable.ConcurrentMutableInt} and
+ *     {@link primitivo.mutable.ConcurrentMutableLong}
+ *     provide the same operations as their non-concurrent counterparts,
+ *     but perform them atomically.</li>
+ *     <li>{@link primitivo.mutable.StripedMutableLong} and
+ *     {@link primitivo.mutable.StripedMutableDouble}
+ *     are accumulators that only support additive operations,
+ *     but scale with the number of threads
+ *     by spreading contended additions over multiple memory locations.</li>
+ * </ul>
+ *
+ * <p>
  * The classes are intended to be used in place of plain variables
  * or built-in boxed types in the following use cases:
  * <ul>
@@ -8,6 +8,10 @@
  * utilities for working with
  * {@link primitivo.array arrays},
  * {@link primitivo.iterate iterators},
+ * {@link primitivo.function functions},
+ * {@link primitivo.map maps},
+ * {@link primitivo.set sets},
+ * {@link primitivo.queue queues},
  * and {@link primitivo.mutable mutable wrappers}
  * with both primitive and-nonprimitive types.
  * <p>
@@ -35,7 +39,11 @@
  * @author Michael Bisgaard Olesen
  *
  * @see primitivo.array
+ * @see primitivo.function
  * @see primitivo.iterate
+ * @see primitivo.map
  * @see primitivo.mutable
+ * @see primitivo.queue
+ * @see primitivo.set
  */
 package primitivo;
@@ -0,0 +1,430 @@
+package primitivo.queue;
+
+import primitivo.iterate.IntIterator;
+import primitivo.iterate.DoubleIterator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Priority queue of {@code double} keys with optional {@code int} payloads,
+ * in which the smallest key has the highest priority.
+ * Provides an unboxed alternative to {@link java.util.PriorityQueue PriorityQueue&lt;Double&gt;}.
+ * NaN keys are not allowed.
+ * <p>
+ * The queue is a d-ary heap stored in primitive arrays:
+ * Keys and payloads are stored in parallel arrays,
+ * and the children of the element at index {@code i} are at indices
+ * {@code d * i + 1}, ..., {@code d * i + d}.
+ * A larger arity {@code d} makes the heap shallower,
+ * which speeds up insertions and improves the cache locality of removals.
+ * <p>
+ * An <em>indexed</em> heap additionally maps each payload to its position in the heap.
+ * The payloads of an indexed heap must be distinct non-negative integers (e.g. the indices of tasks),
+ * and the key of a payload may be decreased in logarithmic time using {@link #decreaseKey(int, double)}.
+ * <p>
+ * The class is not thread-safe.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.queue
+ */
+public class DoubleHeap {
+	/**
+	 * The arity of heaps constructed by {@link #DoubleHeap()}.
+	 */
+	public static final int DEFAULT_ARITY = 4;
+	
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	private final int arity;
+	private double[] keys;
+	// Null until the first payload is added.
+	private int[] payloads;
+	// The heap index of each payload or -1. Null unless the heap is indexed.
+	private int[] positions;
+	private int size;
+	
+	/**
+	 * Construct an empty non-indexed heap with the default arity.
+	 */
+	public DoubleHeap() {
+		this(DEFAULT_ARITY, DEFAULT_CAPACITY, false);
+	}
+	
+	/**
+	 * Construct an empty heap.
+	 *
+	 * @param arity The maximum number of children of each element.
+	 * @param initialCapacity The number of elements that may be added before the heap grows.
+	 * @param indexed Whether the heap maps payloads to positions to support {@link #decreaseKey(int, double)}.
+	 * @throws IllegalArgumentException If {@code arity < 2} or {@code initialCapacity} is negative.
+	 */
+	public DoubleHeap(int arity, int initialCapacity, boolean indexed) {
+		if (arity < 2) {
+			throw new IllegalArgumentException("Arity less than 2");
+		}
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Negative initial capacity");
+		}
+		this.arity = arity;
+		this.keys = new double[initialCapacity];
+		if (indexed) {
+			this.payloads = new int[initialCapacity];
+			this.positions = new int[0];
+		}
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Remove all elements from the heap.
+	 */
+	public void clear() {
+		if (positions != null) {
+			for (int i = 0; i < size; i++) {
+				positions[payloads[i]] = -1;
+			}
+		}
+		size = 0;
+	}
+	
+	private void ensureCapacity(int capacity) {
+		if (capacity > keys.length) {
+			int length = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacity, 2L * keys.length));
+			double[] keys = new double[length];
+			System.arraycopy(this.keys, 0, keys, 0, size);
+			this.keys = keys;
+			if (payloads != null) {
+				int[] payloads = new int[length];
+				System.arraycopy(this.payloads, 0, payloads, 0, size);
+				this.payloads = payloads;
+			}
+		}
+	}
+	
+	private void ensurePayloads() {
+		if (payloads == null) {
+			payloads = new int[keys.length];
+		}
+	}
+	
+	// Registers a new payload of an indexed heap.
+	private void register(int payload) {
+		if (payload < 0) {
+			throw new IllegalArgumentException("Negative payload in indexed heap");
+		}
+		if (payload >= positions.length) {
+			int[] positions = new int[Math.max(payload + 1, 2 * this.positions.length)];
+			System.arraycopy(this.positions, 0, positions, 0, this.positions.length);
+			Arrays.fill(positions, this.positions.length, positions.length, -1);
+			this.positions = positions;
+		} else if (positions[payload] >= 0) {
+			throw new IllegalArgumentException("Duplicate payload " + payload + " in indexed heap");
+		}
+	}
+	
+	/**
+	 * Add a key without a payload (i.e. with payload 0) to a non-indexed heap.
+	 *
+	 * @param key The key to add.
+	 * @throws IllegalStateException If the heap is indexed.
+	 */
+	public void add(double key) {
+		if (positions != null) {
+			throw new IllegalStateException("Indexed heap requires payloads");
+		}
+		if (key != key) {
+			throw new IllegalArgumentException("NaN key");
+		}
+		ensureCapacity(size + 1);
+		siftUp(size++, key, 0);
+	}
+	
+	/**
+	 * Add a key with a payload.
+	 *
+	 * @param key The key to add.
+	 * @param payload The payload associated with the key.
+	 * @throws IllegalArgumentException If the heap is indexed and the payload is negative or already in the heap.
+	 */
+	public void add(double key, int payload) {
+		if (key != key) {
+			throw new IllegalArgumentException("NaN key");
+		}
+		if (positions != null) {
+			register(payload);
+		}
+		ensurePayloads();
+		ensureCapacity(size + 1);
+		siftUp(size++, key, payload);
+	}
+	
+	/**
+	 * Add multiple keys without payloads to a non-indexed heap.
+	 * If many keys are added relative to the size of the heap,
+	 * the heap is rebuilt bottom-up in linear time
+	 * instead of adding the keys one at a time.
+	 *
+	 * @param keys The keys to add.
+	 * @throws IllegalStateException If the heap is indexed.
+	 */
+	public void heapify(double[] keys) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		heapify(keys, null);
+	}
+	
+	/**
+	 * Add multiple keys with payloads.
+	 *
+	 * @param keys The keys to add.
+	 * @param payloads The payloads of the keys, or null to add the keys without payloads.
+	 * @throws IllegalStateException If {@code payloads} is null and the heap is indexed.
+	 * @throws IllegalArgumentException If the arrays differ in length,
+	 *                                  or the heap is indexed and the payloads are not distinct non-negative values.
+	 * @see #heapify(double[])
+	 */
+	public void heapify(double[] keys, int[] payloads) {
+		if (keys == null) {
+			throw new NullPointerException("keys");
+		}
+		if (payloads == null) {
+			if (positions != null) {
+				throw new IllegalStateException("Indexed heap requires payloads");
+			}
+		} else {
+			if (payloads.length != keys.length) {
+				throw new IllegalArgumentException("Payloads length " + payloads.length + " differs from keys length " + keys.length);
+			}
+			ensurePayloads();
+		}
+		int count = keys.length;
+		ensureCapacity(size + count);
+		int start = size;
+		for (double key : keys) {
+			if (key != key) {
+				throw new IllegalArgumentException("NaN key");
+			}
+		}
+		if (positions != null) {
+			for (int i = 0; i < count; i++) {
+				try {
+					register(payloads[i]);
+				} catch (IllegalArgumentException e) {
+					for (int j = 0; j < i; j++) {
+						positions[payloads[j]] = -1;
+					}
+					throw e;
+				}
+				positions[payloads[i]] = start + i;
+			}
+		}
+		System.arraycopy(keys, 0, this.keys, start, count);
+		if (payloads != null) {
+			System.arraycopy(payloads, 0, this.payloads, start, count);
+		} else if (this.payloads != null) {
+			Arrays.fill(this.payloads, start, start + count, 0);
+		}
+		size += count;
+		if (count <= start / arity) {
+			for (int i = start; i < size; i++) {
+				siftUp(i, this.keys[i], payloadAt(i));
+			}
+		} else {
+			for (int i = (size - 2) / arity; i >= 0; i--) {
+				siftDown(i, this.keys[i], payloadAt(i));
+			}
+		}
+	}
+	
+	private int payloadAt(int index) {
+		return payloads == null ? 0 : payloads[index];
+	}
+	
+	// Stores an element at a heap index.
+	private void set(int index, double key, int payload) {
+		keys[index] = key;
+		if (payloads != null) {
+			payloads[index] = payload;
+			if (positions != null) {
+				positions[payload] = index;
+			}
+		}
+	}
+	
+	private void siftUp(int index, double key, int payload) {
+		while (index > 0) {
+			int parent = (index - 1) / arity;
+			double parentKey = keys[parent];
+			if (parentKey <= key) {
+				break;
+			}
+			set(index, parentKey, payloadAt(parent));
+			index = parent;
+		}
+		set(index, key, payload);
+	}
+	
+	private void siftDown(int index, double key, int payload) {
+		while (true) {
+			int first = arity * index + 1;
+			if (first >= size || first < 0) {
+				break;
+			}
+			int end = Math.min(first + arity, size);
+			int min = first;
+			double minKey = keys[first];
+			for (int child = first + 1; child < end; child++) {
+				if (keys[child] < minKey) {
+					min = child;
+					minKey = keys[child];
+				}
+			}
+			if (minKey >= key) {
+				break;
+			}
+			set(index, minKey, payloadAt(min));
+			index = min;
+		}
+		set(index, key, payload);
+	}
+	
+	private void checkNotEmpty() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+	}
+	
+	/**
+	 * @return The smallest key of the heap.
+	 * @throws NoSuchElementException If the heap is empty.
+	 */
+	public double peek() {
+		checkNotEmpty();
+		return keys[0];
+	}
+	
+	/**
+	 * @return The payload of the smallest key of the heap (or 0 if it has no payload).
+	 * @throws NoSuchElementException If the heap is empty.
+	 */
+	public int peekPayload() {
+		checkNotEmpty();
+		return payloadAt(0);
+	}
+	
+	/**
+	 * Remove the smallest key from the heap.
+	 * Its payload should be obtained using {@link #peekPayload()} before calling this method.
+	 *
+	 * @return The removed key.
+	 * @throws NoSuchElementException If the heap is empty.
+	 */
+	public double poll() {
+		checkNotEmpty();
+		double result = keys[0];
+		if (positions != null) {
+			positions[payloads[0]] = -1;
+		}
+		int last = --size;
+		if (last > 0) {
+			siftDown(0, keys[last], payloadAt(last));
+		}
+		return result;
+	}
+	
+	/**
+	 * @param payload A payload.
+	 * @return Whether the payload is in this indexed heap.
+	 * @throws IllegalStateException If the heap is not indexed.
+	 */
+	public boolean contains(int payload) {
+		if (positions == null) {
+			throw new IllegalStateException("Heap is not indexed");
+		}
+		return payload >= 0 && payload < positions.length && positions[payload] >= 0;
+	}
+	
+	/**
+	 * Decrease the key of a payload in an indexed heap.
+	 *
+	 * @param payload The payload whose key to decrease.
+	 * @param key The new key. It must not be greater than the current key.
+	 * @throws IllegalStateException If the heap is not indexed.
+	 * @throws IllegalArgumentException If the payload is not in the heap
+	 *                                  or the key is greater than its current key.
+	 */
+	public void decreaseKey(int payload, double key) {
+		if (!contains(payload)) {
+			throw new IllegalArgumentException("Payload " + payload + " not in heap");
+		}
+		if (key != key) {
+			throw new IllegalArgumentException("NaN key");
+		}
+		int index = positions[payload];
+		if (key > keys[index]) {
+			throw new IllegalArgumentException("Key " + key + " greater than current key " + keys[index]);
+		}
+		siftUp(index, key, payload);
+	}
+	
+	/**
+	 * Returns an iterator that removes the keys from the heap in priority order.
+	 * Each key is removed from the heap as it's returned by the iterator.
+	 *
+	 * @return Iterator of the keys in ascending order.
+	 */
+	public DoubleIterator drain() {
+		return new DoubleIterator() {
+			//@Override
+			public boolean hasNext() {
+				return size > 0;
+			}
+			
+			@Override
+			public double nextDouble() {
+				return poll();
+			}
+			
+			@Override
+			public long remaining() {
+				return size;
+			}
+		};
+	}
+	
+	/**
+	 * Returns an iterator that removes the elements from the heap in priority order
+	 * and returns their payloads.
+	 *
+	 * @return Iterator of the payloads in ascending order of their keys.
+	 */
+	public IntIterator drainPayloads() {
+		return new IntIterator() {
+			//@Override
+			public boolean hasNext() {
+				return size > 0;
+			}
+			
+			@Override
+			public int nextInt() {
+				int payload = peekPayload();
+				poll();
+				return payload;
+			}
+			
+			@Override
+			public long remaining() {
+				return size;
+			}
+		};
+	}
+}
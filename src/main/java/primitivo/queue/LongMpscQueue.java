@@ -0,0 +1,215 @@
+package primitivo.queue;
+
+import primitivo.array.LongArrayBuilder;
+import primitivo.iterate.LongIterator;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of {@code long} values for handing off values
+ * from any number of producer threads to a single consumer thread.
+ * Provides an unboxed alternative to {@link java.util.concurrent.ArrayBlockingQueue ArrayBlockingQueue&lt;Long&gt;}.
+ * <p>
+ * The values are stored in a ring buffer whose capacity is a power of two.
+ * Producers claim slots by advancing the shared tail sequence with compare-and-set
+ * and then publish each slot individually through a per-slot sequence,
+ * such that a slow producer only delays the consumer from reading past its own slots.
+ * A batch offer claims all of its slots with a single compare-and-set.
+ * <p>
+ * The producer methods ({@link #offer(long)} and {@link #offer(long[], int, int)})
+ * may be called from any thread, but at most one thread may call the consumer methods
+ * ({@link #poll()}, the {@code drain} methods, {@link #isEmpty()}, and the methods of {@link #iterator()}).
+ * Neither side blocks: Producers are told when the queue is full and the consumer when it's empty.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.queue
+ * @see LongSpscQueue
+ */
+public class LongMpscQueue extends MpscSequences {
+	private final long[] buffer;
+	// The sequence of the value in each slot plus one once it's published,
+	// or the sequence of the next value to be written to the slot when it's free.
+	private final AtomicLongArray sequences;
+	
+	/**
+	 * @param capacity The minimum capacity of the queue. It's rounded up to a power of two.
+	 * @throws IllegalArgumentException If {@code capacity} is not positive or greater than {@code 2^30}.
+	 */
+	public LongMpscQueue(int capacity) {
+		super(capacity);
+		this.buffer = new long[this.capacity];
+		this.sequences = new AtomicLongArray(this.capacity);
+		for (int i = 0; i < this.capacity; i++) {
+			sequences.set(i, i);
+		}
+	}
+	
+	/**
+	 * Add a value to the tail of the queue if it isn't full.
+	 *
+	 * @param value The value to add.
+	 * @return Whether the value was added.
+	 */
+	public boolean offer(long value) {
+		while (true) {
+			long tail = this.tail;
+			int index = (int) tail & mask;
+			long sequence = sequences.get(index);
+			if (sequence == tail) {
+				if (casTail(tail, tail + 1)) {
+					buffer[index] = value;
+					sequences.set(index, tail + 1);
+					return true;
+				}
+			} else if (sequence < tail) {
+				// The slot still holds the value from the previous lap.
+				return false;
+			}
+		}
+	}
+	
+	/**
+	 * Add as many values from an array as there is room for.
+	 * The values are added consecutively, i.e. not interleaved with the values of other producers.
+	 *
+	 * @param values The array of values to add.
+	 * @param offset The index of the first value to add.
+	 * @param length The number of values to add.
+	 * @return The number of values added; that's the values at {@code offset}, ..., {@code offset + result - 1}.
+	 */
+	public int offer(long[] values, int offset, int length) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		RingBuffers.checkBounds(values.length, offset, length);
+		while (true) {
+			long tail = this.tail;
+			// All slots before head + capacity are free because the consumer frees slots in order.
+			long free = head + capacity - tail;
+			int count = (int) Math.min(free, length);
+			if (count <= 0) {
+				return 0;
+			}
+			if (casTail(tail, tail + count)) {
+				for (int i = 0; i < count; i++) {
+					int index = (int) (tail + i) & mask;
+					buffer[index] = values[offset + i];
+					sequences.set(index, tail + i + 1);
+				}
+				return count;
+			}
+		}
+	}
+	
+	/**
+	 * Called by the consumer.
+	 *
+	 * @return Whether the value at the head of the queue has not been published yet.
+	 */
+	public boolean isEmpty() {
+		long head = this.head;
+		return sequences.get((int) head & mask) != head + 1;
+	}
+	
+	/**
+	 * Called by the consumer to remove the value at the head of the queue.
+	 *
+	 * @return The removed value.
+	 * @throws NoSuchElementException If the queue is empty.
+	 */
+	public long poll() {
+		long head = this.head;
+		int index = (int) head & mask;
+		if (sequences.get(index) != head + 1) {
+			throw new NoSuchElementException();
+		}
+		long value = buffer[index];
+		sequences.set(index, head + capacity);
+		this.head = head + 1;
+		return value;
+	}
+	
+	/**
+	 * Called by the consumer to remove as many of the published values as fit into an array.
+	 *
+	 * @param destination The array to store the values in.
+	 * @param offset The index in {@code destination} of the first value.
+	 * @param length The maximum number of values to remove.
+	 * @return The number of values removed.
+	 */
+	public int drain(long[] destination, int offset, int length) {
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		RingBuffers.checkBounds(destination.length, offset, length);
+		long head = this.head;
+		int count = 0;
+		while (count < length) {
+			int index = (int) head & mask;
+			if (sequences.get(index) != head + 1) {
+				break;
+			}
+			destination[offset + count++] = buffer[index];
+			sequences.set(index, head + capacity);
+			head++;
+		}
+		this.head = head;
+		return count;
+	}
+	
+	/**
+	 * Called by the consumer to remove all the published values and add them to a builder.
+	 *
+	 * @param builder The builder to add the values to.
+	 * @return The number of values removed.
+	 */
+	public int drain(LongArrayBuilder builder) {
+		if (builder == null) {
+			throw new NullPointerException("builder");
+		}
+		long head = this.head;
+		int count = 0;
+		while (count < capacity) {
+			int index = (int) head & mask;
+			if (sequences.get(index) != head + 1) {
+				break;
+			}
+			builder.add(buffer[index]);
+			sequences.set(index, head + capacity);
+			head++;
+			count++;
+		}
+		this.head = head;
+		return count;
+	}
+	
+	/**
+	 * Returns a view of the consumer side of the queue as an iterator.
+	 * The iterator removes values from the queue as they are returned
+	 * and ends when the queue is (momentarily) empty;
+	 * it may be resumed when more values have been added.
+	 * The iterator may only be used by the consumer.
+	 *
+	 * @return Iterator that drains the published values.
+	 */
+	public LongIterator iterator() {
+		return new LongIterator() {
+			//@Override
+			public boolean hasNext() {
+				return !isEmpty();
+			}
+			
+			@Override
+			public long nextLong() {
+				return poll();
+			}
+			
+			@Override
+			public int nextLongs(long[] destination, int offset, int length) {
+				return drain(destination, offset, length);
+			}
+		};
+	}
+}
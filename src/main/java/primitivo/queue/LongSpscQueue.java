@@ -0,0 +1,172 @@
+package primitivo.queue;
+
+import primitivo.array.LongArrayBuilder;
+import primitivo.iterate.LongIterator;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Bounded lock-free queue of {@code long} values for handing off values
+ * from a single producer thread to a single consumer thread.
+ * Provides an unboxed alternative to {@link java.util.concurrent.ArrayBlockingQueue ArrayBlockingQueue&lt;Long&gt;}.
+ * <p>
+ * The values are stored in a ring buffer whose capacity is a power of two.
+ * The producer and consumer only synchronize through a head and a tail sequence,
+ * which are padded to separate cache lines,
+ * and each side caches the other side's sequence to read it as rarely as possible.
+ * The batch operations publish a whole batch with a single write.
+ * <p>
+ * At most one thread may call the producer methods
+ * ({@link #offer(long)} and {@link #offer(long[], int, int)}) at any time,
+ * and at most one thread may call the consumer methods
+ * ({@link #poll()}, the {@code drain} methods, {@link #isEmpty()}, and the methods of {@link #iterator()}).
+ * Neither side blocks: The producer is told when the queue is full and the consumer when it's empty.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.queue
+ */
+public class LongSpscQueue extends SpscSequences {
+	private final long[] buffer;
+	
+	/**
+	 * @param capacity The minimum capacity of the queue. It's rounded up to a power of two.
+	 * @throws IllegalArgumentException If {@code capacity} is not positive or greater than {@code 2^30}.
+	 */
+	public LongSpscQueue(int capacity) {
+		super(capacity);
+		this.buffer = new long[this.capacity];
+	}
+	
+	/**
+	 * Called by the producer to add a value to the tail of the queue if it isn't full.
+	 *
+	 * @param value The value to add.
+	 * @return Whether the value was added.
+	 */
+	public boolean offer(long value) {
+		if (claimable(1) == 0) {
+			return false;
+		}
+		long tail = this.tail;
+		buffer[(int) tail & mask] = value;
+		this.tail = tail + 1;
+		return true;
+	}
+	
+	/**
+	 * Called by the producer to add as many values from an array as there is room for.
+	 *
+	 * @param values The array of values to add.
+	 * @param offset The index of the first value to add.
+	 * @param length The number of values to add.
+	 * @return The number of values added; that's the values at {@code offset}, ..., {@code offset + result - 1}.
+	 */
+	public int offer(long[] values, int offset, int length) {
+		if (values == null) {
+			throw new NullPointerException("values");
+		}
+		RingBuffers.checkBounds(values.length, offset, length);
+		int count = claimable(length);
+		if (count > 0) {
+			long tail = this.tail;
+			int index = (int) tail & mask;
+			int first = Math.min(count, capacity - index);
+			System.arraycopy(values, offset, buffer, index, first);
+			System.arraycopy(values, offset + first, buffer, 0, count - first);
+			this.tail = tail + count;
+		}
+		return count;
+	}
+	
+	/**
+	 * Called by the consumer to remove the value at the head of the queue.
+	 *
+	 * @return The removed value.
+	 * @throws NoSuchElementException If the queue is empty.
+	 */
+	public long poll() {
+		if (available(1) == 0) {
+			throw new NoSuchElementException();
+		}
+		long head = this.head;
+		long value = buffer[(int) head & mask];
+		this.head = head + 1;
+		return value;
+	}
+	
+	/**
+	 * Called by the consumer to remove as many of the available values as fit into an array.
+	 *
+	 * @param destination The array to store the values in.
+	 * @param offset The index in {@code destination} of the first value.
+	 * @param length The maximum number of values to remove.
+	 * @return The number of values removed.
+	 */
+	public int drain(long[] destination, int offset, int length) {
+		if (destination == null) {
+			throw new NullPointerException("destination");
+		}
+		RingBuffers.checkBounds(destination.length, offset, length);
+		int count = available(length);
+		if (count > 0) {
+			long head = this.head;
+			int index = (int) head & mask;
+			int first = Math.min(count, capacity - index);
+			System.arraycopy(buffer, index, destination, offset, first);
+			System.arraycopy(buffer, 0, destination, offset + first, count - first);
+			this.head = head + count;
+		}
+		return count;
+	}
+	
+	/**
+	 * Called by the consumer to remove all the available values and add them to a builder.
+	 *
+	 * @param builder The builder to add the values to.
+	 * @return The number of values removed.
+	 */
+	public int drain(LongArrayBuilder builder) {
+		if (builder == null) {
+			throw new NullPointerException("builder");
+		}
+		int count = available(capacity);
+		if (count > 0) {
+			long head = this.head;
+			int index = (int) head & mask;
+			int first = Math.min(count, capacity - index);
+			builder.addAll(LongIterator.of(buffer, index, index + first));
+			builder.addAll(LongIterator.of(buffer, 0, count - first));
+			this.head = head + count;
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns a view of the consumer side of the queue as an iterator.
+	 * The iterator removes values from the queue as they are returned
+	 * and ends when the queue is (momentarily) empty;
+	 * it may be resumed when more values have been added.
+	 * The iterator may only be used by the consumer.
+	 *
+	 * @return Iterator that drains the available values.
+	 */
+	public LongIterator iterator() {
+		return new LongIterator() {
+			//@Override
+			public boolean hasNext() {
+				return !isEmpty();
+			}
+			
+			@Override
+			public long nextLong() {
+				return poll();
+			}
+			
+			@Override
+			public int nextLongs(long[] destination, int offset, int length) {
+				return drain(destination, offset, length);
+			}
+		};
+	}
+}
@@ -0,0 +1,63 @@
+package primitivo.queue;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * The head and tail sequences of a multi-producer single-consumer ring buffer,
+ * each on its own cache line.
+ *
+ * @author Michael Bisgaard Olesen
+ * @see SpscSequences
+ */
+abstract class MpscSequences extends MpscConsumerSequence {
+	long p20, p21, p22, p23, p24, p25, p26, p27;
+	
+	final int capacity;
+	final int mask;
+	
+	MpscSequences(int capacity) {
+		this.capacity = RingBuffers.capacity(capacity);
+		this.mask = this.capacity - 1;
+	}
+	
+	/**
+	 * @return The number of values in the queue. The result is only a snapshot if the queue is in use.
+	 */
+	public int size() {
+		long head = this.head;
+		long size = tail - head;
+		return (int) Math.max(0, Math.min(capacity, size));
+	}
+	
+	/**
+	 * @return The maximum number of values in the queue.
+	 */
+	public int capacity() {
+		return capacity;
+	}
+}
+
+abstract class MpscPadding {
+	long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class MpscProducerSequence extends MpscPadding {
+	private static final AtomicLongFieldUpdater<MpscProducerSequence> TAIL =
+			AtomicLongFieldUpdater.newUpdater(MpscProducerSequence.class, "tail");
+	
+	// The sequence of the next slot to be claimed by a producer.
+	volatile long tail;
+	
+	final boolean casTail(long expect, long update) {
+		return TAIL.compareAndSet(this, expect, update);
+	}
+}
+
+abstract class MpscProducerPadding extends MpscProducerSequence {
+	long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class MpscConsumerSequence extends MpscProducerPadding {
+	// The sequence of the next slot to be read.
+	volatile long head;
+}
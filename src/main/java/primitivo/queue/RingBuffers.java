@@ -0,0 +1,32 @@
+package primitivo.queue;
+
+/**
+ * Package-private helper functions for the ring buffer queues.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+class RingBuffers {
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+	
+	private RingBuffers() {
+	}
+	
+	/**
+	 * @return The smallest power of two that is at least {@code capacity}.
+	 */
+	static int capacity(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Non-positive capacity");
+		}
+		if (capacity > MAXIMUM_CAPACITY) {
+			throw new IllegalArgumentException("Capacity too large");
+		}
+		return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+	}
+	
+	static void checkBounds(int arrayLength, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > arrayLength - length) {
+			throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array length " + arrayLength);
+		}
+	}
+}
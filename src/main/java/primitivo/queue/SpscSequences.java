@@ -0,0 +1,100 @@
+package primitivo.queue;
+
+/**
+ * The head and tail sequences of a single-producer single-consumer ring buffer.
+ * <p>
+ * Each sequence is kept on its own cache line, together with the producer's (consumer's) cached copy
+ * of the other sequence, such that the producer and consumer don't invalidate each other's cache lines
+ * except when the cached copy needs to be refreshed.
+ * The padding is spread over a class hierarchy because the JVM may reorder the fields of a single class.
+ *
+ * @author Michael Bisgaard Olesen
+ */
+abstract class SpscSequences extends SpscConsumerSequence {
+	long p20, p21, p22, p23, p24, p25, p26, p27;
+	
+	final int capacity;
+	final int mask;
+	
+	SpscSequences(int capacity) {
+		this.capacity = RingBuffers.capacity(capacity);
+		this.mask = this.capacity - 1;
+	}
+	
+	/**
+	 * Called by the producer.
+	 *
+	 * @return The number of slots (up to {@code count}) that may be written after the tail.
+	 */
+	final int claimable(int count) {
+		long tail = this.tail;
+		long free = capacity - (tail - cachedHead);
+		if (free < count) {
+			cachedHead = head;
+			free = capacity - (tail - cachedHead);
+		}
+		return (int) Math.min(free, count);
+	}
+	
+	/**
+	 * Called by the consumer.
+	 *
+	 * @return The number of slots (up to {@code count}) that may be read from the head.
+	 */
+	final int available(int count) {
+		long head = this.head;
+		long available = cachedTail - head;
+		if (available < count) {
+			cachedTail = tail;
+			available = cachedTail - head;
+		}
+		return (int) Math.min(available, count);
+	}
+	
+	/**
+	 * @return The number of values in the queue. The result is only a snapshot if the queue is in use.
+	 */
+	public int size() {
+		long head = this.head;
+		long size = tail - head;
+		return (int) Math.max(0, Math.min(capacity, size));
+	}
+	
+	/**
+	 * Called by the consumer.
+	 *
+	 * @return Whether the queue is empty.
+	 */
+	public boolean isEmpty() {
+		return available(1) == 0;
+	}
+	
+	/**
+	 * @return The maximum number of values in the queue.
+	 */
+	public int capacity() {
+		return capacity;
+	}
+}
+
+abstract class SpscPadding {
+	long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class SpscProducerSequence extends SpscPadding {
+	// The sequence of the next slot to be written.
+	volatile long tail;
+	// The producer's copy of the head.
+	long cachedHead;
+}
+
+abstract class SpscProducerPadding extends SpscProducerSequence {
+	long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class SpscConsumerSequence extends SpscProducerPadding {
+	// The sequence of the next slot to be read.
+	volatile long head;
+	// The consumer's copy of the tail.
+	long cachedTail;
+}
@@ -0,0 +1,16 @@
+/**
+ * Queues of primitive values.
+ * <p>
+ * {@link primitivo.queue.IntHeap}, {@link primitivo.queue.LongHeap}, and {@link primitivo.queue.DoubleHeap}
+ * are d-ary heaps of primitive keys with optional {@code int} payloads,
+ * which may be drained in priority order as the iterators of {@link primitivo.iterate}.
+ * <p>
+ * {@link primitivo.queue.LongSpscQueue}, {@link primitivo.queue.IntSpscQueue}, and {@link primitivo.queue.LongMpscQueue}
+ * are bounded lock-free ring buffers for handing off values between threads
+ * with batch operations and an iterator view of the consumer side.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo
+ */
+package primitivo.queue;
@@ -0,0 +1,297 @@
+package primitivo.set;
+
+import primitivo.function.IntConsumer;
+import primitivo.iterate.IntIterable;
+import primitivo.iterate.IntIterator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Dense set of non-negative {@code int} values, stored as a bitset.
+ * <p>
+ * The value {@code i} is in the set if bit {@code i % 64} of word {@code i / 64} is set.
+ * The word array grows as needed when values are added, so the memory used by the set
+ * is proportional to its largest value rather than to its size.
+ * For sparse sets of large or negative values, {@link IntHashSet} should be used instead.
+ * <p>
+ * The bulk operations {@link #and(IntBitSet)}, {@link #or(IntBitSet)}, {@link #andNot(IntBitSet)},
+ * and {@link #cardinality()} work on entire words,
+ * and {@link #iterator()} skips directly from one set bit to the next.
+ * <p>
+ * The iterator returned by {@link #iterator()} is a view of the set;
+ * the result of iterating it after the set has been modified is undefined.
+ * The class is not thread-safe.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.set
+ */
+public class IntBitSet implements IntIterable {
+	private static final int ADDRESS_BITS_PER_WORD = 6;
+	
+	private long[] words;
+	
+	/**
+	 * Construct an empty set.
+	 */
+	public IntBitSet() {
+		this(64);
+	}
+	
+	/**
+	 * Construct an empty set that can hold the values below a bound without growing.
+	 *
+	 * @param expectedBound The expected upper bound (exclusive) of the values in the set.
+	 * @throws IllegalArgumentException If {@code expectedBound} is negative.
+	 */
+	public IntBitSet(int expectedBound) {
+		if (expectedBound < 0) {
+			throw new IllegalArgumentException("Negative expected bound");
+		}
+		// Round up in long arithmetic, which doesn't overflow for bounds close to Integer.MAX_VALUE.
+		words = new long[(int) (((long) expectedBound + 63) >>> ADDRESS_BITS_PER_WORD)];
+	}
+	
+	private static int wordIndex(int value) {
+		return value >>> ADDRESS_BITS_PER_WORD;
+	}
+	
+	private static void checkValue(int value) {
+		if (value < 0) {
+			throw new IndexOutOfBoundsException("Negative value " + value);
+		}
+	}
+	
+	private void ensureWords(int wordCount) {
+		if (words.length < wordCount) {
+			long[] grown = new long[Math.max(wordCount, 2 * words.length)];
+			System.arraycopy(words, 0, grown, 0, words.length);
+			words = grown;
+		}
+	}
+	
+	public boolean contains(int value) {
+		checkValue(value);
+		int wordIndex = wordIndex(value);
+		return wordIndex < words.length && (words[wordIndex] & (1L << value)) != 0;
+	}
+	
+	/**
+	 * @param value The non-negative value to add.
+	 * @return True if the value was added; false if it was already in the set.
+	 * @throws IndexOutOfBoundsException If {@code value} is negative.
+	 */
+	public boolean add(int value) {
+		checkValue(value);
+		int wordIndex = wordIndex(value);
+		ensureWords(wordIndex + 1);
+		long word = words[wordIndex];
+		long bit = 1L << value;
+		words[wordIndex] = word | bit;
+		return (word & bit) == 0;
+	}
+	
+	/**
+	 * Consume an iterator and add all its values.
+	 *
+	 * @param iterator The non-negative values to add.
+	 * @return The number of values that were added (i.e. weren't already in the set).
+	 * @throws IndexOutOfBoundsException If a value is negative.
+	 */
+	public int addAll(IntIterator iterator) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		int count = 0;
+		while (iterator.hasNext()) {
+			if (add(iterator.nextInt())) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * @param value The value to remove.
+	 * @return True if the value was removed; false if it wasn't in the set.
+	 */
+	public boolean remove(int value) {
+		checkValue(value);
+		int wordIndex = wordIndex(value);
+		if (wordIndex >= words.length) {
+			return false;
+		}
+		long word = words[wordIndex];
+		long bit = 1L << value;
+		words[wordIndex] = word & ~bit;
+		return (word & bit) != 0;
+	}
+	
+	/**
+	 * @return The number of values in the set.
+	 */
+	public int cardinality() {
+		int count = 0;
+		for (long word : words) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+	
+	public boolean isEmpty() {
+		for (long word : words) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Remove all values. The capacity of the set is retained.
+	 */
+	public void clear() {
+		Arrays.fill(words, 0);
+	}
+	
+	/**
+	 * Retain only the values that are also in another set.
+	 *
+	 * @param other The other set.
+	 */
+	public void and(IntBitSet other) {
+		long[] words = this.words;
+		long[] otherWords = other.words;
+		int common = Math.min(words.length, otherWords.length);
+		for (int i = 0; i < common; i++) {
+			words[i] &= otherWords[i];
+		}
+		Arrays.fill(words, common, words.length, 0);
+	}
+	
+	/**
+	 * Add all values of another set.
+	 *
+	 * @param other The other set.
+	 */
+	public void or(IntBitSet other) {
+		long[] otherWords = other.words;
+		ensureWords(otherWords.length);
+		long[] words = this.words;
+		for (int i = 0; i < otherWords.length; i++) {
+			words[i] |= otherWords[i];
+		}
+	}
+	
+	/**
+	 * Remove all values that are in another set.
+	 *
+	 * @param other The other set.
+	 */
+	public void andNot(IntBitSet other) {
+		long[] words = this.words;
+		long[] otherWords = other.words;
+		int common = Math.min(words.length, otherWords.length);
+		for (int i = 0; i < common; i++) {
+			words[i] &= ~otherWords[i];
+		}
+	}
+	
+	/**
+	 * @param from The non-negative value to start searching from (inclusive).
+	 * @return The smallest value in the set that is at least {@code from},
+	 *         or -1 if there is no such value.
+	 */
+	public int nextSetBit(int from) {
+		checkValue(from);
+		long[] words = this.words;
+		int wordIndex = wordIndex(from);
+		if (wordIndex >= words.length) {
+			return -1;
+		}
+		long word = words[wordIndex] & (-1L << from);
+		for (;;) {
+			if (word != 0) {
+				return (wordIndex << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+			}
+			if (++wordIndex == words.length) {
+				return -1;
+			}
+			word = words[wordIndex];
+		}
+	}
+	
+	/**
+	 * @return Iterator of the values of the set in increasing order.
+	 */
+	//@Override
+	public IntIterator iterator() {
+		return new IntIterator() {
+			private int wordIndex = 0;
+			
+			// The bits of the current word that haven't been iterated yet.
+			private long word = words.length == 0 ? 0 : words[0];
+			
+			private int left = cardinality();
+			
+			//@Override
+			public boolean hasNext() {
+				return left > 0;
+			}
+			
+			@Override
+			public int nextInt() {
+				if (left == 0) {
+					throw new NoSuchElementException();
+				}
+				while (word == 0) {
+					word = words[++wordIndex];
+				}
+				left--;
+				int value = (wordIndex << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+				// Clear lowest set bit.
+				word &= word - 1;
+				return value;
+			}
+			
+			@Override
+			public void forEachRemaining(IntConsumer consumer) {
+				if (consumer == null) {
+					throw new NullPointerException("consumer");
+				}
+				long[] words = IntBitSet.this.words;
+				int wordIndex = this.wordIndex;
+				long word = this.word;
+				int left = this.left;
+				this.left = 0;
+				while (left > 0) {
+					while (word == 0) {
+						word = words[++wordIndex];
+					}
+					consumer.accept((wordIndex << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word));
+					word &= word - 1;
+					left--;
+				}
+				this.wordIndex = wordIndex;
+				this.word = word;
+			}
+			
+			@Override
+			public long remaining() {
+				return left;
+			}
+		};
+	}
+	
+	/**
+	 * Passes all values of the set to a consumer in the order of {@link #iterator()},
+	 * in a single loop over the words of the set.
+	 *
+	 * @param consumer The consumer that receives the values.
+	 */
+	//@Override
+	public void forEach(IntConsumer consumer) {
+		iterator().forEachRemaining(consumer);
+	}
+}
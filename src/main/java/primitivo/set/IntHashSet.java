@@ -0,0 +1,325 @@
+package primitivo.set;
+
+import primitivo.function.IntConsumer;
+import primitivo.iterate.IntIterable;
+import primitivo.iterate.IntIterator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Hash set of {@code int} values.
+ * Provides an unboxed alternative to {@link java.util.Set Set&lt;Integer&gt;}.
+ * <p>
+ * The set uses open addressing with linear probing in a single {@code int} array
+ * whose length is a power of two, in the same way as the maps of {@link primitivo.map}
+ * (e.g. {@link primitivo.map.IntIntMap}):
+ * The value 0 marks an empty slot and is therefore tracked separately,
+ * the array is doubled whenever the load factor exceeds {@value #LOAD_FACTOR},
+ * and removal shifts subsequent values of the probe sequence back.
+ * <p>
+ * The iterator returned by {@link #iterator()} is a view of the set;
+ * the result of iterating it after the set has been modified is undefined.
+ * The class is not thread-safe.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo.set
+ */
+public class IntHashSet implements IntIterable {
+	/**
+	 * The maximum ratio of values to slots.
+	 */
+	public static final float LOAD_FACTOR = 0.75f;
+	
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+	
+	private int[] values;
+	
+	// Number of values in the array; i.e. excluding zero.
+	private int size;
+	private int resizeThreshold;
+	
+	private boolean containsZero;
+	
+	/**
+	 * Construct an empty set without a reasonable guess of its eventual size.
+	 */
+	public IntHashSet() {
+		this(16);
+	}
+	
+	/**
+	 * Construct an empty set that can hold a number of values without resizing.
+	 *
+	 * @param expectedSize The expected number of values.
+	 * @throws IllegalArgumentException If {@code expectedSize} is negative.
+	 */
+	public IntHashSet(int expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Negative expected size");
+		}
+		allocate(capacity(expectedSize));
+	}
+	
+	private static int capacity(int expectedSize) {
+		long minimum = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1;
+		int capacity = 4;
+		while (capacity < minimum && capacity < MAXIMUM_CAPACITY) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+	
+	private void allocate(int capacity) {
+		values = new int[capacity];
+		resizeThreshold = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+	}
+	
+	private static int hash(int key) {
+		int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+	
+	/**
+	 * @return The index of the slot containing {@code value},
+	 *         or the bitwise complement of the index of the empty slot where it would be inserted.
+	 */
+	private int slot(int value) {
+		int[] values = this.values;
+		int mask = values.length - 1;
+		int index = hash(value) & mask;
+		for (;;) {
+			int current = values[index];
+			if (current == 0) {
+				return ~index;
+			}
+			if (current == value) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+	}
+	
+	/**
+	 * @return The number of values in the set.
+	 */
+	public int size() {
+		return containsZero ? size + 1 : size;
+	}
+	
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+	
+	public boolean contains(int value) {
+		if (value == 0) {
+			return containsZero;
+		}
+		return slot(value) >= 0;
+	}
+	
+	/**
+	 * @param value The value to add.
+	 * @return True if the value was added; false if it was already in the set.
+	 */
+	public boolean add(int value) {
+		if (value == 0) {
+			if (containsZero) {
+				return false;
+			}
+			containsZero = true;
+			return true;
+		}
+		int index = slot(value);
+		if (index >= 0) {
+			return false;
+		}
+		values[~index] = value;
+		if (++size > resizeThreshold) {
+			resize(values.length << 1);
+		}
+		return true;
+	}
+	
+	/**
+	 * Consume an iterator and add all its values.
+	 *
+	 * @param iterator The values to add.
+	 * @return The number of values that were added (i.e. weren't already in the set).
+	 */
+	public int addAll(IntIterator iterator) {
+		if (iterator == null) {
+			throw new NullPointerException("iterator");
+		}
+		int count = 0;
+		while (iterator.hasNext()) {
+			if (add(iterator.nextInt())) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * @param value The value to remove.
+	 * @return True if the value was removed; false if it wasn't in the set.
+	 */
+	public boolean remove(int value) {
+		if (value == 0) {
+			if (!containsZero) {
+				return false;
+			}
+			containsZero = false;
+			return true;
+		}
+		int index = slot(value);
+		if (index < 0) {
+			return false;
+		}
+		size--;
+		shiftBack(index);
+		return true;
+	}
+	
+	/**
+	 * Fill the slot at {@code index} by moving back values of the probe sequence
+	 * that follows it, until an empty slot is reached.
+	 */
+	private void shiftBack(int index) {
+		int[] values = this.values;
+		int mask = values.length - 1;
+		for (;;) {
+			int last = index;
+			index = (index + 1) & mask;
+			int value;
+			for (;;) {
+				value = values[index];
+				if (value == 0) {
+					values[last] = 0;
+					return;
+				}
+				int ideal = hash(value) & mask;
+				// The value may be moved to `last` unless its ideal slot lies cyclically in (last, index].
+				if (last <= index ? last >= ideal || ideal > index : last >= ideal && ideal > index) {
+					break;
+				}
+				index = (index + 1) & mask;
+			}
+			values[last] = value;
+		}
+	}
+	
+	/**
+	 * Remove all values. The capacity of the set is retained.
+	 */
+	public void clear() {
+		Arrays.fill(values, 0);
+		size = 0;
+		containsZero = false;
+	}
+	
+	private void resize(int capacity) {
+		if (values.length == MAXIMUM_CAPACITY) {
+			throw new IllegalStateException("Set is full");
+		}
+		int[] oldValues = values;
+		allocate(capacity);
+		int[] values = this.values;
+		int mask = capacity - 1;
+		for (int i = 0; i < oldValues.length; i++) {
+			int value = oldValues[i];
+			if (value != 0) {
+				int index = hash(value) & mask;
+				while (values[index] != 0) {
+					index = (index + 1) & mask;
+				}
+				values[index] = value;
+			}
+		}
+	}
+	
+	/**
+	 * @return The index of the first non-empty slot at or after {@code index},
+	 *         or the length of the array if there is none.
+	 */
+	private int nextSlot(int index) {
+		int[] values = this.values;
+		while (index < values.length && values[index] == 0) {
+			index++;
+		}
+		return index;
+	}
+	
+	/**
+	 * @return Iterator of the values of the set, in no particular order.
+	 */
+	//@Override
+	public IntIterator iterator() {
+		return new IntIterator() {
+			private boolean zero = containsZero;
+			private int index = nextSlot(0);
+			private int left = size();
+			
+			//@Override
+			public boolean hasNext() {
+				return left > 0;
+			}
+			
+			@Override
+			public int nextInt() {
+				if (left == 0) {
+					throw new NoSuchElementException();
+				}
+				left--;
+				if (zero) {
+					zero = false;
+					return 0;
+				}
+				int value = values[index];
+				index = nextSlot(index + 1);
+				return value;
+			}
+			
+			@Override
+			public void forEachRemaining(IntConsumer consumer) {
+				if (consumer == null) {
+					throw new NullPointerException("consumer");
+				}
+				if (left == 0) {
+					return;
+				}
+				left = 0;
+				if (zero) {
+					zero = false;
+					consumer.accept(0);
+				}
+				int[] values = IntHashSet.this.values;
+				int from = index;
+				index = values.length;
+				for (int i = from; i < values.length; i++) {
+					int value = values[i];
+					if (value != 0) {
+						consumer.accept(value);
+					}
+				}
+			}
+			
+			@Override
+			public long remaining() {
+				return left;
+			}
+		};
+	}
+	
+	/**
+	 * Passes all values of the set to a consumer in the order of {@link #iterator()},
+	 * in a single loop over the hash table.
+	 *
+	 * @param consumer The consumer that receives the values.
+	 */
+	//@Override
+	public void forEach(IntConsumer consumer) {
+		iterator().forEachRemaining(consumer);
+	}
+}
@@ -0,0 +1,14 @@
+/**
+ * Sets of primitive values.
+ * <p>
+ * {@link primitivo.set.IntHashSet} and {@link primitivo.set.LongHashSet}
+ * are hash sets that store their values in a primitive array using open addressing.
+ * {@link primitivo.set.IntBitSet} is a dense set of non-negative {@code int} values
+ * with bulk operations on whole words.
+ * All of them expose their values as the iterators of {@link primitivo.iterate}.
+ *
+ * @author Michael Bisgaard Olesen
+ *
+ * @see primitivo
+ */
+package primitivo.set;
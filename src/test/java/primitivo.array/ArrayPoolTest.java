@@ -0,0 +1,146 @@
+package primitivo.array;
+
+import org.junit.Test;
+import primitivo.function.IntPredicate;
+import primitivo.iterate.IntIterator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ArrayPoolTest {
+	
+	// Pool that records the arrays borrowed from and released into it.
+	private static class RecordingPool extends ArrayPool {
+		private int borrowed;
+		private final List<Object> released = new ArrayList<Object>();
+		
+		@Override
+		public Object borrow(Class<?> componentType, int minLength) {
+			borrowed++;
+			return ArrayPool.threadLocal().borrow(componentType, minLength);
+		}
+		
+		@Override
+		public void release(Object array) {
+			released.add(array);
+			ArrayPool.threadLocal().release(array);
+		}
+		
+		boolean isReleased(Object array) {
+			for (Object r : released) {
+				if (r == array) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+	
+	private static final IntPredicate ALL = new IntPredicate() {
+		//@Override
+		public boolean test(int value) {
+			return true;
+		}
+	};
+	
+	private static int[] range(int from, int to) {
+		int[] ints = new int[to - from];
+		for (int i = 0; i < ints.length; i++) {
+			ints[i] = from + i;
+		}
+		return ints;
+	}
+	
+	@Test
+	public void threadLocalSizeClasses() {
+		ArrayPool pool = ArrayPool.threadLocal();
+		int[] ints = (int[]) pool.borrow(int.class, 20);
+		assertEquals(32, ints.length);
+		pool.release(ints);
+		assertSame(ints, pool.borrow(int.class, 17));
+		assertEquals(16, ((long[]) pool.borrow(long.class, 0)).length);
+		
+		// Arrays that aren't pooled are allocated exactly.
+		assertEquals(ArrayPool.MAX_POOLED_LENGTH + 1, ((int[]) pool.borrow(int.class, ArrayPool.MAX_POOLED_LENGTH + 1)).length);
+		assertEquals(5, ((String[]) pool.borrow(String.class, 5)).length);
+	}
+	
+	@Test
+	public void conversionsDoNotReleaseResults() {
+		RecordingPool pool = new RecordingPool();
+		ArrayPool previous = ArrayPool.defaultPool();
+		ArrayPool.setDefaultPool(pool);
+		try {
+			List<int[]> results = new ArrayList<int[]>();
+			for (int length = 0; length < 300; length += 7) {
+				// Filtering hides the length from the conversion.
+				int[] ints = IntArray.of(IntIterator.range(0, length).filter(ALL));
+				assertArrayEquals(range(0, length), ints);
+				assertFalse(pool.isReleased(ints));
+				results.add(ints);
+			}
+			assertTrue(pool.released.size() > 0);
+			
+			// Results are not overwritten by later conversions that reuse the scratch arrays.
+			for (int i = 0; i < results.size(); i++) {
+				assertArrayEquals(range(0, 7 * i), results.get(i));
+			}
+		} finally {
+			ArrayPool.setDefaultPool(previous);
+		}
+	}
+	
+	@Test
+	public void exactEstimateIsAllocatedExactly() {
+		RecordingPool pool = new RecordingPool();
+		ArrayPool previous = ArrayPool.defaultPool();
+		ArrayPool.setDefaultPool(pool);
+		try {
+			// The estimate isn't a size class, so a borrowed array would have to be copied.
+			int[] ints = IntArray.of(IntIterator.range(0, 100).filter(ALL), 100);
+			assertArrayEquals(range(0, 100), ints);
+			assertEquals(0, pool.borrowed);
+			assertEquals(0, pool.released.size());
+			
+			// An underestimate borrows the arrays that grow the chain.
+			assertArrayEquals(range(0, 100), IntArray.of(IntIterator.range(0, 100).filter(ALL), 30));
+			assertTrue(pool.borrowed > 0);
+		} finally {
+			ArrayPool.setDefaultPool(previous);
+		}
+	}
+	
+	@Test
+	public void builderDoesNotReleaseBuiltArrays() {
+		RecordingPool pool = new RecordingPool();
+		ArrayPool previous = ArrayPool.defaultPool();
+		ArrayPool.setDefaultPool(pool);
+		try {
+			IntArrayBuilder builder = new IntArrayBuilder(5);
+			builder.addAll(range(0, 5));
+			int[] first = builder.toArray();
+			builder.addAll(range(5, 50));
+			int[] second = builder.toArray();
+			builder.addAll(range(50, 500));
+			int[] third = builder.toArray();
+			
+			assertFalse(pool.isReleased(first));
+			assertFalse(pool.isReleased(second));
+			assertFalse(pool.isReleased(third));
+			
+			// Reuse the released arrays.
+			new IntArrayBuilder().addAll(IntIterator.range(-500, 0)).toArray();
+			assertArrayEquals(range(0, 5), first);
+			assertArrayEquals(range(0, 50), second);
+			assertArrayEquals(range(0, 500), third);
+		} finally {
+			ArrayPool.setDefaultPool(previous);
+		}
+	}
+}
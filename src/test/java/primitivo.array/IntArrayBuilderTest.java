@@ -0,0 +1,67 @@
+package primitivo.array;
+
+import org.junit.Test;
+import primitivo.iterate.IntIterator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class IntArrayBuilderTest {
+	
+	private static int[] range(int from, int to) {
+		int[] ints = new int[to - from];
+		for (int i = 0; i < ints.length; i++) {
+			ints[i] = from + i;
+		}
+		return ints;
+	}
+	
+	@Test
+	public void add() {
+		for (int i = 0; i < 100; i++) {
+			for (int expectedLength = 0; expectedLength < 40; expectedLength++) {
+				IntArrayBuilder builder = new IntArrayBuilder(expectedLength);
+				for (int j = 0; j < i; j++) {
+					builder.add(j);
+				}
+				assertEquals(i, builder.size());
+				assertArrayEquals(range(0, i), builder.toArray());
+			}
+		}
+	}
+	
+	@Test
+	public void addAll() {
+		for (int i = 0; i < 50; i++) {
+			for (int expectedLength = 0; expectedLength < 20; expectedLength++) {
+				IntArrayBuilder builder = new IntArrayBuilder(expectedLength);
+				builder.addAll(range(0, i)).addAll(IntIterator.range(i, 2 * i)).add(2 * i);
+				assertArrayEquals(range(0, 2 * i + 1), builder.toArray());
+			}
+		}
+	}
+	
+	@Test
+	public void exactCapacityIsNotCopied() {
+		IntArrayBuilder builder = new IntArrayBuilder(3);
+		builder.add(1).add(2).add(3);
+		int[] array = builder.toArray();
+		assertSame(array, builder.toArray());
+	}
+	
+	@Test
+	public void addAfterToArray() {
+		IntArrayBuilder builder = new IntArrayBuilder(2);
+		builder.add(0).add(1).add(2);
+		int[] first = builder.toArray();
+		builder.add(3);
+		assertArrayEquals(range(0, 3), first);
+		assertArrayEquals(range(0, 4), builder.toArray());
+	}
+	
+	@Test
+	public void empty() {
+		assertSame(IntArray.EMPTY, new IntArrayBuilder().toArray());
+	}
+}
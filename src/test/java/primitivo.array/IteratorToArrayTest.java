@@ -1,16 +1,58 @@
 package primitivo.array;
 
 import org.junit.Test;
+import primitivo.function.DoublePredicate;
+import primitivo.function.IntPredicate;
+import primitivo.iterate.CharIterator;
+import primitivo.iterate.DoubleIterator;
+import primitivo.iterate.FloatIterator;
 import primitivo.iterate.IntIterator;
+import primitivo.iterate.LongIterator;
 import primitivo.iterate.ObjectIterator;
+import primitivo.iterate.ShortIterator;
 
 import java.util.Arrays;
 import java.util.Iterator;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 
 public class IteratorToArrayTest {
 	
+	private static final IntPredicate ALL_INTS = new IntPredicate() {
+		//@Override
+		public boolean test(int value) {
+			return true;
+		}
+	};
+	
+	private static final DoublePredicate ALL_DOUBLES = new DoublePredicate() {
+		//@Override
+		public boolean test(double value) {
+			return true;
+		}
+	};
+	
+	// Hides the length of sized iterators such that the conversions rely on the expected length.
+	private static <T> Iterator<T> unsized(final Iterator<T> iterator) {
+		return new Iterator<T>() {
+			//@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+			
+			//@Override
+			public T next() {
+				return iterator.next();
+			}
+			
+			//@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+	
 	@Test
 	public void ints() {
 		for (int i = 0; i < 100; i++) {
@@ -20,7 +62,7 @@ public class IteratorToArrayTest {
 			}
 			
 			for (int expectedLength = 0; expectedLength < 100; expectedLength++) {
-				IntIterator it = IntIterator.of(ints);
+				IntIterator it = IntIterator.of(ints).filter(ALL_INTS);
 				int[] array = IntArray.of(it, expectedLength);
 				assertArrayEquals(
 						String.format("array(it(%s)) = %s", Arrays.toString(ints), Arrays.toString(array)),
@@ -31,6 +73,48 @@ public class IteratorToArrayTest {
 		}
 	}
 	
+	@Test
+	public void boxedInts() {
+		for (int i = 0; i < 100; i++) {
+			Integer[] integers = new Integer[i];
+			for (int j = 0; j < i; j++) {
+				integers[j] = j;
+			}
+			int[] ints = IntArray.of(integers);
+			
+			for (int expectedLength = 0; expectedLength < 100; expectedLength++) {
+				Iterator<Integer> it = unsized(ObjectIterator.of(integers));
+				int[] array = IntArray.of(it, expectedLength);
+				assertArrayEquals(
+						String.format("array(it(%s)) = %s", Arrays.toString(integers), Arrays.toString(array)),
+						ints,
+						array
+				);
+			}
+		}
+	}
+	
+	@Test
+	public void doubles() {
+		for (int i = 0; i < 100; i++) {
+			double[] doubles = new double[i];
+			for (int j = 0; j < i; j++) {
+				doubles[j] = j / 2.0;
+			}
+			
+			for (int expectedLength = 0; expectedLength < 100; expectedLength++) {
+				DoubleIterator it = DoubleIterator.of(doubles).filter(ALL_DOUBLES);
+				double[] array = DoubleArray.of(it, expectedLength);
+				assertArrayEquals(
+						String.format("array(it(%s)) = %s", Arrays.toString(doubles), Arrays.toString(array)),
+						doubles,
+						array,
+						0
+				);
+			}
+		}
+	}
+	
 	@Test
 	public void strings() {
 		for (int i = 0; i < 100; i++) {
@@ -41,7 +125,7 @@ public class IteratorToArrayTest {
 			}
 			
 			for (int expectedLength = 0; expectedLength < 100; expectedLength++) {
-				Iterator<String> it = ObjectIterator.of(strings);
+				Iterator<String> it = unsized(ObjectIterator.of(strings));
 				String[] array = ObjectArray.of(it, String.class, expectedLength);
 				assertArrayEquals(
 						String.format("array(it(%s)) = %s", Arrays.toString(strings), Arrays.toString(array)),
@@ -51,4 +135,44 @@ public class IteratorToArrayTest {
 			}
 		}
 	}
+	
+	@Test
+	public void sizedWideningAdapters() {
+		assertEquals(3, LongIterator.of(IntIterator.of(1, 2, 3)).remaining());
+		assertEquals(5, DoubleIterator.of(FloatIterator.of(ShortIterator.range((short) 0, (short) 5))).remaining());
+		assertEquals(2, IntIterator.of(ObjectIterator.of(7, 8)).remaining());
+		assertEquals(-1, LongIterator.of(IntIterator.range(0, 10).filter(new IntPredicate() {
+			//@Override
+			public boolean test(int value) {
+				return value % 2 == 0;
+			}
+		})).remaining());
+		
+		long[] longs = LongArray.of(LongIterator.of(CharIterator.range('a', 'e')));
+		assertArrayEquals(new long[]{'a', 'b', 'c', 'd'}, longs);
+	}
+	
+	@Test
+	public void sizedIteratorWithMoreValuesThanReported() {
+		// The count is only a sizing hint for the conversion,
+		// which must not lose values if it's wrong.
+		final IntIterator source = IntIterator.range(0, 100);
+		IntIterator it = new IntIterator() {
+			//@Override
+			public boolean hasNext() {
+				return source.hasNext();
+			}
+			
+			@Override
+			public int nextInt() {
+				return source.nextInt();
+			}
+			
+			@Override
+			public long remaining() {
+				return source.remaining() / 3;
+			}
+		};
+		assertArrayEquals(IntArray.of(IntIterator.range(0, 100)), IntArray.of(it));
+	}
 }
@@ -0,0 +1,74 @@
+package primitivo.array;
+
+import org.junit.Test;
+import primitivo.iterate.LongIterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class LongBigArrayTest {
+	
+	private static final int LENGTH = 3 * LongBigArray.SEGMENT_LENGTH + 17;
+	
+	@Test
+	public void add() {
+		LongBigArray array = new LongBigArray();
+		for (int i = 0; i < LENGTH; i++) {
+			array.add(i);
+		}
+		assertEquals(LENGTH, array.length());
+		for (int i = 0; i < LENGTH; i++) {
+			assertEquals(i, array.get(i));
+		}
+		try {
+			array.get(LENGTH);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			// Expected.
+		}
+	}
+	
+	@Test
+	public void addAll() {
+		LongBigArray array = new LongBigArray(5).addAll(LongIterator.range(5, LENGTH)).add(LENGTH);
+		assertEquals(LENGTH + 1, array.length());
+		assertEquals(0, array.get(4));
+		for (int i = 5; i <= LENGTH; i++) {
+			assertEquals(i, array.get(i));
+		}
+		assertEquals(LENGTH, LongBigArray.of(LongIterator.range(0, LENGTH)).length());
+		assertEquals(0, LongBigArray.of(LongIterator.EMPTY).length());
+	}
+	
+	@Test
+	public void setAndGet() {
+		LongBigArray array = new LongBigArray(LENGTH);
+		array.set(LENGTH - 1, 42);
+		assertEquals(42, array.get(LENGTH - 1));
+		assertEquals(0, array.get(LENGTH - 2));
+	}
+	
+	@Test
+	public void iterator() {
+		LongBigArray array = LongBigArray.of(LongIterator.range(0, LENGTH));
+		int from = LongBigArray.SEGMENT_LENGTH - 3;
+		LongIterator iterator = array.iterator(from, LENGTH);
+		long[] block = new long[1000];
+		long expected = from;
+		int count;
+		while ((count = iterator.nextLongs(block, 0, block.length)) > 0) {
+			for (int i = 0; i < count; i++) {
+				assertEquals(expected++, block[i]);
+			}
+		}
+		assertEquals(LENGTH, expected);
+		assertFalse(iterator.hasNext());
+		
+		LongIterator suffix = array.iterator();
+		LongIterator prefix = suffix.trySplit();
+		assertEquals(LENGTH / 2, prefix.remaining());
+		assertEquals(LENGTH / 2 - 1, prefix.max());
+		assertEquals(LENGTH / 2, suffix.min());
+	}
+}
@@ -0,0 +1,135 @@
+package primitivo.array;
+
+import org.junit.Test;
+import primitivo.function.LongConsumer;
+import primitivo.function.LongPredicate;
+import primitivo.iterate.LongIterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class OffHeapLongArrayTest {
+	
+	private static final int LENGTH = OffHeapLongArray.CHUNK_LENGTH + 100;
+	
+	@Test
+	public void getAndSet() {
+		OffHeapLongArray array = new OffHeapLongArray(LENGTH);
+		assertEquals(LENGTH, array.length());
+		assertEquals(0, array.get(LENGTH - 1));
+		for (long i = LENGTH - 200; i < LENGTH; i++) {
+			array.set(i, -i);
+		}
+		for (long i = LENGTH - 200; i < LENGTH; i++) {
+			assertEquals(-i, array.get(i));
+		}
+		try {
+			array.get(LENGTH);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			// Expected.
+		}
+		array.close();
+	}
+	
+	@Test
+	public void ofIterator() {
+		OffHeapLongArray array = OffHeapLongArray.of(LongIterator.range(0, LENGTH));
+		assertEquals(LENGTH, array.length());
+		for (long i = 0; i < LENGTH; i += 997) {
+			assertEquals(i, array.get(i));
+		}
+		assertEquals(LENGTH - 1, array.get(LENGTH - 1));
+		
+		assertEquals(0, OffHeapLongArray.of(LongIterator.EMPTY).length());
+		array.close();
+	}
+	
+	@Test
+	public void ofUnsizedIterator() {
+		LongPredicate odd = new LongPredicate() {
+			//@Override
+			public boolean test(long value) {
+				return (value & 1) != 0;
+			}
+		};
+		// The chunks are grown from their initial length and the last one is shrunk.
+		for (int length : new int[]{1, 1000, 3001, 2 * LENGTH}) {
+			OffHeapLongArray array = OffHeapLongArray.of(LongIterator.range(0, length).filter(odd));
+			assertEquals(length / 2, array.length());
+			for (long i = 0; i < array.length(); i += 997) {
+				assertEquals(2 * i + 1, array.get(i));
+			}
+			if (array.length() > 0) {
+				assertEquals(2 * array.length() - 1, array.get(array.length() - 1));
+			}
+			assertEquals(array.length(), array.iterator().count());
+			array.close();
+		}
+	}
+	
+	@Test
+	public void iterateAcrossChunks() {
+		OffHeapLongArray array = OffHeapLongArray.of(LongIterator.range(0, LENGTH));
+		long from = OffHeapLongArray.CHUNK_LENGTH - 10;
+		LongIterator iterator = array.iterator(from, LENGTH);
+		long[] block = new long[64];
+		long expected = from;
+		int count;
+		while ((count = iterator.nextLongs(block, 0, block.length)) > 0) {
+			for (int i = 0; i < count; i++) {
+				assertEquals(expected++, block[i]);
+			}
+		}
+		assertEquals(LENGTH, expected);
+		assertFalse(iterator.hasNext());
+		array.close();
+	}
+	
+	@Test
+	public void split() {
+		OffHeapLongArray array = OffHeapLongArray.of(LongIterator.range(0, 1000));
+		LongIterator suffix = array.iterator();
+		LongIterator prefix = suffix.trySplit();
+		assertEquals(500, prefix.remaining());
+		assertEquals(500, suffix.remaining());
+		assertEquals(499, prefix.max());
+		assertEquals(500, suffix.min());
+		assertNull(array.iterator(3, 4).trySplit());
+		array.close();
+	}
+	
+	@Test
+	public void close() {
+		OffHeapLongArray array = new OffHeapLongArray(10);
+		array.close();
+		array.close();
+		try {
+			array.get(0);
+			fail();
+		} catch (IllegalStateException e) {
+			// Expected.
+		}
+	}
+	
+	@Test
+	public void closeDuringForEach() {
+		final OffHeapLongArray array = OffHeapLongArray.of(LongIterator.range(0, LENGTH));
+		final long[] visited = new long[1];
+		try {
+			array.iterator().forEachRemaining(new LongConsumer() {
+				//@Override
+				public void accept(long value) {
+					visited[0]++;
+					array.close();
+				}
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			// Expected.
+		}
+		assertEquals(1, visited[0]);
+	}
+}
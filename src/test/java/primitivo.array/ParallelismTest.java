@@ -0,0 +1,217 @@
+package primitivo.array;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import primitivo.function.IntBinaryOp;
+import primitivo.function.IntUnaryOp;
+import primitivo.function.LongGenerator;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ParallelismTest {
+	
+	private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(3);
+	
+	private static final Parallelism PARALLELISM = new Parallelism(EXECUTOR, 3, 10);
+	
+	private static final int[] LENGTHS = {0, 1, 19, 20, 21, 1000};
+	
+	@AfterClass
+	public static void shutdown() {
+		EXECUTOR.shutdown();
+	}
+	
+	private static int[] range(int length) {
+		int[] ints = new int[length];
+		for (int i = 0; i < length; i++) {
+			ints[i] = i;
+		}
+		return ints;
+	}
+	
+	@Test
+	public void boxAndUnbox() {
+		for (int length : LENGTHS) {
+			int[] ints = range(length);
+			Integer[] integers = ObjectArray.parallelOf(ints, PARALLELISM);
+			assertArrayEquals(ObjectArray.of(ints), integers);
+			assertArrayEquals(ints, IntArray.parallelOf(integers, PARALLELISM));
+		}
+	}
+	
+	@Test
+	public void widen() {
+		for (int length : LENGTHS) {
+			int[] ints = range(length);
+			long[] longs = LongArray.parallelOf(ints, PARALLELISM);
+			for (int i = 0; i < length; i++) {
+				assertEquals(i, longs[i]);
+			}
+		}
+	}
+	
+	@Test
+	public void fillAndMap() {
+		for (int length : LENGTHS) {
+			long[] longs = new long[length];
+			LongArray.parallelFill(longs, new LongGenerator() {
+				//@Override
+				public long generate(int index) {
+					return 3L * index;
+				}
+			}, PARALLELISM);
+			for (int i = 0; i < length; i++) {
+				assertEquals(3L * i, longs[i]);
+			}
+			
+			int[] squares = IntArray.parallelMap(range(length), new IntUnaryOp() {
+				//@Override
+				public int apply(int value) {
+					return value * value;
+				}
+			}, PARALLELISM);
+			for (int i = 0; i < length; i++) {
+				assertEquals(i * i, squares[i]);
+			}
+		}
+	}
+	
+	@Test
+	public void reduceInOrder() {
+		// Non-commutative but associative: The result is the last value.
+		IntBinaryOp last = new IntBinaryOp() {
+			//@Override
+			public int apply(int left, int right) {
+				return right;
+			}
+		};
+		IntBinaryOp sum = new IntBinaryOp() {
+			//@Override
+			public int apply(int left, int right) {
+				return left + right;
+			}
+		};
+		for (int length : LENGTHS) {
+			assertEquals(length == 0 ? -1 : length - 1, IntArray.parallelReduce(range(length), -1, last, PARALLELISM));
+			assertEquals(length * (length - 1) / 2, IntArray.parallelReduce(range(length), 0, sum, PARALLELISM));
+		}
+	}
+	
+	@Test
+	public void exceptionIsRethrown() {
+		final RuntimeException exception = new IllegalStateException();
+		try {
+			IntArray.parallelMap(range(1000), new IntUnaryOp() {
+				//@Override
+				public int apply(int value) {
+					if (value == 700) {
+						throw exception;
+					}
+					return value;
+				}
+			}, PARALLELISM);
+			fail();
+		} catch (IllegalStateException e) {
+			assertSame(exception, e);
+		}
+	}
+	
+	@Test
+	public void nestedInvocationsComplete() {
+		// Every thread of a single-thread executor blocks in an outer chunk.
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		final Parallelism parallelism = new Parallelism(executor, 1, 10);
+		final long[] sums = new long[100];
+		LongArray.parallelFill(sums, new LongGenerator() {
+			//@Override
+			public long generate(int index) {
+				return IntArray.parallelReduce(range(100), 0, new IntBinaryOp() {
+					//@Override
+					public int apply(int left, int right) {
+						return left + right;
+					}
+				}, parallelism);
+			}
+		}, parallelism);
+		executor.shutdown();
+		for (long sum : sums) {
+			assertEquals(4950, sum);
+		}
+	}
+	
+	@Test
+	public void rejectedHelpersAreRunByCaller() {
+		// Accepts the first submission and rejects all later ones.
+		final AtomicInteger submissions = new AtomicInteger();
+		ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>()) {
+			@Override
+			public void execute(Runnable command) {
+				if (submissions.incrementAndGet() > 1) {
+					throw new RejectedExecutionException();
+				}
+				super.execute(command);
+			}
+		};
+		Parallelism parallelism = new Parallelism(executor, 3, 10);
+		for (int i = 0; i < 20; i++) {
+			submissions.set(0);
+			long[] longs = new long[1000];
+			LongArray.parallelFill(longs, new LongGenerator() {
+				//@Override
+				public long generate(int index) {
+					return 3L * index;
+				}
+			}, parallelism);
+			assertEquals(2, submissions.get());
+			for (int j = 0; j < longs.length; j++) {
+				assertEquals(3L * j, longs[j]);
+			}
+		}
+		executor.shutdown();
+	}
+	
+	@Test
+	public void prefixSum() {
+		for (int length : LENGTHS) {
+			long[] values = new long[length];
+			for (int i = 0; i < length; i++) {
+				values[i] = i % 7 - 3;
+			}
+			long[] inclusive = new long[length];
+			long[] exclusive = new long[length];
+			long sum = 0;
+			for (int i = 0; i < length; i++) {
+				exclusive[i] = sum;
+				sum += values[i];
+				inclusive[i] = sum;
+			}
+			
+			assertArrayEquals(inclusive, LongArray.prefixSum(values, new long[length]));
+			assertArrayEquals(inclusive, LongArray.parallelPrefixSum(values, new long[length], PARALLELISM));
+			long[] destination = new long[length];
+			assertEquals(sum, LongArray.exclusivePrefixSum(values, destination));
+			assertArrayEquals(exclusive, destination);
+			destination = new long[length];
+			assertEquals(sum, LongArray.parallelExclusivePrefixSum(values, destination, PARALLELISM));
+			assertArrayEquals(exclusive, destination);
+			
+			long[] inPlace = values.clone();
+			LongArray.parallelPrefixSum(inPlace, inPlace, PARALLELISM);
+			assertArrayEquals(inclusive, inPlace);
+			inPlace = values.clone();
+			LongArray.exclusivePrefixSum(inPlace, inPlace);
+			assertArrayEquals(exclusive, inPlace);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package primitivo.array;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RadixSortTest {
+	
+	private static final int[] LENGTHS = {0, 1, 2, 63, 64, 65, 1000, 10000};
+	
+	@Test
+	public void ints() {
+		Random random = new Random(1);
+		for (int length : LENGTHS) {
+			int[] values = new int[length];
+			for (int i = 0; i < length; i++) {
+				values[i] = i % 3 == 0 ? random.nextInt(100) - 50 : random.nextInt();
+			}
+			int[] expected = values.clone();
+			Arrays.sort(expected);
+			RadixSort.sort(values);
+			assertArrayEquals(expected, values);
+		}
+	}
+	
+	@Test
+	public void intRange() {
+		int[] values = {9, 8, 7, 6, 5, 4, 3, 2, 1, 0};
+		RadixSort.sort(values, 2, 7);
+		assertArrayEquals(new int[]{9, 8, 3, 4, 5, 6, 7, 2, 1, 0}, values);
+	}
+	
+	@Test
+	public void longs() {
+		Random random = new Random(2);
+		for (int length : LENGTHS) {
+			long[] values = new long[length];
+			long base = 1600000000000L;
+			for (int i = 0; i < length; i++) {
+				values[i] = i % 2 == 0 ? base + random.nextInt(1000000) : random.nextLong();
+			}
+			long[] expected = values.clone();
+			Arrays.sort(expected);
+			RadixSort.sort(values);
+			assertArrayEquals(expected, values);
+		}
+	}
+	
+	@Test
+	public void floats() {
+		Random random = new Random(3);
+		float[] specials = {Float.NaN, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, -0f, 0f, Float.MIN_VALUE, -Float.MAX_VALUE};
+		for (int length : LENGTHS) {
+			float[] values = new float[length];
+			for (int i = 0; i < length; i++) {
+				values[i] = i % 5 == 0 ? specials[random.nextInt(specials.length)] : (float) random.nextGaussian();
+			}
+			float[] expected = values.clone();
+			Arrays.sort(expected);
+			RadixSort.sort(values);
+			assertArrayEquals(expected, values, 0);
+		}
+	}
+	
+	@Test
+	public void doubles() {
+		Random random = new Random(4);
+		double[] specials = {Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, -0d, 0d, Double.MIN_VALUE, -Double.MAX_VALUE};
+		for (int length : LENGTHS) {
+			double[] values = new double[length];
+			for (int i = 0; i < length; i++) {
+				values[i] = i % 5 == 0 ? specials[random.nextInt(specials.length)] : random.nextGaussian();
+			}
+			double[] expected = values.clone();
+			Arrays.sort(expected);
+			RadixSort.sort(values);
+			assertArrayEquals(expected, values, 0);
+		}
+	}
+	
+	@Test
+	public void payloadIsPermutedStably() {
+		Random random = new Random(5);
+		for (int length : LENGTHS) {
+			long[] keys = new long[length];
+			int[] payload = new int[length];
+			for (int i = 0; i < length; i++) {
+				keys[i] = random.nextInt(20) - 10;
+				payload[i] = i;
+			}
+			long[] original = keys.clone();
+			RadixSort.sort(keys, payload);
+			for (int i = 0; i < length; i++) {
+				assertEquals(original[payload[i]], keys[i]);
+				if (i > 0) {
+					assertTrue(keys[i - 1] < keys[i] || payload[i - 1] < payload[i]);
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void argsort() {
+		double[] keys = {3.5, -1, Double.NaN, 3.5, -0d, 0d};
+		double[] original = keys.clone();
+		assertArrayEquals(new int[]{1, 4, 5, 0, 3, 2}, RadixSort.argsort(keys));
+		assertArrayEquals(original, keys, 0);
+		
+		int[] ints = new int[1000];
+		for (int i = 0; i < ints.length; i++) {
+			ints[i] = ints.length - i;
+		}
+		int[] indices = RadixSort.argsort(ints);
+		for (int i = 0; i < indices.length; i++) {
+			assertEquals(ints.length - 1 - i, indices[i]);
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void payloadLengthMismatch() {
+		RadixSort.sort(new int[2], new long[3]);
+	}
+}
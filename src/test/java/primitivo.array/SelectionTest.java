@@ -0,0 +1,94 @@
+package primitivo.array;
+
+import org.junit.Test;
+import primitivo.iterate.DoubleIterator;
+import primitivo.iterate.IntIterator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SelectionTest {
+	
+	private static final int[] LENGTHS = {1, 2, 3, 16, 17, 100, 10000};
+	
+	@Test
+	public void nthElementOfInts() {
+		Random random = new Random(1);
+		for (int length : LENGTHS) {
+			for (int bound : new int[]{3, Integer.MAX_VALUE}) {
+				int[] values = new int[length];
+				for (int i = 0; i < length; i++) {
+					values[i] = random.nextInt(bound);
+				}
+				int[] sorted = values.clone();
+				Arrays.sort(sorted);
+				int rank = random.nextInt(length);
+				assertEquals(sorted[rank], Selection.nthElement(values, rank));
+				for (int i = 0; i < length; i++) {
+					assertTrue(i <= rank ? values[i] <= values[rank] : values[i] >= values[rank]);
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void nthElementsOfSortedLongs() {
+		// Sorted and reversed inputs must not degrade the partitioning.
+		long[] values = new long[100000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = values.length - i;
+		}
+		assertArrayEquals(new long[]{100000, 1, 50001}, Selection.nthElements(values, 99999, 0, 50000));
+		assertArrayEquals(new long[]{2, 3}, Selection.nthElements(values, 1, 2));
+	}
+	
+	@Test
+	public void nthElementsOfDoubles() {
+		Random random = new Random(2);
+		for (int length : LENGTHS) {
+			double[] values = new double[length];
+			for (int i = 0; i < length; i++) {
+				values[i] = i % 10 == 0 ? Double.NaN : random.nextGaussian();
+			}
+			double[] sorted = values.clone();
+			Arrays.sort(sorted);
+			int[] ranks = {length - 1, 0, length / 2, length / 3, length / 2};
+			double[] expected = new double[ranks.length];
+			for (int i = 0; i < ranks.length; i++) {
+				expected[i] = sorted[ranks[i]];
+			}
+			assertArrayEquals(expected, Selection.nthElements(values, ranks), 0);
+		}
+	}
+	
+	@Test
+	public void percentiles() {
+		double[] values = new double[100];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = (i * 37) % 100 + 1;
+		}
+		assertArrayEquals(new double[]{50, 99, 1, 100}, Selection.percentiles(values, 0.5, 0.99, 0, 1), 0);
+		assertArrayEquals(new double[]{2, 4}, Selection.percentiles(DoubleIterator.of(4, 3, 2, 1), 0.5, 0.9), 0);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void percentilesOfEmpty() {
+		Selection.percentiles(new int[0], 0.5);
+	}
+	
+	@Test
+	public void topK() {
+		assertArrayEquals(new int[]{9999, 9998, 9997}, Selection.topK(IntIterator.range(0, 10000), 3));
+		assertArrayEquals(new int[]{2, 1, 0}, Selection.topK(IntIterator.range(0, 3), 5));
+		IntIterator drained = IntIterator.range(0, 3);
+		assertArrayEquals(new int[0], Selection.topK(drained, 0));
+		assertFalse(drained.hasNext());
+		assertArrayEquals(new int[]{5, 5, 4}, Selection.topK(IntIterator.of(1, 5, 3, 5, 4, 2), 3));
+		assertArrayEquals(new double[]{Double.NaN, 3, 2}, Selection.topK(DoubleIterator.of(1, Double.NaN, 3, 2), 3), 0);
+	}
+}
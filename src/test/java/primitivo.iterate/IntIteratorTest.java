@@ -0,0 +1,462 @@
+package primitivo.iterate;
+
+import org.junit.Test;
+import primitivo.array.IntArray;
+import primitivo.array.IntArrayBuilder;
+import primitivo.function.IntBinaryOp;
+import primitivo.function.IntConsumer;
+import primitivo.function.IntPredicate;
+import primitivo.function.IntUnaryOp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IntIteratorTest {
+	
+	private static int[] drainInBlocks(IntIterator it, int blockLength) {
+		int[] result = new int[0];
+		int[] block = new int[blockLength + 2];
+		int count;
+		while ((count = it.nextInts(block, 1, blockLength)) > 0) {
+			int[] grown = new int[result.length + count];
+			System.arraycopy(result, 0, grown, 0, result.length);
+			System.arraycopy(block, 1, grown, result.length, count);
+			result = grown;
+		}
+		assertFalse(it.hasNext());
+		return result;
+	}
+	
+	@Test
+	public void nextIntsOfArray() {
+		int[] ints = new int[37];
+		for (int i = 0; i < ints.length; i++) {
+			ints[i] = i * 3;
+		}
+		for (int blockLength = 1; blockLength < 50; blockLength++) {
+			assertArrayEquals(ints, drainInBlocks(IntIterator.of(ints), blockLength));
+		}
+	}
+	
+	@Test
+	public void nextIntsOfRange() {
+		int[] ints = new int[37];
+		for (int i = 0; i < ints.length; i++) {
+			ints[i] = i - 5;
+		}
+		for (int blockLength = 1; blockLength < 50; blockLength++) {
+			assertArrayEquals(ints, drainInBlocks(IntIterator.range(-5, 32), blockLength));
+		}
+	}
+	
+	@Test
+	public void nextIntsOfWidened() {
+		for (int blockLength = 1; blockLength < 10; blockLength++) {
+			IntIterator it = IntIterator.of(ShortIterator.of((short) 1, (short) 2, (short) 3));
+			assertArrayEquals(new int[]{1, 2, 3}, drainInBlocks(it, blockLength));
+		}
+	}
+	
+	@Test
+	public void nextIntsOfEmpty() {
+		assertEquals(0, IntIterator.EMPTY.nextInts(new int[4], 0, 4));
+	}
+	
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void nextIntsOutOfBounds() {
+		IntIterator.of(1, 2, 3).nextInts(new int[4], 2, 3);
+	}
+	
+	private static void assertSplitsCover(int[] expected, IntIterator it) {
+		assertEquals(expected.length, it.remaining());
+		int[] actual = new int[expected.length];
+		int offset = splitInto(it, actual, 0);
+		assertEquals(expected.length, offset);
+		assertArrayEquals(expected, actual);
+	}
+	
+	// Recursively split the iterator, draining prefixes before suffixes.
+	private static int splitInto(IntIterator it, int[] destination, int offset) {
+		long remaining = it.remaining();
+		IntIterator prefix = it.trySplit();
+		if (prefix == null) {
+			assertTrue(remaining <= 1);
+			return offset + it.nextInts(destination, offset, destination.length - offset);
+		}
+		assertEquals(remaining, prefix.remaining() + it.remaining());
+		offset = splitInto(prefix, destination, offset);
+		return splitInto(it, destination, offset);
+	}
+	
+	@Test
+	public void trySplitOfArray() {
+		for (int length = 0; length < 40; length++) {
+			int[] ints = new int[length + 4];
+			for (int i = 0; i < ints.length; i++) {
+				ints[i] = i * 7;
+			}
+			int[] expected = new int[length];
+			System.arraycopy(ints, 2, expected, 0, length);
+			assertSplitsCover(expected, IntIterator.of(ints, 2, 2 + length));
+		}
+	}
+	
+	@Test
+	public void trySplitOfRange() {
+		for (int length = 0; length < 40; length++) {
+			int[] expected = new int[length];
+			for (int i = 0; i < length; i++) {
+				expected[i] = i - 3;
+			}
+			assertSplitsCover(expected, IntIterator.range(-3, length - 3));
+		}
+	}
+	
+	@Test
+	public void remainingOfFullRange() {
+		assertEquals((1L << 32) - 1, IntIterator.range(Integer.MIN_VALUE, Integer.MAX_VALUE).remaining());
+	}
+	
+	private static final IntUnaryOp DOUBLE = new IntUnaryOp() {
+		//@Override
+		public int apply(int value) {
+			return 2 * value;
+		}
+	};
+	
+	private static final IntUnaryOp INCREMENT = new IntUnaryOp() {
+		//@Override
+		public int apply(int value) {
+			return value + 1;
+		}
+	};
+	
+	private static final IntPredicate EVEN = new IntPredicate() {
+		//@Override
+		public boolean test(int value) {
+			return value % 2 == 0;
+		}
+	};
+	
+	private static IntPredicate divisibleBy(final int divisor) {
+		return new IntPredicate() {
+			//@Override
+			public boolean test(int value) {
+				return value % divisor == 0;
+			}
+		};
+	}
+	
+	private static int[] drain(IntIterator it) {
+		return drainInBlocks(it, 1);
+	}
+	
+	@Test
+	public void mapAndFilter() {
+		IntIterator it = IntIterator.range(0, 20).filter(EVEN).map(DOUBLE).map(INCREMENT).filter(divisibleBy(3));
+		assertArrayEquals(new int[]{9, 21, 33}, drain(it));
+	}
+	
+	@Test
+	public void mapAndFilterInBlocks() {
+		IntIterator it = IntIterator.range(0, 10).map(DOUBLE).map(INCREMENT);
+		assertArrayEquals(new int[]{1, 3, 5, 7, 9, 11, 13, 15, 17, 19}, drainInBlocks(it, 4));
+	}
+	
+	@Test
+	public void adjacentStagesAreFused() {
+		IntIterator source = IntIterator.range(0, 10);
+		IntIterator fused = source.filter(EVEN).filter(divisibleBy(3)).map(DOUBLE).map(INCREMENT);
+		assertSame(FusedIntIterator.class, fused.getClass());
+		assertEquals(10, IntIterator.range(0, 10).map(DOUBLE).map(INCREMENT).remaining());
+	}
+	
+	@Test
+	public void terminalOperations() {
+		assertEquals(45, IntIterator.range(0, 10).sum());
+		assertEquals(10, IntIterator.range(0, 10).count());
+		assertEquals(-3, IntIterator.of(4, -3, 7).min());
+		assertEquals(7, IntIterator.of(4, -3, 7).max());
+		assertEquals(2L * Integer.MAX_VALUE, IntIterator.of(Integer.MAX_VALUE, Integer.MAX_VALUE).sum());
+		int product = IntIterator.range(1, 6).reduce(1, new IntBinaryOp() {
+			//@Override
+			public int apply(int left, int right) {
+				return left * right;
+			}
+		});
+		assertEquals(120, product);
+	}
+	
+	@Test(expected = NoSuchElementException.class)
+	public void minOfEmpty() {
+		IntIterator.EMPTY.min();
+	}
+	
+	@Test
+	public void mapped() throws IOException {
+		int length = 1000;
+		File file = File.createTempFile("primitivo", ".bin");
+		try {
+			RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+			try {
+				FileChannel channel = randomAccessFile.getChannel();
+				ByteBuffer bytes = ByteBuffer.allocate(4 * (length + 1)).order(ByteOrder.LITTLE_ENDIAN);
+				bytes.putInt(-1);
+				for (int i = 0; i < length; i++) {
+					bytes.putInt(i * 5);
+				}
+				bytes.flip();
+				channel.write(bytes);
+				
+				int[] expected = new int[length];
+				for (int i = 0; i < length; i++) {
+					expected[i] = i * 5;
+				}
+				assertSplitsCover(expected, IntIterator.mapped(channel, 4, length, ByteOrder.LITTLE_ENDIAN));
+				assertArrayEquals(expected, drainInBlocks(IntIterator.mapped(channel, 4, length, ByteOrder.LITTLE_ENDIAN), 64));
+				assertFalse(IntIterator.mapped(channel, 4, 0, ByteOrder.LITTLE_ENDIAN).hasNext());
+				try {
+					IntIterator.mapped(channel, 4, Long.MAX_VALUE / 4, ByteOrder.LITTLE_ENDIAN);
+					fail();
+				} catch (IllegalArgumentException e) {
+					// Expected.
+				}
+			} finally {
+				randomAccessFile.close();
+			}
+		} finally {
+			file.delete();
+		}
+	}
+	
+	@Test(expected = NullPointerException.class)
+	public void mappedEmptyNullChannel() throws IOException {
+		IntIterator.mapped(null, 0, 0, ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void mappedEmptyNegativePosition() throws IOException {
+		File file = File.createTempFile("primitivo", ".bin");
+		try {
+			RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+			try {
+				IntIterator.mapped(randomAccessFile.getChannel(), -1, 0, ByteOrder.LITTLE_ENDIAN);
+			} finally {
+				randomAccessFile.close();
+			}
+		} finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void ofBuffer() {
+		IntBuffer buffer = IntBuffer.wrap(new int[]{1, 2, 3, 4, 5});
+		buffer.position(1);
+		assertArrayEquals(new int[]{2, 3, 4, 5}, drainInBlocks(IntIterator.of(buffer), 3));
+		assertEquals(1, buffer.position());
+	}
+	
+	@Test
+	public void runningSum() {
+		LongIterator sums = IntIterator.of(Integer.MAX_VALUE, Integer.MAX_VALUE, -1).runningSum();
+		assertEquals(3, sums.remaining());
+		assertEquals(Integer.MAX_VALUE, sums.nextLong());
+		long[] rest = new long[4];
+		assertEquals(2, sums.nextLongs(rest, 1, 3));
+		assertArrayEquals(new long[]{0, 2L * Integer.MAX_VALUE, 2L * Integer.MAX_VALUE - 1, 0}, rest);
+		assertFalse(sums.hasNext());
+	}
+	
+	@Test
+	public void mergeSorted() {
+		for (int k = 1; k <= 9; k++) {
+			// Source i holds the multiples of i + 1 below 200.
+			IntIterator[] sources = new IntIterator[k];
+			int[] expected = new int[0];
+			for (int i = 0; i < k; i++) {
+				IntIterator multiples = IntIterator.range(0, 200).filter(multiplesOf(i + 1));
+				sources[i] = multiples;
+				int[] merged = new int[expected.length + (199 / (i + 1)) + 1];
+				System.arraycopy(expected, 0, merged, 0, expected.length);
+				for (int j = expected.length; j < merged.length; j++) {
+					merged[j] = (j - expected.length) * (i + 1);
+				}
+				expected = merged;
+			}
+			Arrays.sort(expected);
+			assertArrayEquals(expected, drainInBlocks(IntIterator.mergeSorted(sources), 7));
+		}
+		assertFalse(IntIterator.mergeSorted().hasNext());
+		assertFalse(IntIterator.mergeSorted(IntIterator.EMPTY, IntIterator.EMPTY).hasNext());
+		
+		IntIterator merged = IntIterator.mergeSorted(IntIterator.of(1, 3, 5), IntIterator.range(0, 3), IntIterator.EMPTY);
+		assertEquals(6, merged.remaining());
+		assertArrayEquals(new int[]{0, 1, 1, 2, 3, 5}, drainInBlocks(merged, 4));
+	}
+	
+	@Test
+	public void mergeSortedDistinct() {
+		IntIterator merged = IntIterator.mergeSortedDistinct(
+				IntIterator.of(1, 1, 3, 5, 5), IntIterator.range(0, 4), IntIterator.of(5, 6));
+		assertArrayEquals(new int[]{0, 1, 2, 3, 5, 6}, drainInBlocks(merged, 2));
+	}
+	
+	@Test
+	public void arrayCursorReset() {
+		int[][] rows = {{1, 2, 3}, {}, {4, 5, 6, 7, 8}};
+		IntArrayCursor cursor = new IntArrayCursor();
+		assertFalse(cursor.hasNext());
+		long sum = 0;
+		for (int[] row : rows) {
+			cursor.reset(row);
+			assertEquals(row.length, cursor.remaining());
+			sum += cursor.sum();
+		}
+		assertEquals(36, sum);
+		
+		// Reset discards the values that remained of the previous range.
+		cursor.reset(rows[2], 1, 4);
+		assertEquals(5, cursor.nextInt());
+		assertEquals(2, cursor.index());
+		cursor.reset(rows[0], 2, 3);
+		assertArrayEquals(new int[]{3}, IntArray.of(cursor));
+		try {
+			cursor.nextInt();
+			throw new AssertionError();
+		} catch (NoSuchElementException e) {
+			// Expected.
+		}
+	}
+	
+	@Test
+	public void arrayCursorOfSubRange() {
+		int[] values = {0, 1, 2, 3, 4, 5, 6, 7};
+		IntArrayCursor cursor = (IntArrayCursor) IntIterator.of(values, 2, 7);
+		IntArrayCursor prefix = cursor.trySplit();
+		assertArrayEquals(new int[]{2, 3}, IntArray.of(prefix));
+		assertArrayEquals(new int[]{4, 5, 6}, IntArray.of(cursor));
+		try {
+			cursor.reset(values, 3, 9);
+			throw new AssertionError();
+		} catch (IndexOutOfBoundsException e) {
+			// Expected.
+		}
+	}
+	
+	@Test
+	public void wideningChainsCollapse() {
+		ByteIterator bytes = ByteIterator.of((byte) -1, (byte) 2, (byte) 3);
+		LongIterator longs = LongIterator.of(IntIterator.of(ShortIterator.of(bytes)));
+		assertSame(bytes, ((Widened) longs).source());
+		assertEquals(3, longs.remaining());
+		assertEquals(-1L, longs.nextLong());
+		assertEquals(2, longs.remaining());
+		
+		// Widening int to float is inexact, so the float adapter is kept.
+		int odd = (1 << 24) + 1;
+		DoubleIterator doubles = DoubleIterator.of(FloatIterator.of(IntIterator.of(odd)));
+		assertEquals((float) odd, doubles.nextDouble(), 0);
+	}
+	
+	@Test
+	public void widenedBlockReads() {
+		for (int length = 0; length < 300; length += 37) {
+			long[] expected = new long[length];
+			for (int i = 0; i < length; i++) {
+				expected[i] = i - 5;
+			}
+			LongIterator longs = LongIterator.of(IntIterator.range(-5, length - 5));
+			long[] actual = new long[length];
+			int offset = 0;
+			while (offset < length) {
+				int read = longs.nextLongs(actual, offset, Math.min(length - offset, 100));
+				assertTrue(read > 0);
+				offset += read;
+			}
+			assertFalse(longs.hasNext());
+			assertArrayEquals(expected, actual);
+		}
+	}
+	
+	@Test
+	public void trySplitOfLongRange() {
+		LongIterator longs = LongIterator.range(0, 10);
+		LongIterator prefix = longs.trySplit();
+		assertEquals(5, prefix.remaining());
+		assertEquals(5, longs.remaining());
+		assertEquals(10, prefix.sum());
+		assertEquals(35, longs.sum());
+	}
+	
+	private static int[] forEachRemaining(IntIterator it) {
+		final IntArrayBuilder builder = new IntArrayBuilder();
+		it.forEachRemaining(new IntConsumer() {
+			//@Override
+			public void accept(int value) {
+				builder.add(value);
+			}
+		});
+		assertFalse(it.hasNext());
+		return builder.toArray();
+	}
+	
+	@Test
+	public void forEachRemaining() {
+		int[] values = {3, -1, 4, 1, -5, 9, 2, 6};
+		IntIterator cursor = IntIterator.of(values);
+		cursor.nextInt();
+		assertArrayEquals(new int[]{-1, 4, 1, -5, 9, 2, 6}, forEachRemaining(cursor));
+		assertArrayEquals(new int[]{4, 2, 6}, forEachRemaining(IntIterator.of(values, 2, 8).filter(multiplesOf(2))));
+		assertArrayEquals(new int[]{-2, -1, 0, 1}, forEachRemaining(IntIterator.range(-2, 2)));
+		assertArrayEquals(new int[]{Integer.MAX_VALUE - 1}, forEachRemaining(IntIterator.range(Integer.MAX_VALUE - 1, Integer.MAX_VALUE)));
+		assertArrayEquals(values, forEachRemaining(IntIterator.of(IntBuffer.wrap(values))));
+		
+		short[] shorts = new short[200];
+		int[] expected = new int[shorts.length - 1];
+		for (int i = 0; i < shorts.length; i++) {
+			shorts[i] = (short) (i * 311);
+			if (i > 0) {
+				expected[i - 1] = shorts[i];
+			}
+		}
+		ShortIterator narrow = ShortIterator.of(shorts);
+		IntIterator widened = IntIterator.of(narrow);
+		widened.nextInt();
+		assertArrayEquals(expected, forEachRemaining(widened));
+		assertFalse(narrow.hasNext());
+		
+		IntIterator merged = IntIterator.mergeSortedDistinct(
+				IntIterator.of(1, 1, 3, 5, 5), IntIterator.range(0, 4), IntIterator.of(5, 6));
+		assertArrayEquals(new int[]{0, 1, 2, 3, 5, 6}, forEachRemaining(merged));
+		SortedIntIterator sorted = SortedIntIterator.of(values, 3, 8);
+		sorted.advance(6);
+		assertArrayEquals(new int[]{9, 2, 6}, forEachRemaining(sorted));
+		SortedIntIterator range = SortedIntIterator.range(-3, 40);
+		range.advance(36);
+		assertArrayEquals(new int[]{36, 37, 38, 39}, forEachRemaining(range));
+	}
+	
+	private static IntPredicate multiplesOf(final int divisor) {
+		return new IntPredicate() {
+			//@Override
+			public boolean test(int value) {
+				return value % divisor == 0;
+			}
+		};
+	}
+}
@@ -0,0 +1,124 @@
+package primitivo.iterate;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SortedIntIteratorTest {
+	
+	private static int[] multiplesOf(int divisor, int to) {
+		int[] values = new int[(to - 1) / divisor + 1];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i * divisor;
+		}
+		return values;
+	}
+	
+	private static int[] toArray(IntIterator iterator) {
+		int[] result = new int[0];
+		while (iterator.hasNext()) {
+			int[] grown = new int[result.length + 1];
+			System.arraycopy(result, 0, grown, 0, result.length);
+			grown[result.length] = iterator.nextInt();
+			result = grown;
+		}
+		return result;
+	}
+	
+	@Test
+	public void advanceArray() {
+		int[] values = multiplesOf(3, 1000);
+		for (int target = -5; target < 1005; target++) {
+			SortedIntIterator iterator = SortedIntIterator.of(values);
+			iterator.advance(target);
+			int expected = target <= 0 ? 0 : (target + 2) / 3 * 3;
+			if (expected >= 1000) {
+				assertFalse(iterator.hasNext());
+			} else {
+				assertEquals(expected, iterator.nextInt());
+				assertEquals(values.length - expected / 3 - 1, iterator.remaining());
+			}
+		}
+		
+		SortedIntIterator iterator = SortedIntIterator.of(values);
+		iterator.advance(10);
+		iterator.advance(5);
+		assertEquals(12, iterator.nextInt());
+	}
+	
+	@Test
+	public void advanceRangeAndWrapped() {
+		SortedIntIterator range = SortedIntIterator.range(0, 100);
+		range.advance(42);
+		assertEquals(42, range.nextInt());
+		range.advance(200);
+		assertFalse(range.hasNext());
+		
+		SortedIntIterator wrapped = SortedIntIterator.of(
+				IntIterator.of(ShortIterator.of((short) 1, (short) 4, (short) 9, (short) 16)));
+		wrapped.advance(5);
+		assertEquals(2, wrapped.remaining());
+		wrapped.advance(9);
+		assertArrayEquals(new int[]{9, 16}, toArray(wrapped));
+	}
+	
+	@Test
+	public void advanceArrayCursor() {
+		int[] values = multiplesOf(3, 1000);
+		IntArrayCursor cursor = (IntArrayCursor) IntIterator.of(values);
+		cursor.nextInt();
+		SortedIntIterator view = SortedIntIterator.of(cursor);
+		view.advance(301);
+		// The view gallops over the cursor's array rather than consuming the skipped values.
+		assertEquals(101, cursor.index());
+		assertEquals(303, view.nextInt());
+		assertEquals(values.length - 102, cursor.remaining());
+		view.advance(2000);
+		assertFalse(cursor.hasNext());
+	}
+	
+	@Test
+	public void intersect() {
+		SortedIntIterator intersection = SortedIntIterator.intersect(
+				SortedIntIterator.of(multiplesOf(2, 1000)),
+				SortedIntIterator.of(multiplesOf(3, 1000)),
+				SortedIntIterator.range(500, 2000));
+		int[] expected = new int[83];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = 504 + 6 * i;
+		}
+		assertArrayEquals(expected, toArray(intersection));
+		
+		SortedIntIterator skewed = SortedIntIterator.intersect(
+				SortedIntIterator.of(7, 500000, 999999), SortedIntIterator.range(0, 1000000));
+		assertArrayEquals(new int[]{7, 500000, 999999}, toArray(skewed));
+	}
+	
+	@Test
+	public void union() {
+		SortedIntIterator union = SortedIntIterator.union(
+				SortedIntIterator.of(1, 3, 5), SortedIntIterator.of(2, 3, 4), SortedIntIterator.of(0, 5, 9));
+		assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 9}, toArray(union));
+		
+		union = SortedIntIterator.union(SortedIntIterator.of(1, 3, 5), SortedIntIterator.of(2, 3, 4));
+		assertEquals(1, union.nextInt());
+		union.advance(4);
+		assertArrayEquals(new int[]{4, 5}, toArray(union));
+		assertFalse(SortedIntIterator.union().hasNext());
+	}
+	
+	@Test
+	public void difference() {
+		SortedIntIterator difference = SortedIntIterator.difference(
+				SortedIntIterator.range(0, 20), SortedIntIterator.of(multiplesOf(3, 20)));
+		assertArrayEquals(new int[]{1, 2, 4, 5, 7, 8, 10, 11, 13, 14, 16, 17, 19}, toArray(difference));
+		
+		difference = SortedIntIterator.difference(SortedIntIterator.range(0, 20), SortedIntIterator.of(12, 13));
+		difference.advance(11);
+		assertTrue(difference.hasNext());
+		assertArrayEquals(new int[]{11, 14, 15, 16, 17, 18, 19}, toArray(difference));
+	}
+}
@@ -0,0 +1,101 @@
+package primitivo.map;
+
+import org.junit.Test;
+import primitivo.array.IntArray;
+import primitivo.array.IntArrayBuilder;
+import primitivo.function.IntConsumer;
+import primitivo.iterate.IntIterator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntIntMapTest {
+	
+	private static void assertSameContents(Map<Integer, Integer> expected, IntIntMap actual) {
+		assertEquals(expected.size(), actual.size());
+		for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+			assertTrue(actual.containsKey(entry.getKey()));
+			assertEquals((int) entry.getValue(), actual.get(entry.getKey()));
+		}
+		
+		IntIterator keys = actual.keys();
+		IntIterator values = actual.values();
+		assertEquals(expected.size(), keys.remaining());
+		int count = 0;
+		while (keys.hasNext()) {
+			int key = keys.nextInt();
+			assertEquals((int) expected.get(key), values.nextInt());
+			count++;
+		}
+		assertFalse(values.hasNext());
+		assertEquals(expected.size(), count);
+		
+		// Internal iteration visits the entries in the same order.
+		final IntArrayBuilder visitedKeys = new IntArrayBuilder();
+		actual.forEach(new IntConsumer() {
+			//@Override
+			public void accept(int value) {
+				visitedKeys.add(value);
+			}
+		});
+		assertArrayEquals(IntArray.of(actual.keys()), visitedKeys.toArray());
+		final IntArrayBuilder visitedValues = new IntArrayBuilder();
+		actual.values().forEachRemaining(new IntConsumer() {
+			//@Override
+			public void accept(int value) {
+				visitedValues.add(value);
+			}
+		});
+		assertArrayEquals(IntArray.of(actual.values()), visitedValues.toArray());
+	}
+	
+	@Test
+	public void randomOperations() {
+		Random random = new Random(42);
+		Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+		IntIntMap actual = new IntIntMap(0);
+		for (int i = 0; i < 20000; i++) {
+			// Small key range such that keys collide, are removed, and are reinserted.
+			int key = random.nextInt(200) - 100;
+			int value = random.nextInt();
+			switch (random.nextInt(4)) {
+				case 0:
+					Integer previous = expected.put(key, value);
+					assertEquals(previous == null ? 0 : previous, actual.put(key, value));
+					break;
+				case 1:
+					Integer removed = expected.remove(key);
+					assertEquals(removed == null ? 0 : removed, actual.remove(key));
+					break;
+				default:
+					Integer current = expected.get(key);
+					int sum = (current == null ? 0 : current) + value;
+					expected.put(key, sum);
+					assertEquals(sum, actual.addTo(key, value));
+			}
+		}
+		assertSameContents(expected, actual);
+		
+		actual.clear();
+		assertSameContents(new HashMap<Integer, Integer>(), actual);
+	}
+	
+	@Test
+	public void growth() {
+		IntIntMap map = new IntIntMap();
+		for (int i = 0; i < 100000; i++) {
+			map.addTo(i * 31, 1);
+		}
+		assertEquals(100000, map.size());
+		assertEquals(100000, map.values().sum());
+		assertEquals(1, map.get(31 * 500));
+		assertEquals(0, map.get(1));
+		assertEquals(-1, map.get(1, -1));
+	}
+}
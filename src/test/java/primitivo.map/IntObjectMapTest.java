@@ -0,0 +1,83 @@
+package primitivo.map;
+
+import org.junit.Test;
+import primitivo.iterate.IntIterator;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IntObjectMapTest {
+	
+	private static void assertSameContents(Map<Integer, String> expected, IntObjectMap<String> actual) throws Exception {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected.isEmpty(), actual.isEmpty());
+		for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+			assertTrue(actual.containsKey(entry.getKey()));
+			assertEquals(entry.getValue(), actual.get(entry.getKey()));
+		}
+		
+		IntIterator keys = actual.keys();
+		Iterator<String> values = actual.values();
+		assertEquals(expected.size(), keys.remaining());
+		int count = 0;
+		while (keys.hasNext()) {
+			int key = keys.nextInt();
+			assertEquals(expected.get(key), values.next());
+			count++;
+		}
+		assertFalse(values.hasNext());
+		assertEquals(expected.size(), count);
+		
+		// Removed entries must not keep their values reachable from the table.
+		Field field = IntObjectMap.class.getDeclaredField("values");
+		field.setAccessible(true);
+		int occupied = 0;
+		for (Object value : (Object[]) field.get(actual)) {
+			if (value != null) {
+				occupied++;
+			}
+		}
+		assertEquals(expected.containsKey(0) ? expected.size() - 1 : expected.size(), occupied);
+	}
+	
+	@Test
+	public void randomOperations() throws Exception {
+		Random random = new Random(42);
+		Map<Integer, String> expected = new HashMap<Integer, String>();
+		IntObjectMap<String> actual = new IntObjectMap<String>(0);
+		for (int i = 0; i < 20000; i++) {
+			// Small key range such that keys collide, are removed, and are reinserted.
+			int key = random.nextInt(200) - 100;
+			switch (random.nextInt(4)) {
+				case 0:
+				case 1:
+					String value = Integer.toString(random.nextInt());
+					assertEquals(expected.put(key, value), actual.put(key, value));
+					break;
+				case 2:
+					assertEquals(expected.remove(key), actual.remove(key));
+					break;
+				default:
+					assertEquals(expected.get(key), actual.get(key));
+					assertEquals(expected.containsKey(key), actual.containsKey(key));
+					assertEquals(expected.containsKey(key) ? expected.get(key) : "default", actual.get(key, "default"));
+			}
+			if (i % 1000 == 0) {
+				assertSameContents(expected, actual);
+			}
+		}
+		assertSameContents(expected, actual);
+		
+		actual.clear();
+		assertSameContents(new HashMap<Integer, String>(), actual);
+		assertNull(actual.get(0));
+	}
+}
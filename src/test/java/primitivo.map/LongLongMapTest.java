@@ -0,0 +1,89 @@
+package primitivo.map;
+
+import org.junit.Test;
+import primitivo.array.LongArray;
+import primitivo.array.LongArrayBuilder;
+import primitivo.function.LongConsumer;
+import primitivo.iterate.LongIterator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongLongMapTest {
+	
+	private static void assertSameContents(Map<Long, Long> expected, LongLongMap actual) {
+		assertEquals(expected.size(), actual.size());
+		for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+			assertTrue(actual.containsKey(entry.getKey()));
+			assertEquals((long) entry.getValue(), actual.get(entry.getKey()));
+		}
+		
+		LongIterator keys = actual.keys();
+		LongIterator values = actual.values();
+		assertEquals(expected.size(), keys.remaining());
+		int count = 0;
+		while (keys.hasNext()) {
+			long key = keys.nextLong();
+			assertEquals((long) expected.get(key), values.nextLong());
+			count++;
+		}
+		assertFalse(values.hasNext());
+		assertEquals(expected.size(), count);
+		
+		// Internal iteration visits the entries in the same order.
+		final LongArrayBuilder visitedKeys = new LongArrayBuilder();
+		actual.forEach(new LongConsumer() {
+			//@Override
+			public void accept(long value) {
+				visitedKeys.add(value);
+			}
+		});
+		assertArrayEquals(LongArray.of(actual.keys()), visitedKeys.toArray());
+		final LongArrayBuilder visitedValues = new LongArrayBuilder();
+		actual.values().forEachRemaining(new LongConsumer() {
+			//@Override
+			public void accept(long value) {
+				visitedValues.add(value);
+			}
+		});
+		assertArrayEquals(LongArray.of(actual.values()), visitedValues.toArray());
+	}
+	
+	@Test
+	public void randomOperations() {
+		Random random = new Random(42);
+		Map<Long, Long> expected = new HashMap<Long, Long>();
+		LongLongMap actual = new LongLongMap(0);
+		for (int i = 0; i < 20000; i++) {
+			// Small key range such that keys collide, are removed, and are reinserted.
+			// The keys differ in their high bits as well, which the hash must spread.
+			long key = (random.nextInt(200) - 100) * 0x100000001L;
+			long value = random.nextLong();
+			switch (random.nextInt(4)) {
+				case 0:
+					Long previous = expected.put(key, value);
+					assertEquals(previous == null ? 0 : previous, actual.put(key, value));
+					break;
+				case 1:
+					Long removed = expected.remove(key);
+					assertEquals(removed == null ? 0 : removed, actual.remove(key));
+					break;
+				default:
+					Long current = expected.get(key);
+					long sum = (current == null ? 0 : current) + value;
+					expected.put(key, sum);
+					assertEquals(sum, actual.addTo(key, value));
+			}
+		}
+		assertSameContents(expected, actual);
+		
+		actual.clear();
+		assertSameContents(new HashMap<Long, Long>(), actual);
+	}
+}
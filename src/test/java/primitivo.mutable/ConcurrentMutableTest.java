@@ -0,0 +1,71 @@
+package primitivo.mutable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConcurrentMutableTest {
+	private static final int THREADS = 8;
+	private static final int ADDITIONS = 100000;
+	
+	private static void runConcurrently(final Runnable runnable) throws InterruptedException {
+		Thread[] threads = new Thread[THREADS];
+		for (int i = 0; i < THREADS; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < ADDITIONS; j++) {
+						runnable.run();
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+	
+	@Test
+	public void concurrentMutableInt() throws InterruptedException {
+		final ConcurrentMutableInt value = ConcurrentMutableInt.of(5);
+		runConcurrently(new Runnable() {
+			//@Override
+			public void run() {
+				value.increment();
+				value.add(2);
+				value.xor(0);
+			}
+		});
+		assertEquals(5 + 3 * THREADS * ADDITIONS, value.get());
+	}
+	
+	@Test
+	public void stripedMutableLong() throws InterruptedException {
+		final StripedMutableLong value = StripedMutableLong.of(5);
+		runConcurrently(new Runnable() {
+			//@Override
+			public void run() {
+				value.add(3);
+				value.decrement();
+			}
+		});
+		assertEquals(5 + 2L * THREADS * ADDITIONS, value.get());
+		
+		value.set(7);
+		assertEquals(7, value.get());
+	}
+	
+	@Test
+	public void stripedMutableDouble() throws InterruptedException {
+		final StripedMutableDouble value = StripedMutableDouble.of(0.5);
+		runConcurrently(new Runnable() {
+			//@Override
+			public void run() {
+				value.add(0.25);
+			}
+		});
+		// Sums of multiples of 0.25 are exact.
+		assertEquals(0.5 + 0.25 * THREADS * ADDITIONS, value.get(), 0);
+	}
+}
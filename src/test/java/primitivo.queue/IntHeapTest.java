@@ -0,0 +1,116 @@
+package primitivo.queue;
+
+import org.junit.Test;
+import primitivo.iterate.IntIterator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IntHeapTest {
+	
+	private static int[] drain(IntIterator iterator) {
+		int[] result = new int[(int) iterator.remaining()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = iterator.nextInt();
+		}
+		assertFalse(iterator.hasNext());
+		return result;
+	}
+	
+	@Test
+	public void addAndDrain() {
+		Random random = new Random(1);
+		for (int arity = 2; arity <= 8; arity++) {
+			IntHeap heap = new IntHeap(arity, 0, false);
+			int[] keys = new int[1000];
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = random.nextInt(100);
+				heap.add(keys[i]);
+			}
+			Arrays.sort(keys);
+			assertEquals(keys[0], heap.peek());
+			assertArrayEquals(keys, drain(heap.drain()));
+			assertTrue(heap.isEmpty());
+		}
+	}
+	
+	@Test
+	public void heapify() {
+		Random random = new Random(2);
+		IntHeap heap = new IntHeap();
+		int[] keys = new int[1000];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = random.nextInt();
+		}
+		heap.heapify(keys);
+		heap.heapify(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE});
+		assertEquals(1002, heap.size());
+		int[] expected = new int[1002];
+		System.arraycopy(keys, 0, expected, 1, keys.length);
+		expected[0] = Integer.MIN_VALUE;
+		expected[1001] = Integer.MAX_VALUE;
+		Arrays.sort(expected);
+		assertArrayEquals(expected, drain(heap.drain()));
+	}
+	
+	@Test
+	public void payloads() {
+		IntHeap heap = new IntHeap();
+		heap.heapify(new int[]{30, 10, 20}, new int[]{3, 1, 2});
+		heap.add(0, 7);
+		assertEquals(7, heap.peekPayload());
+		assertArrayEquals(new int[]{7, 1, 2, 3}, drain(heap.drainPayloads()));
+	}
+	
+	@Test
+	public void decreaseKey() {
+		IntHeap heap = new IntHeap(3, 0, true);
+		for (int task = 0; task < 100; task++) {
+			heap.add(1000 + task, task);
+		}
+		heap.decreaseKey(42, 5);
+		heap.decreaseKey(17, 6);
+		heap.decreaseKey(42, 4);
+		assertEquals(42, heap.peekPayload());
+		assertEquals(4, heap.poll());
+		assertFalse(heap.contains(42));
+		assertEquals(17, heap.peekPayload());
+		heap.poll();
+		assertTrue(heap.contains(18));
+		assertEquals(0, heap.peekPayload());
+		heap.add(0, 42);
+		assertEquals(42, heap.peekPayload());
+		
+		try {
+			heap.decreaseKey(18, 2000);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+		try {
+			heap.add(0, 18);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+		try {
+			heap.heapify(new int[]{1, 2}, new int[]{200, 18});
+			fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+		assertFalse(heap.contains(200));
+		assertEquals(99, heap.size());
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void indexedHeapRequiresPayloads() {
+		new IntHeap(4, 0, true).add(1);
+	}
+}
@@ -0,0 +1,135 @@
+package primitivo.queue;
+
+import org.junit.Test;
+import primitivo.array.IntArray;
+import primitivo.array.IntArrayBuilder;
+import primitivo.iterate.IntIterator;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IntSpscQueueTest {
+	
+	private static final int COUNT = 100000;
+	
+	@Test
+	public void offerAndPoll() {
+		IntSpscQueue queue = new IntSpscQueue(3);
+		assertEquals(4, queue.capacity());
+		assertTrue(queue.isEmpty());
+		for (int i = 0; i < 4; i++) {
+			assertTrue(queue.offer(i));
+		}
+		assertFalse(queue.offer(4));
+		assertEquals(4, queue.size());
+		assertEquals(0, queue.poll());
+		assertEquals(1, queue.offer(new int[]{4, 5, 6}, 0, 3));
+		
+		IntIterator iterator = queue.iterator();
+		int[] values = new int[5];
+		assertEquals(4, iterator.nextInts(values, 1, 4));
+		assertArrayEquals(new int[]{0, 1, 2, 3, 4}, values);
+		assertFalse(iterator.hasNext());
+		try {
+			queue.poll();
+			fail();
+		} catch (NoSuchElementException e) {
+			// Expected.
+		}
+	}
+	
+	@Test
+	public void wrapAround() {
+		IntSpscQueue queue = new IntSpscQueue(8);
+		int next = 0;
+		int expected = 0;
+		// Each batch of 5 starts where the previous one ended, so the batches start at every
+		// offset of the buffer and most of them wrap around its end.
+		for (int round = 0; round < 8; round++) {
+			int[] batch = new int[7];
+			for (int i = 0; i < batch.length; i++) {
+				batch[i] = next + i;
+			}
+			assertEquals(5, queue.offer(batch, 2, 5));
+			next += 7;
+			assertEquals(5, queue.size());
+			
+			int[] drained = new int[6];
+			assertEquals(3, queue.drain(drained, 1, 3));
+			assertArrayEquals(new int[]{0, expected + 2, expected + 3, expected + 4, 0, 0}, drained);
+			
+			IntArrayBuilder builder = new IntArrayBuilder();
+			assertEquals(2, queue.drain(builder));
+			assertArrayEquals(new int[]{expected + 5, expected + 6}, builder.toArray());
+			expected += 7;
+			assertTrue(queue.isEmpty());
+		}
+	}
+	
+	@Test
+	public void iteratorDrainsAcrossTheEnd() {
+		IntSpscQueue queue = new IntSpscQueue(16);
+		assertEquals(10, queue.offer(IntArray.of(IntIterator.range(0, 10)), 0, 10));
+		assertEquals(10, queue.drain(new int[10], 0, 10));
+		
+		// The next 12 values occupy the last 6 and the first 6 slots of the buffer.
+		assertEquals(12, queue.offer(IntArray.of(IntIterator.range(10, 22)), 0, 12));
+		IntIterator iterator = queue.iterator();
+		assertEquals(10, iterator.nextInt());
+		assertArrayEquals(IntArray.of(IntIterator.range(11, 22)), IntArray.of(iterator));
+		assertFalse(iterator.hasNext());
+		assertTrue(queue.isEmpty());
+		
+		// The iterator resumes once more values have been added.
+		assertTrue(queue.offer(22));
+		assertTrue(iterator.hasNext());
+		assertEquals(22, iterator.nextInt());
+		assertFalse(iterator.hasNext());
+	}
+	
+	@Test
+	public void handOff() throws InterruptedException {
+		final IntSpscQueue queue = new IntSpscQueue(1024);
+		Thread producer = new Thread() {
+			@Override
+			public void run() {
+				int[] batch = new int[100];
+				int next = 0;
+				while (next < COUNT) {
+					int length = Math.min(batch.length, COUNT - next);
+					for (int i = 0; i < length; i++) {
+						batch[i] = next + i;
+					}
+					int offset = 0;
+					while (offset < length) {
+						int count = queue.offer(batch, offset, length - offset);
+						if (count == 0) {
+							Thread.yield();
+						}
+						offset += count;
+					}
+					next += length;
+				}
+			}
+		};
+		producer.start();
+		int[] block = new int[64];
+		int expected = 0;
+		while (expected < COUNT) {
+			int count = queue.drain(block, 0, block.length);
+			if (count == 0) {
+				Thread.yield();
+			}
+			for (int i = 0; i < count; i++) {
+				assertEquals(expected++, block[i]);
+			}
+		}
+		producer.join();
+		assertTrue(queue.isEmpty());
+	}
+}
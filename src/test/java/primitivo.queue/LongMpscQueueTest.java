@@ -0,0 +1,87 @@
+package primitivo.queue;
+
+import org.junit.Test;
+import primitivo.iterate.LongIterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongMpscQueueTest {
+	
+	private static final int PRODUCERS = 4;
+	
+	private static final int COUNT = 25000;
+	
+	@Test
+	public void offerAndPoll() {
+		LongMpscQueue queue = new LongMpscQueue(4);
+		assertTrue(queue.isEmpty());
+		assertEquals(3, queue.offer(new long[]{1, 2, 3}, 0, 3));
+		assertTrue(queue.offer(4));
+		assertFalse(queue.offer(5));
+		assertEquals(0, queue.offer(new long[]{5}, 0, 1));
+		assertEquals(1, queue.poll());
+		assertTrue(queue.offer(5));
+		LongIterator iterator = queue.iterator();
+		assertEquals(14, iterator.sum());
+		assertTrue(queue.isEmpty());
+	}
+	
+	@Test
+	public void handOff() throws InterruptedException {
+		final LongMpscQueue queue = new LongMpscQueue(256);
+		Thread[] producers = new Thread[PRODUCERS];
+		for (int p = 0; p < PRODUCERS; p++) {
+			final long producer = p;
+			producers[p] = new Thread() {
+				@Override
+				public void run() {
+					long[] batch = new long[3];
+					int next = 0;
+					while (next < COUNT) {
+						if (next % 2 == 0 || next + batch.length > COUNT) {
+							if (queue.offer(next * PRODUCERS + producer)) {
+								next++;
+							} else {
+								Thread.yield();
+							}
+						} else {
+							for (int i = 0; i < batch.length; i++) {
+								batch[i] = (next + i) * PRODUCERS + producer;
+							}
+							int count = queue.offer(batch, 0, batch.length);
+							if (count == 0) {
+								Thread.yield();
+							}
+							next += count;
+						}
+					}
+				}
+			};
+			producers[p].start();
+		}
+		// The values of each producer must arrive in order.
+		long[] expected = new long[PRODUCERS];
+		long[] block = new long[32];
+		long received = 0;
+		while (received < (long) PRODUCERS * COUNT) {
+			int count = queue.drain(block, 0, block.length);
+			if (count == 0) {
+				Thread.yield();
+			}
+			for (int i = 0; i < count; i++) {
+				int producer = (int) (block[i] % PRODUCERS);
+				assertEquals(expected[producer]++, block[i] / PRODUCERS);
+			}
+			received += count;
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		for (long e : expected) {
+			assertEquals(COUNT, e);
+		}
+		assertTrue(queue.isEmpty());
+	}
+}
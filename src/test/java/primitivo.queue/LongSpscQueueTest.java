@@ -0,0 +1,91 @@
+package primitivo.queue;
+
+import org.junit.Test;
+import primitivo.array.LongArrayBuilder;
+import primitivo.iterate.LongIterator;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LongSpscQueueTest {
+	
+	private static final int COUNT = 100000;
+	
+	@Test
+	public void offerAndPoll() {
+		LongSpscQueue queue = new LongSpscQueue(3);
+		assertEquals(4, queue.capacity());
+		assertTrue(queue.isEmpty());
+		for (long i = 0; i < 4; i++) {
+			assertTrue(queue.offer(i));
+		}
+		assertFalse(queue.offer(4));
+		assertEquals(4, queue.size());
+		assertEquals(0, queue.poll());
+		assertEquals(1, queue.offer(new long[]{4, 5, 6}, 0, 3));
+		
+		LongIterator iterator = queue.iterator();
+		long[] values = new long[5];
+		assertEquals(4, iterator.nextLongs(values, 1, 4));
+		assertArrayEquals(new long[]{0, 1, 2, 3, 4}, values);
+		assertFalse(iterator.hasNext());
+		try {
+			queue.poll();
+			fail();
+		} catch (NoSuchElementException e) {
+			// Expected.
+		}
+		
+		// Wrap around the end of the buffer.
+		assertEquals(3, queue.offer(new long[]{7, 8, 9}, 0, 3));
+		LongArrayBuilder builder = new LongArrayBuilder();
+		assertEquals(3, queue.drain(builder));
+		assertArrayEquals(new long[]{7, 8, 9}, builder.toArray());
+	}
+	
+	@Test
+	public void handOff() throws InterruptedException {
+		final LongSpscQueue queue = new LongSpscQueue(1024);
+		Thread producer = new Thread() {
+			@Override
+			public void run() {
+				long[] batch = new long[100];
+				long next = 0;
+				while (next < COUNT) {
+					int length = (int) Math.min(batch.length, COUNT - next);
+					for (int i = 0; i < length; i++) {
+						batch[i] = next + i;
+					}
+					int offset = 0;
+					while (offset < length) {
+						int count = queue.offer(batch, offset, length - offset);
+						if (count == 0) {
+							Thread.yield();
+						}
+						offset += count;
+					}
+					next += length;
+				}
+			}
+		};
+		producer.start();
+		long[] block = new long[64];
+		long expected = 0;
+		while (expected < COUNT) {
+			int count = queue.drain(block, 0, block.length);
+			if (count == 0) {
+				Thread.yield();
+			}
+			for (int i = 0; i < count; i++) {
+				assertEquals(expected++, block[i]);
+			}
+		}
+		producer.join();
+		assertTrue(queue.isEmpty());
+	}
+}
@@ -0,0 +1,119 @@
+package primitivo.set;
+
+import org.junit.Test;
+import primitivo.array.IntArray;
+import primitivo.array.IntArrayBuilder;
+import primitivo.function.IntConsumer;
+import primitivo.iterate.IntIterator;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntBitSetTest {
+	
+	private static int[] toArray(BitSet bitSet) {
+		int[] result = new int[bitSet.cardinality()];
+		int index = 0;
+		for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+			result[index++] = i;
+		}
+		return result;
+	}
+	
+	private static void randomFill(Random random, BitSet expected, IntBitSet actual, int bound) {
+		for (int i = 0; i < bound / 3; i++) {
+			int value = random.nextInt(bound);
+			assertEquals(!expected.get(value), actual.add(value));
+			expected.set(value);
+		}
+	}
+	
+	private static void assertSameContents(BitSet expected, IntBitSet actual) {
+		assertEquals(expected.cardinality(), actual.cardinality());
+		IntIterator it = actual.iterator();
+		assertEquals(expected.cardinality(), it.remaining());
+		assertArrayEquals(toArray(expected), IntArray.of(it));
+		
+		final IntArrayBuilder builder = new IntArrayBuilder();
+		actual.forEach(new IntConsumer() {
+			//@Override
+			public void accept(int value) {
+				builder.add(value);
+			}
+		});
+		assertArrayEquals(toArray(expected), builder.toArray());
+	}
+	
+	@Test
+	public void bulkOperations() {
+		Random random = new Random(42);
+		for (int i = 0; i < 20; i++) {
+			BitSet expectedLeft = new BitSet();
+			BitSet expectedRight = new BitSet();
+			IntBitSet left = new IntBitSet(0);
+			IntBitSet right = new IntBitSet();
+			randomFill(random, expectedLeft, left, 1 + random.nextInt(1000));
+			randomFill(random, expectedRight, right, 1 + random.nextInt(1000));
+			assertSameContents(expectedLeft, left);
+			
+			BitSet expected;
+			IntBitSet actual;
+			
+			expected = (BitSet) expectedLeft.clone();
+			expected.and(expectedRight);
+			actual = new IntBitSet();
+			actual.or(left);
+			actual.and(right);
+			assertSameContents(expected, actual);
+			
+			expected = (BitSet) expectedLeft.clone();
+			expected.or(expectedRight);
+			actual = new IntBitSet();
+			actual.or(left);
+			actual.or(right);
+			assertSameContents(expected, actual);
+			
+			expected = (BitSet) expectedLeft.clone();
+			expected.andNot(expectedRight);
+			actual = new IntBitSet();
+			actual.or(left);
+			actual.andNot(right);
+			assertSameContents(expected, actual);
+		}
+	}
+	
+	@Test
+	public void addContainsRemove() {
+		IntBitSet set = new IntBitSet();
+		assertTrue(set.isEmpty());
+		assertTrue(set.add(1000));
+		assertFalse(set.add(1000));
+		assertTrue(set.contains(1000));
+		assertFalse(set.contains(999));
+		assertFalse(set.contains(100000));
+		assertEquals(1000, set.nextSetBit(3));
+		assertEquals(-1, set.nextSetBit(1001));
+		assertTrue(set.remove(1000));
+		assertFalse(set.remove(1000));
+		assertTrue(set.isEmpty());
+	}
+	
+	@Test
+	public void hashSet() {
+		IntHashSet set = new IntHashSet();
+		assertEquals(5, set.addAll(IntIterator.of(0, -1, 7, 0, 123456, -1, 42)));
+		assertEquals(5, set.size());
+		assertTrue(set.contains(0));
+		assertTrue(set.contains(-1));
+		assertFalse(set.contains(1));
+		assertTrue(set.remove(0));
+		assertTrue(set.remove(7));
+		assertFalse(set.remove(7));
+		assertEquals(-1 + 123456 + 42, set.iterator().sum());
+	}
+}
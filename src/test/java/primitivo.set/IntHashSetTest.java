@@ -0,0 +1,75 @@
+package primitivo.set;
+
+import org.junit.Test;
+import primitivo.array.IntArray;
+import primitivo.array.IntArrayBuilder;
+import primitivo.function.IntConsumer;
+import primitivo.iterate.IntIterator;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntHashSetTest {
+	
+	private static void assertSameContents(Set<Integer> expected, IntHashSet actual) {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected.isEmpty(), actual.isEmpty());
+		for (int value : expected) {
+			assertTrue(actual.contains(value));
+		}
+		
+		IntIterator it = actual.iterator();
+		assertEquals(expected.size(), it.remaining());
+		Set<Integer> visited = new HashSet<Integer>();
+		while (it.hasNext()) {
+			assertTrue(visited.add(it.nextInt()));
+		}
+		assertEquals(0, it.remaining());
+		assertEquals(expected, visited);
+		
+		// Internal iteration visits the values in the same order.
+		final IntArrayBuilder visitedValues = new IntArrayBuilder();
+		actual.forEach(new IntConsumer() {
+			//@Override
+			public void accept(int value) {
+				visitedValues.add(value);
+			}
+		});
+		assertArrayEquals(IntArray.of(actual.iterator()), visitedValues.toArray());
+	}
+	
+	@Test
+	public void randomOperations() {
+		Random random = new Random(42);
+		Set<Integer> expected = new HashSet<Integer>();
+		IntHashSet actual = new IntHashSet(0);
+		for (int i = 0; i < 20000; i++) {
+			// Small value range, including 0, such that probe sequences collide and removals shift entries back.
+			int value = random.nextInt(200) - 100;
+			switch (random.nextInt(3)) {
+				case 0:
+					assertEquals(expected.add(value), actual.add(value));
+					break;
+				case 1:
+					assertEquals(expected.remove(value), actual.remove(value));
+					break;
+				default:
+					assertEquals(expected.contains(value), actual.contains(value));
+			}
+			if (i % 1000 == 0) {
+				assertSameContents(expected, actual);
+			}
+		}
+		assertSameContents(expected, actual);
+		
+		actual.clear();
+		assertSameContents(new HashSet<Integer>(), actual);
+		assertFalse(actual.contains(0));
+	}
+}